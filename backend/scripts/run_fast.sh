@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+
+set -euo pipefail
+
+# 빠른 재시작 실행: cdsArchive로 만든 CDS 아카이브 + (있으면) AOT 모드
+#   ./gradlew cdsArchive -Paot && scripts/run_fast.sh
+# 추가 인자는 애플리케이션 인자로 전달된다 (예: --upbit.auto-start=true)
+
+CDS_DIR="${CDS_DIR:-$(dirname "$0")/../build/cds}"
+JAR="$(ls "${CDS_DIR}"/*.jar | head -n 1)"
+AOT_FLAG=""
+if unzip -l "${JAR}" 2>/dev/null | grep -q "__BeanFactoryRegistrations"; then
+  AOT_FLAG="-Dspring.aot.enabled=true"
+fi
+
+exec java -XX:SharedArchiveFile="${CDS_DIR}/application.jsa" ${AOT_FLAG} -jar "${JAR}" "$@"
@@ -0,0 +1,89 @@
+package com.backend.benchmark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 크기 로그 히스토그램 (마이크로초, 2의 거듭제곱 구간마다 8칸 → 상대 오차 12.5% 이내).
+ * 여러 스레드에서 락 없이 기록하고, 샘플 구간마다 snapshotAndReset()으로 잘라 쓴다.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+
+    LatencyHistogram() {
+        this(new AtomicLongArray(BUCKETS));
+    }
+
+    private LatencyHistogram(AtomicLongArray counts) {
+        this.counts = counts;
+    }
+
+    void recordNanos(long nanos) {
+        counts.incrementAndGet(index(Math.max(0, nanos / 1_000)));
+    }
+
+    /**
+     * 지금까지의 기록을 복사해 반환하고 비운다 (복사 중 기록된 값은 다음 구간으로 넘어갈 수 있음)
+     */
+    LatencyHistogram snapshotAndReset() {
+        AtomicLongArray copy = new AtomicLongArray(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            copy.set(i, counts.getAndSet(i, 0));
+        }
+        return new LatencyHistogram(copy);
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.addAndGet(i, other.counts.get(i));
+        }
+    }
+
+    long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * 백분위 값 (구간 상한, ms). 기록이 없으면 0
+     */
+    double percentileMs(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperMicros(i) / 1_000.0;
+            }
+        }
+        return upperMicros(BUCKETS - 1) / 1_000.0;
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return (exponent - 2) * SUB_BUCKETS + sub;
+    }
+
+    static long upperMicros(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + 2;
+        int sub = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1L) << (exponent - 3)) - 1;
+    }
+}
@@ -0,0 +1,496 @@
+package com.backend.benchmark;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 장시간 소크 테스트: 메모리 증가와 지연 시간 드리프트 검출.
+ *
+ * bootJar를 별도 프로세스로 띄워 로컬 스텁 서버의 합성 ticker 피드(마켓 수/틱 간격 조절)로 자동매매를 돌리고,
+ * 가짜 SSE 클라이언트(주기적으로 재접속, 일부는 느리게 읽음)와 REST 조회를 계속 붙인다.
+ * trade_timestamp는 가상 시간으로 프레임마다 sim-step-ms씩 앞당겨 벽시계 몇십 분 동안 몇십 시간치 봉을 집계시킨다.
+ *
+ * sample-seconds마다 JMX로 다음을 기록한다 (out 디렉터리의 samples.csv):
+ *   heap after GC  : 강제 GC 직후 힙 사용량
+ *   alloc rate     : 살아 있는 스레드의 할당 바이트 증가량 / 초 (구간 중 종료된 스레드 몫은 빠짐)
+ *   threads        : 라이브 스레드 수
+ *   tick→SSE p50/p99 : 스텁이 프레임을 보낸 시각 → SSE 클라이언트가 해당 가격을 받은 시각 (느린 클라이언트 제외)
+ *   REST p50/p99     : /prices, /indicators, /notifications 조회 지연
+ *
+ * 워밍업(warmup-pct) 이후 샘플로 다음을 판정하고, 하나라도 넘으면 종료 코드 1로 실패한다.
+ *   힙: 최소제곱 기울기로 구한 증가량 > max(max-heap-growth-mb, 초반 힙 × max-heap-growth-pct%)
+ *   스레드: 후반 1/3 최대값 - 초반 1/3 최대값 > max-thread-growth
+ *   지연: 후반 1/3 p99 > 초반 1/3 p99 × max-latency-drift 이고 차이가 latency-floor-ms 이상 (tick→SSE, REST 각각)
+ *   할당률: 후반 1/3 중앙값 > 초반 1/3 중앙값 × max-alloc-drift 이고 차이가 1MB/s 이상
+ *
+ * 사용: gradle soakTest [-Pminutes=30] [-PtickMs=10] [-Pmarkets=10] [-PsseClients=8]
+ */
+public class SoakTest {
+
+    private static final String BENCHMARK_SECRET = "benchmark-secret-key-0123456789abcdef"; // HS256 최소 256비트
+    private static final long START_TIMEOUT_SECONDS = 90;
+    private static final int OUTPUT_TAIL_LINES = 40;
+    private static final long REST_PROBE_INTERVAL_MS = 200;
+    private static final long MAX_TRACKED_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(10); // 순번 링이 한 바퀴 돈 값은 제외
+    private static final double MB = 1024.0 * 1024.0;
+    private static final List<String> REST_PATHS = List.of("/api/upbit/prices", "/api/upbit/indicators", "/api/upbit/notifications");
+
+    private record Sample(long elapsedSeconds, long heapAfterGc, int threads, double allocMbPerSecond,
+                          long ticks, long sseEvents, LatencyHistogram tickToSse, LatencyHistogram rest) {
+    }
+
+    private record Options(Path jar, int minutes, int sampleSeconds, long tickMs, long simStepMs, int markets,
+                           int sseClients, int sseReconnectSeconds, String heap, Path out, int warmupPct,
+                           double maxHeapGrowthMb, double maxHeapGrowthPct, int maxThreadGrowth,
+                           double maxLatencyDrift, double latencyFloorMs, double maxAllocDrift) {
+    }
+
+    private static volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        Options options = parseArgs(args);
+        int sampleCount = options.minutes() * 60 / options.sampleSeconds();
+        if (sampleCount * (100 - options.warmupPct()) / 100 < 6) {
+            throw new IllegalArgumentException("워밍업 이후 샘플이 6개 이상 필요합니다: minutes/sample-seconds를 늘리세요.");
+        }
+        Files.createDirectories(options.out());
+        Path workDir = Files.createTempDirectory("soak");
+
+        LatencyHistogram tickToSse = new LatencyHistogram();
+        LatencyHistogram rest = new LatencyHistogram();
+        AtomicLong sseEvents = new AtomicLong();
+        AtomicLong restErrors = new AtomicLong();
+        List<Sample> samples = new ArrayList<>();
+
+        try (UpbitStubServer stub = UpbitStubServer.start(0, options.tickMs(), options.markets(), options.simStepMs())) {
+            int httpPort = freePort();
+            int jmxPort = freePort();
+            Process process = launch(options, stub, workDir, httpPort, jmxPort);
+            Deque<String> outputTail = new ArrayDeque<>();
+            CompletableFuture<Void> firstTick = new CompletableFuture<>();
+            Thread pump = daemon("soak-output", () -> pumpOutput(process.getInputStream(), outputTail, firstTick));
+            pump.start();
+
+            List<Thread> clients = new ArrayList<>();
+            try {
+                firstTick.get(START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                process.destroyForcibly();
+                throw new IllegalStateException(START_TIMEOUT_SECONDS + "초 안에 첫 틱을 처리하지 못했습니다.\n" + tail(outputTail), e);
+            }
+            double simulatedSpeed = options.simStepMs() > 0 ? (double) options.simStepMs() / options.tickMs() : 1.0;
+            System.out.printf("🧪 소크 테스트 시작: %d분, 마켓 %d개, 틱 %dms, SSE %d명, 가상 시간 %.0f배 (약 %.1f시간)%n",
+                    options.minutes(), options.markets(), options.tickMs(), options.sseClients(),
+                    simulatedSpeed, options.minutes() * simulatedSpeed / 60.0);
+
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            String baseUrl = "http://127.0.0.1:" + httpPort;
+            for (int i = 0; i < options.sseClients(); i++) {
+                boolean slow = i % 4 == 3;
+                int reconnectSeconds = options.sseReconnectSeconds();
+                clients.add(daemon("soak-sse-" + i,
+                        () -> sseClient(http, baseUrl, stub, slow, reconnectSeconds, tickToSse, sseEvents)));
+            }
+            clients.add(daemon("soak-rest", () -> restProbe(http, baseUrl, rest, restErrors)));
+            clients.forEach(Thread::start);
+
+            try (JMXConnector jmx = JMXConnectorFactory.connect(
+                    new JMXServiceURL("service:jmx:rmi:///jndi/rmi://127.0.0.1:" + jmxPort + "/jmxrmi"));
+                 PrintWriter csv = new PrintWriter(Files.newBufferedWriter(options.out().resolve("samples.csv")))) {
+                MBeanServerConnection connection = jmx.getMBeanServerConnection();
+                MemoryMXBean memory = ManagementFactory.newPlatformMXBeanProxy(
+                        connection, ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+                com.sun.management.ThreadMXBean threads = ManagementFactory.newPlatformMXBeanProxy(
+                        connection, ManagementFactory.THREAD_MXBEAN_NAME, com.sun.management.ThreadMXBean.class);
+
+                csv.println("elapsed_s,heap_after_gc_mb,threads,alloc_mb_s,ticks,sse_events,tick_sse_p50_ms,tick_sse_p99_ms,rest_p50_ms,rest_p99_ms");
+                System.out.printf("%8s %10s %7s %10s %9s %9s %9s %9s%n",
+                        "elapsed", "heapMB", "threads", "allocMB/s", "sse p50", "sse p99", "rest p50", "rest p99");
+
+                long started = System.nanoTime();
+                Map<Long, Long> allocated = allocatedBytes(threads);
+                long lastSampleNanos = started;
+                long lastTicks = stub.ticksSent();
+                long lastSseEvents = sseEvents.get();
+                for (int i = 1; i <= sampleCount; i++) {
+                    Thread.sleep(options.sampleSeconds() * 1_000L);
+                    if (!process.isAlive()) {
+                        throw new IllegalStateException("애플리케이션이 종료되었습니다 (exit " + process.exitValue() + ").\n" + tail(outputTail));
+                    }
+                    long now = System.nanoTime();
+                    Map<Long, Long> current = allocatedBytes(threads);
+                    double allocRate = allocatedDelta(allocated, current) / MB / ((now - lastSampleNanos) / 1e9);
+                    allocated = current;
+                    lastSampleNanos = now;
+
+                    memory.gc();
+                    long heapAfterGc = memory.getHeapMemoryUsage().getUsed();
+                    long ticks = stub.ticksSent();
+                    long events = sseEvents.get();
+                    Sample sample = new Sample((now - started) / 1_000_000_000L, heapAfterGc, threads.getThreadCount(),
+                            allocRate, ticks - lastTicks, events - lastSseEvents,
+                            tickToSse.snapshotAndReset(), rest.snapshotAndReset());
+                    lastTicks = ticks;
+                    lastSseEvents = events;
+                    samples.add(sample);
+                    print(sample, csv);
+                }
+            } finally {
+                running = false;
+                process.destroy();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+
+        System.out.println("📁 샘플: " + options.out().resolve("samples.csv") + ", 작업 디렉터리: " + workDir);
+        if (restErrors.get() > 0) {
+            System.out.println("⚠️ REST 조회 실패 " + restErrors.get() + "건");
+        }
+        List<String> failures = evaluate(options, samples);
+        if (failures.isEmpty()) {
+            System.out.println("✅ 소크 테스트 통과 (드리프트 없음)");
+        } else {
+            failures.forEach(failure -> System.out.println("❌ " + failure));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 워밍업 이후 샘플의 초반/후반 1/3을 비교해 기준을 넘은 항목을 반환한다
+     */
+    private static List<String> evaluate(Options options, List<Sample> samples) {
+        List<Sample> measured = samples.subList(samples.size() * options.warmupPct() / 100, samples.size());
+        int third = Math.max(1, measured.size() / 3);
+        List<Sample> early = measured.subList(0, third);
+        List<Sample> late = measured.subList(measured.size() - third, measured.size());
+        List<String> failures = new ArrayList<>();
+
+        System.out.println();
+        System.out.println("=== 드리프트 (워밍업 이후 초반 1/3 → 후반 1/3) ===");
+
+        // 힙: 최소제곱 기울기 × 측정 구간 길이
+        double n = measured.size();
+        double meanT = measured.stream().mapToDouble(Sample::elapsedSeconds).average().orElse(0);
+        double meanHeap = measured.stream().mapToDouble(Sample::heapAfterGc).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (Sample sample : measured) {
+            covariance += (sample.elapsedSeconds() - meanT) * (sample.heapAfterGc() - meanHeap);
+            variance += (sample.elapsedSeconds() - meanT) * (sample.elapsedSeconds() - meanT);
+        }
+        double slope = variance > 0 ? covariance / variance : 0; // bytes/s
+        double span = measured.get(measured.size() - 1).elapsedSeconds() - measured.get(0).elapsedSeconds();
+        double heapGrowthMb = slope * span / MB;
+        double earlyHeapMb = early.stream().mapToDouble(Sample::heapAfterGc).average().orElse(0) / MB;
+        double heapLimitMb = Math.max(options.maxHeapGrowthMb(), earlyHeapMb * options.maxHeapGrowthPct() / 100);
+        System.out.printf("heap after GC : %.1fMB, 증가 %.2fMB (%.2fMB/h, 샘플 %d개, 한도 %.1fMB)%n",
+                earlyHeapMb, heapGrowthMb, slope * 3600 / MB, (int) n, heapLimitMb);
+        if (heapGrowthMb > heapLimitMb) {
+            failures.add(String.format("힙 증가 %.2fMB > %.1fMB (GC 후 힙이 계속 늘어남)", heapGrowthMb, heapLimitMb));
+        }
+
+        int earlyThreads = early.stream().mapToInt(Sample::threads).max().orElse(0);
+        int lateThreads = late.stream().mapToInt(Sample::threads).max().orElse(0);
+        System.out.printf("threads       : %d → %d (한도 +%d)%n", earlyThreads, lateThreads, options.maxThreadGrowth());
+        if (lateThreads - earlyThreads > options.maxThreadGrowth()) {
+            failures.add("스레드 수 " + earlyThreads + " → " + lateThreads);
+        }
+
+        checkLatency("tick→SSE p99", merge(early, Sample::tickToSse), merge(late, Sample::tickToSse), options, failures);
+        checkLatency("REST p99", merge(early, Sample::rest), merge(late, Sample::rest), options, failures);
+
+        double earlyAlloc = median(early.stream().mapToDouble(Sample::allocMbPerSecond).toArray());
+        double lateAlloc = median(late.stream().mapToDouble(Sample::allocMbPerSecond).toArray());
+        System.out.printf("alloc rate    : %.2fMB/s → %.2fMB/s (한도 ×%.1f)%n", earlyAlloc, lateAlloc, options.maxAllocDrift());
+        if (lateAlloc > earlyAlloc * options.maxAllocDrift() && lateAlloc - earlyAlloc >= 1.0) {
+            failures.add(String.format("할당률 %.2fMB/s → %.2fMB/s", earlyAlloc, lateAlloc));
+        }
+        return failures;
+    }
+
+    private static void checkLatency(String name, LatencyHistogram early, LatencyHistogram late, Options options,
+                                     List<String> failures) {
+        double before = early.percentileMs(99);
+        double after = late.percentileMs(99);
+        System.out.printf("%-14s: %.2fms → %.2fms (표본 %d → %d, 한도 ×%.1f)%n",
+                name, before, after, early.count(), late.count(), options.maxLatencyDrift());
+        if (late.count() == 0) {
+            failures.add(name + ": 후반 구간 측정값 없음");
+        } else if (after > before * options.maxLatencyDrift() && after - before >= options.latencyFloorMs()) {
+            failures.add(String.format("%s %.2fms → %.2fms", name, before, after));
+        }
+    }
+
+    private static double median(double[] values) {
+        java.util.Arrays.sort(values);
+        return values.length == 0 ? 0 : values[values.length / 2];
+    }
+
+    private static LatencyHistogram merge(List<Sample> samples, java.util.function.Function<Sample, LatencyHistogram> field) {
+        LatencyHistogram merged = new LatencyHistogram();
+        samples.forEach(sample -> merged.add(field.apply(sample)));
+        return merged;
+    }
+
+    private static void print(Sample sample, PrintWriter csv) {
+        double heapMb = sample.heapAfterGc() / MB;
+        System.out.printf("%7ds %10.1f %7d %10.2f %9.2f %9.2f %9.2f %9.2f%n",
+                sample.elapsedSeconds(), heapMb, sample.threads(), sample.allocMbPerSecond(),
+                sample.tickToSse().percentileMs(50), sample.tickToSse().percentileMs(99),
+                sample.rest().percentileMs(50), sample.rest().percentileMs(99));
+        csv.printf("%d,%.2f,%d,%.3f,%d,%d,%.3f,%.3f,%.3f,%.3f%n",
+                sample.elapsedSeconds(), heapMb, sample.threads(), sample.allocMbPerSecond(),
+                sample.ticks(), sample.sseEvents(),
+                sample.tickToSse().percentileMs(50), sample.tickToSse().percentileMs(99),
+                sample.rest().percentileMs(50), sample.rest().percentileMs(99));
+        csv.flush();
+    }
+
+    private static Process launch(Options options, UpbitStubServer stub, Path workDir, int httpPort, int jmxPort)
+            throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx" + options.heap(),
+                "-Dcom.sun.management.jmxremote.port=" + jmxPort,
+                "-Dcom.sun.management.jmxremote.rmi.port=" + jmxPort,
+                "-Dcom.sun.management.jmxremote.host=127.0.0.1",
+                "-Dcom.sun.management.jmxremote.authenticate=false",
+                "-Dcom.sun.management.jmxremote.ssl=false",
+                "-Djava.rmi.server.hostname=127.0.0.1",
+                "-jar", options.jar().toString(),
+                "--server.port=" + httpPort,
+                "--upbit.auto-start=true",
+                "--upbit.base-url=" + stub.baseUrl(),
+                "--upbit.websocket-url=" + stub.websocketUrl(),
+                "--upbit.access-key=benchmark",
+                "--upbit.secret-key=" + BENCHMARK_SECRET,
+                "--upbit.journal-dir=" + workDir.resolve("journal"),
+                "--upbit.warm-state-file=" + workDir.resolve("warm-state.bin")));
+        return new ProcessBuilder(command).directory(workDir.toFile()).redirectErrorStream(true).start();
+    }
+
+    /**
+     * 애플리케이션 출력을 끝까지 읽어 마지막 몇 줄만 보관한다 (파이프가 차서 프로세스가 멈추지 않게)
+     */
+    private static void pumpOutput(InputStream output, Deque<String> outputTail, CompletableFuture<Void> firstTick) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(output))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                synchronized (outputTail) {
+                    outputTail.addLast(line);
+                    if (outputTail.size() > OUTPUT_TAIL_LINES) {
+                        outputTail.removeFirst();
+                    }
+                }
+                if (!firstTick.isDone() && line.contains("first-tick-ms=")) {
+                    firstTick.complete(null);
+                }
+            }
+        } catch (IOException ignored) {
+            // 프로세스 종료
+        }
+        firstTick.completeExceptionally(new IllegalStateException("첫 틱 전에 프로세스가 종료되었습니다."));
+    }
+
+    /**
+     * 가짜 SSE 구독자. reconnectSeconds마다 연결을 끊고 다시 구독한다 (구독 해제 경로의 누수 확인).
+     * 느린 구독자는 이벤트마다 1ms씩 쉬고, 지연 측정에서는 제외한다.
+     */
+    private static void sseClient(HttpClient http, String baseUrl, UpbitStubServer stub, boolean slow,
+                                  int reconnectSeconds, LatencyHistogram latency, AtomicLong events) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/upbit/events"))
+                .header("Accept", "text/event-stream")
+                .build();
+        while (running) {
+            long reconnectAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(reconnectSeconds);
+            try {
+                HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                if (response.statusCode() != 200) {
+                    response.body().close();
+                    sleepQuietly(1_000); // 실패 응답에 곧바로 재접속을 반복하지 않는다
+                    continue;
+                }
+                readEvents(response.body(), reconnectAt, stub, slow, latency, events);
+            } catch (IOException e) {
+                sleepQuietly(1_000);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static void readEvents(InputStream body, long reconnectAt, UpbitStubServer stub, boolean slow,
+                                   LatencyHistogram latency, AtomicLong events) throws IOException, InterruptedException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String event = null;
+            String line;
+            while (running && System.nanoTime() < reconnectAt && (line = reader.readLine()) != null) {
+                if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:")) {
+                    events.incrementAndGet();
+                    if ("price".equals(event) && !slow) {
+                        recordPriceLatency(line, stub, latency);
+                    }
+                    if (slow) {
+                        Thread.sleep(1);
+                    }
+                } else if (line.isEmpty()) {
+                    event = null;
+                }
+            }
+        }
+    }
+
+    private static void recordPriceLatency(String data, UpbitStubServer stub, LatencyHistogram latency) {
+        int start = data.indexOf("\"price\":");
+        if (start < 0) {
+            return;
+        }
+        start += 8;
+        int end = start;
+        while (end < data.length() && data.charAt(end) != ',' && data.charAt(end) != '}') {
+            end++;
+        }
+        long sent = stub.sentNanos(Double.parseDouble(data.substring(start, end)));
+        long elapsed = System.nanoTime() - sent;
+        if (sent != 0 && elapsed >= 0 && elapsed < MAX_TRACKED_LATENCY_NANOS) {
+            latency.recordNanos(elapsed);
+        }
+    }
+
+    /**
+     * REST 조회 지연 (가격 스냅샷, 시간프레임 RSI, 알림 목록을 번갈아 조회)
+     */
+    private static void restProbe(HttpClient http, String baseUrl, LatencyHistogram latency, AtomicLong errors) {
+        int next = 0;
+        while (running) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + REST_PATHS.get(next++ % REST_PATHS.size())))
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+            long started = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                latency.recordNanos(System.nanoTime() - started);
+                if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                }
+            } catch (IOException e) {
+                errors.incrementAndGet();
+            } catch (InterruptedException e) {
+                return;
+            }
+            sleepQuietly(REST_PROBE_INTERVAL_MS);
+        }
+    }
+
+    private static Map<Long, Long> allocatedBytes(com.sun.management.ThreadMXBean threads) {
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> allocated = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * 두 시점 사이 할당량 (새로 생긴 스레드는 전체, 종료된 스레드는 제외)
+     */
+    private static long allocatedDelta(Map<Long, Long> previous, Map<Long, Long> current) {
+        long delta = 0;
+        for (Map.Entry<Long, Long> entry : current.entrySet()) {
+            delta += Math.max(0, entry.getValue() - previous.getOrDefault(entry.getKey(), 0L));
+        }
+        return delta;
+    }
+
+    private static Thread daemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String tail(Deque<String> outputTail) {
+        synchronized (outputTail) {
+            return String.join("\n", outputTail);
+        }
+    }
+
+    private static Options parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        if (!options.containsKey("jar") || !options.containsKey("out")) {
+            throw new IllegalArgumentException("사용법: --jar <bootJar> --out <dir> [--minutes 30] [--sample-seconds 30] " +
+                    "[--tick-ms 10] [--sim-step-ms 1000] [--markets 10] [--sse-clients 8] [--sse-reconnect-seconds 60] [--heap 512m]");
+        }
+        return new Options(
+                Path.of(options.get("jar")),
+                Integer.parseInt(options.getOrDefault("minutes", "30")),
+                Integer.parseInt(options.getOrDefault("sample-seconds", "30")),
+                Long.parseLong(options.getOrDefault("tick-ms", "10")),
+                Long.parseLong(options.getOrDefault("sim-step-ms", "1000")),
+                Integer.parseInt(options.getOrDefault("markets", "10")),
+                Integer.parseInt(options.getOrDefault("sse-clients", "8")),
+                Integer.parseInt(options.getOrDefault("sse-reconnect-seconds", "60")),
+                options.getOrDefault("heap", "512m"),
+                Path.of(options.get("out")),
+                Integer.parseInt(options.getOrDefault("warmup-pct", "20")),
+                Double.parseDouble(options.getOrDefault("max-heap-growth-mb", "16")),
+                Double.parseDouble(options.getOrDefault("max-heap-growth-pct", "10")),
+                Integer.parseInt(options.getOrDefault("max-thread-growth", "4")),
+                Double.parseDouble(options.getOrDefault("max-latency-drift", "2.0")),
+                Double.parseDouble(options.getOrDefault("latency-floor-ms", "5")),
+                Double.parseDouble(options.getOrDefault("max-alloc-drift", "1.5")));
+    }
+}
@@ -0,0 +1,191 @@
+package com.backend.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 재시작 시간 측정: 프로세스 실행부터 첫 틱 처리까지 (로컬 스텁 서버 대상, upbit.auto-start=true).
+ *
+ * 빌드 결과에 따라 다음 실행 방식을 각각 runs회 측정한다.
+ *   jar  : bootJar 그대로
+ *   aot  : bootJar + -Dspring.aot.enabled=true (-Paot로 빌드한 경우)
+ *   cds  : 추출한 jar + CDS 아카이브 (cdsArchive 태스크 결과가 있는 경우, -Paot면 AOT 포함)
+ *
+ * 사용: gradle startupBenchmark [-Paot] [-Pruns=5]
+ */
+public class StartupBenchmark {
+
+    private static final Pattern FIRST_TICK = Pattern.compile("first-tick-ms=(\\d+)");
+    private static final long RUN_TIMEOUT_SECONDS = 60;
+    private static final int OUTPUT_TAIL_LINES = 20;
+    private static final String BENCHMARK_SECRET = "benchmark-secret-key-0123456789abcdef"; // HS256 최소 256비트
+
+    private record Variant(String name, List<String> jvmArgs, Path jar) {
+    }
+
+    private record Result(long wallMs, long sinceJvmStartMs) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        Path jar = Path.of(options.get("jar"));
+        boolean aot = Boolean.parseBoolean(options.getOrDefault("aot", "false"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("jar", List.of(), jar));
+        if (aot) {
+            variants.add(new Variant("aot", List.of("-Dspring.aot.enabled=true"), jar));
+        }
+        if (options.containsKey("cds-dir")) {
+            Path cdsDir = Path.of(options.get("cds-dir"));
+            Path archive = cdsDir.resolve("application.jsa");
+            if (Files.exists(archive)) {
+                List<String> jvmArgs = new ArrayList<>(List.of("-XX:SharedArchiveFile=" + archive));
+                if (aot) {
+                    jvmArgs.add("-Dspring.aot.enabled=true");
+                }
+                variants.add(new Variant(aot ? "cds+aot" : "cds", jvmArgs, cdsDir.resolve(jar.getFileName())));
+            } else {
+                System.out.println("ℹ️ CDS 아카이브 없음 (" + archive + "), cds 측정 생략 — gradle cdsArchive 먼저 실행");
+            }
+        }
+
+        try (UpbitStubServer stub = UpbitStubServer.start(0, 10)) {
+            System.out.println("🧪 스텁 서버: " + stub.baseUrl());
+            Map<String, List<Result>> results = new LinkedHashMap<>();
+            for (Variant variant : variants) {
+                List<Result> variantResults = new ArrayList<>();
+                for (int run = 1; run <= runs; run++) {
+                    Result result = measure(variant, stub);
+                    System.out.println("  " + variant.name() + " #" + run + ": " + result.wallMs() + "ms" +
+                            " (JVM 시작 기준 " + result.sinceJvmStartMs() + "ms)");
+                    variantResults.add(result);
+                }
+                results.put(variant.name(), variantResults);
+            }
+            printSummary(results);
+        }
+    }
+
+    private static Result measure(Variant variant, UpbitStubServer stub) throws IOException, InterruptedException {
+        Path workDir = Files.createTempDirectory("startup-bench");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmArgs());
+        command.addAll(List.of("-jar", variant.jar().toString(),
+                "--server.port=0",
+                "--upbit.auto-start=true",
+                "--upbit.base-url=" + stub.baseUrl(),
+                "--upbit.websocket-url=" + stub.websocketUrl(),
+                "--upbit.access-key=benchmark",
+                "--upbit.secret-key=" + BENCHMARK_SECRET,
+                "--upbit.journal-dir=" + workDir.resolve("journal"),
+                "--upbit.warm-state-file=" + workDir.resolve("warm-state.bin")));
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(workDir.toFile()).redirectErrorStream(true).start();
+        Deque<String> outputTail = new ArrayDeque<>();
+        CompletableFuture<Long> firstTick = CompletableFuture.supplyAsync(() -> awaitFirstTick(process, outputTail));
+        try {
+            Long sinceJvmStart = firstTick.get(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            long wallMs = (System.nanoTime() - started) / 1_000_000;
+            if (sinceJvmStart == null) {
+                throw new IllegalStateException(variant.name() + ": 첫 틱 전에 프로세스가 종료되었습니다.\n" + tail(outputTail));
+            }
+            return new Result(wallMs, sinceJvmStart);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException(variant.name() + ": " + RUN_TIMEOUT_SECONDS + "초 안에 첫 틱을 처리하지 못했습니다.\n" +
+                    tail(outputTail), e);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * @return 애플리케이션이 기록한 JVM 시작 기준 첫 틱 시각, 그 전에 출력이 끝나면 null
+     */
+    private static Long awaitFirstTick(Process process, Deque<String> outputTail) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                synchronized (outputTail) {
+                    outputTail.addLast(line);
+                    if (outputTail.size() > OUTPUT_TAIL_LINES) {
+                        outputTail.removeFirst();
+                    }
+                }
+                Matcher matcher = FIRST_TICK.matcher(line);
+                if (matcher.find()) {
+                    // 남은 출력은 버려서 프로세스가 파이프에 막히지 않게 한다 (프로세스 종료 시 EOF)
+                    Thread drain = new Thread(() -> drain(reader));
+                    drain.setDaemon(true);
+                    drain.start();
+                    return Long.parseLong(matcher.group(1));
+                }
+            }
+            reader.close();
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void drain(BufferedReader reader) {
+        try (reader) {
+            while (reader.readLine() != null) {
+                // 버림
+            }
+        } catch (IOException ignored) {
+            // 프로세스 종료
+        }
+    }
+
+    private static String tail(Deque<String> outputTail) {
+        synchronized (outputTail) {
+            return String.join("\n", outputTail);
+        }
+    }
+
+    private static void printSummary(Map<String, List<Result>> results) {
+        System.out.println();
+        System.out.println("=== 첫 틱 처리까지 (ms, 프로세스 실행 기준) ===");
+        System.out.printf("%-8s %8s %8s %8s%n", "mode", "min", "median", "max");
+        results.forEach((name, list) -> {
+            List<Long> wall = new ArrayList<>(list.stream().map(Result::wallMs).toList());
+            Collections.sort(wall);
+            System.out.printf("%-8s %8d %8d %8d%n", name, wall.get(0), wall.get(wall.size() / 2), wall.get(wall.size() - 1));
+        });
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        if (!options.containsKey("jar")) {
+            throw new IllegalArgumentException("사용법: --jar <bootJar> [--cds-dir <dir>] [--aot true] [--runs 5]");
+        }
+        return options;
+    }
+}
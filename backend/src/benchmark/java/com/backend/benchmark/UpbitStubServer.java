@@ -0,0 +1,206 @@
+package com.backend.benchmark;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 업비트 스텁 서버 (REST + WebSocket 한 포트).
+ * 자동매매 시작 경로에 필요한 API만 흉내낸다: 계좌(KRW만 보유), 마켓 목록, 주문 가능 정보, 분봉, 시세/private WebSocket.
+ * 주문 API는 없으므로 주문은 404로 실패한다 (측정 중 실거래 없음).
+ *
+ * 시세 WebSocket은 구독 메시지를 받으면 구독한 마켓마다 tickIntervalMs 간격으로 ticker를 보낸다
+ * (구독 메시지를 다시 받으면 새 마켓 목록으로 교체).
+ *
+ * 소크 테스트용 옵션:
+ *   marketCount     : 마켓 목록 크기 (기본 3개 이후는 KRW-S001.. 가상 마켓)
+ *   simulatedStepMs : 0보다 크면 trade_timestamp를 프레임마다 이만큼 앞당긴다 (벽시계보다 빠른 가상 시간으로 봉 집계)
+ * ticker 가격의 하위 3자리는 프레임 순번(SEQ_RING으로 나눈 나머지)이므로, 받은 가격으로 sentNanos()를 조회하면
+ * 해당 프레임을 보낸 시각을 알 수 있다 (틱 → SSE 전달 지연 측정용).
+ */
+public class UpbitStubServer implements AutoCloseable {
+
+    private static final Pattern CODES = Pattern.compile("\"codes\":\\[\"([^\\]]*)\"\\]");
+    private static final DateTimeFormatter CANDLE_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter CANDLE_TIME_KST =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.ofHours(9));
+    private static final int MAX_CANDLES = 200;
+    private static final int SEQ_RING = 1000;
+
+    private static final String ACCOUNTS = "[{\"currency\":\"KRW\",\"balance\":\"1000000.0\",\"locked\":\"0.0\"," +
+            "\"avg_buy_price\":\"0\",\"avg_buy_price_modified\":false,\"unit_currency\":\"KRW\"}]";
+    private static final String[][] NAMED_MARKETS = {
+            {"KRW-BTC", "비트코인", "Bitcoin"}, {"KRW-ETH", "이더리움", "Ethereum"}, {"KRW-XRP", "리플", "Ripple"}};
+
+    private final String markets;
+    private final long simulatedStepMs;
+    private final DisposableServer server;
+    private final AtomicLong ticksSent = new AtomicLong();
+    private final AtomicLongArray sentNanos = new AtomicLongArray(SEQ_RING);
+
+    private UpbitStubServer(int port, long tickIntervalMs, int marketCount, long simulatedStepMs) {
+        this.markets = marketList(marketCount);
+        this.simulatedStepMs = simulatedStepMs;
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(port)
+                .route(routes -> routes
+                        .get("/v1/accounts", (req, res) -> json(res, ACCOUNTS))
+                        .get("/v1/market/all", (req, res) -> json(res, markets))
+                        .get("/v1/orders/chance", (req, res) -> {
+                            QueryStringDecoder query = new QueryStringDecoder(req.uri());
+                            String market = query.parameters().getOrDefault("market", List.of("KRW-BTC")).get(0);
+                            return json(res, orderChance(market));
+                        })
+                        .get("/v1/candles/minutes/{unit}", (req, res) -> {
+                            QueryStringDecoder query = new QueryStringDecoder(req.uri());
+                            int unit = Integer.parseInt(req.param("unit"));
+                            String market = query.parameters().getOrDefault("market", List.of("KRW-BTC")).get(0);
+                            int count = Integer.parseInt(query.parameters().getOrDefault("count", List.of("1")).get(0));
+                            return json(res, candles(market, unit, Math.min(count, MAX_CANDLES)));
+                        })
+                        .ws("/websocket/v1/private", (in, out) -> in.receive().then())
+                        .ws("/websocket/v1", (in, out) -> out.sendObject(
+                                in.receive().asString()
+                                        .switchMap(subscription -> ticks(parseCodes(subscription), tickIntervalMs))
+                                        .map(frame -> new BinaryWebSocketFrame(
+                                                Unpooled.wrappedBuffer(frame.getBytes(StandardCharsets.UTF_8))))))
+                        .route(req -> true, (req, res) -> res.status(HttpResponseStatus.NOT_FOUND).send()))
+                .bindNow();
+    }
+
+    public static UpbitStubServer start(int port, long tickIntervalMs) {
+        return new UpbitStubServer(port, tickIntervalMs, NAMED_MARKETS.length, 0);
+    }
+
+    public static UpbitStubServer start(int port, long tickIntervalMs, int marketCount, long simulatedStepMs) {
+        return new UpbitStubServer(port, tickIntervalMs, marketCount, simulatedStepMs);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public String websocketUrl() {
+        return "ws://127.0.0.1:" + server.port() + "/websocket/v1";
+    }
+
+    public long ticksSent() {
+        return ticksSent.get();
+    }
+
+    /**
+     * ticker 가격(하위 3자리 = 프레임 순번)으로 해당 프레임을 보낸 System.nanoTime(). 아직 보낸 적 없으면 0
+     */
+    public long sentNanos(double tradePrice) {
+        return sentNanos.get((int) Math.floorMod((long) tradePrice, (long) SEQ_RING));
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private static Mono<Void> json(HttpServerResponse res, String body) {
+        return res.header("Content-Type", "application/json")
+                .sendString(Mono.just(body))
+                .then();
+    }
+
+    private static List<String> parseCodes(String subscription) {
+        Matcher matcher = CODES.matcher(subscription);
+        return matcher.find() ? List.of(matcher.group(1).split("\",\"")) : List.of();
+    }
+
+    /**
+     * 마켓별 가격이 사인파로 움직이는 ticker 스트림 (한 프레임에 마켓 수만큼 개행 구분)
+     */
+    private Flux<String> ticks(List<String> codes, long tickIntervalMs) {
+        return Flux.interval(Duration.ZERO, Duration.ofMillis(tickIntervalMs))
+                .map(i -> {
+                    long wallNow = System.currentTimeMillis();
+                    long now = simulatedStepMs > 0 ? wallNow + i * simulatedStepMs : wallNow;
+                    StringBuilder frame = new StringBuilder(codes.size() * 128);
+                    for (int m = 0; m < codes.size(); m++) {
+                        // 하위 3자리에 프레임 순번을 싣는다 (가격 변동폭 0.1% 미만)
+                        double price = Math.floor(price(m, i) / SEQ_RING) * SEQ_RING + i % SEQ_RING;
+                        frame.append("{\"type\":\"ticker\",\"code\":\"").append(codes.get(m))
+                                .append("\",\"trade_price\":").append(price)
+                                .append(",\"trade_timestamp\":").append(now)
+                                .append(",\"timestamp\":").append(now)
+                                .append(",\"stream_type\":\"REALTIME\"}\n");
+                    }
+                    ticksSent.addAndGet(codes.size());
+                    sentNanos.set((int) (i % SEQ_RING), System.nanoTime());
+                    return frame.toString();
+                });
+    }
+
+    private static String marketList(int marketCount) {
+        StringBuilder list = new StringBuilder(marketCount * 96).append('[');
+        for (int i = 0; i < marketCount; i++) {
+            String[] named = i < NAMED_MARKETS.length ? NAMED_MARKETS[i]
+                    : new String[]{String.format("KRW-S%03d", i), "소크" + i, "Soak" + i};
+            if (i > 0) list.append(',');
+            list.append("{\"market\":\"").append(named[0]).append("\",\"korean_name\":\"").append(named[1])
+                    .append("\",\"english_name\":\"").append(named[2]).append("\"}");
+        }
+        return list.append(']').toString();
+    }
+
+    private static String orderChance(String market) {
+        return "{\"bid_fee\":\"0.0005\",\"ask_fee\":\"0.0005\",\"market\":{\"id\":\"" + market + "\"," +
+                "\"bid\":{\"currency\":\"KRW\",\"min_total\":\"5000\"}," +
+                "\"ask\":{\"currency\":\"" + market.substring(market.indexOf('-') + 1) + "\",\"min_total\":\"5000\"}," +
+                "\"max_total\":\"1000000000.0\",\"state\":\"active\"}}";
+    }
+
+    /**
+     * 최신순 분봉 (첫 번째는 진행 중인 봉)
+     */
+    private static String candles(String market, int unit, int count) {
+        long unitMs = unit * 60_000L;
+        long current = System.currentTimeMillis() / unitMs * unitMs;
+        StringBuilder body = new StringBuilder(count * 256).append('[');
+        for (int i = 0; i < count; i++) {
+            long start = current - i * unitMs;
+            double close = price(market.hashCode() & 7, start / unitMs);
+            if (i > 0) body.append(',');
+            body.append("{\"market\":\"").append(market)
+                    .append("\",\"candle_date_time_utc\":\"").append(CANDLE_TIME.format(Instant.ofEpochMilli(start)))
+                    .append("\",\"candle_date_time_kst\":\"").append(CANDLE_TIME_KST.format(Instant.ofEpochMilli(start)))
+                    .append("\",\"opening_price\":").append(close)
+                    .append(",\"high_price\":").append(close * 1.001)
+                    .append(",\"low_price\":").append(close * 0.999)
+                    .append(",\"trade_price\":").append(close)
+                    .append(",\"timestamp\":").append(start + unitMs - 1)
+                    .append(",\"candle_acc_trade_price\":").append(close * 10)
+                    .append(",\"candle_acc_trade_volume\":10.0")
+                    .append(",\"unit\":").append(unit).append('}');
+        }
+        return body.append(']').toString();
+    }
+
+    private static double price(int market, long step) {
+        double base = 1_000_000.0 * (market + 1);
+        return Math.round(base * (1 + 0.01 * Math.sin(step / 7.0)));
+    }
+}
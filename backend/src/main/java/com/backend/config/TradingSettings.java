@@ -5,7 +5,9 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
 /**
@@ -18,6 +20,7 @@ public class TradingSettings {
 
     private static final Pattern MARKET_PATTERN = Pattern.compile("^[A-Z]+-[A-Z0-9]+$");
     private static final Set<Integer> ALLOWED_CANDLE_MINUTES = Set.of(1, 3, 5, 15, 30, 60, 240);
+    private static final int MAX_AUTO_SELECT_MARKETS = 50;
 
     private static final TradingSettingsDto DEFAULT = new TradingSettingsDto(
             List.of("KRW-BTC", "KRW-ETH", "KRW-XRP"),
@@ -27,23 +30,40 @@ public class TradingSettings {
             5,
             30,
             60_000L,
-            5000
+            5000,
+            0.5,
+            0,
+            0.0,
+            0.0,
+            0.0
     );
 
     private final AtomicReference<TradingSettingsDto> current = new AtomicReference<>(DEFAULT);
 
+    // 설정 교체 후 (이전, 새) 스냅샷을 전달받는 리스너 (실행 중인 자동매매에 즉시 반영하기 위함)
+    // update의 락 안에서 호출되므로 리스너는 오래 걸리는 작업을 자기 스레드로 넘겨야 한다
+    private final List<BiConsumer<TradingSettingsDto, TradingSettingsDto>> listeners = new CopyOnWriteArrayList<>();
+
     public TradingSettingsDto current() {
         return current.get();
     }
 
     /**
      * 검증 후 설정을 원자적으로 교체한다.
+     * 교체와 리스너 통지를 한 번에 직렬화하므로 동시에 들어온 변경도 리스너는 교체 순서대로 (이전, 새) 쌍을 받는다.
      *
      * @throws IllegalArgumentException 유효하지 않은 설정인 경우
      */
-    public void update(TradingSettingsDto next) {
+    public synchronized void update(TradingSettingsDto next) {
         validate(next);
-        current.set(next);
+        TradingSettingsDto previous = current.getAndSet(next);
+        for (BiConsumer<TradingSettingsDto, TradingSettingsDto> listener : listeners) {
+            listener.accept(previous, next);
+        }
+    }
+
+    public void addChangeListener(BiConsumer<TradingSettingsDto, TradingSettingsDto> listener) {
+        listeners.add(listener);
     }
 
     private void validate(TradingSettingsDto dto) {
@@ -83,5 +103,20 @@ public class TradingSettings {
         if (dto.minOrderKrw() <= 0) {
             throw new IllegalArgumentException("minOrderKrw는 0보다 커야 합니다.");
         }
+        if (dto.maxSlippagePct() < 0) {
+            throw new IllegalArgumentException("maxSlippagePct는 0 이상이어야 합니다.");
+        }
+        if (dto.autoSelectMarkets() < 0 || dto.autoSelectMarkets() > MAX_AUTO_SELECT_MARKETS) {
+            throw new IllegalArgumentException("autoSelectMarkets는 0 이상 " + MAX_AUTO_SELECT_MARKETS + " 이하여야 합니다.");
+        }
+        if (dto.stopLossPct() < 0 || dto.stopLossPct() >= 100) {
+            throw new IllegalArgumentException("stopLossPct는 0 이상 100 미만이어야 합니다.");
+        }
+        if (dto.takeProfitPct() < 0) {
+            throw new IllegalArgumentException("takeProfitPct는 0 이상이어야 합니다.");
+        }
+        if (dto.trailingStopPct() < 0 || dto.trailingStopPct() >= 100) {
+            throw new IllegalArgumentException("trailingStopPct는 0 이상 100 미만이어야 합니다.");
+        }
     }
 }
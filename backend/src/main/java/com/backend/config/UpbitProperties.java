@@ -6,17 +6,59 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Setter
 @Getter
 @Configuration
 @ConfigurationProperties(prefix = "upbit")
 public class UpbitProperties {
 
-    private String baseUrl;
-    private String websocketUrl;
+    private String baseUrl = "https://api.upbit.com";
+    private String websocketUrl = "wss://api.upbit.com/websocket/v1";
     private String accessKey;
     private String secretKey;
 
+    // 애플리케이션 시작 직후 현재 설정으로 자동매매 시작 (재시작 시 API 호출을 기다리지 않음)
+    private boolean autoStart = false;
+
+    // 체결(trade) 스트림 구독 여부 (VWAP/매수·매도 체결량 집계)
+    private boolean tradeStreamEnabled = false;
+
+    // 거래 저널(판단/주문/체결 기록) 저장 디렉터리
+    private String journalDir = "data/journal";
+
+    // 마켓별 판단 상태(확정봉, 마지막 RSI 등) 스냅샷 파일 (재시작 시 워밍업 생략)
+    private String warmStateFile = "data/warm-state.bin";
+
+    // 주문/알림 작업 대기 수가 이 값 이상이면 정보성 알림 작업을 버린다 (청산·매도·매수 우선)
+    private int decisionQueueShedDepth = 64;
+
+    // 같은 호스트의 봇 프로세스 간 시세 공유 (off | publish | subscribe)
+    // publish: 이 프로세스가 WebSocket 틱을 링 파일에 기록, subscribe: WebSocket 대신 링 파일에서 틱을 읽음
+    private String feedBusMode = "off";
+    private String feedBusFile = "data/feed-bus.ring";
+    private int feedBusCapacity = 65536; // 슬롯 수 (2의 거듭제곱, 슬롯당 64바이트)
+    private List<String> feedBusMarkets = new ArrayList<>(); // 발행 마켓 (비어 있으면 전체 KRW 마켓)
+
+    // JFR 상시 기록 (틱/판단/주문/재연결/REST/SSE 이벤트 + GC/세이프포인트). 덤프: POST /api/upbit/diagnostics/recording
+    private boolean flightRecorderEnabled = true;
+    private int flightRecorderMaxAgeMinutes = 30; // 보관 구간
+    private int flightRecorderMaxSizeMb = 64; // 보관 용량 (디스크 링)
+    private String flightRecorderDir = "data/jfr"; // 덤프 파일 저장 디렉터리
+
+    // 추가 트레이딩 세션 (서브 계정별 키). 시세 WebSocket과 캔들 조회는 기본 세션과 공유한다
+    private List<Session> sessions = new ArrayList<>();
+
+    @Setter
+    @Getter
+    public static class Session {
+        private String id;
+        private String accessKey;
+        private String secretKey;
+    }
+
 }
 
 
@@ -1,5 +1,6 @@
 package com.backend.config;
 
+import com.backend.diagnostics.RestCallFilter;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
@@ -43,6 +44,7 @@ public class WebClientConfig {
                 .baseUrl(upbitProperties.getBaseUrl())
                 .exchangeStrategies(strategies)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(new RestCallFilter()) // JFR REST 호출 이벤트
                 .build();
     }
 }
@@ -0,0 +1,31 @@
+package com.backend.controller;
+
+import com.backend.service.BacktestService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/api/upbit/backtest", produces = MediaType.APPLICATION_JSON_VALUE)
+public class BacktestController {
+
+    private final BacktestService backtestService;
+
+    public BacktestController(BacktestService backtestService) {
+        this.backtestService = backtestService;
+    }
+
+    // 최근 분봉으로 현재 설정/전략 백테스트 (예: /api/upbit/backtest?market=KRW-BTC&count=200)
+    @GetMapping
+    public ResponseEntity<?> backtest(@RequestParam String market,
+                                      @RequestParam(defaultValue = "200") int count) {
+        try {
+            return ResponseEntity.ok(backtestService.run(market, count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.backend.controller;
+
+import com.backend.diagnostics.FlightRecorderService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/upbit/diagnostics")
+public class DiagnosticsController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    public DiagnosticsController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    // JFR 상시 기록의 최근 구간을 덤프해 내려받는다 (파일은 upbit.flight-recorder-dir에도 남음, JDK Mission Control로 열기)
+    @PostMapping("/recording")
+    public ResponseEntity<Resource> dumpRecording() throws IOException {
+        Path file = flightRecorderService.dump();
+        if (file == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build(); // 상시 기록이 꺼져 있음
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
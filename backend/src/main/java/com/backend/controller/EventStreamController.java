@@ -1,24 +1,26 @@
 package com.backend.controller;
 
-import com.backend.service.SseEmitterRegistry;
+import com.backend.service.EventStreamHub;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/api/upbit")
 public class EventStreamController {
 
-    private final SseEmitterRegistry sseEmitterRegistry;
+    private final EventStreamHub eventStreamHub;
 
-    public EventStreamController(SseEmitterRegistry sseEmitterRegistry) {
-        this.sseEmitterRegistry = sseEmitterRegistry;
+    public EventStreamController(EventStreamHub eventStreamHub) {
+        this.eventStreamHub = eventStreamHub;
     }
 
     // 알림/가격/상태 실시간 스트림 (notification / price / status 이벤트)
-    @GetMapping("/events")
-    public SseEmitter events() {
-        return sseEmitterRegistry.subscribe();
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> events() {
+        return eventStreamHub.subscribe();
     }
 }
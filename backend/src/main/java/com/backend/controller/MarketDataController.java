@@ -0,0 +1,61 @@
+package com.backend.controller;
+
+import com.backend.dto.MarketScanDto;
+import com.backend.dto.OrderBookDto;
+import com.backend.dto.TradeFlowDto;
+import com.backend.service.MarketScannerService;
+import com.backend.websocket.UpbitWebSocketClient;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping(path = "/api/upbit/market-data", produces = MediaType.APPLICATION_JSON_VALUE)
+public class MarketDataController {
+
+    private final UpbitWebSocketClient webSocketClient;
+    private final MarketScannerService marketScannerService;
+
+    public MarketDataController(UpbitWebSocketClient webSocketClient, MarketScannerService marketScannerService) {
+        this.webSocketClient = webSocketClient;
+        this.marketScannerService = marketScannerService;
+    }
+
+    // 호가 스냅샷 조회 (자동매매 대상 마켓만)
+    @GetMapping("/orderbook/{market}")
+    public ResponseEntity<OrderBookDto> getOrderBook(@PathVariable String market) {
+        OrderBookDto orderBook = webSocketClient.getOrderBook(market);
+        return orderBook != null ? ResponseEntity.ok(orderBook) : ResponseEntity.notFound().build();
+    }
+
+    // X KRW 시장가 매수 시 예상 평균 체결가 (예: /orderbook/KRW-BTC/fill?krw=1000000)
+    @GetMapping("/orderbook/{market}/fill")
+    public ResponseEntity<?> estimateBuyFill(@PathVariable String market, @RequestParam double krw) {
+        double expectedPrice = webSocketClient.estimateBuyPrice(market, krw);
+        if (Double.isNaN(expectedPrice)) {
+            return ResponseEntity.badRequest().body("호가가 없거나 깊이가 부족합니다: " + market);
+        }
+        return ResponseEntity.ok(Map.of("market", market, "krw", krw, "expectedPrice", expectedPrice));
+    }
+
+    // 체결 흐름 조회 (10초/1분/5분 VWAP, 매수/매도 체결량). upbit.trade-stream-enabled 필요
+    @GetMapping("/trade-flow/{market}")
+    public ResponseEntity<TradeFlowDto> getTradeFlow(@PathVariable String market) {
+        TradeFlowDto tradeFlow = webSocketClient.getTradeFlow(market);
+        return tradeFlow != null ? ResponseEntity.ok(tradeFlow) : ResponseEntity.notFound().build();
+    }
+
+    // 원화 마켓 전체 스캔 결과 (거래대금/변동성 종합 순위, RSI 포함)
+    @GetMapping("/scan")
+    public List<MarketScanDto> scanMarkets(@RequestParam(defaultValue = "30") int limit,
+                                           @RequestParam(defaultValue = "false") boolean refresh) {
+        return marketScannerService.getScan(refresh).stream().limit(Math.max(0, limit)).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.backend.controller;
+
+import com.backend.dto.AccountDto;
+import com.backend.dto.SessionStatusDto;
+import com.backend.dto.TradeNotification;
+import com.backend.dto.TradingSettingsDto;
+import com.backend.session.TradingSession;
+import com.backend.session.TradingSessionManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 추가 트레이딩 세션 API (기본 세션은 /api/upbit/auto, /api/upbit/settings 그대로)
+ */
+@RestController
+@RequestMapping(path = "/api/upbit/sessions", produces = MediaType.APPLICATION_JSON_VALUE)
+public class SessionController {
+
+    private final TradingSessionManager sessionManager;
+
+    public SessionController(TradingSessionManager sessionManager) {
+        this.sessionManager = sessionManager;
+    }
+
+    @GetMapping
+    public List<SessionStatusDto> getSessions() {
+        return sessionManager.all().stream().map(TradingSession::status).toList();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SessionStatusDto> getSession(@PathVariable String id) {
+        TradingSession session = sessionManager.get(id);
+        return session == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(session.status());
+    }
+
+    @PostMapping("/{id}/start")
+    public ResponseEntity<SessionStatusDto> start(@PathVariable String id) {
+        TradingSession session = sessionManager.get(id);
+        if (session == null) {
+            return ResponseEntity.notFound().build();
+        }
+        session.start();
+        return ResponseEntity.ok(session.status());
+    }
+
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<SessionStatusDto> stop(@PathVariable String id) {
+        TradingSession session = sessionManager.get(id);
+        if (session == null) {
+            return ResponseEntity.notFound().build();
+        }
+        session.stop();
+        return ResponseEntity.ok(session.status());
+    }
+
+    @GetMapping("/{id}/settings")
+    public ResponseEntity<TradingSettingsDto> getSettings(@PathVariable String id) {
+        TradingSession session = sessionManager.get(id);
+        return session == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(session.settings().current());
+    }
+
+    // 실행 중에도 변경 가능 (세션이 변경분만 즉시 반영)
+    @PutMapping(path = "/{id}/settings", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> updateSettings(@PathVariable String id, @RequestBody TradingSettingsDto dto) {
+        TradingSession session = sessionManager.get(id);
+        if (session == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            session.settings().update(dto);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok(session.settings().current());
+    }
+
+    @GetMapping("/{id}/accounts")
+    public ResponseEntity<List<AccountDto>> getAccounts(@PathVariable String id) {
+        TradingSession session = sessionManager.get(id);
+        return session == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(session.upbitService().getAccounts());
+    }
+
+    // 마켓별 마지막 판단 지표값
+    @GetMapping("/{id}/indicators")
+    public ResponseEntity<Map<String, Double>> getIndicators(@PathVariable String id) {
+        TradingSession session = sessionManager.get(id);
+        return session == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(session.indicators());
+    }
+
+    @GetMapping("/{id}/notifications")
+    public ResponseEntity<List<TradeNotification>> getNotifications(@PathVariable String id) {
+        TradingSession session = sessionManager.get(id);
+        return session == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(session.notifications().getAll());
+    }
+}
@@ -2,8 +2,6 @@ package com.backend.controller;
 
 import com.backend.config.TradingSettings;
 import com.backend.dto.TradingSettingsDto;
-import com.backend.websocket.UpbitWebSocketClient;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,11 +15,9 @@ import org.springframework.web.bind.annotation.RestController;
 public class SettingsController {
 
     private final TradingSettings tradingSettings;
-    private final UpbitWebSocketClient webSocketClient;
 
-    public SettingsController(TradingSettings tradingSettings, UpbitWebSocketClient webSocketClient) {
+    public SettingsController(TradingSettings tradingSettings) {
         this.tradingSettings = tradingSettings;
-        this.webSocketClient = webSocketClient;
     }
 
     @GetMapping
@@ -29,12 +25,9 @@ public class SettingsController {
         return tradingSettings.current();
     }
 
+    // 자동매매 실행 중에도 변경 가능 (UpbitWebSocketClient가 변경분만 즉시 반영)
     @PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> updateSettings(@RequestBody TradingSettingsDto dto) {
-        if (webSocketClient.isRunning()) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body("자동매매 실행 중에는 설정을 변경할 수 없습니다. 먼저 중지하세요.");
-        }
         try {
             tradingSettings.update(dto);
         } catch (IllegalArgumentException e) {
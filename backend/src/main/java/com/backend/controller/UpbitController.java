@@ -1,41 +1,57 @@
 package com.backend.controller;
 
 import com.backend.config.TradingSettings;
+import com.backend.market.VersionedPrices;
+import com.backend.service.AccountView;
 import com.backend.service.NotificationService;
 import com.backend.service.UpbitApiClient;
 import com.backend.service.UpbitService;
 import com.backend.websocket.UpbitWebSocketClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping(path = "/api/upbit", produces = MediaType.APPLICATION_JSON_VALUE)
 public class UpbitController {
 
+    // 서블릿 비동기 요청 기본 타임아웃(30초)보다 짧게 제한
+    private static final long MAX_PRICE_POLL_TIMEOUT_MS = 25_000L;
+
     private final UpbitApiClient upbitApiClient;
     private final UpbitWebSocketClient webSocketClient;
     private final UpbitService upbitService;
     private final TradingSettings tradingSettings;
     private final NotificationService notificationService;
+    private final AccountView accountView;
 
     public UpbitController(UpbitApiClient upbitApiClient,
                            UpbitWebSocketClient webSocketClient,
                            UpbitService upbitService,
                            TradingSettings tradingSettings,
-                           NotificationService notificationService) {
+                           NotificationService notificationService,
+                           AccountView accountView) {
         this.upbitApiClient = upbitApiClient;
         this.webSocketClient = webSocketClient;
         this.upbitService = upbitService;
         this.tradingSettings = tradingSettings;
         this.notificationService = notificationService;
+        this.accountView = accountView;
     }
 
     @GetMapping("/accounts")
-    public Mono<String> getAccounts() {
+    public Mono<byte[]> getAccounts() {
         return upbitApiClient.getAccounts();
     }
 
@@ -43,9 +59,10 @@ public class UpbitController {
     public String placeOrder() {
         //  균등 분배 매수 실행
         var markets = tradingSettings.current().markets();
-        upbitService.buyMarketOrders(markets);
+        var result = upbitService.buyMarketOrders(markets);
 
-        return "🚀 자동매매 분배 (대상 종목: " + markets + ")";
+        return "🚀 자동매매 분배 (대상 종목: " + markets + ", 성공 " + result.succeeded() + "/" + markets.size() +
+                ", " + result.elapsedMs() + "ms)";
     }
 
     // 자동매매 시작
@@ -70,10 +87,57 @@ public class UpbitController {
         return webSocketClient.status();
     }
 
-    // 현재 가격 정보 조회
+    // 현재 가격 정보 조회 (ETag = 기동 시각-가격 버전, 변경이 없으면 304)
     @GetMapping("/prices")
-    public java.util.Map<String, Double> getCurrentPrices() {
-        return webSocketClient.getCurrentPrices();
+    public ResponseEntity<byte[]> getCurrentPrices(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return priceResponse(webSocketClient.getPriceSnapshot(), ifNoneMatch);
+    }
+
+    // 현재 가격 롱폴링: version(이전 응답의 ETag 값) 이후 가격이 바뀌면 바로 응답, timeoutMs 동안 변경이 없으면 304
+    @GetMapping("/prices/poll")
+    public CompletableFuture<ResponseEntity<byte[]>> pollCurrentPrices(
+            @RequestParam String version,
+            @RequestParam(defaultValue = "25000") long timeoutMs) {
+        long timeout = Math.min(Math.max(timeoutMs, 0L), MAX_PRICE_POLL_TIMEOUT_MS);
+        String clientEtag = "\"" + version + "\"";
+        return webSocketClient.awaitPriceChange(version)
+                .completeOnTimeout(null, timeout, TimeUnit.MILLISECONDS)
+                .thenApply(ignored -> priceResponse(webSocketClient.getPriceSnapshot(), clientEtag));
+    }
+
+    private static ResponseEntity<byte[]> priceResponse(VersionedPrices.Snapshot snapshot, String ifNoneMatch) {
+        if (snapshot.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+
+    // 마켓별 시간프레임(1/5/15/60분) RSI 조회
+    @GetMapping("/indicators")
+    public java.util.Map<String, java.util.Map<Integer, Double>> getTimeframeRsi() {
+        return webSocketClient.getTimeframeRsi();
+    }
+
+    // 주문/알림 큐 상태 (등급별 대기 수, 부하로 버린 알림 수, 청산·매도 대기 시간)
+    @GetMapping("/decisions/queue")
+    public com.backend.dto.DecisionQueueStatsDto getDecisionQueueStats() {
+        return webSocketClient.getDecisionQueueStats();
+    }
+
+    // 마켓별 주문 규칙 (수수료율, 최소/최대 주문금액, 주문 상태) - 조회된 마켓만
+    @GetMapping("/markets/rules")
+    public java.util.List<com.backend.market.MarketRules> getMarketRules() {
+        return upbitService.cachedMarketRules();
+    }
+
+    // 미체결 주문 조회 (private WebSocket 연결 중에만 유지)
+    @GetMapping("/orders/open")
+    public java.util.List<com.backend.dto.OpenOrderDto> getOpenOrders() {
+        return accountView.openOrders();
     }
 
     // 매매 알림 조회
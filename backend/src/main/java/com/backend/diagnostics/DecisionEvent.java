@@ -0,0 +1,51 @@
+package com.backend.diagnostics;
+
+import com.backend.strategy.Decision;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 확정봉 기준 전략 판단 1회 (duration = 확정봉/잔고 조회 포함 판단 시간)
+ */
+@Name("com.backend.Decision")
+@Label("Strategy Decision")
+@Category({"Upbit", "Trading"})
+@Description("확정봉 기준 전략 판단 (RSI, 임계값, 결과)")
+@StackTrace(false)
+public class DecisionEvent extends jdk.jfr.Event {
+
+    @Label("Market")
+    String market;
+
+    @Label("Action")
+    String action;
+
+    @Label("Reason")
+    String reason;
+
+    @Label("Indicator")
+    @Description("판단에 사용한 지표 값 (RSI)")
+    double rsi;
+
+    @Label("Threshold")
+    double threshold;
+
+    @Label("Confirmed Candles")
+    int candles;
+
+    public void complete(String market, Decision decision, int candles) {
+        end();
+        if (shouldCommit()) {
+            this.market = market;
+            this.action = decision.action().name();
+            this.reason = decision.reason() != null ? decision.reason().name() : null;
+            this.rsi = decision.indicator();
+            this.threshold = decision.threshold();
+            this.candles = candles;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.backend.diagnostics;
+
+import com.backend.config.UpbitProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 상시 JFR 레코딩 (upbit.flight-recorder-enabled).
+ * JDK 기본(default) 설정에 번들 프로필(jfr/upbit.jfc: 앱 이벤트, 세이프포인트)을 덮어써 메모리/디스크 링으로 계속 기록하고,
+ * 최근 flight-recorder-max-age-minutes 분량을 dump()로 파일에 남긴다.
+ * GC 일시정지/세이프포인트와 틱·판단·주문 지연을 같은 타임라인에서 사후에 맞춰 볼 수 있다.
+ * 앱 이벤트는 임계값 이상만 기록하므로 평소에는 이벤트마다 시각 비교 정도의 비용만 든다.
+ */
+@Component
+public class FlightRecorderService {
+
+    static final String SETTINGS_RESOURCE = "/jfr/upbit.jfc";
+    private static final String RECORDING_NAME = "upbit-continuous";
+    private static final DateTimeFormatter DUMP_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path dumpDir;
+
+    private Recording recording; // synchronized 접근
+
+    public FlightRecorderService(UpbitProperties props) {
+        this.enabled = props.isFlightRecorderEnabled();
+        this.maxAge = Duration.ofMinutes(props.getFlightRecorderMaxAgeMinutes());
+        this.maxSizeBytes = props.getFlightRecorderMaxSizeMb() * 1024L * 1024L;
+        this.dumpDir = Path.of(props.getFlightRecorderDir());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || recording != null) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            System.out.println("⚠️ 이 JVM에서는 JFR을 사용할 수 없습니다 (상시 기록 생략)");
+            return;
+        }
+        try {
+            Recording continuous = new Recording(settings());
+            continuous.setName(RECORDING_NAME);
+            continuous.setToDisk(true);
+            continuous.setMaxAge(maxAge);
+            continuous.setMaxSize(maxSizeBytes);
+            continuous.start();
+            recording = continuous;
+            System.out.println("🛰 JFR 상시 기록 시작 (최근 " + maxAge.toMinutes() + "분, 최대 " + maxSizeBytes / 1024 / 1024 + "MB)");
+        } catch (IOException | ParseException | RuntimeException e) {
+            System.err.println("⚠️ JFR 상시 기록 시작 실패: " + e.getMessage());
+        }
+    }
+
+    public synchronized boolean recording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    /**
+     * 지금까지 보관된 구간을 flight-recorder-dir에 .jfr 파일로 남긴다 (레코딩은 계속된다)
+     *
+     * @return 덤프 파일, 기록 중이 아니면 null
+     */
+    public synchronized Path dump() throws IOException {
+        if (!recording()) {
+            return null;
+        }
+        Files.createDirectories(dumpDir);
+        Path file = dumpDir.resolve("upbit-" + LocalDateTime.now().format(DUMP_TIME) + ".jfr");
+        recording.dump(file);
+        System.out.println("🛰 JFR 덤프: " + file);
+        return file;
+    }
+
+    /**
+     * JDK default 설정 + 번들 프로필 (같은 키는 번들 프로필 우선)
+     */
+    static Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (InputStream in = FlightRecorderService.class.getResourceAsStream(SETTINGS_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("JFR 설정 파일이 없습니다: " + SETTINGS_RESOURCE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                settings.putAll(Configuration.create(reader).getSettings());
+            }
+        }
+        return settings;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.backend.diagnostics;
+
+import com.backend.dto.OrderResultDto;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 시장가 주문 전송 1건 (duration = 전송부터 응답 본문 수신까지)
+ */
+@Name("com.backend.Order")
+@Label("Order Submitted")
+@Category({"Upbit", "Trading"})
+@Description("시장가 매수/매도 주문 전송과 결과")
+@StackTrace(false)
+public class OrderEvent extends jdk.jfr.Event {
+
+    @Label("Market")
+    String market;
+
+    @Label("Side")
+    String side;
+
+    @Label("Amount")
+    @Description("매수: 주문금액(KRW), 매도: 수량")
+    String amount;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Order UUID")
+    String uuid;
+
+    @Label("Error")
+    String error;
+
+    public void complete(String side, String amount, OrderResultDto result) {
+        end();
+        if (shouldCommit()) {
+            this.market = result.market();
+            this.side = side;
+            this.amount = amount;
+            this.success = result.success();
+            this.uuid = result.uuid();
+            this.error = result.error();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.backend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 시세 피드 재연결 완료 (끊김 구간 길이와 시도 횟수)
+ */
+@Name("com.backend.Reconnect")
+@Label("Feed Reconnect")
+@Category({"Upbit", "Market Data"})
+@Description("시세 피드(WebSocket/피드 버스) 재연결")
+@StackTrace(false)
+public class ReconnectEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Attempts")
+    int attempts;
+
+    @Label("Gap")
+    @Description("마지막 메시지 수신부터 재연결까지")
+    @Timespan(Timespan.MILLISECONDS)
+    long gap;
+
+    public void complete(String source, int attempts, long gapMs) {
+        end();
+        if (shouldCommit()) {
+            this.source = source;
+            this.attempts = attempts;
+            this.gap = gapMs;
+            commit();
+        }
+    }
+}
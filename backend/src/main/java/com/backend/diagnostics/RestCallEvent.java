@@ -0,0 +1,43 @@
+package com.backend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 업비트 REST 호출 1건 (duration = 요청 전송부터 응답 헤더 수신까지, RestCallFilter가 기록)
+ */
+@Name("com.backend.RestCall")
+@Label("REST Call")
+@Category({"Upbit", "REST"})
+@Description("업비트 REST API 호출")
+@StackTrace(false)
+public class RestCallEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("요청 경로 (쿼리 제외)")
+    String endpoint;
+
+    @Label("Status")
+    @Description("HTTP 상태 코드 (0: 응답 전 오류)")
+    int status;
+
+    @Label("Error")
+    String error;
+
+    public void complete(String method, String endpoint, int status, String error) {
+        end();
+        if (shouldCommit()) {
+            this.method = method;
+            this.endpoint = endpoint;
+            this.status = status;
+            this.error = error;
+            commit();
+        }
+    }
+}
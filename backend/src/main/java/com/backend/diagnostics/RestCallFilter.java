@@ -0,0 +1,31 @@
+package com.backend.diagnostics;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebClient 호출마다 RestCallEvent를 기록하는 필터.
+ * 기록 중인 JFR 레코딩이 이 이벤트를 켜지 않았다면 이벤트를 만들기만 하고 그대로 통과시킨다.
+ * 구독(재시도 포함)마다 새 이벤트를 만들어 시도별 지연이 따로 남는다.
+ */
+public class RestCallFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            RestCallEvent event = new RestCallEvent();
+            if (!event.isEnabled()) {
+                return next.exchange(request);
+            }
+            String method = request.method().name();
+            String endpoint = request.url().getPath();
+            event.begin();
+            return next.exchange(request)
+                    .doOnNext(response -> event.complete(method, endpoint, response.statusCode().value(), null))
+                    .doOnError(error -> event.complete(method, endpoint, 0, error.getMessage()));
+        });
+    }
+}
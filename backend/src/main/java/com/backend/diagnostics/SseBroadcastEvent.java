@@ -0,0 +1,33 @@
+package com.backend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * SSE 이벤트 1건 브로드캐스트 (duration = 싱크에 넣어 구독자별 큐로 나눠 주기까지, 직렬화 제외)
+ */
+@Name("com.backend.SseBroadcast")
+@Label("SSE Broadcast")
+@Category({"Upbit", "SSE"})
+@Description("SSE 구독자에게 이벤트 fan-out")
+@StackTrace(false)
+public class SseBroadcastEvent extends jdk.jfr.Event {
+
+    @Label("Event Type")
+    String type;
+
+    @Label("Subscribers")
+    int subscribers;
+
+    public void complete(String type, int subscribers) {
+        end();
+        if (shouldCommit()) {
+            this.type = type;
+            this.subscribers = subscribers;
+            commit();
+        }
+    }
+}
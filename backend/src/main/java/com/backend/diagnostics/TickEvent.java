@@ -0,0 +1,39 @@
+package com.backend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * 틱 1건 처리 (파싱된 ticker → 현재가 갱신, SSE 발행, 보호 청산 판정, 봉 집계)
+ */
+@Name("com.backend.Tick")
+@Label("Tick")
+@Category({"Upbit", "Market Data"})
+@Description("파싱된 ticker 1건의 처리")
+@StackTrace(false)
+public class TickEvent extends jdk.jfr.Event {
+
+    @Label("Market")
+    String market;
+
+    @Label("Trade Price")
+    double price;
+
+    @Label("Trade Timestamp")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long tradeTimestamp;
+
+    public void complete(String market, double price, long tradeTimestamp) {
+        end();
+        if (shouldCommit()) {
+            this.market = market;
+            this.price = price;
+            this.tradeTimestamp = tradeTimestamp;
+            commit();
+        }
+    }
+}
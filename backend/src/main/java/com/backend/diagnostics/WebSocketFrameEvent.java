@@ -0,0 +1,31 @@
+package com.backend.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 시세 WebSocket 프레임 1개 수신/디코딩 (duration = 프레임 안의 모든 메시지 처리 시간)
+ */
+@Name("com.backend.WebSocketFrame")
+@Label("WebSocket Frame")
+@Category({"Upbit", "Market Data"})
+@Description("시세 WebSocket 프레임 디코딩과 프레임 안의 틱 처리")
+@StackTrace(false)
+public class WebSocketFrameEvent extends jdk.jfr.Event {
+
+    @Label("Bytes")
+    @DataAmount
+    int bytes;
+
+    public void complete(int bytes) {
+        end();
+        if (shouldCommit()) {
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
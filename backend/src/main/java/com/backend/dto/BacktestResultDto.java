@@ -0,0 +1,16 @@
+package com.backend.dto;
+
+/**
+ * 백테스트 결과 요약.
+ */
+public record BacktestResultDto(
+        String market,
+        String strategy,
+        int bars,
+        int buys,
+        int sells,
+        double initialKrw,
+        double finalEquity,
+        double returnPct
+) {
+}
@@ -0,0 +1,21 @@
+package com.backend.dto;
+
+import java.util.List;
+
+/**
+ * 일괄 주문 결과.
+ *
+ * @param elapsedMs 첫 주문 전송부터 마지막 응답 수신까지 걸린 시간
+ */
+public record BatchOrderResultDto(
+        List<OrderResultDto> orders,
+        long elapsedMs
+) {
+    public static BatchOrderResultDto empty() {
+        return new BatchOrderResultDto(List.of(), 0L);
+    }
+
+    public long succeeded() {
+        return orders.stream().filter(OrderResultDto::success).count();
+    }
+}
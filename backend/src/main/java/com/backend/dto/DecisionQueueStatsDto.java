@@ -0,0 +1,23 @@
+package com.backend.dto;
+
+/**
+ * 주문/알림 큐 상태.
+ *
+ * @param superseded     같은 마켓의 새 판단에 밀려 대체되거나 버려진 작업 수
+ * @param shed           대기 작업이 많아 버린 정보성 알림 수
+ * @param lastExitWaitMs 마지막 청산·매도 작업이 큐에서 기다린 시간
+ * @param maxExitWaitMs  청산·매도 작업 최대 대기 시간 (시작 이후)
+ */
+public record DecisionQueueStatsDto(
+        int exitDepth,
+        int buyDepth,
+        int infoDepth,
+        long executedExits,
+        long executedBuys,
+        long executedInfo,
+        long superseded,
+        long shed,
+        long lastExitWaitMs,
+        long maxExitWaitMs
+) {
+}
@@ -0,0 +1,19 @@
+package com.backend.dto;
+
+/**
+ * 마켓 스캐너 결과 1건.
+ *
+ * @param rank 24시간 거래대금 순위 + 변동성 순위 합으로 정한 종합 순위 (1부터)
+ * @param volatilityPct 24시간 (고가 - 저가) / 전일 종가
+ * @param rsi 캔들이 부족하거나 조회에 실패하면 null
+ */
+public record MarketScanDto(
+        int rank,
+        String market,
+        double tradePrice,
+        double accTradePrice24h,
+        double volatilityPct,
+        double changeRatePct,
+        Double rsi
+) {
+}
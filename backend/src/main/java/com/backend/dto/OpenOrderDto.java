@@ -0,0 +1,21 @@
+package com.backend.dto;
+
+/**
+ * 미체결 주문 (myOrder 스트림 기준).
+ *
+ * @param side BID(매수) / ASK(매도)
+ * @param state wait / watch / trade
+ */
+public record OpenOrderDto(
+        String uuid,
+        String market,
+        String side,
+        String orderType,
+        String state,
+        double price,
+        double volume,
+        double remainingVolume,
+        double executedVolume,
+        long timestamp
+) {
+}
@@ -0,0 +1,15 @@
+package com.backend.dto;
+
+import java.util.List;
+
+/**
+ * 마켓 호가 스냅샷 (units index 0이 최우선 호가).
+ */
+public record OrderBookDto(
+        String market,
+        long timestamp,
+        List<Unit> units
+) {
+    public record Unit(double askPrice, double askSize, double bidPrice, double bidSize) {
+    }
+}
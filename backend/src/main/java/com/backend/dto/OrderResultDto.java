@@ -0,0 +1,21 @@
+package com.backend.dto;
+
+/**
+ * 주문 1건의 접수 결과.
+ *
+ * @param uuid 접수된 주문 uuid (실패 시 null)
+ * @param state 접수 시점 주문 상태 (wait, done 등, 실패 시 null)
+ * @param error 실패 사유 (성공 시 null)
+ * @param latencyMs 요청 전송부터 응답 수신까지 걸린 시간
+ */
+public record OrderResultDto(
+        String market,
+        String uuid,
+        String state,
+        String error,
+        long latencyMs
+) {
+    public boolean success() {
+        return error == null;
+    }
+}
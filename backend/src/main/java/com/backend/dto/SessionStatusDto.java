@@ -0,0 +1,15 @@
+package com.backend.dto;
+
+import java.util.List;
+
+/**
+ * 트레이딩 세션 상태
+ *
+ * @param markets 세션 설정의 대상 마켓
+ */
+public record SessionStatusDto(
+        String id,
+        boolean running,
+        List<String> markets
+) {
+}
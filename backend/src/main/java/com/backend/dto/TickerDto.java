@@ -0,0 +1,17 @@
+package com.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 업비트 현재가 스냅샷 (GET /v1/ticker)
+ */
+public record TickerDto(
+        @JsonProperty("market") String market,
+        @JsonProperty("trade_price") double tradePrice,
+        @JsonProperty("high_price") double highPrice,
+        @JsonProperty("low_price") double lowPrice,
+        @JsonProperty("prev_closing_price") double prevClosingPrice,
+        @JsonProperty("signed_change_rate") double signedChangeRate,
+        @JsonProperty("acc_trade_price_24h") double accTradePrice24h
+) {
+}
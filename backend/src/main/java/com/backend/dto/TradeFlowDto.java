@@ -0,0 +1,17 @@
+package com.backend.dto;
+
+import java.util.List;
+
+/**
+ * 마켓 체결 흐름 스냅샷 (윈도우별 VWAP, 매수/매도 체결량, 체결 건수).
+ */
+public record TradeFlowDto(
+        String market,
+        List<Window> windows
+) {
+    /**
+     * @param vwap 윈도우 안에 체결이 없으면 null
+     */
+    public record Window(int seconds, Double vwap, double volume, double buyVolume, double sellVolume, int tradeCount) {
+    }
+}
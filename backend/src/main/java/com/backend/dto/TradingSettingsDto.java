@@ -13,6 +13,18 @@ public record TradingSettingsDto(
         int candleMinutes,
         int candleCount,
         long rsiCheckCooldownMs,
-        int minOrderKrw
+        int minOrderKrw,
+        double maxSlippagePct,
+        int autoSelectMarkets,
+        double stopLossPct,
+        double takeProfitPct,
+        double trailingStopPct
 ) {
+    /**
+     * 매매 대상 마켓만 바꾼 사본
+     */
+    public TradingSettingsDto withMarkets(List<String> nextMarkets) {
+        return new TradingSettingsDto(nextMarkets, rsiOversold, rsiOverbought, rsiPeriod, candleMinutes, candleCount,
+                rsiCheckCooldownMs, minOrderKrw, maxSlippagePct, autoSelectMarkets, stopLossPct, takeProfitPct, trailingStopPct);
+    }
 }
@@ -0,0 +1,163 @@
+package com.backend.journal;
+
+import com.backend.strategy.Decision;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 저널/스냅샷 바이너리 형식.
+ *
+ * 레코드: [int 본문 길이][본문][int CRC32(본문)]
+ * 본문: [long seq][byte type][long timestamp][UTF market][타입별 필드]
+ * 마지막 레코드가 잘려 있거나 CRC가 맞지 않으면 그 앞까지만 유효한 것으로 본다.
+ */
+final class JournalCodec {
+
+    static final int SNAPSHOT_MAGIC = 0x54524a53; // "TRJS"
+
+    private static final byte TYPE_DECISION = 1;
+    private static final byte TYPE_ORDER = 2;
+    private static final byte TYPE_FILL = 3;
+
+    private JournalCodec() {
+    }
+
+    record Decoded(long seq, JournalEntry entry) {
+    }
+
+    static void writeRecord(DataOutputStream out, ByteArrayOutputStream body, long seq, JournalEntry entry) throws IOException {
+        body.reset();
+        DataOutputStream b = new DataOutputStream(body);
+        b.writeLong(seq);
+        if (entry instanceof JournalEntry.DecisionEntry d) {
+            b.writeByte(TYPE_DECISION);
+            b.writeLong(d.timestamp());
+            b.writeUTF(d.market());
+            b.writeByte(d.action().ordinal());
+            b.writeByte(d.reason().ordinal());
+            b.writeDouble(d.indicator());
+            b.writeDouble(d.threshold());
+            b.writeDouble(d.amount());
+        } else if (entry instanceof JournalEntry.OrderEntry o) {
+            b.writeByte(TYPE_ORDER);
+            b.writeLong(o.timestamp());
+            b.writeUTF(o.market());
+            b.writeBoolean(o.buy());
+            b.writeDouble(o.amount());
+            b.writeUTF(o.uuid());
+            b.writeUTF(o.error());
+        } else if (entry instanceof JournalEntry.FillEntry f) {
+            b.writeByte(TYPE_FILL);
+            b.writeLong(f.timestamp());
+            b.writeUTF(f.market());
+            b.writeBoolean(f.buy());
+            b.writeDouble(f.volume());
+            b.writeDouble(f.avgPrice());
+        }
+        b.flush();
+        out.writeInt(body.size());
+        body.writeTo(out);
+        out.writeInt(crc(body.toByteArray()));
+    }
+
+    /**
+     * @return 다음 레코드, 파일 끝이거나 손상된 레코드면 null
+     */
+    static Decoded readRecord(DataInputStream in) throws IOException {
+        byte[] body;
+        try {
+            int length = in.readInt();
+            if (length <= 0 || length > 64 * 1024) {
+                return null;
+            }
+            body = new byte[length];
+            in.readFully(body);
+            if (in.readInt() != crc(body)) {
+                return null;
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+
+        DataInputStream b = new DataInputStream(new ByteArrayInputStream(body));
+        long seq = b.readLong();
+        byte type = b.readByte();
+        long timestamp = b.readLong();
+        String market = b.readUTF();
+        JournalEntry entry = switch (type) {
+            case TYPE_DECISION -> new JournalEntry.DecisionEntry(timestamp, market,
+                    Decision.Action.values()[b.readByte()], Decision.Reason.values()[b.readByte()],
+                    b.readDouble(), b.readDouble(), b.readDouble());
+            case TYPE_ORDER -> new JournalEntry.OrderEntry(timestamp, market,
+                    b.readBoolean(), b.readDouble(), b.readUTF(), b.readUTF());
+            case TYPE_FILL -> new JournalEntry.FillEntry(timestamp, market,
+                    b.readBoolean(), b.readDouble(), b.readDouble());
+            default -> null;
+        };
+        return entry != null ? new Decoded(seq, entry) : null;
+    }
+
+    /**
+     * 스냅샷: [int magic][long seq][int count][(UTF market, double volume, double avgPrice, double lastIndicator, long lastDecisionTime) × count][int CRC32]
+     */
+    static byte[] encodeSnapshot(long seq, Map<String, JournalState.Position> positions) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeLong(seq);
+        out.writeInt(positions.size());
+        for (Map.Entry<String, JournalState.Position> e : positions.entrySet()) {
+            JournalState.Position p = e.getValue();
+            out.writeUTF(e.getKey());
+            out.writeDouble(p.volume());
+            out.writeDouble(p.avgPrice());
+            out.writeDouble(p.lastIndicator());
+            out.writeLong(p.lastDecisionTime());
+        }
+        out.flush();
+        byte[] body = bytes.toByteArray();
+        out.writeInt(crc(body));
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return 스냅샷 seq, 손상된 스냅샷이면 -1 (state는 변경하지 않음)
+     */
+    static long decodeSnapshot(byte[] data, JournalState state) throws IOException {
+        if (data.length < 4 + 8 + 4 + 4) {
+            return -1L;
+        }
+        int bodyLength = data.length - 4;
+        int expected = ((data[bodyLength] & 0xff) << 24) | ((data[bodyLength + 1] & 0xff) << 16)
+                | ((data[bodyLength + 2] & 0xff) << 8) | (data[bodyLength + 3] & 0xff);
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, bodyLength);
+        if ((int) crc.getValue() != expected) {
+            return -1L;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, bodyLength));
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            return -1L;
+        }
+        long seq = in.readLong();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String market = in.readUTF();
+            state.put(market, new JournalState.Position(in.readDouble(), in.readDouble(), in.readDouble(), in.readLong()));
+        }
+        return seq;
+    }
+
+    private static int crc(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        return (int) crc.getValue();
+    }
+}
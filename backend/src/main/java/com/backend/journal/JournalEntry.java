@@ -0,0 +1,37 @@
+package com.backend.journal;
+
+import com.backend.strategy.Decision;
+
+/**
+ * 거래 저널 레코드. 판단(Decision), 주문(Order), 체결(Fill) 세 종류만 기록한다.
+ */
+public sealed interface JournalEntry permits JournalEntry.DecisionEntry, JournalEntry.OrderEntry, JournalEntry.FillEntry {
+
+    long timestamp();
+
+    String market();
+
+    /**
+     * 전략 판단 1건 (신호가 없어도 확정봉마다 기록)
+     */
+    record DecisionEntry(long timestamp, String market, Decision.Action action, Decision.Reason reason,
+                         double indicator, double threshold, double amount) implements JournalEntry {
+    }
+
+    /**
+     * 주문 접수 결과
+     *
+     * @param amount 매수는 KRW 금액, 매도는 수량
+     * @param uuid 접수된 주문 uuid (실패 시 빈 문자열)
+     * @param error 실패 사유 (성공 시 빈 문자열)
+     */
+    record OrderEntry(long timestamp, String market, boolean buy, double amount,
+                      String uuid, String error) implements JournalEntry {
+    }
+
+    /**
+     * 주문 체결 (private WebSocket myOrder 완료 이벤트)
+     */
+    record FillEntry(long timestamp, String market, boolean buy, double volume, double avgPrice) implements JournalEntry {
+    }
+}
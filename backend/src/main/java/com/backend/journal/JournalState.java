@@ -0,0 +1,59 @@
+package com.backend.journal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 저널 레코드를 순서대로 적용해 만드는 마켓별 포지션 상태.
+ * 기록 시점(저널 writer 스레드)과 복구 시점(재생)에 같은 apply()를 사용하므로 두 상태가 항상 일치한다.
+ */
+public class JournalState {
+
+    private static final double DUST_VOLUME = 1e-12;
+
+    /**
+     * @param volume 체결 기준 보유 수량
+     * @param avgPrice 체결 기준 매수평균가 (미보유면 0)
+     * @param lastIndicator 마지막 판단 지표값 (예: RSI)
+     * @param lastDecisionTime 마지막 판단 시각
+     */
+    public record Position(double volume, double avgPrice, double lastIndicator, long lastDecisionTime) {
+    }
+
+    private final Map<String, Position> positions = new HashMap<>();
+
+    public void apply(JournalEntry entry) {
+        Position prev = positions.getOrDefault(entry.market(), new Position(0.0, 0.0, Double.NaN, 0L));
+        if (entry instanceof JournalEntry.DecisionEntry d) {
+            positions.put(d.market(), new Position(prev.volume(), prev.avgPrice(), d.indicator(), d.timestamp()));
+        } else if (entry instanceof JournalEntry.FillEntry f) {
+            double volume;
+            double avgPrice;
+            if (f.buy()) {
+                volume = prev.volume() + f.volume();
+                avgPrice = volume > 0 ? (prev.volume() * prev.avgPrice() + f.volume() * f.avgPrice()) / volume : 0.0;
+            } else {
+                volume = prev.volume() - f.volume();
+                avgPrice = prev.avgPrice();
+                if (volume <= DUST_VOLUME) {
+                    volume = 0.0;
+                    avgPrice = 0.0;
+                }
+            }
+            positions.put(f.market(), new Position(volume, avgPrice, prev.lastIndicator(), prev.lastDecisionTime()));
+        }
+        // 주문 접수는 감사 기록용 (포지션은 체결로만 바뀐다)
+    }
+
+    public void put(String market, Position position) {
+        positions.put(market, position);
+    }
+
+    public Map<String, Position> positions() {
+        return Map.copyOf(positions);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+}
@@ -0,0 +1,257 @@
+package com.backend.journal;
+
+import com.backend.config.UpbitProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 판단/주문/체결을 남기는 추가 전용(append-only) 바이너리 거래 저널.
+ *
+ * append()는 큐에 넣기만 하고 바로 반환하므로 판단 경로에서 디스크 I/O를 기다리지 않는다.
+ * 전용 writer 스레드가 큐에 쌓인 레코드를 한 번에 쓰고 fsync는 묶음당 1회만 한다 (group commit).
+ * SNAPSHOT_INTERVAL건마다 포지션 상태 스냅샷을 남기고 새 세그먼트로 넘어가므로,
+ * 재시작 시에는 최신 스냅샷 + 그 이후 세그먼트만 재생하면 된다. 이전 세그먼트는 감사 기록으로 보존한다.
+ *
+ * 파일: {journalDir}/journal-{첫 seq}.log, {journalDir}/snapshot.bin
+ */
+@Component
+public class TradeJournal {
+
+    private static final int QUEUE_CAPACITY = 16_384;
+    private static final int MAX_BATCH = 1_024;
+    private static final int SNAPSHOT_INTERVAL = 10_000;
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+
+    private final Path directory;
+    private final BlockingQueue<JournalEntry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    // writer 스레드 전용 상태
+    private final JournalState state = new JournalState();
+    private final ByteArrayOutputStream recordBody = new ByteArrayOutputStream(256);
+    private final ByteArrayOutputStream batchBytes = new ByteArrayOutputStream(64 * 1024);
+    private FileChannel segment;
+    private long lastSeq = 0L;
+    private long snapshotSeq = 0L;
+
+    // 최근 기록까지 반영된 포지션 상태 (writer가 묶음마다 교체, 다른 스레드는 읽기만 함)
+    private volatile Map<String, JournalState.Position> positions;
+    private Thread writer;
+    private volatile boolean closed = false;
+
+    @Autowired
+    public TradeJournal(UpbitProperties upbitProperties) {
+        this(Path.of(upbitProperties.getJournalDir()));
+    }
+
+    /**
+     * 추가 트레이딩 세션용 (세션마다 별도 디렉터리)
+     */
+    public TradeJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 최신 스냅샷과 그 이후 세그먼트를 재생해 포지션 상태를 복구하고 writer를 시작한다.
+     * 최초 1회만 디스크를 읽고, 이후 호출은 지금까지 기록이 반영된 상태를 반환한다.
+     */
+    public synchronized Map<String, JournalState.Position> recover() throws IOException {
+        if (positions != null) {
+            return positions;
+        }
+        long startedAt = System.nanoTime();
+        Files.createDirectories(directory);
+
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshotFile)) {
+            long seq = JournalCodec.decodeSnapshot(Files.readAllBytes(snapshotFile), state);
+            if (seq >= 0) {
+                snapshotSeq = seq;
+                lastSeq = seq;
+            } else {
+                System.err.println("⚠️ 저널 스냅샷이 손상되어 전체 세그먼트를 재생합니다.");
+            }
+        }
+
+        int replayed = 0;
+        for (Path file : segmentsAfter(snapshotSeq)) {
+            try (InputStream raw = Files.newInputStream(file);
+                 DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 64 * 1024))) {
+                JournalCodec.Decoded decoded;
+                while ((decoded = JournalCodec.readRecord(in)) != null) {
+                    if (decoded.seq() <= lastSeq) continue;
+                    state.apply(decoded.entry());
+                    lastSeq = decoded.seq();
+                    replayed++;
+                }
+            }
+        }
+
+        // 손상된 꼬리가 있을 수 있으므로 항상 새 세그먼트에 이어서 쓴다
+        openSegment(lastSeq + 1);
+        startWriter();
+
+        positions = state.positions();
+        System.out.println("📒 거래 저널 복구: " + positions.size() + "개 마켓, 스냅샷 이후 " + replayed + "건 재생 (" +
+                (System.nanoTime() - startedAt) / 1_000_000 + "ms)");
+        return positions;
+    }
+
+    /**
+     * 레코드 추가 (비동기). 복구 전이거나 큐가 가득 차면 버리고 false.
+     */
+    public boolean append(JournalEntry entry) {
+        if (positions == null || closed) {
+            return false;
+        }
+        if (!queue.offer(entry)) {
+            System.err.println("⚠️ 거래 저널 큐가 가득 차 레코드를 버립니다: " + entry);
+            return false;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer == null || closed) {
+            return;
+        }
+        // FileChannel은 인터럽트되면 닫히므로 interrupt 대신 플래그로 종료한다
+        closed = true;
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void startWriter() {
+        writer = new Thread(this::runWriter, "trade-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void runWriter() {
+        List<JournalEntry> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (!closed) {
+                JournalEntry first;
+                try {
+                    first = queue.poll(200, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+            // 종료 시 남은 레코드까지 기록하고 스냅샷
+            queue.drainTo(batch);
+            writeBatch(batch);
+            writeSnapshot();
+            segment.close();
+        } catch (IOException e) {
+            System.err.println("❌ 거래 저널 기록 실패: " + e.getMessage());
+        }
+    }
+
+    private void writeBatch(List<JournalEntry> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchBytes.reset();
+        DataOutputStream out = new DataOutputStream(batchBytes);
+        for (JournalEntry entry : batch) {
+            JournalCodec.writeRecord(out, recordBody, ++lastSeq, entry);
+            state.apply(entry);
+        }
+        out.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(batchBytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+        segment.force(false); // 묶음당 fsync 1회
+        positions = state.positions();
+
+        if (lastSeq - snapshotSeq >= SNAPSHOT_INTERVAL) {
+            writeSnapshot();
+            segment.close();
+            openSegment(lastSeq + 1);
+        }
+    }
+
+    /**
+     * 스냅샷은 임시 파일에 쓰고 fsync한 뒤 원자적으로 교체한다.
+     */
+    private void writeSnapshot() throws IOException {
+        if (lastSeq == snapshotSeq) {
+            return;
+        }
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(JournalCodec.encodeSnapshot(lastSeq, state.positions()));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        snapshotSeq = lastSeq;
+    }
+
+    private void openSegment(long firstSeq) throws IOException {
+        Path file = directory.resolve(String.format("journal-%020d.log", firstSeq));
+        // 같은 이름의 세그먼트가 남아 있다면 유효한 레코드가 하나도 없던 파일이므로 비우고 쓴다
+        segment = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * 스냅샷 seq 이후 레코드가 들어 있을 수 있는 세그먼트 (첫 seq 오름차순).
+     * 첫 seq가 스냅샷 이하인 세그먼트 중에서는 마지막 것만 포함한다.
+     */
+    private List<Path> segmentsAfter(long seq) throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(p -> p.getFileName().toString().matches("journal-\\d{20}\\.log"))
+                    .sorted()
+                    .toList();
+        }
+        int start = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (firstSeqOf(segments.get(i)) <= seq + 1) {
+                start = i;
+            }
+        }
+        return segments.subList(start, segments.size());
+    }
+
+    private static long firstSeqOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring("journal-".length(), name.length() - ".log".length()));
+    }
+}
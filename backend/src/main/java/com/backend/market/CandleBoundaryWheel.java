@@ -0,0 +1,122 @@
+package com.backend.market;
+
+import java.util.Arrays;
+
+/**
+ * 마켓별 판단 타이머용 해시드 타이밍 휠.
+ *
+ * 슬롯 = ceil(deadline / tickMs) % wheelSize 이며, 슬롯마다 마켓 id의 이중 연결 리스트를 primitive 배열로 둔다
+ * (next/prev/slotOf). 마켓당 예약은 하나뿐이므로 다시 예약하면 이전 예약을 대체한다.
+ * advance()는 지난 호출 이후 지나간 슬롯만 돌며 deadline이 지난 마켓을 꺼낸다.
+ * 휠 한 바퀴보다 먼 예약은 슬롯을 지나갈 때 deadline 비교로 걸러지고 다음 바퀴까지 남는다.
+ */
+public class CandleBoundaryWheel {
+
+    private static final int NONE = -1;
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final int[] head;       // 슬롯별 첫 마켓 id
+    private final int[] next;
+    private final int[] prev;
+    private final int[] slotOf;     // 마켓이 들어 있는 슬롯 (NONE: 예약 없음)
+    private final long[] deadline;
+    private long currentTick = -1L; // 마지막으로 처리한 tick
+
+    public CandleBoundaryWheel(int maxMarkets, long tickMs, int wheelSize) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.head = new int[wheelSize];
+        this.next = new int[maxMarkets];
+        this.prev = new int[maxMarkets];
+        this.slotOf = new int[maxMarkets];
+        this.deadline = new long[maxMarkets];
+        Arrays.fill(head, NONE);
+        Arrays.fill(slotOf, NONE);
+    }
+
+    /**
+     * 마켓 타이머 예약 (기존 예약은 대체). 이미 지난 시각이면 다음 advance()에서 바로 나온다.
+     */
+    public synchronized void schedule(int marketId, long deadlineMs) {
+        cancel(marketId);
+        // deadline 이후 첫 tick 슬롯에 넣어야 그 슬롯을 처리할 때 항상 만료 상태다 (최대 tickMs 늦게 발동)
+        long tick = Math.max(Math.floorDiv(deadlineMs + tickMs - 1, tickMs), currentTick + 1);
+        int slot = (int) Math.floorMod(tick, (long) wheelSize);
+        deadline[marketId] = deadlineMs;
+        slotOf[marketId] = slot;
+        prev[marketId] = NONE;
+        next[marketId] = head[slot];
+        if (head[slot] != NONE) {
+            prev[head[slot]] = marketId;
+        }
+        head[slot] = marketId;
+    }
+
+    public synchronized void cancel(int marketId) {
+        int slot = slotOf[marketId];
+        if (slot == NONE) {
+            return;
+        }
+        if (prev[marketId] != NONE) {
+            next[prev[marketId]] = next[marketId];
+        } else {
+            head[slot] = next[marketId];
+        }
+        if (next[marketId] != NONE) {
+            prev[next[marketId]] = prev[marketId];
+        }
+        slotOf[marketId] = NONE;
+    }
+
+    public synchronized void clear() {
+        for (int slot = 0; slot < wheelSize; slot++) {
+            for (int id = head[slot]; id != NONE; id = next[id]) {
+                slotOf[id] = NONE;
+            }
+        }
+        Arrays.fill(head, NONE);
+    }
+
+    public synchronized boolean isScheduled(int marketId) {
+        return slotOf[marketId] != NONE;
+    }
+
+    /**
+     * now까지 지나간 슬롯을 처리해 만료된 마켓 id를 out에 채운다 (꺼낸 마켓은 예약이 해제된다).
+     * 마켓당 예약은 하나이므로 out 길이는 maxMarkets면 충분하다.
+     *
+     * @return out에 채운 개수
+     */
+    public synchronized int advance(long now, int[] out) {
+        long nowTick = now / tickMs;
+        if (currentTick < 0) {
+            currentTick = nowTick - wheelSize; // 첫 호출은 모든 슬롯 확인
+        }
+        // 오래 멈춰 있었다면 휠 한 바퀴만 돌면 모든 슬롯을 확인한 것과 같다
+        long from = Math.max(currentTick + 1, nowTick - wheelSize + 1);
+        int count = 0;
+        for (long tick = from; tick <= nowTick; tick++) {
+            int slot = (int) Math.floorMod(tick, (long) wheelSize);
+            int id = head[slot];
+            while (id != NONE) {
+                int following = next[id];
+                if (deadline[id] <= now) {
+                    cancel(id);
+                    out[count++] = id;
+                }
+                id = following;
+            }
+        }
+        currentTick = Math.max(currentTick, nowTick);
+        return count;
+    }
+
+    /**
+     * now 이후 첫 봉 경계 (epoch millis). 업비트 분봉은 UTC 기준으로 단위 배수 시각에 시작한다.
+     */
+    public static long nextBoundary(long now, int candleMinutes) {
+        long unitMs = candleMinutes * 60_000L;
+        return now - Math.floorMod(now, unitMs) + unitMs;
+    }
+}
@@ -0,0 +1,107 @@
+package com.backend.market;
+
+/**
+ * 확정봉 컬럼 (최신순, index 0이 가장 최근 확정봉).
+ * 전략/지표 계산이 봉마다 객체를 만들지 않도록 primitive 배열로 보관하고, 버퍼는 재사용한다.
+ * REST 응답은 CandleSeriesReader로 바로 채우고, 캐시/병합/스냅샷도 이 형태 그대로 다룬다.
+ */
+public final class CandleSeries {
+
+    private double[] close;
+    private long[] startTime;
+    private int size;
+
+    public CandleSeries(int capacity) {
+        this.close = new double[capacity];
+        this.startTime = new long[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double close(int index) {
+        return close[index];
+    }
+
+    /**
+     * @return 봉 시작 시각 (epoch millis, UTC)
+     */
+    public long startTime(int index) {
+        return startTime[index];
+    }
+
+    /**
+     * 종가 배열 (앞에서부터 size()개만 유효, 읽기 전용으로 사용)
+     */
+    public double[] closes() {
+        return close;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 더 과거의 봉을 뒤에 추가한다.
+     */
+    public void append(long startTimeMillis, double closePrice) {
+        ensureCapacity(size + 1);
+        startTime[size] = startTimeMillis;
+        close[size] = closePrice;
+        size++;
+    }
+
+    /**
+     * source 전체를 복사한다 (캐시에서 판단용 버퍼로 옮길 때 사용).
+     */
+    public void copyFrom(CandleSeries source) {
+        copyFrom(source, 0, source.size);
+    }
+
+    /**
+     * source의 [offset, offset + length) 구간을 복사한다 (백테스트에서 특정 시점 기준 창을 만들 때 사용).
+     */
+    public void copyFrom(CandleSeries source, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(source.close, offset, close, 0, length);
+        System.arraycopy(source.startTime, offset, startTime, 0, length);
+        size = length;
+    }
+
+    /**
+     * 가장 최근 limit개만 남긴다
+     */
+    public void truncate(int limit) {
+        if (size > limit) {
+            size = limit;
+        }
+    }
+
+    /**
+     * 새로 조회한 확정봉(최신순) 중 현재 최신 봉보다 새로운 것만 앞에 붙이고 limit개로 자른다.
+     */
+    public void mergeNewer(CandleSeries fresh, int limit) {
+        long head = size > 0 ? startTime[0] : Long.MIN_VALUE;
+        int newer = 0;
+        while (newer < fresh.size && fresh.startTime[newer] > head) {
+            newer++;
+        }
+        newer = Math.min(newer, limit);
+        int kept = Math.min(size, limit - newer);
+        ensureCapacity(newer + kept);
+        System.arraycopy(close, 0, close, newer, kept);
+        System.arraycopy(startTime, 0, startTime, newer, kept);
+        System.arraycopy(fresh.close, 0, close, 0, newer);
+        System.arraycopy(fresh.startTime, 0, startTime, 0, newer);
+        size = newer + kept;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > close.length) {
+            int capacity = Math.max(required, close.length * 2);
+            close = java.util.Arrays.copyOf(close, capacity);
+            startTime = java.util.Arrays.copyOf(startTime, capacity);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.backend.market;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 업비트 분봉 응답(JSON 배열, 최신순)을 CandleSeries 컬럼으로 바로 읽는다.
+ * CandleDto 배열이나 봉마다의 시각 문자열을 만들지 않고, 스트리밍 파서로 candle_date_time_utc와 trade_price만 읽는다.
+ * 시각은 파서 버퍼의 문자 배열에서 바로 epoch millis로 변환한다.
+ */
+public final class CandleSeriesReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int UTC_LENGTH = 19; // yyyy-MM-ddTHH:mm:ss
+
+    private CandleSeriesReader() {
+    }
+
+    /**
+     * 확정봉만 읽는다. 응답의 첫 봉은 아직 마감되지 않은 진행 중인 봉이므로 건너뛰고,
+     * 시각이나 종가가 없는 봉은 제외한다.
+     *
+     * @return out (기존 내용은 지운다)
+     * @throws IOException 배열 형식이 아닌 경우
+     */
+    public static CandleSeries readConfirmed(byte[] json, CandleSeries out) throws IOException {
+        out.clear();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("캔들 응답이 배열이 아닙니다.");
+            }
+            boolean inProgress = true;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                long startTime = Long.MIN_VALUE;
+                double close = Double.NaN;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName(); // 필드명은 파서가 캐싱한 String을 재사용
+                    JsonToken value = parser.nextToken();
+                    switch (field) {
+                        case "candle_date_time_utc" -> {
+                            if (value == JsonToken.VALUE_STRING) {
+                                startTime = parseUtc(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                            }
+                        }
+                        case "trade_price" -> {
+                            if (value.isNumeric()) {
+                                close = parser.getDoubleValue();
+                            }
+                        }
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (inProgress) {
+                    inProgress = false;
+                    continue;
+                }
+                if (startTime != Long.MIN_VALUE && !Double.isNaN(close)) {
+                    out.append(startTime, close);
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IOException("캔들 응답 형식이 올바르지 않습니다.");
+            }
+        }
+        return out;
+    }
+
+    /**
+     * "yyyy-MM-ddTHH:mm:ss" (UTC) → epoch millis. 형식이 다르면 LocalDateTime으로 파싱한다.
+     */
+    static long parseUtc(char[] chars, int offset, int length) {
+        if (length != UTC_LENGTH || chars[offset + 4] != '-' || chars[offset + 10] != 'T') {
+            return LocalDateTime.parse(new String(chars, offset, length)).toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = digits(chars, offset + 17, 2);
+
+        // 그레고리력 날짜 → 1970-01-01 기준 일수
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        long epochDay = era * 146_097L + dayOfEra - 719_468;
+
+        return ((epochDay * 24 + hour) * 60 + minute) * 60_000L + second * 1_000L;
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = chars[offset + i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("캔들 시각 형식이 올바르지 않습니다: " + new String(chars, offset, count));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,280 @@
+package com.backend.market;
+
+import java.util.Arrays;
+
+/**
+ * 우선순위 판단 작업 큐 (단일 소비 스레드).
+ *
+ * 작업은 세 등급으로 나뉘고 항상 높은 등급부터 꺼낸다.
+ *   EXIT: 보호 청산과 매도 신호 주문, BUY: 매수 신호 주문, INFO: 지표/상태 알림
+ *
+ * 마켓마다 주문 작업(EXIT/BUY)과 알림 작업(INFO)은 각각 하나만 대기한다.
+ * 같은 마켓의 새 주문 작업은 대기 중인 같거나 낮은 등급 작업을 대체하고(예: 대기 중인 매수 → 매도),
+ * 더 높은 등급 작업이 대기 중이면 버려진다. 알림 작업은 마지막 것만 남긴다.
+ * 단, 보호 청산(offerProtectiveExit)은 발동과 함께 청산 경계가 해제되므로 대기 중에는 매도 신호로 대체되지 않는다.
+ * 대기 작업 수가 shedDepth 이상이면 알림 작업은 받지 않고, 이미 대기 중인 알림도 버린다.
+ *
+ * 등급별 대기열은 마켓 id의 이중 연결 리스트(primitive 배열)라 대체/삭제가 O(1)이다.
+ */
+public class DecisionQueue {
+
+    public static final int EXIT = 0;
+    public static final int BUY = 1;
+    public static final int INFO = 2;
+    private static final int LANES = 3;
+    private static final int NONE = -1;
+
+    private final int shedDepth;
+    private final Lane[] lanes = new Lane[LANES];
+    private final Runnable[] tradeTask;   // 마켓별 대기 주문 작업
+    private final int[] tradeLane;        // 대기 주문 작업의 등급 (NONE: 없음)
+    private final boolean[] protectiveExit; // 대기 주문 작업이 보호 청산인지
+    private final Runnable[] infoTask;    // 마켓별 대기 알림 작업
+    private final long[][] enqueuedAt;    // 등급별 마켓 대기 시작 시각
+
+    // 통계
+    private long shed = 0L;
+    private long superseded = 0L;
+    private final long[] executed = new long[LANES];
+    private long lastExitWaitMs = 0L;
+    private long maxExitWaitMs = 0L;
+
+    public DecisionQueue(int maxMarkets, int shedDepth) {
+        this.shedDepth = shedDepth;
+        this.tradeTask = new Runnable[maxMarkets];
+        this.tradeLane = new int[maxMarkets];
+        this.protectiveExit = new boolean[maxMarkets];
+        this.infoTask = new Runnable[maxMarkets];
+        this.enqueuedAt = new long[LANES][maxMarkets];
+        for (int lane = 0; lane < LANES; lane++) {
+            lanes[lane] = new Lane(maxMarkets);
+        }
+        Arrays.fill(tradeLane, NONE);
+    }
+
+    /**
+     * 작업 등록.
+     *
+     * @param lane EXIT, BUY, INFO
+     * @return 대기열에 들어갔으면 true (상위 작업이 대기 중이거나 부하로 버려졌으면 false)
+     */
+    public synchronized boolean offer(int marketId, int lane, Runnable task, long now) {
+        if (lane == INFO) {
+            return offerInfo(marketId, task, now);
+        }
+        return offerTrade(marketId, lane, task, now, false);
+    }
+
+    /**
+     * 보호 청산 작업 등록 (EXIT 등급). 대기 중인 매도 신호를 대체하고, 이후 매도 신호로는 대체되지 않는다.
+     */
+    public synchronized boolean offerProtectiveExit(int marketId, Runnable task, long now) {
+        return offerTrade(marketId, EXIT, task, now, true);
+    }
+
+    private boolean offerTrade(int marketId, int lane, Runnable task, long now, boolean protective) {
+        int pending = tradeLane[marketId];
+        if (pending != NONE) {
+            superseded++;
+            if (pending < lane) {
+                return false; // 더 급한 작업(예: 청산)이 이미 대기 중
+            }
+            if (pending == lane) {
+                if (protectiveExit[marketId] && !protective) {
+                    return false; // 대기 중인 보호 청산을 부분 매도일 수 있는 매도 신호로 바꾸지 않는다
+                }
+                tradeTask[marketId] = task; // 대기 순서는 유지하고 최신 판단으로 교체
+                protectiveExit[marketId] = protective;
+                return true;
+            }
+            lanes[pending].remove(marketId);
+        }
+        tradeTask[marketId] = task;
+        tradeLane[marketId] = lane;
+        protectiveExit[marketId] = protective;
+        enqueuedAt[lane][marketId] = now;
+        lanes[lane].addLast(marketId);
+        if (depth() >= shedDepth) {
+            shedInfo();
+        }
+        notifyAll();
+        return true;
+    }
+
+    private boolean offerInfo(int marketId, Runnable task, long now) {
+        if (infoTask[marketId] != null) {
+            superseded++;
+            infoTask[marketId] = task;
+            return true;
+        }
+        if (depth() >= shedDepth) {
+            shed++;
+            return false;
+        }
+        infoTask[marketId] = task;
+        enqueuedAt[INFO][marketId] = now;
+        lanes[INFO].addLast(marketId);
+        notifyAll();
+        return true;
+    }
+
+    private void shedInfo() {
+        Lane info = lanes[INFO];
+        int id;
+        while ((id = info.pollFirst()) != NONE) {
+            infoTask[id] = null;
+            shed++;
+        }
+    }
+
+    /**
+     * 가장 높은 등급의 가장 오래된 작업을 꺼낸다.
+     *
+     * @return 대기 작업이 없으면 null
+     */
+    public synchronized Runnable poll(long now) {
+        for (int lane = 0; lane < LANES; lane++) {
+            int id = lanes[lane].pollFirst();
+            if (id == NONE) {
+                continue;
+            }
+            Runnable task;
+            if (lane == INFO) {
+                task = infoTask[id];
+                infoTask[id] = null;
+            } else {
+                task = tradeTask[id];
+                tradeTask[id] = null;
+                tradeLane[id] = NONE;
+                protectiveExit[id] = false;
+            }
+            if (lane == EXIT) {
+                lastExitWaitMs = now - enqueuedAt[EXIT][id];
+                maxExitWaitMs = Math.max(maxExitWaitMs, lastExitWaitMs);
+            }
+            executed[lane]++;
+            return task;
+        }
+        return null;
+    }
+
+    /**
+     * 작업이 생길 때까지 기다렸다가 꺼낸다 (소비 스레드 전용)
+     */
+    public synchronized Runnable take() throws InterruptedException {
+        Runnable task;
+        while ((task = poll(System.currentTimeMillis())) == null) {
+            wait();
+        }
+        return task;
+    }
+
+    public synchronized void clear() {
+        for (int lane = 0; lane < LANES; lane++) {
+            int id;
+            while ((id = lanes[lane].pollFirst()) != NONE) {
+                tradeTask[id] = null;
+                tradeLane[id] = NONE;
+                protectiveExit[id] = false;
+                infoTask[id] = null;
+            }
+        }
+    }
+
+    public synchronized int depth() {
+        return lanes[EXIT].size + lanes[BUY].size + lanes[INFO].size;
+    }
+
+    public synchronized int depth(int lane) {
+        return lanes[lane].size;
+    }
+
+    /**
+     * 등급별로 꺼내 간 작업 수
+     */
+    public synchronized long executed(int lane) {
+        return executed[lane];
+    }
+
+    /**
+     * 같은 마켓의 새 작업에 밀려 대체되거나 버려진 작업 수
+     */
+    public synchronized long superseded() {
+        return superseded;
+    }
+
+    /**
+     * 부하로 버린 알림 작업 수
+     */
+    public synchronized long shed() {
+        return shed;
+    }
+
+    /**
+     * 마지막/최대 청산·매도 작업 대기 시간 (등록부터 꺼낼 때까지)
+     */
+    public synchronized long lastExitWaitMs() {
+        return lastExitWaitMs;
+    }
+
+    public synchronized long maxExitWaitMs() {
+        return maxExitWaitMs;
+    }
+
+    /**
+     * 마켓 id FIFO (이중 연결 리스트, 마켓당 한 번만 들어간다)
+     */
+    private static final class Lane {
+        private final int[] next;
+        private final int[] prev;
+        private final boolean[] queued;
+        private int head = NONE;
+        private int tail = NONE;
+        private int size = 0;
+
+        Lane(int maxMarkets) {
+            next = new int[maxMarkets];
+            prev = new int[maxMarkets];
+            queued = new boolean[maxMarkets];
+        }
+
+        void addLast(int id) {
+            next[id] = NONE;
+            prev[id] = tail;
+            if (tail != NONE) {
+                next[tail] = id;
+            } else {
+                head = id;
+            }
+            tail = id;
+            queued[id] = true;
+            size++;
+        }
+
+        void remove(int id) {
+            if (!queued[id]) {
+                return;
+            }
+            if (prev[id] != NONE) {
+                next[prev[id]] = next[id];
+            } else {
+                head = next[id];
+            }
+            if (next[id] != NONE) {
+                prev[next[id]] = prev[id];
+            } else {
+                tail = prev[id];
+            }
+            queued[id] = false;
+            size--;
+        }
+
+        int pollFirst() {
+            int id = head;
+            if (id != NONE) {
+                remove(id);
+            }
+            return id;
+        }
+    }
+}
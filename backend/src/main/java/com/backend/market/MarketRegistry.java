@@ -0,0 +1,153 @@
+package com.backend.market;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 마켓 코드 ↔ 정수 id 매핑.
+ * 구독 시점에 0부터 조밀한 id를 부여하고, 마켓별 상태는 이 id를 인덱스로 하는 배열에 보관한다.
+ * 한 번 부여한 id는 재사용하지 않는다 (같은 코드를 다시 구독하면 같은 id).
+ *
+ * 마켓 코드는 등록 시 quote/base 통화로 미리 분리해 두고, 디코더가 파서 버퍼의 문자 배열만으로
+ * String 생성 없이 id를 찾을 수 있도록 개방 주소법 해시 테이블을 둔다 (조회는 락 없이 수행).
+ */
+@Component
+public class MarketRegistry {
+
+    public static final int MAX_MARKETS = 1024;
+
+    private static final int TABLE_SIZE = MAX_MARKETS * 2; // 2의 거듭제곱, 부하율 50% 이하
+    private static final int EMPTY = -1;
+
+    private final String[] codes = new String[MAX_MARKETS];
+    private final char[][] codeChars = new char[MAX_MARKETS][];
+    private final String[] quoteCurrencies = new String[MAX_MARKETS];
+    private final String[] baseCurrencies = new String[MAX_MARKETS];
+    private final AtomicIntegerArray table = new AtomicIntegerArray(TABLE_SIZE);
+    private volatile int size = 0;
+
+    public MarketRegistry() {
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            table.set(i, EMPTY);
+        }
+    }
+
+    /**
+     * 마켓을 등록하고 id를 반환한다. 이미 등록된 마켓이면 기존 id.
+     */
+    public synchronized int register(String market) {
+        int existing = idOf(market);
+        if (existing >= 0) {
+            return existing;
+        }
+        if (size >= MAX_MARKETS) {
+            throw new IllegalStateException("등록 가능한 마켓 수(" + MAX_MARKETS + ")를 초과했습니다.");
+        }
+        int dash = market.indexOf('-');
+        if (dash <= 0 || dash == market.length() - 1) {
+            throw new IllegalArgumentException("잘못된 마켓 코드 형식입니다: " + market);
+        }
+
+        int id = size;
+        codes[id] = market;
+        codeChars[id] = market.toCharArray();
+        quoteCurrencies[id] = market.substring(0, dash);
+        baseCurrencies[id] = market.substring(dash + 1);
+
+        // 배열을 먼저 채운 뒤 테이블에 공개 (AtomicIntegerArray 쓰기가 앞선 쓰기의 가시성을 보장)
+        int slot = hash(codeChars[id], 0, codeChars[id].length);
+        while (table.get(slot) != EMPTY) {
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+        table.set(slot, id);
+        size = id + 1;
+        return id;
+    }
+
+    /**
+     * @return 마켓 id, 등록되지 않은 마켓이면 -1
+     */
+    public int idOf(String market) {
+        char[] chars = market.toCharArray();
+        return idOf(chars, 0, chars.length);
+    }
+
+    /**
+     * 파서 버퍼의 문자 구간으로 id 조회 (String 생성 없음)
+     *
+     * @return 마켓 id, 등록되지 않은 마켓이면 -1
+     */
+    public int idOf(char[] buf, int offset, int length) {
+        int slot = hash(buf, offset, length);
+        while (true) {
+            int id = table.get(slot);
+            if (id == EMPTY) {
+                return -1;
+            }
+            if (matches(codeChars[id], buf, offset, length)) {
+                return id;
+            }
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+    }
+
+    /**
+     * quote/base 통화로 id 조회 (예: "KRW", "BTC" → KRW-BTC의 id). 문자열 연결 없이 비교한다.
+     *
+     * @return 마켓 id, 등록되지 않은 마켓이면 -1
+     */
+    public int idOf(String quoteCurrency, String baseCurrency) {
+        int n = size;
+        for (int id = 0; id < n; id++) {
+            if (baseCurrencies[id].equalsIgnoreCase(baseCurrency)
+                    && quoteCurrencies[id].equalsIgnoreCase(quoteCurrency)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    public String codeOf(int id) {
+        return codes[id];
+    }
+
+    /**
+     * @return 결제 통화 (KRW-BTC → KRW)
+     */
+    public String quoteCurrency(int id) {
+        return quoteCurrencies[id];
+    }
+
+    /**
+     * @return 거래 대상 통화 (KRW-BTC → BTC)
+     */
+    public String baseCurrency(int id) {
+        return baseCurrencies[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int hash(char[] buf, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + buf[i];
+        }
+        h ^= (h >>> 16);
+        return h & (TABLE_SIZE - 1);
+    }
+
+    private static boolean matches(char[] code, char[] buf, int offset, int length) {
+        if (code.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (code[i] != buf[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
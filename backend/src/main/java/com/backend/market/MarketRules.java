@@ -0,0 +1,91 @@
+package com.backend.market;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 마켓별 주문 규칙 (업비트 /v1/orders/chance 기준): 수수료율, 최소/최대 주문금액, 주문 상태, 호가 단위.
+ * 주문 금액/수량은 이 값만으로 계산하므로 주문 직전 추가 조회가 없고, 거부될 주문은 보내기 전에 걸러진다.
+ *
+ * @param bidFee      매수 수수료율 (예: 0.0005)
+ * @param bidMinTotal 매수 최소 주문금액 (KRW)
+ * @param askMinTotal 매도 최소 주문금액 (KRW)
+ * @param maxTotal    최대 주문금액 (KRW)
+ * @param loadedAt    조회 시각 (0: 조회 전 기본값)
+ */
+public record MarketRules(String market, double bidFee, double askFee, double bidMinTotal, double askMinTotal,
+                          double maxTotal, String state, long loadedAt) {
+
+    public static final int VOLUME_SCALE = 8; // 주문 수량 소수점 자릿수
+
+    private static final double DEFAULT_FEE = 0.0005;
+    private static final double DEFAULT_MIN_TOTAL = 5_000.0;
+    private static final double DEFAULT_MAX_TOTAL = 1_000_000_000.0;
+
+    // KRW 마켓 호가 단위: 가격 하한 → 호가 단위 (가격이 높은 구간부터)
+    private static final double[] TICK_PRICE_FLOOR = {
+            2_000_000, 1_000_000, 500_000, 100_000, 50_000, 10_000, 5_000, 1_000, 100, 10, 1, 0.1, 0.01, 0.001, 0.0001, 0.00001};
+    private static final double[] TICK_SIZE = {
+            1_000, 1_000, 500, 100, 50, 10, 5, 1, 1, 0.1, 0.01, 0.001, 0.0001, 0.00001, 0.000001, 0.0000001};
+    private static final double MIN_TICK = 0.00000001;
+
+    /**
+     * 조회 전 사용하는 KRW 마켓 일반 규칙
+     */
+    public static MarketRules defaults(String market) {
+        return new MarketRules(market, DEFAULT_FEE, DEFAULT_FEE, DEFAULT_MIN_TOTAL, DEFAULT_MIN_TOTAL,
+                DEFAULT_MAX_TOTAL, "active", 0L);
+    }
+
+    public boolean loaded() {
+        return loadedAt > 0;
+    }
+
+    public boolean active() {
+        return "active".equals(state);
+    }
+
+    /**
+     * 시장가 매수 주문금액 (원 단위 내림). 수수료는 주문금액과 별도로 빠지므로 krwBudget 안에서 수수료까지 낼 수 있는 금액이다.
+     *
+     * @return 최소 주문금액 미만이면 0
+     */
+    public long buyTotal(double krwBudget) {
+        long total = (long) Math.floor(Math.min(krwBudget / (1 + bidFee), maxTotal));
+        return total >= bidMinTotal ? total : 0L;
+    }
+
+    /**
+     * 시장가 매도 수량 (소수점 VOLUME_SCALE자리 내림). 주문 파라미터에는 toPlainString()으로 넣는다 (지수 표기 방지).
+     */
+    public BigDecimal sellVolume(double volume) {
+        return BigDecimal.valueOf(volume).setScale(VOLUME_SCALE, RoundingMode.DOWN).stripTrailingZeros();
+    }
+
+    /**
+     * 예상 체결가 기준으로 매도 최소 주문금액을 넘는지
+     */
+    public boolean sellable(double volume, double price) {
+        return volume * price >= askMinTotal;
+    }
+
+    /**
+     * 가격 구간별 호가 단위 (KRW 마켓)
+     */
+    public double tickSize(double price) {
+        for (int i = 0; i < TICK_PRICE_FLOOR.length; i++) {
+            if (price >= TICK_PRICE_FLOOR[i]) {
+                return TICK_SIZE[i];
+            }
+        }
+        return MIN_TICK;
+    }
+
+    /**
+     * 호가 단위로 내림한 가격 (지정가 매수/매도 가격용)
+     */
+    public BigDecimal roundPriceDown(double price) {
+        BigDecimal tick = BigDecimal.valueOf(tickSize(price));
+        return BigDecimal.valueOf(price).divide(tick, 0, RoundingMode.FLOOR).multiply(tick).stripTrailingZeros();
+    }
+}
@@ -0,0 +1,233 @@
+package com.backend.market;
+
+import java.util.Arrays;
+
+/**
+ * 마켓 × 시간프레임(1/5/15/60분) 봉 집계 및 봉 단위 RSI 상태.
+ *
+ * 모든 상태는 slot = marketId * TIMEFRAME_COUNT + timeframeIndex 로 인덱싱되는 평평한 primitive 배열에 둔다.
+ * 틱은 가장 짧은 봉(1분)부터 갱신하고, 상위 봉의 경계는 항상 하위 봉의 경계이기도 하므로
+ * 하위 봉이 마감될 때만 상위 봉 마감 여부를 확인한다 (틱당 O(1)).
+ * RSI는 봉이 마감될 때마다 Wilder 평활로 증분 갱신되며, 초기값은 RsiCalculator와 동일하게 단순 평균이다.
+ *
+ * 쓰기는 WebSocket 리스너 스레드(틱)와 백그라운드 시드/설정 변경에서 일어나고, 읽기는 판단 스레드와 HTTP 스레드에서 일어난다.
+ * 락 대신 마켓별 SeqLock을 쓰므로 틱 경로는 CAS 한 번만 하고, 읽는 쪽은 틱 스레드를 막지 않는다.
+ */
+public class MultiTimeframeBars {
+
+    public static final int[] TIMEFRAME_MINUTES = {1, 5, 15, 60};
+    public static final int TIMEFRAME_COUNT = TIMEFRAME_MINUTES.length;
+
+    private static final long[] TIMEFRAME_MS = new long[TIMEFRAME_COUNT];
+    static {
+        for (int i = 0; i < TIMEFRAME_COUNT; i++) {
+            TIMEFRAME_MS[i] = TIMEFRAME_MINUTES[i] * 60_000L;
+        }
+    }
+
+    private static final long NO_BAR = -1L;
+
+    private final int slots;
+    private final SeqLock lock;
+    private volatile int rsiPeriod;
+
+    // 진행 중인 봉
+    private final long[] barStart;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+
+    // 마감된 봉 기준 RSI 상태
+    private final long[] lastClosedBarStart;
+    private final double[] prevClose;
+    private final double[] avgGain;
+    private final double[] avgLoss;
+    private final int[] changeCount;
+    private final double[] rsi;
+
+    public MultiTimeframeBars(int maxMarkets, int rsiPeriod) {
+        this.slots = maxMarkets * TIMEFRAME_COUNT;
+        this.rsiPeriod = rsiPeriod;
+        this.lock = new SeqLock(maxMarkets);
+        barStart = new long[slots];
+        open = new double[slots];
+        high = new double[slots];
+        low = new double[slots];
+        close = new double[slots];
+        lastClosedBarStart = new long[slots];
+        prevClose = new double[slots];
+        avgGain = new double[slots];
+        avgLoss = new double[slots];
+        changeCount = new int[slots];
+        rsi = new double[slots];
+        Arrays.fill(barStart, NO_BAR);
+        Arrays.fill(prevClose, Double.NaN);
+        Arrays.fill(rsi, Double.NaN);
+    }
+
+    public static int timeframeIndex(int minutes) {
+        for (int i = 0; i < TIMEFRAME_COUNT; i++) {
+            if (TIMEFRAME_MINUTES[i] == minutes) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 틱 반영.
+     *
+     * @return 이번 틱으로 마감된 봉의 시간프레임 비트마스크 (bit i = TIMEFRAME_MINUTES[i])
+     */
+    public int onTick(int marketId, long timestamp, double price) {
+        lock.beginWrite(marketId);
+        try {
+            return applyTick(marketId, timestamp, price);
+        } finally {
+            lock.endWrite(marketId);
+        }
+    }
+
+    private int applyTick(int marketId, long timestamp, double price) {
+        int base = marketId * TIMEFRAME_COUNT;
+        int closedMask = 0;
+        boolean finerRolled = true; // 1분 봉은 항상 경계를 확인
+        for (int tf = 0; tf < TIMEFRAME_COUNT; tf++) {
+            int slot = base + tf;
+            if (finerRolled || barStart[slot] == NO_BAR) {
+                long start = timestamp - Math.floorMod(timestamp, TIMEFRAME_MS[tf]);
+                if (start != barStart[slot]) {
+                    if (barStart[slot] != NO_BAR && start > barStart[slot]) {
+                        closeBar(slot);
+                        closedMask |= 1 << tf;
+                    } else if (start < barStart[slot]) {
+                        // 지연 도착한 이전 봉의 틱은 무시
+                        return closedMask;
+                    }
+                    barStart[slot] = start;
+                    open[slot] = high[slot] = low[slot] = close[slot] = price;
+                    finerRolled = true;
+                    continue;
+                }
+                finerRolled = false;
+            }
+            if (price > high[slot]) high[slot] = price;
+            if (price < low[slot]) low[slot] = price;
+            close[slot] = price;
+        }
+        return closedMask;
+    }
+
+    private void closeBar(int slot) {
+        lastClosedBarStart[slot] = barStart[slot];
+        applyClose(slot, close[slot]);
+    }
+
+    private void applyClose(int slot, double closePrice) {
+        int rsiPeriod = this.rsiPeriod;
+        double prev = prevClose[slot];
+        prevClose[slot] = closePrice;
+        if (Double.isNaN(prev)) {
+            return;
+        }
+        double change = closePrice - prev;
+        double gain = change > 0 ? change : 0.0;
+        double loss = change < 0 ? -change : 0.0;
+        int n = ++changeCount[slot];
+        if (n <= rsiPeriod) {
+            // 초기 period개 변화량은 합산 후 단순 평균
+            avgGain[slot] += gain;
+            avgLoss[slot] += loss;
+            if (n < rsiPeriod) {
+                return;
+            }
+            avgGain[slot] /= rsiPeriod;
+            avgLoss[slot] /= rsiPeriod;
+        } else {
+            avgGain[slot] = (avgGain[slot] * (rsiPeriod - 1) + gain) / rsiPeriod;
+            avgLoss[slot] = (avgLoss[slot] * (rsiPeriod - 1) + loss) / rsiPeriod;
+        }
+        rsi[slot] = avgLoss[slot] == 0.0 ? 100.0 : 100.0 - (100.0 / (1.0 + avgGain[slot] / avgLoss[slot]));
+    }
+
+    /**
+     * REST로 조회한 확정봉 종가로 RSI 상태를 초기화한다.
+     *
+     * @param confirmed 확정봉 (최신순, 비어 있지 않아야 함)
+     */
+    public void seed(int marketId, int timeframeIndex, CandleSeries confirmed) {
+        int slot = marketId * TIMEFRAME_COUNT + timeframeIndex;
+        lock.beginWrite(marketId);
+        try {
+            resetRsi(slot);
+            for (int i = confirmed.size() - 1; i >= 0; i--) {
+                applyClose(slot, confirmed.close(i));
+            }
+            long lastConfirmedStart = confirmed.startTime(0);
+            lastClosedBarStart[slot] = lastConfirmedStart;
+            if (barStart[slot] != NO_BAR && barStart[slot] <= lastConfirmedStart) {
+                barStart[slot] = NO_BAR; // 시드에 이미 포함된 봉은 틱 집계를 새로 시작
+            }
+        } finally {
+            lock.endWrite(marketId);
+        }
+    }
+
+    /**
+     * RSI 기간 변경. 봉 집계는 유지하고 RSI 상태만 초기화한다 (재시드 필요).
+     */
+    public void setRsiPeriod(int rsiPeriod) {
+        this.rsiPeriod = rsiPeriod;
+        for (int marketId = 0; marketId < slots / TIMEFRAME_COUNT; marketId++) {
+            lock.beginWrite(marketId);
+            try {
+                int base = marketId * TIMEFRAME_COUNT;
+                for (int slot = base; slot < base + TIMEFRAME_COUNT; slot++) {
+                    resetRsi(slot);
+                }
+            } finally {
+                lock.endWrite(marketId);
+            }
+        }
+    }
+
+    public void reset(int marketId) {
+        lock.beginWrite(marketId);
+        try {
+            int base = marketId * TIMEFRAME_COUNT;
+            for (int slot = base; slot < base + TIMEFRAME_COUNT; slot++) {
+                barStart[slot] = NO_BAR;
+                lastClosedBarStart[slot] = 0;
+                resetRsi(slot);
+            }
+        } finally {
+            lock.endWrite(marketId);
+        }
+    }
+
+    private void resetRsi(int slot) {
+        prevClose[slot] = Double.NaN;
+        avgGain[slot] = 0.0;
+        avgLoss[slot] = 0.0;
+        changeCount[slot] = 0;
+        rsi[slot] = Double.NaN;
+    }
+
+    /**
+     * @return 마감된 봉 기준 RSI, 아직 기간만큼 쌓이지 않았으면 NaN
+     */
+    public double rsi(int marketId, int timeframeIndex) {
+        while (true) {
+            long v = lock.beginRead(marketId);
+            double value = rsi[marketId * TIMEFRAME_COUNT + timeframeIndex];
+            if (lock.validate(marketId, v)) return value;
+        }
+    }
+
+    public double close(int marketId, int timeframeIndex) {
+        while (true) {
+            long v = lock.beginRead(marketId);
+            double value = close[marketId * TIMEFRAME_COUNT + timeframeIndex];
+            if (lock.validate(marketId, v)) return value;
+        }
+    }
+}
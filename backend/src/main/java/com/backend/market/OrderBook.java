@@ -0,0 +1,194 @@
+package com.backend.market;
+
+/**
+ * 업비트 orderbook 스트림으로 유지하는 마켓별 L2 호가 (매도/매수 각 최대 MAX_LEVELS 단계).
+ *
+ * 호가는 slot = marketId * MAX_LEVELS + level 로 인덱싱되는 primitive 배열에 제자리 갱신한다.
+ * 갱신은 WebSocket 리스너 스레드, 마켓 제거 시 clear()는 설정 변경 스레드에서 일어나므로
+ * 쓰는 쪽이 CAS로 들어가는 마켓별 SeqLock으로 보호하고, 읽는 쪽은 락 없이 읽은 뒤 버전이 바뀌었으면 다시 읽는다.
+ */
+public class OrderBook {
+
+    public static final int MAX_LEVELS = 30;
+
+    private final double[] askPrice;
+    private final double[] askSize;
+    private final double[] bidPrice;
+    private final double[] bidSize;
+    private final int[] levels;
+    private final long[] timestamp;
+    private final SeqLock lock;
+
+    public OrderBook(int maxMarkets) {
+        int slots = maxMarkets * MAX_LEVELS;
+        askPrice = new double[slots];
+        askSize = new double[slots];
+        bidPrice = new double[slots];
+        bidSize = new double[slots];
+        levels = new int[maxMarkets];
+        timestamp = new long[maxMarkets];
+        lock = new SeqLock(maxMarkets);
+    }
+
+    /**
+     * 호가 스냅샷으로 갱신한다.
+     * 각 배열의 index 0이 최우선 호가 (매도는 가장 낮은 가격, 매수는 가장 높은 가격).
+     */
+    public void update(int marketId, long ts, double[] asks, double[] askSizes,
+                       double[] bids, double[] bidSizes, int count) {
+        int n = Math.min(count, MAX_LEVELS);
+        int base = marketId * MAX_LEVELS;
+        lock.beginWrite(marketId);
+        try {
+            System.arraycopy(asks, 0, askPrice, base, n);
+            System.arraycopy(askSizes, 0, askSize, base, n);
+            System.arraycopy(bids, 0, bidPrice, base, n);
+            System.arraycopy(bidSizes, 0, bidSize, base, n);
+            levels[marketId] = n;
+            timestamp[marketId] = ts;
+        } finally {
+            lock.endWrite(marketId);
+        }
+    }
+
+    /**
+     * 마켓 호가를 비운다 (리스너 스레드의 update()와 동시에 호출돼도 된다)
+     */
+    public void clear(int marketId) {
+        lock.beginWrite(marketId);
+        try {
+            levels[marketId] = 0;
+            timestamp[marketId] = 0;
+        } finally {
+            lock.endWrite(marketId);
+        }
+    }
+
+    public boolean hasBook(int marketId) {
+        return levels[marketId] > 0;
+    }
+
+    /**
+     * X KRW를 시장가 매수할 때 예상 평균 체결가 (매도 호가를 낮은 가격부터 소진).
+     *
+     * @return 예상 평균 체결가, 호가가 없거나 깊이가 부족하면 NaN
+     */
+    public double expectedBuyPrice(int marketId, double krwAmount) {
+        while (true) {
+            long v = beginRead(marketId);
+            double result = walkAsks(marketId, krwAmount);
+            if (validate(marketId, v)) return result;
+        }
+    }
+
+    /**
+     * 수량 X를 시장가 매도할 때 예상 평균 체결가 (매수 호가를 높은 가격부터 소진).
+     *
+     * @return 예상 평균 체결가, 호가가 없거나 깊이가 부족하면 NaN
+     */
+    public double expectedSellPrice(int marketId, double volume) {
+        while (true) {
+            long v = beginRead(marketId);
+            double result = walkBids(marketId, volume);
+            if (validate(marketId, v)) return result;
+        }
+    }
+
+    /**
+     * 최우선 매도호가 대비 maxSlippagePct% 이내 가격의 매도 호가만으로 매수할 수 있는 최대 KRW
+     */
+    public double maxBuyKrw(int marketId, double maxSlippagePct) {
+        while (true) {
+            long v = beginRead(marketId);
+            int base = marketId * MAX_LEVELS;
+            int n = levels[marketId];
+            double total = 0.0;
+            if (n > 0) {
+                double limit = askPrice[base] * (1 + maxSlippagePct / 100);
+                for (int i = base; i < base + n && askPrice[i] <= limit; i++) {
+                    total += askPrice[i] * askSize[i];
+                }
+            }
+            if (validate(marketId, v)) return total;
+        }
+    }
+
+    /**
+     * 최우선 매수호가 대비 maxSlippagePct% 이내 가격의 매수 호가만으로 매도할 수 있는 최대 수량
+     */
+    public double maxSellVolume(int marketId, double maxSlippagePct) {
+        while (true) {
+            long v = beginRead(marketId);
+            int base = marketId * MAX_LEVELS;
+            int n = levels[marketId];
+            double total = 0.0;
+            if (n > 0) {
+                double limit = bidPrice[base] * (1 - maxSlippagePct / 100);
+                for (int i = base; i < base + n && bidPrice[i] >= limit; i++) {
+                    total += bidSize[i];
+                }
+            }
+            if (validate(marketId, v)) return total;
+        }
+    }
+
+    /**
+     * 호가 스냅샷을 out 배열에 복사한다 (REST 조회용).
+     *
+     * @return 복사한 호가 단계 수
+     */
+    public int copy(int marketId, double[] asks, double[] askSizes, double[] bids, double[] bidSizes, long[] tsOut) {
+        while (true) {
+            long v = beginRead(marketId);
+            int base = marketId * MAX_LEVELS;
+            int n = levels[marketId];
+            System.arraycopy(askPrice, base, asks, 0, n);
+            System.arraycopy(askSize, base, askSizes, 0, n);
+            System.arraycopy(bidPrice, base, bids, 0, n);
+            System.arraycopy(bidSize, base, bidSizes, 0, n);
+            tsOut[0] = timestamp[marketId];
+            if (validate(marketId, v)) return n;
+        }
+    }
+
+    private double walkAsks(int marketId, double krwAmount) {
+        int base = marketId * MAX_LEVELS;
+        int n = levels[marketId];
+        double remainingKrw = krwAmount;
+        double volume = 0.0;
+        for (int i = base; i < base + n; i++) {
+            double levelKrw = askPrice[i] * askSize[i];
+            if (levelKrw >= remainingKrw) {
+                volume += remainingKrw / askPrice[i];
+                return krwAmount / volume;
+            }
+            remainingKrw -= levelKrw;
+            volume += askSize[i];
+        }
+        return Double.NaN;
+    }
+
+    private double walkBids(int marketId, double volume) {
+        int base = marketId * MAX_LEVELS;
+        int n = levels[marketId];
+        double remaining = volume;
+        double krw = 0.0;
+        for (int i = base; i < base + n; i++) {
+            if (bidSize[i] >= remaining) {
+                krw += remaining * bidPrice[i];
+                return krw / volume;
+            }
+            remaining -= bidSize[i];
+            krw += bidSize[i] * bidPrice[i];
+        }
+        return Double.NaN;
+    }
+
+    private long beginRead(int marketId) {
+        return lock.beginRead(marketId);
+    }
+
+    private boolean validate(int marketId, long v) {
+        return lock.validate(marketId, v);
+    }
+}
@@ -0,0 +1,122 @@
+package com.backend.market;
+
+import java.util.Arrays;
+
+/**
+ * 틱 단위 보호 청산(손절/익절/트레일링 스탑) 판정.
+ *
+ * 보유 마켓마다 청산 가격 경계(exitBelow, exitAbove)를 매수 단가로 미리 계산해 두므로,
+ * 틱 1건은 경계 비교 두 번으로 끝난다 (맵 조회/할당 없음). 트레일링 스탑은 고점이 갱신될 때만 하한을 올린다.
+ * 청산이 발동되면 해당 마켓은 해제되어 같은 포지션에 대해 한 번만 발동한다.
+ *
+ * 미보유 마켓은 exitBelow = 0, exitAbove = +∞ 이므로 별도 분기 없이 항상 통과한다.
+ */
+public class ProtectiveExits {
+
+    // onTick() 결과
+    public static final int NONE = 0;
+    public static final int STOP_LOSS = 1;
+    public static final int TAKE_PROFIT = 2;
+    public static final int TRAILING_STOP = 3;
+
+    private final double[] entryPrice;
+    private final double[] stopLossPrice; // 고정 손절가 (0: 사용 안 함)
+    private final double[] exitBelow;     // 이 가격 이하이면 손절/트레일링 청산
+    private final double[] exitAbove;     // 이 가격 이상이면 익절
+    private final double[] peakPrice;     // 트레일링 기준 고점 (+∞: 트레일링 사용 안 함)
+
+    // 1 - 손절%, 1 + 익절%, 1 - 트레일링% (0: 사용 안 함)
+    private double stopLossFactor;
+    private double takeProfitFactor;
+    private double trailingFactor;
+
+    public ProtectiveExits(int maxMarkets) {
+        entryPrice = new double[maxMarkets];
+        stopLossPrice = new double[maxMarkets];
+        exitBelow = new double[maxMarkets];
+        exitAbove = new double[maxMarkets];
+        peakPrice = new double[maxMarkets];
+        Arrays.fill(exitAbove, Double.POSITIVE_INFINITY);
+        Arrays.fill(peakPrice, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * 청산 비율 설정 (%, 0이면 해당 청산 사용 안 함). 보유 중인 마켓은 새 비율로 다시 계산한다.
+     * 트레일링 고점은 매수 단가부터 다시 쌓는다.
+     */
+    public synchronized void configure(double stopLossPct, double takeProfitPct, double trailingStopPct) {
+        stopLossFactor = stopLossPct > 0 ? 1 - stopLossPct / 100 : 0.0;
+        takeProfitFactor = takeProfitPct > 0 ? 1 + takeProfitPct / 100 : 0.0;
+        trailingFactor = trailingStopPct > 0 ? 1 - trailingStopPct / 100 : 0.0;
+        for (int id = 0; id < entryPrice.length; id++) {
+            if (entryPrice[id] > 0) {
+                arm(id, entryPrice[id]);
+            }
+        }
+    }
+
+    /**
+     * 매수 단가 기준으로 청산 경계를 계산한다. entry가 0 이하이면 해제.
+     */
+    public synchronized void arm(int marketId, double entry) {
+        if (!(entry > 0)) {
+            disarm(marketId);
+            return;
+        }
+        entryPrice[marketId] = entry;
+        stopLossPrice[marketId] = stopLossFactor > 0 ? entry * stopLossFactor : 0.0;
+        exitAbove[marketId] = takeProfitFactor > 0 ? entry * takeProfitFactor : Double.POSITIVE_INFINITY;
+        if (trailingFactor > 0) {
+            peakPrice[marketId] = entry;
+            exitBelow[marketId] = Math.max(stopLossPrice[marketId], entry * trailingFactor);
+        } else {
+            peakPrice[marketId] = Double.POSITIVE_INFINITY;
+            exitBelow[marketId] = stopLossPrice[marketId];
+        }
+    }
+
+    public synchronized void disarm(int marketId) {
+        entryPrice[marketId] = 0.0;
+        stopLossPrice[marketId] = 0.0;
+        exitBelow[marketId] = 0.0;
+        exitAbove[marketId] = Double.POSITIVE_INFINITY;
+        peakPrice[marketId] = Double.POSITIVE_INFINITY;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(entryPrice, 0.0);
+        Arrays.fill(stopLossPrice, 0.0);
+        Arrays.fill(exitBelow, 0.0);
+        Arrays.fill(exitAbove, Double.POSITIVE_INFINITY);
+        Arrays.fill(peakPrice, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * 틱 1건 판정. 청산이 발동되면 마켓을 해제하고 사유를 반환한다.
+     *
+     * @return NONE, STOP_LOSS, TAKE_PROFIT, TRAILING_STOP
+     */
+    public synchronized int onTick(int marketId, double price) {
+        if (price > exitBelow[marketId] && price < exitAbove[marketId]) {
+            if (price > peakPrice[marketId]) {
+                peakPrice[marketId] = price;
+                exitBelow[marketId] = Math.max(stopLossPrice[marketId], price * trailingFactor);
+            }
+            return NONE;
+        }
+        // 고점이 매수가 위로 올라간 적이 없으면 트레일링 하한이 손절가보다 높아도 손실 청산이므로 손절로 본다
+        boolean trailed = peakPrice[marketId] > entryPrice[marketId] && exitBelow[marketId] > stopLossPrice[marketId];
+        int reason = price >= exitAbove[marketId] ? TAKE_PROFIT : trailed ? TRAILING_STOP : STOP_LOSS;
+        disarm(marketId);
+        return reason;
+    }
+
+    public static String reasonName(int reason) {
+        return switch (reason) {
+            case STOP_LOSS -> "손절";
+            case TAKE_PROFIT -> "익절";
+            case TRAILING_STOP -> "트레일링 스탑";
+            default -> "없음";
+        };
+    }
+}
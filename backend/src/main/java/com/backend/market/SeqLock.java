@@ -0,0 +1,53 @@
+package com.backend.market;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 마켓별 seqlock (버전 홀수 = 갱신 중).
+ * 읽는 쪽은 락 없이 읽은 뒤 버전이 바뀌었으면 다시 읽고, 쓰는 쪽은 짝수 버전을 CAS로 홀수로 바꿔 들어가므로
+ * 쓰기 스레드가 여럿이어도 (틱 스레드 + 백그라운드 시드 등) 버전이 홀수로 남지 않는다.
+ * 쓰기가 겹치지 않는 평소에는 쓰기당 CAS 한 번, 읽기는 버전 읽기 두 번이 전부다.
+ */
+final class SeqLock {
+
+    private static final VarHandle VERSION = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] version;
+
+    SeqLock(int size) {
+        version = new long[size];
+    }
+
+    /**
+     * 쓰기 시작. 다른 스레드가 같은 항목을 갱신 중이면 끝날 때까지 기다린다.
+     */
+    void beginWrite(int index) {
+        while (true) {
+            long v = (long) VERSION.getOpaque(version, index);
+            // CAS는 전체 펜스이므로 이후 데이터 쓰기가 버전 변경보다 먼저 보이지 않는다
+            if ((v & 1) == 0 && VERSION.compareAndSet(version, index, v, v + 1)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    void endWrite(int index) {
+        long v = (long) VERSION.getOpaque(version, index);
+        VERSION.setRelease(version, index, v + 1);
+    }
+
+    long beginRead(int index) {
+        while (true) {
+            long v = (long) VERSION.getAcquire(version, index);
+            if ((v & 1) == 0) return v;
+            Thread.onSpinWait();
+        }
+    }
+
+    boolean validate(int index, long v) {
+        VarHandle.loadLoadFence();
+        return (long) VERSION.getOpaque(version, index) == v;
+    }
+}
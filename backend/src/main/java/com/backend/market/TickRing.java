@@ -0,0 +1,283 @@
+package com.backend.market;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 같은 호스트의 프로세스끼리 티커를 나누기 위한 메모리 맵 링 파일 (단일 writer, 다중 reader).
+ *
+ * 발행 프로세스만 업비트 WebSocket을 열고 디코딩한 틱을 링에 쓰며, 구독 프로세스는 소켓 없이
+ * 매핑된 파일을 직접 읽는다 (역직렬화/복사/할당 없음). reader는 서로 독립적인 읽기 위치를 가지며
+ * writer는 reader를 기다리지 않는다. 느린 reader는 덮어쓰인 틱을 건너뛰고 유실 개수만 센다.
+ *
+ * 형식 (little endian, 헤더 128바이트 + 슬롯 64바이트 × capacity):
+ *   헤더: [int magic][int version][int capacity][int state][long createdAt] ... [64: long cursor][72: long heartbeat]
+ *   슬롯: [long seq][long timestamp][double price][byte 코드 길이][마켓 코드 ASCII]
+ *
+ * 슬롯 seq는 (틱 번호 + 1)이며 쓰는 동안은 -1이다 (seqlock). reader는 payload 앞뒤로 seq를 읽어
+ * 둘 다 기대한 번호일 때만 틱을 사용한다.
+ * 발행 프로세스가 다시 시작하면 새 파일을 만들어 원자적으로 교체하므로, 이전 파일을 매핑한 reader는
+ * CLOSED 상태나 멈춘 heartbeat로 알아차리고 다시 열면 된다.
+ */
+public final class TickRing {
+
+    public interface Handler {
+        void onTick(int marketId, double tradePrice, long tradeTimestamp);
+    }
+
+    private static final int MAGIC = 0x5449434b; // "TICK"
+    private static final int VERSION = 1;
+    private static final int STATE_OPEN = 1;
+    private static final int STATE_CLOSED = 2;
+
+    private static final int HEADER_SIZE = 128;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int STATE_OFFSET = 12;
+    private static final int CREATED_AT_OFFSET = 16;
+    private static final int CURSOR_OFFSET = 64;    // reader가 자주 읽는 값은 별도 캐시 라인에 둔다
+    private static final int HEARTBEAT_OFFSET = 72;
+
+    private static final int SLOT_SIZE = 64;
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final int PRICE_OFFSET = 16;
+    private static final int CODE_LENGTH_OFFSET = 24;
+    private static final int CODE_OFFSET = 25;
+    public static final int MAX_CODE_LENGTH = SLOT_SIZE - CODE_OFFSET;
+
+    private static final long WRITING = -1L;
+
+    // 매핑된 버퍼의 8바이트 정렬 위치에 대한 acquire/release 접근
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private TickRing() {
+    }
+
+    static long fileSize(int capacity) {
+        return HEADER_SIZE + (long) capacity * SLOT_SIZE;
+    }
+
+    /**
+     * 링 writer. 한 파일에는 writer 하나만 열 수 있다 (잠금 파일로 프로세스 간 보장).
+     * publish()는 한 스레드에서만 호출해야 한다.
+     */
+    public static final class Writer implements AutoCloseable {
+
+        private final FileChannel lockChannel;
+        private final FileLock lock;
+        private final MappedByteBuffer buffer;
+        private final int mask;
+        private long cursor = 0L;
+
+        private Writer(FileChannel lockChannel, FileLock lock, MappedByteBuffer buffer, int capacity) {
+            this.lockChannel = lockChannel;
+            this.lock = lock;
+            this.buffer = buffer;
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * 새 링 파일을 만들어 기존 파일을 교체한다.
+         *
+         * @param capacity 슬롯 수 (2의 거듭제곱)
+         * @throws IllegalStateException 다른 writer가 이미 열려 있는 경우
+         */
+        public static Writer create(Path file, int capacity) throws IOException {
+            if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+                throw new IllegalArgumentException("링 크기는 2의 거듭제곱이어야 합니다: " + capacity);
+            }
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            FileChannel lockChannel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock;
+            try {
+                lock = lockChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null; // 같은 프로세스 안에서 이미 열린 경우
+            }
+            if (lock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("이미 다른 프로세스가 시세 링에 쓰고 있습니다: " + file);
+            }
+            try {
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                MappedByteBuffer buffer;
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+                }
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(CAPACITY_OFFSET, capacity);
+                buffer.putLong(CREATED_AT_OFFSET, System.currentTimeMillis());
+                LONGS.setRelease(buffer, HEARTBEAT_OFFSET, System.currentTimeMillis());
+                buffer.putInt(STATE_OFFSET, STATE_OPEN);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return new Writer(lockChannel, lock, buffer, capacity);
+            } catch (IOException | RuntimeException e) {
+                lock.release();
+                lockChannel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * 틱 1건 기록. 마켓 코드는 ASCII로 그대로 복사한다 (MAX_CODE_LENGTH 초과 시 무시).
+         */
+        public void publish(String market, double tradePrice, long tradeTimestamp) {
+            int length = market.length();
+            if (length > MAX_CODE_LENGTH) {
+                return;
+            }
+            long seq = cursor;
+            int offset = HEADER_SIZE + (int) (seq & mask) * SLOT_SIZE;
+
+            LONGS.setOpaque(buffer, offset, WRITING);
+            VarHandle.storeStoreFence(); // reader가 쓰는 중인 payload를 이전 seq로 오인하지 않도록
+            buffer.putLong(offset + TIMESTAMP_OFFSET, tradeTimestamp);
+            buffer.putDouble(offset + PRICE_OFFSET, tradePrice);
+            buffer.put(offset + CODE_LENGTH_OFFSET, (byte) length);
+            for (int i = 0; i < length; i++) {
+                buffer.put(offset + CODE_OFFSET + i, (byte) market.charAt(i));
+            }
+            LONGS.setRelease(buffer, offset, seq + 1);
+
+            cursor = seq + 1;
+            LONGS.setRelease(buffer, CURSOR_OFFSET, cursor);
+            LONGS.setOpaque(buffer, HEARTBEAT_OFFSET, System.currentTimeMillis());
+        }
+
+        /**
+         * 틱이 없는 동안에도 발행 프로세스가 살아 있음을 알린다
+         */
+        public void heartbeat() {
+            LONGS.setOpaque(buffer, HEARTBEAT_OFFSET, System.currentTimeMillis());
+        }
+
+        public long published() {
+            return cursor;
+        }
+
+        @Override
+        public void close() throws IOException {
+            buffer.putInt(STATE_OFFSET, STATE_CLOSED);
+            buffer.force();
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    /**
+     * 링 reader. 열린 시점 이후의 틱부터 읽는다. poll()은 한 스레드에서만 호출해야 한다.
+     */
+    public static final class Reader {
+
+        private final MappedByteBuffer buffer;
+        private final MarketRegistry marketRegistry;
+        private final int capacity;
+        private final int mask;
+        private final char[] codeChars = new char[MAX_CODE_LENGTH];
+        private long next;
+        private long lost = 0L;
+
+        private Reader(MappedByteBuffer buffer, MarketRegistry marketRegistry, int capacity) {
+            this.buffer = buffer;
+            this.marketRegistry = marketRegistry;
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.next = (long) LONGS.getAcquire(buffer, CURSOR_OFFSET);
+        }
+
+        /**
+         * @throws IOException 파일이 없거나 링 형식이 아닌 경우
+         */
+        public static Reader open(Path file, MarketRegistry marketRegistry) throws IOException {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                if (channel.size() < HEADER_SIZE) {
+                    throw new IOException("시세 링 파일이 손상되었습니다: " + file);
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || capacity <= 0 || Integer.bitCount(capacity) != 1 || buffer.capacity() < fileSize(capacity)) {
+                throw new IOException("시세 링 형식이 아닙니다: " + file);
+            }
+            return new Reader(buffer, marketRegistry, capacity);
+        }
+
+        /**
+         * 새 틱을 최대 max건 처리한다. 마켓 id는 이 프로세스의 MarketRegistry 기준으로 변환한다.
+         *
+         * @return 처리한 틱 수, writer가 닫혔으면 -1
+         */
+        public int poll(Handler handler, int max) {
+            if (buffer.getInt(STATE_OFFSET) == STATE_CLOSED) {
+                return -1;
+            }
+            long head = (long) LONGS.getAcquire(buffer, CURSOR_OFFSET);
+            if (head - next > capacity) {
+                // 한 바퀴 이상 뒤처진 경우: 남아 있는 가장 오래된 틱부터
+                lost += head - capacity - next;
+                next = head - capacity;
+            }
+            int count = 0;
+            while (next < head && count < max) {
+                long expected = next + 1;
+                int offset = HEADER_SIZE + (int) (next & mask) * SLOT_SIZE;
+                next++;
+                if ((long) LONGS.getAcquire(buffer, offset) != expected) {
+                    lost++;
+                    continue;
+                }
+                long tradeTimestamp = buffer.getLong(offset + TIMESTAMP_OFFSET);
+                double tradePrice = buffer.getDouble(offset + PRICE_OFFSET);
+                int length = Math.min(buffer.get(offset + CODE_LENGTH_OFFSET), MAX_CODE_LENGTH);
+                for (int i = 0; i < length; i++) {
+                    codeChars[i] = (char) buffer.get(offset + CODE_OFFSET + i);
+                }
+                VarHandle.loadLoadFence();
+                if ((long) LONGS.getOpaque(buffer, offset) != expected) {
+                    lost++; // 읽는 도중 writer가 덮어씀
+                    continue;
+                }
+                int marketId = marketRegistry.idOf(codeChars, 0, length);
+                if (marketId < 0) {
+                    marketId = marketRegistry.register(new String(codeChars, 0, length));
+                }
+                handler.onTick(marketId, tradePrice, tradeTimestamp);
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * writer가 마지막으로 기록한 시각 (epoch millis)
+         */
+        public long heartbeat() {
+            return (long) LONGS.getOpaque(buffer, HEARTBEAT_OFFSET);
+        }
+
+        /**
+         * 뒤처져서 건너뛴 틱 수
+         */
+        public long lost() {
+            return lost;
+        }
+    }
+}
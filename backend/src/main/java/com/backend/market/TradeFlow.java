@@ -0,0 +1,123 @@
+package com.backend.market;
+
+import java.util.Arrays;
+
+/**
+ * 체결(trade) 스트림 기반 마켓별 롤링 집계.
+ * 1초 단위 버킷 300개(5분)를 마켓별 링 버퍼로 두고, 체결 1건은 해당 초 버킷에 누적만 한다 (체결당 할당 없음).
+ * 10초/1분/5분 윈도우 값은 조회 시점에 버킷을 합산해 계산한다.
+ *
+ * 모든 배열은 marketId * BUCKETS + slot 위치를 사용한다.
+ */
+public class TradeFlow {
+
+    public static final int[] WINDOW_SECONDS = {10, 60, 300};
+    public static final int WINDOW_COUNT = WINDOW_SECONDS.length;
+
+    // aggregate() 결과 배열 인덱스
+    public static final int VWAP = 0;
+    public static final int VOLUME = 1;
+    public static final int BUY_VOLUME = 2;
+    public static final int SELL_VOLUME = 3;
+    public static final int TRADE_COUNT = 4;
+    public static final int FIELD_COUNT = 5;
+
+    private static final int BUCKETS = 300; // 가장 긴 윈도우(초)
+    private static final long NO_BUCKET = -1L;
+
+    private final long[] bucketSecond;
+    private final double[] volume;
+    private final double[] notional;
+    private final double[] buyVolume;
+    private final double[] sellVolume;
+    private final int[] tradeCount;
+    private final long[] lastTradeTime;
+
+    public TradeFlow(int maxMarkets) {
+        int size = maxMarkets * BUCKETS;
+        this.bucketSecond = new long[size];
+        this.volume = new double[size];
+        this.notional = new double[size];
+        this.buyVolume = new double[size];
+        this.sellVolume = new double[size];
+        this.tradeCount = new int[size];
+        this.lastTradeTime = new long[maxMarkets];
+        Arrays.fill(bucketSecond, NO_BUCKET);
+    }
+
+    /**
+     * 체결 1건 누적
+     *
+     * @param buyerInitiated 매수 체결(ask_bid = BID) 여부
+     */
+    public synchronized void onTrade(int marketId, long timestamp, double price, double tradeVolume, boolean buyerInitiated) {
+        long second = timestamp / 1000;
+        int slot = marketId * BUCKETS + (int) (second % BUCKETS);
+        if (bucketSecond[slot] != second) {
+            if (bucketSecond[slot] > second) {
+                return; // 5분 이상 늦게 도착한 체결은 버린다
+            }
+            bucketSecond[slot] = second;
+            volume[slot] = 0.0;
+            notional[slot] = 0.0;
+            buyVolume[slot] = 0.0;
+            sellVolume[slot] = 0.0;
+            tradeCount[slot] = 0;
+        }
+        volume[slot] += tradeVolume;
+        notional[slot] += price * tradeVolume;
+        if (buyerInitiated) {
+            buyVolume[slot] += tradeVolume;
+        } else {
+            sellVolume[slot] += tradeVolume;
+        }
+        tradeCount[slot]++;
+        if (timestamp > lastTradeTime[marketId]) {
+            lastTradeTime[marketId] = timestamp;
+        }
+    }
+
+    /**
+     * 윈도우 집계를 out에 채운다 (VWAP, VOLUME, BUY_VOLUME, SELL_VOLUME, TRADE_COUNT).
+     * 기준 시각은 now와 마지막 체결 시각 중 늦은 쪽이다 (거래소/로컬 시계 차이 보정).
+     * 윈도우 안에 체결이 없으면 VWAP는 NaN.
+     */
+    public synchronized void aggregate(int marketId, int windowIndex, long now, double[] out) {
+        long endSecond = Math.max(now, lastTradeTime[marketId]) / 1000;
+        long startSecond = endSecond - WINDOW_SECONDS[windowIndex] + 1;
+        int base = marketId * BUCKETS;
+
+        double vol = 0.0, amount = 0.0, buy = 0.0, sell = 0.0;
+        int count = 0;
+        for (long second = startSecond; second <= endSecond; second++) {
+            int slot = base + (int) (second % BUCKETS);
+            if (bucketSecond[slot] != second) continue;
+            vol += volume[slot];
+            amount += notional[slot];
+            buy += buyVolume[slot];
+            sell += sellVolume[slot];
+            count += tradeCount[slot];
+        }
+        out[VWAP] = vol > 0 ? amount / vol : Double.NaN;
+        out[VOLUME] = vol;
+        out[BUY_VOLUME] = buy;
+        out[SELL_VOLUME] = sell;
+        out[TRADE_COUNT] = count;
+    }
+
+    public synchronized void reset(int marketId) {
+        int base = marketId * BUCKETS;
+        Arrays.fill(bucketSecond, base, base + BUCKETS, NO_BUCKET);
+        lastTradeTime[marketId] = 0L;
+    }
+
+    /**
+     * @return WINDOW_SECONDS 인덱스, 없으면 -1
+     */
+    public static int windowIndex(int seconds) {
+        for (int i = 0; i < WINDOW_COUNT; i++) {
+            if (WINDOW_SECONDS[i] == seconds) return i;
+        }
+        return -1;
+    }
+}
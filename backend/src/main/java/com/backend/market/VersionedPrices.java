@@ -0,0 +1,108 @@
+package com.backend.market;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 현재가 맵의 버전 관리와 직렬화 캐시.
+ * 틱 경로에서는 버전 번호만 올리고, 스냅샷(불변 맵 + JSON 바이트)은 조회 시 버전이 바뀐 경우에만 한 번 만든다.
+ * 같은 버전을 조회하는 클라이언트는 모두 같은 바이트를 받으며, 롱폴링 대기자는 다음 변경 시 깨어난다.
+ * 버전 번호는 프로세스마다 0부터 다시 세므로, 외부에 내보내는 버전(ETag/롱폴링)은 기동 시각(epoch)을 붙여
+ * "<epoch>-<번호>" 형태로 쓴다. 재시작 전에 받은 버전은 번호가 같아도 다른 버전으로 본다.
+ */
+public class VersionedPrices {
+
+    /**
+     * @param tag     외부에 내보내는 버전 ("<epoch>-<번호>", ETag 값)
+     * @param version 스냅샷을 만들 때의 프로세스 내 버전 번호
+     */
+    public record Snapshot(String tag, long version, Map<String, Double> prices, byte[] json) {
+        public String etag() {
+            return "\"" + tag + "\"";
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long epoch;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot("", -1L, Map.of(), new byte[0]);
+    private final AtomicReference<CompletableFuture<Void>> changed = new AtomicReference<>(new CompletableFuture<>());
+
+    public VersionedPrices() {
+        this(System.currentTimeMillis());
+    }
+
+    VersionedPrices(long epoch) {
+        this.epoch = epoch;
+    }
+
+    /**
+     * 가격 또는 대상 마켓이 바뀌었음을 표시한다 (틱 경로, 할당 없음).
+     * 롱폴링 대기자가 있을 때만 대기 future를 완료하고 교체한다.
+     */
+    public void markChanged() {
+        version.incrementAndGet();
+        if (changed.get().getNumberOfDependents() > 0) {
+            // 교체해 꺼낸 future만 완료하므로 동시에 호출돼도 대기 future가 유실되지 않는다
+            changed.getAndSet(new CompletableFuture<>()).complete(null);
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * 외부에 내보내는 현재 버전 ("<epoch>-<번호>")
+     */
+    public String versionTag() {
+        return tag(version.get());
+    }
+
+    private String tag(long v) {
+        return epoch + "-" + v;
+    }
+
+    /**
+     * 현재 버전의 스냅샷. 버전이 바뀌었을 때만 builder로 맵을 만들고 직렬화한다.
+     */
+    public Snapshot current(Supplier<Map<String, Double>> builder) {
+        Snapshot cached = snapshot;
+        if (cached.version() == version.get()) {
+            return cached;
+        }
+        synchronized (this) {
+            long v = version.get(); // 맵을 만들기 전에 읽어야 만드는 도중의 변경이 다음 조회에 반영된다
+            if (snapshot.version() == v) {
+                return snapshot;
+            }
+            Map<String, Double> prices = Map.copyOf(builder.get());
+            try {
+                snapshot = new Snapshot(tag(v), v, prices, objectMapper.writeValueAsBytes(prices));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("가격 스냅샷 직렬화 실패", e);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * 버전이 since와 달라지면 완료되는 future. 이미 다르면 (다른 기동의 버전 포함) 즉시 완료된다.
+     * 버전 확인과 대기 등록 사이에 변경이 끼어들면 다음 변경 때 깨어난다.
+     *
+     * @param since 클라이언트가 마지막으로 받은 버전 ("<epoch>-<번호>")
+     */
+    public CompletableFuture<Void> awaitChange(String since) {
+        CompletableFuture<Void> waiting = changed.get();
+        if (!versionTag().equals(since)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return waiting.thenApply(ignored -> null);
+    }
+}
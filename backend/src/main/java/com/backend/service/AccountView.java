@@ -0,0 +1,146 @@
+package com.backend.service;
+
+import com.backend.dto.AccountDto;
+import com.backend.dto.OpenOrderDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 거래소가 보내주는 계정 상태의 메모리 뷰.
+ * /v1/accounts 스냅샷으로 초기화한 뒤 private WebSocket(myAsset/myOrder) 이벤트로 갱신한다.
+ * 스트림이 연결되어 있는 동안(isLive)에는 잔고 조회가 REST 호출 없이 메모리 조회로 끝난다.
+ * private WebSocket이 없는 추가 트레이딩 세션은 주기적인 REST 스냅샷으로만 갱신하는 잔고 캐시로 쓴다.
+ * REST 스냅샷은 요청 후 응답까지 시차가 있으므로, 그사이 myAsset으로 갱신된 통화는 스냅샷 값으로 되돌리지 않는다.
+ */
+@Component
+public class AccountView {
+
+    /**
+     * 통화별 보유 현황 (myAsset에는 매수평균가가 없으므로 avgBuyPrice는 마지막 REST 스냅샷 값)
+     */
+    public record Holding(double balance, double locked, double avgBuyPrice) {
+    }
+
+    private final Map<String, Holding> holdings = new ConcurrentHashMap<>();
+    private final Map<String, OpenOrderDto> openOrders = new ConcurrentHashMap<>();
+    // 통화별 마지막 myAsset 반영 순번 (스냅샷 요청 시점의 순번과 비교)
+    private final Map<String, Long> streamSequence = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean live = false;
+
+    /**
+     * REST 스냅샷 요청 직전에 호출해 기준 순번을 받는다 (reset(accounts, mark)에 전달)
+     */
+    public long snapshotMark() {
+        return sequence.get();
+    }
+
+    /**
+     * REST 계좌 스냅샷으로 보유 현황 전체를 교체한다 (스냅샷이 가장 최신인 경우).
+     */
+    public void reset(List<AccountDto> accounts) {
+        reset(accounts, snapshotMark());
+    }
+
+    /**
+     * REST 계좌 스냅샷으로 보유 현황을 교체한다.
+     * mark 이후 myAsset으로 갱신된 통화는 잔고/주문중 수량을 스트림 값으로 유지하고 매수평균가만 스냅샷에서 가져온다.
+     *
+     * @param mark 스냅샷 요청 직전의 snapshotMark()
+     */
+    public void reset(List<AccountDto> accounts, long mark) {
+        Map<String, Holding> next = new HashMap<>();
+        for (AccountDto acc : accounts) {
+            next.put(acc.getCurrency().toUpperCase(),
+                    new Holding(acc.getBalanceAsDouble(), parse(acc.getLocked()), parse(acc.getAvgBuyPrice())));
+        }
+        for (String currency : holdings.keySet()) {
+            if (!next.containsKey(currency)) {
+                holdings.computeIfPresent(currency, (key, prev) -> streamedSince(key, mark) ? prev : null);
+            }
+        }
+        next.forEach((currency, snapshot) -> holdings.compute(currency, (key, prev) -> {
+            if (!streamedSince(key, mark)) {
+                return snapshot;
+            }
+            return prev != null ? new Holding(prev.balance(), prev.locked(), snapshot.avgBuyPrice()) : null;
+        }));
+    }
+
+    /**
+     * myAsset 이벤트 반영 (변경된 통화만 전달된다)
+     */
+    public void applyAsset(String currency, double balance, double locked) {
+        holdings.compute(currency.toUpperCase(), (key, prev) -> {
+            // 같은 통화의 스냅샷 반영과 겹치지 않도록 compute 안에서 순번을 남긴다
+            streamSequence.put(key, sequence.incrementAndGet());
+            return balance == 0 && locked == 0
+                    ? null
+                    : new Holding(balance, locked, prev != null ? prev.avgBuyPrice() : 0.0);
+        });
+    }
+
+    private boolean streamedSince(String currency, long mark) {
+        return streamSequence.getOrDefault(currency, 0L) > mark;
+    }
+
+    /**
+     * myOrder 이벤트 반영. 체결 완료/취소된 주문은 미체결 목록에서 제거한다.
+     */
+    public void applyOrder(OpenOrderDto order) {
+        if ("done".equals(order.state()) || "cancel".equals(order.state())) {
+            openOrders.remove(order.uuid());
+        } else {
+            openOrders.put(order.uuid(), order);
+        }
+    }
+
+    /**
+     * @return 사용 가능 잔고 (보유하지 않은 통화면 0)
+     */
+    public double balance(String currency) {
+        Holding holding = holdings.get(currency.toUpperCase());
+        return holding != null ? holding.balance() : 0.0;
+    }
+
+    public Map<String, Holding> holdings() {
+        return Map.copyOf(holdings);
+    }
+
+    /**
+     * @return 주문 시각순 미체결 주문
+     */
+    public List<OpenOrderDto> openOrders() {
+        return openOrders.values().stream()
+                .sorted(Comparator.comparingLong(OpenOrderDto::timestamp))
+                .toList();
+    }
+
+    public boolean isLive() {
+        return live;
+    }
+
+    /**
+     * 스트림 연결 상태. 끊기면 잔고 조회는 다시 REST로 돌아간다.
+     */
+    public void setLive(boolean live) {
+        this.live = live;
+        if (!live) {
+            openOrders.clear();
+        }
+    }
+
+    private static double parse(String value) {
+        try {
+            return value != null ? Double.parseDouble(value) : 0.0;
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
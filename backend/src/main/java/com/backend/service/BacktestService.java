@@ -0,0 +1,44 @@
+package com.backend.service;
+
+import com.backend.config.TradingSettings;
+import com.backend.dto.BacktestResultDto;
+import com.backend.dto.TradingSettingsDto;
+import com.backend.market.CandleSeries;
+import com.backend.strategy.Backtester;
+import com.backend.strategy.Strategy;
+import org.springframework.stereotype.Service;
+
+/**
+ * 현재 설정과 실시간 매매에 쓰는 전략으로 최근 분봉을 백테스트한다.
+ */
+@Service
+public class BacktestService {
+
+    private static final int MAX_CANDLES = 200; // 업비트 캔들 API 1회 최대 조회 개수
+    private static final double INITIAL_KRW = 1_000_000.0;
+
+    private final UpbitService upbitService;
+    private final TradingSettings tradingSettings;
+    private final Strategy strategy;
+
+    public BacktestService(UpbitService upbitService, TradingSettings tradingSettings, Strategy strategy) {
+        this.upbitService = upbitService;
+        this.tradingSettings = tradingSettings;
+        this.strategy = strategy;
+    }
+
+    public BacktestResultDto run(String market, int count) {
+        TradingSettingsDto settings = tradingSettings.current();
+        // 진행 중인 봉은 조회 결과에서 제외됨
+        CandleSeries series = upbitService.getConfirmedMinuteCandles(
+                market, settings.candleMinutes(), Math.min(count, MAX_CANDLES));
+        if (series.size() == 0) {
+            throw new IllegalArgumentException("백테스트할 캔들 데이터가 없습니다: " + market);
+        }
+        if (series.size() < strategy.requiredBars(settings)) {
+            throw new IllegalArgumentException("백테스트를 위한 확정봉 데이터가 부족합니다. (필요: " +
+                    strategy.requiredBars(settings) + ", 현재: " + series.size() + ")");
+        }
+        return Backtester.run(market, strategy, series, settings, INITIAL_KRW);
+    }
+}
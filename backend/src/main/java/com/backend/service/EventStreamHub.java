@@ -0,0 +1,112 @@
+package com.backend.service;
+
+import com.backend.diagnostics.SseBroadcastEvent;
+import com.backend.dto.TradeNotification;
+import com.backend.market.MarketRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * 알림/가격/상태 이벤트를 SSE 구독자(EventSource)에게 브로드캐스트한다.
+ *
+ * 이벤트는 발행 시점에 한 번만 직렬화해 모든 구독자가 같은 ServerSentEvent를 공유하고, 구독자가 없으면 직렬화도 하지 않는다.
+ * 발행 스레드(WebSocket 리스너 등)는 멀티캐스트 싱크에 넣기만 하고, 실제 쓰기는 구독자별로 boundedElastic에서 수행하므로
+ * 느린 클라이언트가 발행 스레드를 막지 않는다. 다만 이 앱은 Spring MVC(서블릿)라 Flux 응답은 ResponseBodyEmitter로
+ * 변환되어 소켓 쓰기 자체는 블로킹이며, 느린 구독자마다 boundedElastic 스레드 하나가 쓰기에서 대기할 수 있다.
+ * 느린 구독자에게는 가격은 마켓별 최신값만, 알림/상태는 최근 NOTIFICATION_BUFFER_SIZE개까지 보관해 전달한다.
+ */
+@Component
+public class EventStreamHub {
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(10);
+    private static final int NOTIFICATION_BUFFER_SIZE = 256;
+
+    private static final ServerSentEvent<String> KEEPALIVE = ServerSentEvent.<String>builder().comment("keepalive").build();
+
+    private final ObjectMapper objectMapper;
+
+    // 구독자가 없거나 요청량이 없는 구독자는 건너뛰는 싱크 (발행 스레드가 기다리지 않음)
+    private final Sinks.Many<PriceUpdate> priceSink = Sinks.many().multicast().directBestEffort();
+    private final Sinks.Many<ServerSentEvent<String>> eventSink = Sinks.many().multicast().directBestEffort();
+    private final Flux<ServerSentEvent<String>> heartbeat = Flux.interval(HEARTBEAT_INTERVAL).map(tick -> KEEPALIVE).share();
+
+    public EventStreamHub(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 구독자 1명의 이벤트 스트림
+     */
+    public Flux<ServerSentEvent<String>> subscribe() {
+        Flux<ServerSentEvent<String>> prices = priceSink.asFlux()
+                .groupBy(PriceUpdate::market)
+                .flatMap(market -> market.map(PriceUpdate::event).onBackpressureLatest(), MarketRegistry.MAX_MARKETS, 1);
+        Flux<ServerSentEvent<String>> events = eventSink.asFlux()
+                .onBackpressureBuffer(NOTIFICATION_BUFFER_SIZE, dropped -> { }, BufferOverflowStrategy.DROP_OLDEST);
+        return Flux.merge(1, prices, events, heartbeat)
+                .publishOn(Schedulers.boundedElastic(), 1);
+    }
+
+    public void broadcastNotification(TradeNotification notification) {
+        if (eventSink.currentSubscriberCount() == 0) {
+            return;
+        }
+        emitEvent(event("notification", toJson(notification)));
+    }
+
+    /**
+     * 틱마다 호출되므로 구독자가 없으면 직렬화/이벤트 할당 없이 바로 반환한다
+     */
+    public void broadcastPrice(String market, double price) {
+        if (priceSink.currentSubscriberCount() == 0) {
+            return;
+        }
+        PriceUpdate update = new PriceUpdate(market, event("price", toJson(new PriceEvent(market, price))));
+        SseBroadcastEvent broadcast = new SseBroadcastEvent();
+        broadcast.begin();
+        synchronized (priceSink) {
+            priceSink.tryEmitNext(update);
+        }
+        broadcast.complete("price", priceSink.currentSubscriberCount());
+    }
+
+    public void broadcastStatus(String status) {
+        emitEvent(event("status", status));
+    }
+
+    private void emitEvent(ServerSentEvent<String> event) {
+        SseBroadcastEvent broadcast = new SseBroadcastEvent();
+        broadcast.begin();
+        // 여러 스레드에서 발행하므로 싱크 호출을 직렬화한다
+        synchronized (eventSink) {
+            eventSink.tryEmitNext(event);
+        }
+        broadcast.complete(event.event(), eventSink.currentSubscriberCount());
+    }
+
+    private static ServerSentEvent<String> event(String name, String data) {
+        return ServerSentEvent.<String>builder().event(name).data(data).build();
+    }
+
+    private String toJson(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("SSE 이벤트 직렬화 실패", e);
+        }
+    }
+
+    private record PriceUpdate(String market, ServerSentEvent<String> event) {
+    }
+
+    public record PriceEvent(String market, double price) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.backend.service;
+
+import com.backend.market.MarketRules;
+import com.backend.util.UpbitJwtProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 마켓별 주문 규칙 캐시 (계정별, UpbitService마다 하나).
+ * /v1/orders/chance는 계정 수수료 등급이 반영되므로 키마다 따로 조회한다.
+ * 매매 시작/마켓 추가 시 미리 조회하고, 이후에는 REFRESH_MINUTES마다 백그라운드에서 갱신한다.
+ * 아직 조회하지 못한 마켓은 기본 규칙을 반환하면서 백그라운드 조회를 건다 (주문 경로에서 기다리지 않음).
+ */
+public class ExchangeMetadata implements AutoCloseable {
+
+    private static final long REFRESH_MINUTES = 30;
+
+    private final WebClient webClient;
+    private final UpbitJwtProvider jwtProvider;
+    private final Map<String, MarketRules> rules = new ConcurrentHashMap<>();
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "exchange-metadata");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    ExchangeMetadata(WebClient webClient, UpbitJwtProvider jwtProvider) {
+        this.webClient = webClient;
+        this.jwtProvider = jwtProvider;
+        refresher.scheduleWithFixedDelay(this::refreshAll, REFRESH_MINUTES, REFRESH_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 캐시된 규칙. 없으면 기본 규칙을 반환하고 백그라운드로 조회한다.
+     */
+    public MarketRules rules(String market) {
+        MarketRules cached = rules.get(market);
+        if (cached != null) {
+            return cached;
+        }
+        if (loading.add(market)) {
+            refresher.execute(() -> {
+                try {
+                    load(market);
+                } finally {
+                    loading.remove(market);
+                }
+            });
+        }
+        return MarketRules.defaults(market);
+    }
+
+    /**
+     * 아직 캐시에 없는 마켓의 규칙을 조회한다 (호출 스레드에서 순서대로, 매매 시작 시 백그라운드 executor에서 호출)
+     */
+    public void preload(Collection<String> markets) {
+        for (String market : markets) {
+            if (!rules.containsKey(market)) {
+                load(market);
+            }
+        }
+    }
+
+    public List<MarketRules> cached() {
+        return List.copyOf(rules.values());
+    }
+
+    private void refreshAll() {
+        for (String market : List.copyOf(rules.keySet())) {
+            load(market);
+        }
+    }
+
+    private void load(String market) {
+        try {
+            String jwt = jwtProvider.createJwtWithQuery("market=" + market);
+            JsonNode response = webClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/v1/orders/chance")
+                            .queryParam("market", market)
+                            .build())
+                    .header("Authorization", "Bearer " + jwt)
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .block();
+            if (response != null) {
+                rules.put(market, parse(market, response, System.currentTimeMillis()));
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ 주문 규칙 조회 실패 (" + market + "): " + e.getMessage());
+        }
+    }
+
+    /**
+     * /v1/orders/chance 응답 → 주문 규칙 (숫자는 문자열로 오며, 빠진 값은 기본 규칙을 사용)
+     */
+    static MarketRules parse(String market, JsonNode response, long now) {
+        MarketRules defaults = MarketRules.defaults(market);
+        JsonNode marketNode = response.path("market");
+        return new MarketRules(market,
+                number(response.path("bid_fee"), defaults.bidFee()),
+                number(response.path("ask_fee"), defaults.askFee()),
+                number(marketNode.path("bid").path("min_total"), defaults.bidMinTotal()),
+                number(marketNode.path("ask").path("min_total"), defaults.askMinTotal()),
+                number(marketNode.path("max_total"), defaults.maxTotal()),
+                marketNode.path("state").asText(defaults.state()),
+                now);
+    }
+
+    private static double number(JsonNode node, double fallback) {
+        return node.isMissingNode() || node.isNull() ? fallback : node.asDouble(fallback);
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,235 @@
+package com.backend.service;
+
+import com.backend.config.TradingSettings;
+import com.backend.dto.MarketScanDto;
+import com.backend.dto.TickerDto;
+import com.backend.dto.TradingSettingsDto;
+import com.backend.market.CandleSeries;
+import com.backend.util.RsiCalculator;
+import com.backend.websocket.CandleHistory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * 원화 마켓 전체 스캐너.
+ * /v1/market/all 로 마켓 목록을 받고, 현재가는 여러 마켓을 묶은 /v1/ticker 요청으로 동시에 조회한다.
+ * 24시간 거래대금과 변동성으로 순위를 매기고, RSI는 마켓별 확정봉 캐시에 새 봉만 받아 병렬로 계산한다.
+ * autoSelectMarkets 설정이 0보다 크면 주기적으로 상위 마켓을 매매 대상으로 자동 교체한다.
+ */
+@Service
+public class MarketScannerService {
+
+    private static final int TICKER_BATCH_SIZE = 100;          // /v1/ticker 1회 요청당 마켓 수 (URL 길이 제한 고려)
+    private static final int QUOTATION_REQUESTS_PER_SECOND = 10; // 업비트 시세 조회 API 제한
+    private static final long SCAN_MAX_AGE_MS = 60_000L;        // 이보다 오래된 스캔 결과는 다시 스캔
+    private static final long AUTO_SELECT_INTERVAL_MINUTES = 5;
+
+    private final UpbitService upbitService;
+    private final TradingSettings tradingSettings;
+    private final NotificationService notificationService;
+
+    // "마켓:분봉단위" → 확정봉 리스트 (최신순)
+    private final Map<String, CandleSeries> confirmedCandles = new ConcurrentHashMap<>();
+
+    private volatile List<MarketScanDto> lastScan = List.of();
+    private volatile long lastScanTime = 0L;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public MarketScannerService(UpbitService upbitService, TradingSettings tradingSettings,
+                                NotificationService notificationService) {
+        this.upbitService = upbitService;
+        this.tradingSettings = tradingSettings;
+        this.notificationService = notificationService;
+        scheduler.scheduleAtFixedRate(this::autoSelect,
+                AUTO_SELECT_INTERVAL_MINUTES, AUTO_SELECT_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 스캔 결과 조회. 마지막 스캔이 1분 이상 지났거나 refresh면 다시 스캔한다.
+     */
+    public List<MarketScanDto> getScan(boolean refresh) {
+        if (refresh || System.currentTimeMillis() - lastScanTime > SCAN_MAX_AGE_MS) {
+            return scan();
+        }
+        return lastScan;
+    }
+
+    /**
+     * 전체 원화 마켓 스캔
+     */
+    public synchronized List<MarketScanDto> scan() {
+        long startedAt = System.nanoTime();
+        TradingSettingsDto settings = tradingSettings.current();
+
+        // 1) 마켓 목록 + 묶음 현재가 조회 (묶음끼리는 동시에 전송)
+        List<String> markets = upbitService.getKrwMarkets();
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < markets.size(); i += TICKER_BATCH_SIZE) {
+            batches.add(markets.subList(i, Math.min(markets.size(), i + TICKER_BATCH_SIZE)));
+        }
+        List<TickerDto> tickers = Flux.fromIterable(batches)
+                .flatMap(upbitService::fetchTickers)
+                .flatMapIterable(list -> list)
+                .collectList()
+                .block();
+        if (tickers == null || tickers.isEmpty()) {
+            System.err.println("❌ 마켓 스캔 실패: 현재가를 조회하지 못했습니다.");
+            return lastScan;
+        }
+
+        // 2) 새 확정봉이 생긴 마켓만 캔들 조회, RSI 계산
+        Map<String, Double> rsiByMarket = computeRsi(tickers, settings);
+
+        // 3) 순위 계산
+        List<MarketScanDto> ranked = rank(tickers, rsiByMarket);
+        lastScan = ranked;
+        lastScanTime = System.currentTimeMillis();
+        System.out.println("🔎 마켓 스캔 완료: " + ranked.size() + "개 마켓, " +
+                (System.nanoTime() - startedAt) / 1_000_000 + "ms");
+        return ranked;
+    }
+
+    private Map<String, Double> computeRsi(List<TickerDto> tickers, TradingSettingsDto settings) {
+        int candleMinutes = settings.candleMinutes();
+        int candleCount = settings.candleCount();
+        long now = System.currentTimeMillis();
+
+        // 캐시가 최신인 마켓은 REST 조회 없이 계산하고, 조회가 필요한 마켓만 초당 제한에 맞춰 나눠 보낸다
+        List<String> stale = new ArrayList<>();
+        for (TickerDto ticker : tickers) {
+            CandleSeries cached = confirmedCandles.get(cacheKey(ticker.market(), candleMinutes));
+            if (CandleHistory.fetchCount(cached, candleMinutes, candleCount, now) > 0) {
+                stale.add(ticker.market());
+            }
+        }
+        paced(stale.size(), 1000L / QUOTATION_REQUESTS_PER_SECOND, QUOTATION_REQUESTS_PER_SECOND,
+                i -> refreshCandles(stale.get(i), candleMinutes, candleCount, now))
+                .blockLast();
+
+        Map<String, Double> rsiByMarket = new HashMap<>();
+        for (TickerDto ticker : tickers) {
+            CandleSeries candles = confirmedCandles.get(cacheKey(ticker.market(), candleMinutes));
+            if (candles == null || candles.size() < settings.rsiPeriod() + 1) {
+                continue;
+            }
+            rsiByMarket.put(ticker.market(), RsiCalculator.calculateRsi(candles.closes(), candles.size(), settings.rsiPeriod()));
+        }
+        return rsiByMarket;
+    }
+
+    /**
+     * count개 요청을 시작 시각 기준 intervalMs 간격의 슬롯에 맞춰 보낸다 (요청 i는 시작 + i × intervalMs 이후).
+     * 지연을 구독 시점부터 세면 앞 요청이 끝날 때마다 대기가 누적되므로 고정된 시작 시각에서 계산한다.
+     */
+    static Flux<Void> paced(int count, long intervalMs, int maxInFlight, IntFunction<Mono<Void>> request) {
+        long startAt = System.nanoTime();
+        return Flux.range(0, count)
+                .flatMap(i -> {
+                    Mono<Void> call = Mono.defer(() -> request.apply(i));
+                    long delayNanos = startAt + i * intervalMs * 1_000_000L - System.nanoTime();
+                    return delayNanos <= 0 ? call : Mono.delay(Duration.ofNanos(delayNanos)).then(call);
+                }, maxInFlight);
+    }
+
+    private Mono<Void> refreshCandles(String market, int candleMinutes, int candleCount, long now) {
+        String key = cacheKey(market, candleMinutes);
+        CandleSeries cached = confirmedCandles.get(key);
+        int fetchCount = CandleHistory.fetchCount(cached, candleMinutes, candleCount, now);
+        return upbitService.fetchConfirmedMinuteCandles(market, candleMinutes, fetchCount)
+                .doOnNext(fresh -> {
+                    // 진행 중인 봉은 조회 결과에서 제외됨. 스캔은 synchronized라 캐시를 제자리에서 병합한다
+                    if (fresh.size() == 0) return;
+                    if (fetchCount >= candleCount || cached == null) {
+                        confirmedCandles.put(key, fresh);
+                    } else {
+                        cached.mergeNewer(fresh, candleCount - 1);
+                    }
+                })
+                .then();
+    }
+
+    /**
+     * 거래대금 순위 + 변동성 순위의 합이 작은 순으로 정렬한다.
+     */
+    static List<MarketScanDto> rank(List<TickerDto> tickers, Map<String, Double> rsiByMarket) {
+        int n = tickers.size();
+        Map<String, Integer> score = new HashMap<>();
+        List<TickerDto> byValue = new ArrayList<>(tickers);
+        byValue.sort(Comparator.comparingDouble(TickerDto::accTradePrice24h).reversed());
+        for (int i = 0; i < n; i++) {
+            score.merge(byValue.get(i).market(), i, Integer::sum);
+        }
+        List<TickerDto> byVolatility = new ArrayList<>(tickers);
+        byVolatility.sort(Comparator.comparingDouble(MarketScannerService::volatility).reversed());
+        for (int i = 0; i < n; i++) {
+            score.merge(byVolatility.get(i).market(), i, Integer::sum);
+        }
+
+        List<TickerDto> ordered = new ArrayList<>(tickers);
+        ordered.sort(Comparator.<TickerDto>comparingInt(t -> score.get(t.market()))
+                .thenComparing(Comparator.comparingDouble(TickerDto::accTradePrice24h).reversed()));
+
+        List<MarketScanDto> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            TickerDto t = ordered.get(i);
+            result.add(new MarketScanDto(i + 1, t.market(), t.tradePrice(), t.accTradePrice24h(),
+                    volatility(t) * 100, t.signedChangeRate() * 100, rsiByMarket.get(t.market())));
+        }
+        return result;
+    }
+
+    private static double volatility(TickerDto ticker) {
+        return ticker.prevClosingPrice() > 0
+                ? (ticker.highPrice() - ticker.lowPrice()) / ticker.prevClosingPrice()
+                : 0.0;
+    }
+
+    private static String cacheKey(String market, int candleMinutes) {
+        return market + ":" + candleMinutes;
+    }
+
+    /**
+     * autoSelectMarkets > 0 이면 스캔 상위 마켓으로 매매 대상을 교체한다.
+     */
+    private void autoSelect() {
+        try {
+            TradingSettingsDto settings = tradingSettings.current();
+            int count = settings.autoSelectMarkets();
+            if (count <= 0) {
+                return;
+            }
+            List<String> selected = scan().stream()
+                    .limit(count)
+                    .map(MarketScanDto::market)
+                    .toList();
+            if (selected.isEmpty() || selected.equals(settings.markets())) {
+                return;
+            }
+            tradingSettings.update(settings.withMarkets(selected));
+            notificationService.add("🔎 스캐너 자동 선정 마켓 변경: " + settings.markets() + " → " + selected,
+                    "INFO", String.join(",", selected));
+        } catch (Exception e) {
+            System.err.println("❌ 마켓 자동 선정 실패: " + e.getMessage());
+        }
+    }
+}
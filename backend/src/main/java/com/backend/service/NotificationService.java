@@ -16,10 +16,10 @@ public class NotificationService {
     private static final int MAX_NOTIFICATIONS = 200;
 
     private final List<TradeNotification> notifications = Collections.synchronizedList(new ArrayList<>());
-    private final SseEmitterRegistry sseEmitterRegistry;
+    private final EventStreamHub eventStreamHub;
 
-    public NotificationService(SseEmitterRegistry sseEmitterRegistry) {
-        this.sseEmitterRegistry = sseEmitterRegistry;
+    public NotificationService(EventStreamHub eventStreamHub) {
+        this.eventStreamHub = eventStreamHub;
     }
 
     public void add(String message, String type, String market) {
@@ -31,7 +31,7 @@ public class NotificationService {
             }
         }
         System.out.println(message);
-        sseEmitterRegistry.broadcastNotification(notification);
+        eventStreamHub.broadcastNotification(notification);
     }
 
     public List<TradeNotification> getAll() {
@@ -0,0 +1,51 @@
+package com.backend.service;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 업비트 주문 요청 제한 (계정 단위 초당 REQUESTS_PER_SECOND건).
+ * 최근 전송 시각을 링으로 들고 있다가, 1초 안에 이미 REQUESTS_PER_SECOND건이 예약돼 있으면 다음 빈자리까지 미룬다.
+ * 같은 계정으로 나가는 주문(일괄 매수, 전략 판단, 보호 청산)은 모두 이 인스턴스 하나를 거쳐야 한다.
+ */
+@Component
+public class OrderRateLimiter {
+
+    public static final int REQUESTS_PER_SECOND = 8;
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final long[] sentAt = new long[REQUESTS_PER_SECOND];
+    private int next = 0;
+    private boolean filled = false;
+
+    /**
+     * 전송 자리를 예약한다.
+     *
+     * @return 예약한 자리까지 기다려야 하는 시간 (ns, 바로 보내도 되면 0)
+     */
+    public synchronized long reserve(long nowNanos) {
+        long sendAt = nowNanos;
+        if (filled) {
+            // REQUESTS_PER_SECOND건 전 예약에서 1초가 지나야 보낼 수 있다
+            sendAt = Math.max(nowNanos, sentAt[next] + WINDOW_NANOS);
+        }
+        sentAt[next] = sendAt;
+        next = (next + 1) % REQUESTS_PER_SECOND;
+        if (next == 0) {
+            filled = true;
+        }
+        return sendAt - nowNanos;
+    }
+
+    /**
+     * 구독 시점에 자리를 예약하고, 필요하면 기다렸다가 request를 구독한다
+     */
+    public <T> Mono<T> throttle(Mono<T> request) {
+        return Mono.defer(() -> {
+            long waitNanos = reserve(System.nanoTime());
+            return waitNanos <= 0 ? request : Mono.delay(Duration.ofNanos(waitNanos)).then(request);
+        });
+    }
+}
@@ -1,8 +1,8 @@
 package com.backend.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -13,52 +13,77 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class UpbitApiClient {
 
     private static final Logger logger = LoggerFactory.getLogger(UpbitApiClient.class);
     private static final Set<String> HIDDEN_CURRENCIES = Set.of("VTHO", "CHR");
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 계좌 조회 응답 캐시 (대시보드 여러 개가 동시에 조회해도 업비트 호출은 TTL당 1회)
+    private static final long ACCOUNTS_CACHE_TTL_MS = 2_000L;
+
+    private record CachedAccounts(byte[] body, long expiresAt) {
+    }
+
+    private volatile CachedAccounts cachedAccounts;
+    private final AtomicReference<Mono<byte[]>> inFlightAccounts = new AtomicReference<>();
 
     private final WebClient upbitWebClient;
     private final UpbitAuthService authService;
+    private final OrderRateLimiter orderRateLimiter; // UpbitService와 같은 계정이므로 같은 제한을 공유
 
-    public UpbitApiClient(WebClient upbitWebClient, UpbitAuthService authService) {
+    public UpbitApiClient(WebClient upbitWebClient, UpbitAuthService authService, OrderRateLimiter orderRateLimiter) {
         this.upbitWebClient = upbitWebClient;
         this.authService = authService;
+        this.orderRateLimiter = orderRateLimiter;
     }
 
-    public Mono<String> getAccounts() {
-        logger.info("📡 업비트 계좌 조회 요청 시작");
-        String authorization = authService.buildAuthorizationHeader(null);
-        
-        return upbitWebClient.get()
-                .uri("/v1/accounts")
-                .header(HttpHeaders.AUTHORIZATION, authorization)
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(String.class)
+    /**
+     * 계좌 조회 (숨김 통화 제외한 JSON 바이트).
+     * TTL 안의 요청은 캐시로 응답하고, 캐시가 만료된 뒤 동시에 들어온 요청은 업비트 호출 1건을 공유한다.
+     */
+    public Mono<byte[]> getAccounts() {
+        return Mono.defer(() -> {
+            CachedAccounts cached = this.cachedAccounts;
+            if (cached != null && System.currentTimeMillis() < cached.expiresAt()) {
+                return Mono.just(cached.body());
+            }
+            return inFlightAccounts.updateAndGet(current -> current != null ? current : fetchAccounts());
+        });
+    }
+
+    private Mono<byte[]> fetchAccounts() {
+        AtomicReference<Mono<byte[]>> self = new AtomicReference<>();
+        Mono<byte[]> shared = Mono.defer(() -> {
+                    logger.info("📡 업비트 계좌 조회 요청 시작");
+                    String authorization = authService.buildAuthorizationHeader(null);
+                    return upbitWebClient.get()
+                            .uri("/v1/accounts")
+                            .header(HttpHeaders.AUTHORIZATION, authorization)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .retrieve()
+                            .bodyToMono(byte[].class);
+                })
                 .map(response -> {
                     try {
-                        JsonNode root = objectMapper.readTree(response);
-                        ArrayNode filtered = objectMapper.createArrayNode();
-                        for (JsonNode node : root) {
-                            String currency = node.path("currency").asText();
-                            if (!HIDDEN_CURRENCIES.contains(currency.toUpperCase())) {
-                                filtered.add(node);
-                            }
-                        }
-                        return objectMapper.writeValueAsString(filtered);
+                        return filterHiddenCurrencies(response);
                     } catch (Exception e) {
                         logger.warn("⚠️ 계좌 필터링 실패, 원본 반환: {}", e.getMessage());
                         return response;
                     }
                 })
-                .doOnSuccess(response -> logger.info("✅ 계좌 조회 성공: {}", response))
+                .doOnNext(body -> {
+                    cachedAccounts = new CachedAccounts(body, System.currentTimeMillis() + ACCOUNTS_CACHE_TTL_MS);
+                    logger.debug("✅ 계좌 조회 성공 ({} bytes)", body.length);
+                })
                 .doOnError(error -> {
                     if (error instanceof WebClientResponseException) {
                         WebClientResponseException ex = (WebClientResponseException) error;
@@ -67,7 +92,52 @@ public class UpbitApiClient {
                     } else {
                         logger.error("❌ 계좌 조회 실패: {}", error.getMessage(), error);
                     }
-                });
+                })
+                // 완료(성공/실패) 후에는 다음 요청이 새로 조회하도록 공유 중인 요청을 비운다
+                // (그사이 다른 요청이 새로 등록됐다면 그 요청은 지우지 않는다)
+                .doFinally(signal -> inFlightAccounts.compareAndSet(self.get(), null))
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+
+    /**
+     * 계좌 배열에서 숨김 통화 항목을 제외한다.
+     * 트리를 만들지 않고 스트리밍 파서로 각 객체의 currency와 바이트 구간만 확인해, 남길 객체는 원본 바이트를 그대로 복사한다.
+     */
+    static byte[] filterHiddenCurrencies(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return json;
+            }
+            out.write('[');
+            boolean first = true;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int start = (int) parser.currentTokenLocation().getByteOffset();
+                String currency = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("currency".equals(field)) {
+                        currency = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                int end = (int) parser.currentLocation().getByteOffset();
+                if (currency != null && HIDDEN_CURRENCIES.contains(currency.toUpperCase())) {
+                    continue;
+                }
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+                out.write(json, start, end - start);
+            }
+            out.write(']');
+        }
+        return out.toByteArray();
     }
 
     public Mono<String> placeOrder(String market, String side, String volume, String price, String ordType) {
@@ -78,15 +148,13 @@ public class UpbitApiClient {
         if (price != null) params.put("price", price);
         params.put("ord_type", ordType);
 
-        String authorization = authService.buildAuthorizationHeader(params);
-
-        return upbitWebClient.post()
+        return orderRateLimiter.throttle(Mono.defer(() -> upbitWebClient.post()
                 .uri("/v1/orders")
-                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .header(HttpHeaders.AUTHORIZATION, authService.buildAuthorizationHeader(params))
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(params))
                 .retrieve()
-                .bodyToMono(String.class);
+                .bodyToMono(String.class)));
     }
 }
 
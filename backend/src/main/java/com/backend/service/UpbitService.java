@@ -1,35 +1,87 @@
 package com.backend.service;
 
 import com.backend.config.TradingSettings;
+import com.backend.diagnostics.OrderEvent;
+import com.backend.diagnostics.RestCallFilter;
 import com.backend.dto.AccountDto;
+import com.backend.dto.BatchOrderResultDto;
 import com.backend.dto.CandleDto;
+import com.backend.dto.OrderResultDto;
+import com.backend.dto.TickerDto;
+import com.backend.market.CandleSeries;
+import com.backend.market.CandleSeriesReader;
+import com.backend.market.MarketRules;
 import com.backend.util.UpbitJwtProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.locks.LockSupport;
 
 @Service
 public class UpbitService {
 
-    private final WebClient webClient = WebClient.create("https://api.upbit.com");
+    private final WebClient webClient;
     private final UpbitJwtProvider jwtProvider;
     private final NotificationService notificationService;
     private final TradingSettings tradingSettings;
+    private final AccountView accountView;
+    private final ExchangeMetadata exchangeMetadata; // 마켓별 수수료/최소 주문금액 (이 계정 기준)
 
     // 테스트 모드 여부 (true면 실제 주문 안 날림)
     private final boolean testMode = false;
 
+    // 업비트 주문 요청 제한 (계정 단위, 이 계정의 모든 주문이 공유)
+    private final OrderRateLimiter orderRateLimiter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     public UpbitService(com.backend.config.UpbitProperties props, NotificationService notificationService,
-                         TradingSettings tradingSettings) {
+                         TradingSettings tradingSettings, AccountView accountView, OrderRateLimiter orderRateLimiter) {
+        this.webClient = WebClient.builder()
+                .baseUrl(props.getBaseUrl())
+                .filter(new RestCallFilter()) // JFR REST 호출 이벤트
+                .build();
         this.jwtProvider = new UpbitJwtProvider(props.getAccessKey(), props.getSecretKey());
         this.notificationService = notificationService;
         this.tradingSettings = tradingSettings;
+        this.accountView = accountView;
+        this.orderRateLimiter = orderRateLimiter;
+        this.exchangeMetadata = new ExchangeMetadata(webClient, jwtProvider);
+    }
+
+    @PreDestroy
+    public void close() {
+        exchangeMetadata.close();
+    }
+
+    /**
+     * 마켓 주문 규칙 (캐시, 조회 전이면 기본 규칙)
+     */
+    public MarketRules marketRules(String market) {
+        return exchangeMetadata.rules(market);
+    }
+
+    /**
+     * 매매 대상 마켓의 주문 규칙을 미리 조회한다 (호출 스레드에서 블로킹)
+     */
+    public void preloadMarketRules(Collection<String> markets) {
+        exchangeMetadata.preload(markets);
+    }
+
+    public List<MarketRules> cachedMarketRules() {
+        return exchangeMetadata.cached();
     }
 
     /**
@@ -50,7 +102,13 @@ public class UpbitService {
                 .toList();
     }
 
+    /**
+     * 사용 가능 잔고 조회. private WebSocket이 연결되어 있으면 메모리 뷰에서, 아니면 /v1/accounts로 조회한다.
+     */
     public double getBalance(String currency) {
+        if (accountView.isLive()) {
+            return accountView.balance(currency);
+        }
         return getAccounts().stream()
                 .filter(acc -> acc.getCurrency().equalsIgnoreCase(currency))
                 .findFirst()
@@ -58,16 +116,41 @@ public class UpbitService {
                 .orElse(0.0);
     }
 
+    /**
+     * 잔고를 REST 호출 없이 메모리 뷰에서 읽을 수 있는지 (틱 경로처럼 자주 읽는 곳은 이때만 판단한다)
+     */
+    public boolean hasLiveBalances() {
+        return accountView.isLive();
+    }
+
     // 시장가 매수
-    public void buyMarketOrder(String market, double krwAmount) {
+    public OrderResultDto buyMarketOrder(String market, double krwAmount) {
+        OrderResultDto result = submitBuyOrder(market, krwAmount).block();
+        if (result != null && !result.success()) {
+            System.err.println("❌ 매수 요청 실패: " + result.error());
+        }
+        return result;
+    }
+
+    /**
+     * 시장가 매수 주문 전송 (비동기). 실패도 OrderResultDto로 담아 반환하므로 에러 시그널은 내보내지 않는다.
+     * 주문금액은 마켓 규칙으로 계산한다 (krwAmount 안에서 수수료까지 낼 수 있는 금액, 최소 주문금액 미만이면 전송하지 않음).
+     */
+    private Mono<OrderResultDto> submitBuyOrder(String market, double krwAmount) {
         if (testMode) {
             System.out.println("💡 [TEST MODE] 매수 시뮬레이션: " + market + " KRW=" + krwAmount);
-            return;
+            return Mono.just(new OrderResultDto(market, null, "test", null, 0L));
         }
 
-        long krwInt = BigDecimal.valueOf(krwAmount * 0.995)
-                .setScale(0, RoundingMode.FLOOR)
-                .longValue();
+        MarketRules rules = exchangeMetadata.rules(market);
+        if (!rules.active()) {
+            return Mono.just(new OrderResultDto(market, null, null, "주문 불가 마켓입니다 (" + rules.state() + ")", 0L));
+        }
+        long krwInt = rules.buyTotal(krwAmount);
+        if (krwInt == 0L) {
+            return Mono.just(new OrderResultDto(market, null, null, "매수금액이 최소 주문금액(" +
+                    String.format("%.0f", rules.bidMinTotal()) + "원) 미만입니다 (수수료 " + rules.bidFee() * 100 + "% 제외)", 0L));
+        }
 
         String priceStr = String.valueOf(krwInt);
 
@@ -76,12 +159,15 @@ public class UpbitService {
                 "&price=" + priceStr +
                 "&ord_type=price";
 
-        String jwt = jwtProvider.createJwtWithQuery(queryString);
-
-        System.out.println("📤 매수 요청: " + queryString);
+        return orderRateLimiter.throttle(Mono.defer(() -> {
+            // JWT nonce는 요청마다 달라야 하므로 구독 시점(실제 전송 직전)에 생성
+            String jwt = jwtProvider.createJwtWithQuery(queryString);
+            long sentAt = System.nanoTime();
+            OrderEvent orderEvent = new OrderEvent();
+            orderEvent.begin();
+            System.out.println("📤 매수 요청: " + queryString);
 
-        try {
-            String response = webClient.post()
+            return webClient.post()
                     .uri("/v1/orders")
                     .header("Authorization", "Bearer " + jwt)
                     .contentType(MediaType.APPLICATION_FORM_URLENCODED)
@@ -89,21 +175,41 @@ public class UpbitService {
                             .with("side", "bid")
                             .with("price", priceStr)
                             .with("ord_type", "price"))
-                    .exchangeToMono(clientResponse -> clientResponse.bodyToMono(String.class))
-                    .block();
+                    .exchangeToMono(clientResponse -> clientResponse.bodyToMono(String.class)
+                            .defaultIfEmpty("")
+                            .map(body -> {
+                                System.out.println("📥 매수 응답: " + body);
+                                long latencyMs = (System.nanoTime() - sentAt) / 1_000_000;
+                                return toOrderResult(market, clientResponse.statusCode().is2xxSuccessful(), body, latencyMs);
+                            }))
+                    .onErrorResume(e -> Mono.just(new OrderResultDto(market, null, null, e.getMessage(),
+                            (System.nanoTime() - sentAt) / 1_000_000)))
+                    .doOnNext(result -> orderEvent.complete("bid", priceStr, result));
+        }));
+    }
 
-            System.out.println("📥 매수 응답: " + response);
+    private OrderResultDto toOrderResult(String market, boolean success, String body, long latencyMs) {
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            if (success) {
+                return new OrderResultDto(market, node.path("uuid").asText(null), node.path("state").asText(null), null, latencyMs);
+            }
+            String error = node.path("error").path("message").asText(body);
+            return new OrderResultDto(market, null, null, error, latencyMs);
         } catch (Exception e) {
-            System.err.println("❌ 매수 요청 실패: " + e.getMessage());
-            e.printStackTrace();
+            return new OrderResultDto(market, null, null, success ? "응답 파싱 실패: " + body : body, latencyMs);
         }
     }
 
-    // 여러 종목에 잔액을 분배해서 시장가 매수
-    public void buyMarketOrders(List<String> markets) {
+    /**
+     * 여러 종목에 잔액을 균등 분배해서 시장가 매수.
+     * 주문은 동시에 전송하되, 업비트 주문 API 제한을 넘는 주문은 OrderRateLimiter가 다음 빈자리까지 미룬다.
+     * 같은 시각 전략 판단/보호 청산 주문과도 제한을 나눠 쓰며, 제한 이내라면 전체가 RTT 1회 안에 끝난다.
+     */
+    public BatchOrderResultDto buyMarketOrders(List<String> markets) {
         if (markets == null || markets.isEmpty()) {
             System.out.println("⚠️ 매수할 종목이 없습니다.");
-            return;
+            return BatchOrderResultDto.empty();
         }
 
         double balance = getBalance("KRW");
@@ -111,14 +217,11 @@ public class UpbitService {
             String warningMessage = "⚠️ 균등 분배 매수 실패: KRW 잔액이 부족합니다.";
             System.out.println(warningMessage);
             notificationService.add(warningMessage, "WARNING", String.join(",", markets));
-            return;
+            return BatchOrderResultDto.empty();
         }
 
-        // 수수료 감안해 99.5% 사용
-        double usableBalance = balance * 0.995;
-
-        // 종목 수만큼 균등 분배
-        double perMarket = usableBalance / markets.size();
+        // 종목 수만큼 균등 분배 (수수료는 주문마다 마켓 규칙으로 제외)
+        double perMarket = balance / markets.size();
 
         int minOrderKrw = tradingSettings.current().minOrderKrw();
         if (perMarket < minOrderKrw) {
@@ -126,82 +229,177 @@ public class UpbitService {
                 "원)이 최소주문금액(" + minOrderKrw + "원) 미만입니다. (KRW 잔액: " + String.format("%.0f", balance) + "원)";
             System.out.println(warningMessage);
             notificationService.add(warningMessage, "WARNING", String.join(",", markets));
-            return;
+            return BatchOrderResultDto.empty();
         }
 
         System.out.println("💰 총 잔액: " + balance + " KRW");
         System.out.println("📊 종목별 매수금액: " + perMarket + " KRW");
 
-        for (String market : markets) {
-            buyMarketOrder(market, perMarket);
+        long startedAt = System.nanoTime();
+        List<OrderResultDto> results = Flux.fromIterable(markets)
+                .flatMap(market -> submitBuyOrder(market, perMarket), markets.size())
+                .collectList()
+                .block();
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        BatchOrderResultDto batch = new BatchOrderResultDto(results != null ? results : List.of(), elapsedMs);
+        notifyBatchResult(batch, markets);
+        return batch;
+    }
+
+    private void notifyBatchResult(BatchOrderResultDto batch, List<String> markets) {
+        StringBuilder message = new StringBuilder("🧾 균등 분배 매수 결과: 성공 ")
+                .append(batch.succeeded()).append("/").append(markets.size())
+                .append(" (전송~마지막 응답 ").append(batch.elapsedMs()).append("ms)");
+        for (OrderResultDto order : batch.orders()) {
+            if (!order.success()) {
+                message.append("\n  ❌ ").append(order.market()).append(": ").append(order.error());
+            }
         }
+        notificationService.add(message.toString(), batch.succeeded() == markets.size() ? "BUY" : "WARNING",
+                String.join(",", markets));
     }
 
-    // 시장가 매도
-    public void sellMarketOrder(String market, double volume) {
+    // 시장가 매도 (수량은 소수점 8자리 내림, 지수 표기 없이 전송)
+    public OrderResultDto sellMarketOrder(String market, double volume) {
         if (testMode) {
             System.out.println("💡 [TEST MODE] 매도 시뮬레이션: " + market + " 수량=" + volume);
-            return;
+            return new OrderResultDto(market, null, "test", null, 0L);
+        }
+
+        BigDecimal sellVolume = exchangeMetadata.rules(market).sellVolume(volume);
+        if (sellVolume.signum() <= 0) {
+            return new OrderResultDto(market, null, null, "매도 수량이 없습니다: " + volume, 0L);
         }
+        String volumeStr = sellVolume.toPlainString();
 
         String queryString = "market=" + market +
                 "&side=ask" +
-                "&volume=" + volume +
+                "&volume=" + volumeStr +
                 "&ord_type=market";
 
+        // 1. 주문 요청 제한 (다른 주문과 같은 초에 몰리면 빈자리까지 대기)
+        awaitOrderPermit();
+
         // 2. JWT 생성 (query_hash 포함)
         String jwt = jwtProvider.createJwtWithQuery(queryString);
+        long sentAt = System.nanoTime();
+        OrderEvent orderEvent = new OrderEvent();
+        orderEvent.begin();
 
         System.out.println("📤 매도 요청: " + queryString);
 
-        try {
-            String response = webClient.post()
-                    .uri("/v1/orders")
-                    .header("Authorization", "Bearer " + jwt)
-                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                    .body(BodyInserters.fromFormData("market", market)
-                            .with("side", "ask")
-                            .with("volume", String.valueOf(volume))
-                            .with("ord_type", "market"))
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+        OrderResultDto result = webClient.post()
+                .uri("/v1/orders")
+                .header("Authorization", "Bearer " + jwt)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("market", market)
+                        .with("side", "ask")
+                        .with("volume", volumeStr)
+                        .with("ord_type", "market"))
+                .exchangeToMono(clientResponse -> clientResponse.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(body -> {
+                            System.out.println("📥 매도 응답: " + body);
+                            long latencyMs = (System.nanoTime() - sentAt) / 1_000_000;
+                            return toOrderResult(market, clientResponse.statusCode().is2xxSuccessful(), body, latencyMs);
+                        }))
+                .onErrorResume(e -> Mono.just(new OrderResultDto(market, null, null, e.getMessage(),
+                        (System.nanoTime() - sentAt) / 1_000_000)))
+                .block();
 
-            System.out.println("📥 매도 응답: " + response);
-        } catch (Exception e) {
-            System.err.println("❌ 매도 요청 실패: " + e.getMessage());
-            e.printStackTrace();
+        if (result != null) {
+            orderEvent.complete("ask", volumeStr, result);
+        }
+        if (result != null && !result.success()) {
+            System.err.println("❌ 매도 요청 실패: " + result.error());
+        }
+        return result;
+    }
+
+    private void awaitOrderPermit() {
+        long waitNanos = orderRateLimiter.reserve(System.nanoTime());
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
         }
     }
 
     /**
-     * 분봉 데이터 조회 (RSI 계산용)
+     * 확정 분봉 조회 (RSI 계산용)
      * 업비트 API: GET /v1/candles/minutes/{unit}?market={market}&count={count}
-     * 
+     * 응답 본문을 CandleSeries 컬럼으로 바로 읽고, 진행 중인 첫 봉은 제외한다 (최대 count - 1개).
+     *
      * @param market 마켓 코드
      * @param minutes 분봉 단위 (1, 3, 5, 15, 30, 60, 240)
-     * @param count 조회할 캔들 개수 (RSI 14기간이면 최소 15개 이상 권장)
-     * @return 캔들 데이터 리스트
+     * @param count 조회할 캔들 개수 (진행 중인 봉 포함, RSI 14기간이면 최소 16개 이상 권장)
+     * @return 확정봉 (최신순)
      */
-    public List<CandleDto> getMinuteCandles(String market, int minutes, int count) {
-        try {
-            // Public API이므로 인증 불필요
-            CandleDto[] response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/v1/candles/minutes/{unit}")
-                            .queryParam("market", market)
-                            .queryParam("count", count)
-                            .build(minutes))
-                    .retrieve()
-                    .bodyToMono(CandleDto[].class)
-                    .block();
+    public CandleSeries getConfirmedMinuteCandles(String market, int minutes, int count) {
+        return fetchConfirmedMinuteCandles(market, minutes, count).block();
+    }
 
-            return response != null ? Arrays.asList(response) : List.of();
-        } catch (Exception e) {
-            System.err.println("❌ 캔들 데이터 조회 실패: " + market + " - " + e.getMessage());
-            e.printStackTrace();
-            return List.of();
+    /**
+     * 확정 분봉 비동기 조회 (여러 마켓을 동시에 조회할 때 사용). 실패하면 빈 CandleSeries.
+     */
+    public Mono<CandleSeries> fetchConfirmedMinuteCandles(String market, int minutes, int count) {
+        // Public API이므로 인증 불필요
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v1/candles/minutes/{unit}")
+                        .queryParam("market", market)
+                        .queryParam("count", count)
+                        .build(minutes))
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .flatMap(body -> Mono.fromCallable(() -> CandleSeriesReader.readConfirmed(body, new CandleSeries(count))))
+                .defaultIfEmpty(new CandleSeries(0))
+                .onErrorResume(e -> {
+                    System.err.println("❌ 캔들 데이터 조회 실패: " + market + " - " + e.getMessage());
+                    return Mono.just(new CandleSeries(0));
+                });
+    }
+
+    /**
+     * 원화(KRW) 마켓 전체 코드 조회
+     * 업비트 API: GET /v1/market/all
+     */
+    public List<String> getKrwMarkets() {
+        JsonNode response = webClient.get()
+                .uri("/v1/market/all")
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block();
+
+        List<String> markets = new ArrayList<>();
+        if (response != null) {
+            for (JsonNode node : response) {
+                String market = node.path("market").asText();
+                if (market.startsWith("KRW-")) {
+                    markets.add(market);
+                }
+            }
         }
+        return markets;
+    }
+
+    /**
+     * 여러 마켓 현재가 한 번에 조회 (비동기). 실패하면 빈 리스트.
+     * 업비트 API: GET /v1/ticker?markets=KRW-BTC,KRW-ETH,...
+     */
+    public Mono<List<TickerDto>> fetchTickers(List<String> markets) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v1/ticker")
+                        .queryParam("markets", String.join(",", markets))
+                        .build())
+                .retrieve()
+                .bodyToMono(TickerDto[].class)
+                .map(response -> List.of(response))
+                .defaultIfEmpty(List.of())
+                .onErrorResume(e -> {
+                    System.err.println("❌ 현재가 조회 실패 (" + markets.size() + "개 마켓): " + e.getMessage());
+                    return Mono.just(List.of());
+                });
     }
 
     /**
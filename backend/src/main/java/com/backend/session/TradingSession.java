@@ -0,0 +1,294 @@
+package com.backend.session;
+
+import com.backend.config.TradingSettings;
+import com.backend.dto.AccountDto;
+import com.backend.dto.SessionStatusDto;
+import com.backend.dto.TradingSettingsDto;
+import com.backend.journal.TradeJournal;
+import com.backend.market.CandleSeries;
+import com.backend.market.MarketRegistry;
+import com.backend.service.AccountView;
+import com.backend.service.NotificationService;
+import com.backend.service.UpbitService;
+import com.backend.strategy.Strategy;
+import com.backend.trading.DecisionPipeline;
+import com.backend.websocket.SharedCandleFeed;
+import com.backend.websocket.UpbitWebSocketClient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 독립 트레이딩 세션 (서브 계정 키 + 설정 + 알림 + 거래 저널 + 판단 상태).
+ *
+ * 시세는 UpbitWebSocketClient의 공유 피드(틱)와 SharedCandleFeed(확정봉)를 구독하므로
+ * 세션을 늘려도 WebSocket 연결과 캔들 조회는 늘지 않는다.
+ * 판단/보호 청산/포지션 복구와 주문/알림 큐(슬리피지 제한, 오래 기다린 매수 취소 포함)는 기본 세션과 같은
+ * DecisionPipeline을 세션 전용 스레드에서 실행하고, 주문은 세션 계정으로 보낸다.
+ * 세션에는 private WebSocket이 없으므로 잔고는 주기적으로(그리고 주문 후) REST로 다시 읽은 AccountView 캐시에서 읽는다.
+ */
+public class TradingSession implements UpbitWebSocketClient.TickListener {
+
+    private static final long POSITION_SYNC_DELAY_MS = 2_000L; // 주문 후 체결 반영을 기다렸다가 계좌 조회
+    private static final long ACCOUNT_REFRESH_SECONDS = 30;    // 잔고 캐시 갱신 주기 (입출금 등 외부 변경 반영)
+
+    private final String id;
+    private final UpbitService upbitService;
+    private final AccountView accountView; // upbitService와 같은 인스턴스 (isLive이면 잔고 조회가 REST 없이 끝난다)
+    private final TradingSettings tradingSettings;
+    private final NotificationService notificationService;
+    private final TradeJournal tradeJournal;
+    private final Strategy strategy;
+    private final UpbitWebSocketClient marketFeed;
+    private final SharedCandleFeed candleFeed;
+    private final MarketRegistry marketRegistry;
+
+    // 마켓별 상태 (MarketRegistry id로 인덱싱)
+    private volatile boolean[] subscribed = new boolean[MarketRegistry.MAX_MARKETS];
+    private final double[] currentPrice = new double[MarketRegistry.MAX_MARKETS];
+
+    // 봉 경계 판단/틱 단위 판단/보호 청산 (기본 세션과 같은 파이프라인, 세션 스레드에서 실행)
+    private final DecisionPipeline pipeline;
+
+    private final ScheduledExecutorService decisionExecutor;
+    private ScheduledFuture<?> accountRefresh; // 세션 스레드 전용
+    private volatile List<String> markets = List.of();
+    private volatile boolean running = false;
+
+    /**
+     * @param accountView    upbitService에 넘긴 잔고 뷰 (세션이 REST 스냅샷으로 갱신한다)
+     * @param queueShedDepth 주문/알림 큐 대기 수가 이 이상이면 알림 작업을 버린다
+     */
+    public TradingSession(String id, UpbitService upbitService, AccountView accountView, TradingSettings tradingSettings,
+                          NotificationService notificationService, TradeJournal tradeJournal, Strategy strategy,
+                          UpbitWebSocketClient marketFeed, SharedCandleFeed candleFeed, MarketRegistry marketRegistry,
+                          int queueShedDepth) {
+        this.id = id;
+        this.upbitService = upbitService;
+        this.accountView = accountView;
+        this.tradingSettings = tradingSettings;
+        this.notificationService = notificationService;
+        this.tradeJournal = tradeJournal;
+        this.strategy = strategy;
+        this.marketFeed = marketFeed;
+        this.candleFeed = candleFeed;
+        this.marketRegistry = marketRegistry;
+        this.decisionExecutor = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "session-" + id));
+        this.pipeline = new DecisionPipeline("[" + id + "] ", upbitService, tradingSettings, tradeJournal, strategy,
+                marketRegistry, decisionExecutor, marketFeed.orderBook(), queueShedDepth, "session-" + id + "-orders",
+                new PipelineHost());
+        tradingSettings.addChangeListener(this::onSettingsChanged);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public TradingSettings settings() {
+        return tradingSettings;
+    }
+
+    public NotificationService notifications() {
+        return notificationService;
+    }
+
+    public UpbitService upbitService() {
+        return upbitService;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        TradingSettingsDto settings = tradingSettings.current();
+        applyMarkets(settings.markets());
+        running = true;
+
+        marketFeed.attachFeed(id, markets, this);
+        List<String> targets = markets;
+        // 판단 상태는 세션 스레드에서만 바꾸므로 초기화도 넘긴다 (직전 중지 작업 뒤에 순서대로 실행된다)
+        decisionExecutor.execute(() -> {
+            // 세션 저널 기준으로 매수 단가/청산 경계를 복구하고, 저널에 없는 마켓만 세션 계좌로 초기화
+            pipeline.configureExits(tradingSettings.current());
+            pipeline.resetState();
+            pipeline.restorePositions(targets, Map.of());
+            refreshAccounts(List.of());
+            accountRefresh = decisionExecutor.scheduleWithFixedDelay(() -> refreshAccounts(List.of()),
+                    ACCOUNT_REFRESH_SECONDS, ACCOUNT_REFRESH_SECONDS, TimeUnit.SECONDS);
+            upbitService.preloadMarketRules(targets);
+            pipeline.scheduleNow(targets);
+            pipeline.startTimer();
+        });
+        notify("🚀 세션 자동매매 시작: " + markets, "INFO", null);
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        marketFeed.detachFeed(id);
+        pipeline.clearOrders(); // 아직 보내지 않은 주문/알림은 버린다
+        decisionExecutor.execute(() -> {
+            pipeline.cancelAll();
+            if (accountRefresh != null) {
+                accountRefresh.cancel(false);
+                accountRefresh = null;
+            }
+            accountView.setLive(false);
+        });
+        notify("🛑 세션 자동매매 중지", "INFO", null);
+    }
+
+    /**
+     * 종료 시 호출 (스레드와 저널 정리)
+     */
+    public void close() {
+        stop();
+        decisionExecutor.shutdownNow();
+        pipeline.close();
+        upbitService.close();
+        tradeJournal.close();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public SessionStatusDto status() {
+        return new SessionStatusDto(id, running, tradingSettings.current().markets());
+    }
+
+    /**
+     * 마켓별 마지막 판단 지표값 (판단 전이면 제외)
+     */
+    public Map<String, Double> indicators() {
+        Map<String, Double> result = new HashMap<>();
+        for (String market : markets) {
+            int mid = marketRegistry.idOf(market);
+            if (mid >= 0 && !Double.isNaN(pipeline.lastIndicator(mid))) {
+                result.put(market, pipeline.lastIndicator(mid));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 공유 피드 틱 (WebSocket 리스너 스레드). 현재가 갱신과 보호 청산 판정만 하고, 틱 단위 전략 판단은 세션 스레드로 넘긴다.
+     */
+    @Override
+    public void onTick(int marketId, double tradePrice, long tradeTimestamp) {
+        if (!subscribed[marketId]) return;
+        currentPrice[marketId] = tradePrice;
+        pipeline.onTick(marketId, tradePrice, tradeTimestamp);
+    }
+
+    private void applyMarkets(List<String> next) {
+        boolean[] flags = new boolean[MarketRegistry.MAX_MARKETS];
+        for (String market : next) {
+            flags[marketRegistry.register(market)] = true;
+        }
+        markets = List.copyOf(next);
+        subscribed = flags;
+    }
+
+    /**
+     * 설정 변경 통지 (HTTP 스레드). 판단 상태는 세션 스레드에서만 바꾸므로 변경 내용을 넘겨 순서대로 반영한다.
+     */
+    private void onSettingsChanged(TradingSettingsDto previous, TradingSettingsDto next) {
+        decisionExecutor.execute(() -> applySettingsChange(previous, next));
+    }
+
+    private void applySettingsChange(TradingSettingsDto previous, TradingSettingsDto next) {
+        if (previous.stopLossPct() != next.stopLossPct() || previous.takeProfitPct() != next.takeProfitPct() ||
+                previous.trailingStopPct() != next.trailingStopPct()) {
+            pipeline.configureExits(next);
+        }
+        if (!running) {
+            return;
+        }
+        List<String> added = new ArrayList<>(next.markets());
+        added.removeAll(markets);
+        List<String> removed = new ArrayList<>(markets);
+        removed.removeAll(next.markets());
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            applyMarkets(next.markets());
+            for (String market : removed) {
+                pipeline.forget(marketRegistry.idOf(market));
+            }
+            marketFeed.attachFeed(id, markets, this);
+            refreshAccounts(added);
+            upbitService.preloadMarketRules(added);
+            pipeline.scheduleNow(added);
+        }
+        if (previous.candleMinutes() != next.candleMinutes()) {
+            pipeline.resetState();
+            pipeline.scheduleNow(markets);
+        } else if (previous.rsiPeriod() != next.rsiPeriod()) {
+            pipeline.resetIndicators();
+        }
+    }
+
+    /**
+     * 세션 계좌를 REST로 한 번 읽어 잔고 캐시를 갱신하고, targets 마켓의 매수 단가/청산 경계를 맞춘다 (세션 스레드).
+     * 조회에 실패하면 캐시를 내려 다음 갱신 전까지 잔고는 REST로 읽는다.
+     */
+    private void refreshAccounts(Collection<String> targets) {
+        try {
+            long mark = accountView.snapshotMark();
+            List<AccountDto> accounts = upbitService.getAccounts();
+            accountView.reset(accounts, mark);
+            accountView.setLive(running);
+            if (!targets.isEmpty()) {
+                pipeline.applyPositions(targets, accounts);
+            }
+        } catch (Exception e) {
+            accountView.setLive(false);
+            System.err.println("❌ [" + id + "] 계좌 조회 실패: " + e.getMessage());
+        }
+    }
+
+    private void notify(String message, String type, String market) {
+        notificationService.add("[" + id + "] " + message, type, market);
+    }
+
+    /**
+     * 세션의 파이프라인 입출력: 확정봉은 SharedCandleFeed, 주문/알림 큐는 파이프라인이 세션 전용 스레드로 처리한다.
+     * 세션에는 private WebSocket이 없으므로 주문 후 체결 반영을 기다렸다가 계좌 조회로 잔고 캐시와 매수 단가/청산 경계를 갱신한다.
+     */
+    private class PipelineHost implements DecisionPipeline.Host {
+
+        @Override
+        public boolean isActive(int marketId) {
+            return running && subscribed[marketId];
+        }
+
+        @Override
+        public int marketCount() {
+            return markets.size();
+        }
+
+        @Override
+        public CandleSeries confirmedCandles(String market, TradingSettingsDto settings, long now, CandleSeries out) {
+            return candleFeed.confirmed(market, settings.candleMinutes(), settings.candleCount(), now, out);
+        }
+
+        @Override
+        public void notify(String message, String type, String market) {
+            TradingSession.this.notify(message, type, market);
+        }
+
+        @Override
+        public void onOrderSubmitted(String market) {
+            accountView.setLive(false); // 체결이 반영된 계좌를 다시 읽기 전까지 캐시된 잔고를 쓰지 않는다
+            decisionExecutor.schedule(() -> refreshAccounts(List.of(market)), POSITION_SYNC_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.backend.session;
+
+import com.backend.config.TradingSettings;
+import com.backend.config.UpbitProperties;
+import com.backend.journal.TradeJournal;
+import com.backend.market.MarketRegistry;
+import com.backend.service.AccountView;
+import com.backend.service.EventStreamHub;
+import com.backend.service.NotificationService;
+import com.backend.service.OrderRateLimiter;
+import com.backend.service.UpbitService;
+import com.backend.strategy.Strategy;
+import com.backend.websocket.SharedCandleFeed;
+import com.backend.websocket.UpbitWebSocketClient;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * upbit.sessions 설정으로 추가 트레이딩 세션을 만든다 (기본 세션은 기존 자동매매 그대로).
+ * 세션마다 API 키, 설정, 알림, 거래 저널이 따로이고 시세 WebSocket과 확정봉 캐시는 공유한다.
+ * 세션은 만들어지기만 하고 시작은 API로 한다.
+ */
+@Service
+public class TradingSessionManager {
+
+    private final Map<String, TradingSession> sessions = new LinkedHashMap<>();
+
+    public TradingSessionManager(UpbitProperties upbitProperties, EventStreamHub eventStreamHub, Strategy strategy,
+                                 UpbitWebSocketClient marketFeed, SharedCandleFeed candleFeed,
+                                 MarketRegistry marketRegistry) {
+        for (UpbitProperties.Session config : upbitProperties.getSessions()) {
+            String id = config.getId();
+            if (id == null || id.isBlank()) {
+                throw new IllegalArgumentException("세션 id가 비어 있습니다.");
+            }
+            if (sessions.containsKey(id)) {
+                throw new IllegalArgumentException("중복된 세션 id: " + id);
+            }
+            UpbitProperties keys = new UpbitProperties();
+            keys.setBaseUrl(upbitProperties.getBaseUrl());
+            keys.setAccessKey(config.getAccessKey());
+            keys.setSecretKey(config.getSecretKey());
+
+            TradingSettings settings = new TradingSettings();
+            NotificationService notifications = new NotificationService(eventStreamHub);
+            AccountView accountView = new AccountView(); // 세션 계정 잔고 캐시 (세션이 REST 스냅샷으로 갱신)
+            UpbitService upbitService = new UpbitService(keys, notifications, settings, accountView,
+                    new OrderRateLimiter()); // 세션마다 계정이 다르므로 주문 제한도 따로
+            TradeJournal journal = new TradeJournal(Path.of(upbitProperties.getJournalDir(), "sessions", id));
+            sessions.put(id, new TradingSession(id, upbitService, accountView, settings, notifications, journal, strategy,
+                    marketFeed, candleFeed, marketRegistry, upbitProperties.getDecisionQueueShedDepth()));
+            System.out.println("🧩 트레이딩 세션 등록: " + id);
+        }
+    }
+
+    /**
+     * @return 없는 세션이면 null
+     */
+    public TradingSession get(String id) {
+        return sessions.get(id);
+    }
+
+    public Collection<TradingSession> all() {
+        return sessions.values();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (TradingSession session : sessions.values()) {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.backend.strategy;
+
+/**
+ * 전략에 전달되는 계좌 상태 (판단 대상 마켓 기준). 호출자가 판단마다 값을 채워 재사용한다.
+ */
+public final class AccountState {
+
+    private double balance;
+    private double krwBalance;
+    private double avgBuyPrice;
+    private int marketCount;
+
+    public void set(double balance, double krwBalance, double avgBuyPrice, int marketCount) {
+        this.balance = balance;
+        this.krwBalance = krwBalance;
+        this.avgBuyPrice = avgBuyPrice;
+        this.marketCount = marketCount;
+    }
+
+    /**
+     * 판단 대상 코인 보유 수량
+     */
+    public double balance() {
+        return balance;
+    }
+
+    public double krwBalance() {
+        return krwBalance;
+    }
+
+    /**
+     * 매수 평균가 (미보유 시 0)
+     */
+    public double avgBuyPrice() {
+        return avgBuyPrice;
+    }
+
+    /**
+     * 잔액을 나눠 쓸 매매 대상 마켓 수
+     */
+    public int marketCount() {
+        return marketCount;
+    }
+}
@@ -0,0 +1,63 @@
+package com.backend.strategy;
+
+import com.backend.dto.BacktestResultDto;
+import com.backend.dto.TradingSettingsDto;
+import com.backend.market.CandleSeries;
+
+/**
+ * 과거 확정봉을 과거→현재 순서로 재생하며 전략을 실행하는 백테스트/리플레이 러너.
+ * 실시간 경로와 같은 Strategy 구현을 그대로 호출하고, 주문은 각 봉 종가에 체결된 것으로 가정한다.
+ */
+public final class Backtester {
+
+    private static final double FEE_RATE = 0.0005; // 업비트 KRW 마켓 거래 수수료 0.05%
+
+    private Backtester() {
+    }
+
+    /**
+     * @param candles    확정봉 (최신순)
+     * @param initialKrw 시작 KRW 잔액
+     */
+    public static BacktestResultDto run(String market, Strategy strategy, CandleSeries candles,
+                                        TradingSettingsDto settings, double initialKrw) {
+        int n = candles.size();
+        int window = Math.max(settings.candleCount() - 1, strategy.requiredBars(settings)); // 실시간과 같은 확정봉 개수
+        CandleSeries view = new CandleSeries(window);
+        AccountState account = new AccountState();
+        Decision decision = new Decision();
+
+        double krw = initialKrw;
+        double volume = 0.0;
+        double avgBuyPrice = 0.0;
+        int buys = 0;
+        int sells = 0;
+        int bars = 0;
+
+        for (int t = n - strategy.requiredBars(settings); t >= 0; t--) {
+            view.copyFrom(candles, t, Math.min(window, n - t));
+            account.set(volume, krw, avgBuyPrice, 1);
+            decision.reset();
+            strategy.onBar(view, account, settings, decision);
+            bars++;
+
+            double price = candles.close(t);
+            if (decision.action() == Decision.Action.BUY && decision.amount() <= krw) {
+                volume += decision.amount() * (1 - FEE_RATE) / price;
+                krw -= decision.amount();
+                avgBuyPrice = price;
+                buys++;
+            } else if (decision.action() == Decision.Action.SELL && volume > 0) {
+                double sellVolume = Math.min(volume, decision.amount());
+                krw += sellVolume * price * (1 - FEE_RATE);
+                volume -= sellVolume;
+                if (volume <= 0) avgBuyPrice = 0.0;
+                sells++;
+            }
+        }
+
+        double finalEquity = krw + (n > 0 ? volume * candles.close(0) : 0.0);
+        double returnPct = initialKrw > 0 ? (finalEquity - initialKrw) / initialKrw * 100 : 0.0;
+        return new BacktestResultDto(market, strategy.name(), bars, buys, sells, initialKrw, finalEquity, returnPct);
+    }
+}
@@ -0,0 +1,103 @@
+package com.backend.strategy;
+
+/**
+ * 전략 판단 결과 (주문 의도). 호출자가 재사용하며 판단 전에 reset()한다.
+ */
+public final class Decision {
+
+    public enum Action { NONE, BUY, SELL }
+
+    public enum Reason {
+        NO_SIGNAL,          // 임계값 범위 안
+        INSUFFICIENT_DATA,  // 확정봉 부족
+        BUY_SIGNAL,
+        SELL_SIGNAL,
+        ALREADY_HOLDING,    // 매수 신호지만 이미 보유 중
+        NO_POSITION,        // 매도 신호지만 미보유
+        INSUFFICIENT_KRW,   // 매수 신호지만 KRW 잔액 부족
+        BELOW_MIN_ORDER,    // 매수 신호지만 분배 금액이 최소주문금액 미만
+        STOP_LOSS,          // 틱 단위 보호 청산 (전략 판단과 별개)
+        TAKE_PROFIT,
+        TRAILING_STOP
+    }
+
+    private Action action;
+    private Reason reason;
+    private double indicator;
+    private double threshold;
+    private double amount;
+
+    public Decision() {
+        reset();
+    }
+
+    public void reset() {
+        action = Action.NONE;
+        reason = Reason.NO_SIGNAL;
+        indicator = Double.NaN;
+        threshold = Double.NaN;
+        amount = 0.0;
+    }
+
+    /**
+     * @param krwAmount 매수 금액 (KRW)
+     */
+    public void buy(double krwAmount, double indicator, double threshold) {
+        set(Action.BUY, Reason.BUY_SIGNAL, indicator, threshold, krwAmount);
+    }
+
+    /**
+     * @param volume 매도 수량
+     */
+    public void sell(double volume, double indicator, double threshold) {
+        set(Action.SELL, Reason.SELL_SIGNAL, indicator, threshold, volume);
+    }
+
+    public void hold(Reason reason, double indicator, double threshold, double amount) {
+        set(Action.NONE, reason, indicator, threshold, amount);
+    }
+
+    private void set(Action action, Reason reason, double indicator, double threshold, double amount) {
+        this.action = action;
+        this.reason = reason;
+        this.indicator = indicator;
+        this.threshold = threshold;
+        this.amount = amount;
+    }
+
+    public Action action() {
+        return action;
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+
+    /**
+     * 판단에 사용한 지표 값 (RSI 등), 계산하지 못했으면 NaN
+     */
+    public double indicator() {
+        return indicator;
+    }
+
+    /**
+     * 지표와 비교한 임계값 (데이터 부족 시 필요한 봉 개수)
+     */
+    public double threshold() {
+        return threshold;
+    }
+
+    /**
+     * BUY: 매수 금액(KRW), SELL: 매도 수량, 그 외: 참고 금액(계산된 분배 금액 등)
+     */
+    public double amount() {
+        return amount;
+    }
+
+    /**
+     * 임계값을 넘어 신호가 발생했는지 (실제 주문 여부와 무관)
+     */
+    public boolean isSignal() {
+        return reason != Reason.NO_SIGNAL && reason != Reason.INSUFFICIENT_DATA;
+    }
+}
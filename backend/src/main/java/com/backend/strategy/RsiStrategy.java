@@ -0,0 +1,65 @@
+package com.backend.strategy;
+
+import com.backend.dto.TradingSettingsDto;
+import com.backend.market.CandleSeries;
+import com.backend.util.RsiCalculator;
+import org.springframework.stereotype.Component;
+
+/**
+ * RSI 기반 전략
+ * - RSI ≤ rsiOversold: 과매도 → 미보유 시 KRW 잔액을 종목 수로 나눠 매수
+ * - RSI ≥ rsiOverbought: 과매수 → 보유 수량 전량 매도
+ */
+@Component
+public class RsiStrategy implements Strategy {
+
+    @Override
+    public String name() {
+        return "RSI";
+    }
+
+    @Override
+    public int requiredBars(TradingSettingsDto settings) {
+        return settings.rsiPeriod() + 1;
+    }
+
+    @Override
+    public void onBar(CandleSeries candles, AccountState account, TradingSettingsDto settings, Decision out) {
+        if (candles.size() < requiredBars(settings)) {
+            out.hold(Decision.Reason.INSUFFICIENT_DATA, Double.NaN, requiredBars(settings), 0.0);
+            return;
+        }
+
+        double rsi = RsiCalculator.calculateRsi(candles.closes(), candles.size(), settings.rsiPeriod());
+
+        // RSI 과매도: 매수 신호
+        if (rsi <= settings.rsiOversold()) {
+            double threshold = settings.rsiOversold();
+            if (account.balance() != 0) {
+                out.hold(Decision.Reason.ALREADY_HOLDING, rsi, threshold, account.balance());
+                return;
+            }
+            if (account.krwBalance() <= settings.minOrderKrw()) {
+                out.hold(Decision.Reason.INSUFFICIENT_KRW, rsi, threshold, account.krwBalance());
+                return;
+            }
+            double buyAmount = account.krwBalance() / account.marketCount(); // 잔액을 종목 수로 나눔
+            if (buyAmount < settings.minOrderKrw()) {
+                out.hold(Decision.Reason.BELOW_MIN_ORDER, rsi, threshold, buyAmount);
+                return;
+            }
+            out.buy(buyAmount, rsi, threshold);
+        }
+        // RSI 과매수: 매도 신호
+        else if (rsi >= settings.rsiOverbought()) {
+            double threshold = settings.rsiOverbought();
+            if (account.balance() > 0) {
+                out.sell(account.balance(), rsi, threshold);
+            } else {
+                out.hold(Decision.Reason.NO_POSITION, rsi, threshold, 0.0);
+            }
+        } else {
+            out.hold(Decision.Reason.NO_SIGNAL, rsi, Double.NaN, 0.0);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.backend.strategy;
+
+import com.backend.dto.TradingSettingsDto;
+import com.backend.market.CandleSeries;
+
+/**
+ * 매매 전략 SPI.
+ * 전략은 I/O 없이 입력(확정봉, 계좌 상태, 설정)만으로 판단해 결과를 Decision에 채운다.
+ * 캔들/잔고 조회, 주문 실행, 알림은 호출하는 쪽(실시간 UpbitWebSocketClient, Backtester)이 담당하므로
+ * 같은 전략 코드를 실시간/리플레이/백테스트에서 그대로 사용할 수 있다.
+ * 호출마다 객체를 만들지 않도록 입력/출력 객체는 호출자가 재사용한다.
+ * 기본은 확정봉 마감 시점(onBar)에만 판단하고, 틱 단위 판단이 필요한 전략은 usesTicks()/onTick을 함께 구현한다.
+ */
+public interface Strategy {
+
+    /**
+     * 전략(지표) 이름. 알림 메시지에 사용된다. (예: "RSI")
+     */
+    String name();
+
+    /**
+     * 판단에 필요한 최소 확정봉 개수
+     */
+    int requiredBars(TradingSettingsDto settings);
+
+    /**
+     * 새 확정봉 마감 시 호출된다.
+     *
+     * @param candles  확정봉 (최신순)
+     * @param account  판단 시점의 계좌 상태
+     * @param settings 현재 설정 스냅샷
+     * @param out      판단 결과 (호출 전 reset된 상태로 전달됨)
+     */
+    void onBar(CandleSeries candles, AccountState account, TradingSettingsDto settings, Decision out);
+
+    /**
+     * 틱 단위 판단이 필요한 전략이면 true. 기본값 false면 onTick을 호출하지 않으므로 틱 경로에 비용이 없다.
+     */
+    default boolean usesTicks() {
+        return false;
+    }
+
+    /**
+     * 체결 틱마다 호출된다 (usesTicks()가 true일 때만). 판단 스레드가 밀려 있으면 마켓별 최신 틱만 전달된다.
+     * onBar와 같은 판단 스레드에서 순서대로 호출되므로 전략 내부 상태를 따로 동기화할 필요는 없다.
+     * out에 매수/매도를 채우면 확정봉을 기다리지 않고 주문으로 이어진다. 백테스트는 확정봉만 재생하므로 호출되지 않는다.
+     *
+     * @param price     체결가
+     * @param timestamp 체결 시각 (epoch ms)
+     * @param account   판단 시점의 계좌 상태
+     * @param settings  현재 설정 스냅샷
+     * @param out       판단 결과 (호출 전 reset된 상태로 전달됨)
+     */
+    default void onTick(double price, long timestamp, AccountState account, TradingSettingsDto settings, Decision out) {
+    }
+}
@@ -0,0 +1,840 @@
+package com.backend.trading;
+
+import com.backend.config.TradingSettings;
+import com.backend.diagnostics.DecisionEvent;
+import com.backend.dto.AccountDto;
+import com.backend.dto.DecisionQueueStatsDto;
+import com.backend.dto.OrderResultDto;
+import com.backend.dto.TradingSettingsDto;
+import com.backend.journal.JournalEntry;
+import com.backend.journal.JournalState;
+import com.backend.journal.TradeJournal;
+import com.backend.market.CandleBoundaryWheel;
+import com.backend.market.CandleSeries;
+import com.backend.market.DecisionQueue;
+import com.backend.market.MarketRegistry;
+import com.backend.market.MarketRules;
+import com.backend.market.OrderBook;
+import com.backend.market.ProtectiveExits;
+import com.backend.service.UpbitService;
+import com.backend.strategy.AccountState;
+import com.backend.strategy.Decision;
+import com.backend.strategy.Strategy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 봉 경계 판단 파이프라인 (기본 세션 UpbitWebSocketClient와 추가 TradingSession이 같이 사용).
+ *
+ * 봉 경계 타이머 → 확정봉 조회 → 전략 판단 → 주문/알림 큐, 틱 단위 보호 청산/전략 판단, 거래 저널 기록,
+ * 저널/계좌 기준 포지션 복구를 맡고, 마켓별 판단 상태(매수 단가, 마지막 지표/판단 봉, 쿨다운)를 들고 있다.
+ * 주문은 판단 스레드를 막지 않도록 우선순위 큐(DecisionQueue)를 거쳐 전용 스레드에서 보내고,
+ * 매수/매도 신호 주문에는 호가 깊이 기준 슬리피지 제한과 오래 기다린 매수 취소를 적용한다.
+ * 확정봉 출처, 알림 경로, 주문 후 처리는 Host가 정한다.
+ * 봉 경계 타이머, 틱 단위 전략 판단, 판단 상태 변경은 decisionExecutor(단일 스레드)에서 돌고, 틱 경로의 보호 청산 판정은 ProtectiveExits가 동기화한다.
+ */
+public class DecisionPipeline {
+
+    /**
+     * 파이프라인을 쓰는 쪽이 제공하는 입출력
+     */
+    public interface Host {
+
+        /**
+         * 판단/청산을 해도 되는 매매 대상인지
+         */
+        boolean isActive(int marketId);
+
+        /**
+         * 잔액을 나눠 쓸 매매 대상 마켓 수
+         */
+        int marketCount();
+
+        /**
+         * 확정봉 (최신순)을 out에 채워 반환한다
+         */
+        CandleSeries confirmedCandles(String market, TradingSettingsDto settings, long now, CandleSeries out);
+
+        void notify(String message, String type, String market);
+
+        /**
+         * 지표 알림 뒤에 붙일 부가 정보 (예: 시간프레임별 RSI, 없으면 빈 문자열)
+         */
+        default String indicatorDetails(int marketId) {
+            return "";
+        }
+
+        /**
+         * 신호 시 상태 알림 뒤에 붙일 부가 정보 (예: 체결 흐름, 없으면 빈 문자열)
+         */
+        default String signalDetails(int marketId) {
+            return "";
+        }
+
+        /**
+         * 주문 접수 후 호출된다 (주문 스레드, 계좌 재조회로 포지션을 맞추는 세션 등)
+         */
+        default void onOrderSubmitted(String market) {
+        }
+    }
+
+    private static final String QUOTE_KRW = "KRW";
+    private static final long WHEEL_TICK_MS = 100L;
+    private static final int WHEEL_SIZE = 1024;
+    private static final long CANDLE_SETTLE_DELAY_MS = 1_500L; // 경계 직후 REST 분봉에 마감봉이 반영되기까지 여유
+    private static final long DECISION_RETRY_DELAY_MS = 1_000L;
+    private static final int MAX_DECISION_RETRIES = 3;
+    private static final long STALE_BUY_MS = 10_000L; // 판단 후 이보다 오래 대기한 매수는 보내지 않는다
+
+    private final String logPrefix;
+    private final UpbitService upbitService;
+    private final TradingSettings tradingSettings;
+    private final TradeJournal tradeJournal;
+    private final Strategy strategy;
+    private final boolean tickStrategy; // 틱 단위 판단 전략이면 틱을 판단 스레드로 넘긴다
+    private final MarketRegistry marketRegistry;
+    private final ScheduledExecutorService decisionExecutor;
+    private final OrderBook orderBook; // 주문 전 슬리피지 확인용 호가 (공유 시세 피드가 갱신)
+    private final Host host;
+
+    // 주문/알림 큐: 보호 청산·매도 > 매수 > 정보성 알림 순으로 전용 스레드에서 처리 (마켓별 최신 작업만 유지)
+    private final DecisionQueue decisionQueue;
+    private final Thread orderDispatcher;
+
+    // 마켓별 판단 상태 (MarketRegistry id로 인덱싱). 쓰기는 판단 스레드에서만 하므로 이 상태를 바꾸는 public 메서드는
+    // decisionExecutor에서 호출해야 한다. 다른 스레드(주문 스레드, 스냅샷 저장, 상태 조회)는 읽기만 한다
+    private final double[] lastBuyPrice = new double[MarketRegistry.MAX_MARKETS]; // 마지막 매수 단가 (0: 미보유)
+    private final long[] lastCheckTime = new long[MarketRegistry.MAX_MARKETS]; // 마지막으로 판단한 봉 경계 (쿨다운 기준)
+    private final double[] lastIndicator = new double[MarketRegistry.MAX_MARKETS]; // 마지막 지표 값 (NaN: 없음)
+    private final long[] lastProcessedCandleTime = new long[MarketRegistry.MAX_MARKETS]; // 마지막으로 판단한 확정봉 시각
+
+    // 틱 단위 손절/익절/트레일링 스탑 (lastBuyPrice 기준 경계를 미리 계산)
+    private final ProtectiveExits protectiveExits = new ProtectiveExits(MarketRegistry.MAX_MARKETS);
+
+    // 봉 경계 타이머: 마켓마다 candleMinutes 경계 + 정산 지연 시각에 한 번만 판단한다 (판단 스레드 전용)
+    private final CandleBoundaryWheel decisionWheel = new CandleBoundaryWheel(MarketRegistry.MAX_MARKETS, WHEEL_TICK_MS, WHEEL_SIZE);
+    private final long[] decisionBoundary = new long[MarketRegistry.MAX_MARKETS]; // 예약된 판단이 맡은 봉 경계
+    private final int[] decisionRetries = new int[MarketRegistry.MAX_MARKETS];
+    private final int[] expiredMarkets = new int[MarketRegistry.MAX_MARKETS];
+    private boolean wheelScheduled = false;
+
+    // 틱 단위 판단 대기 (마켓별 최신 틱만 유지, tickLock으로 보호). 판단 스레드가 아직 처리하지 않은 마켓은
+    // 가격만 덮어쓰고 다시 넘기지 않으므로 틱이 몰려도 마켓당 대기 작업은 하나이고 틱마다 할당하지 않는다
+    private final Object tickLock = new Object();
+    private final double[] pendingTickPrice = new double[MarketRegistry.MAX_MARKETS];
+    private final long[] pendingTickTime = new long[MarketRegistry.MAX_MARKETS];
+    private final boolean[] tickPending = new boolean[MarketRegistry.MAX_MARKETS];
+    private final Runnable[] tickTasks;
+
+    // 전략 입력/출력 (판단 스레드에서만 사용하므로 재사용)
+    private final CandleSeries decisionCandles = new CandleSeries(256);
+    private final AccountState accountState = new AccountState();
+    private final Decision decision = new Decision();
+
+    /**
+     * @param logPrefix       콘솔 로그 앞에 붙일 구분자 (기본 세션은 빈 문자열)
+     * @param queueShedDepth  주문/알림 큐 대기 수가 이 이상이면 알림 작업을 버린다
+     * @param orderThreadName 주문/알림 큐 소비 스레드 이름
+     */
+    public DecisionPipeline(String logPrefix, UpbitService upbitService, TradingSettings tradingSettings,
+                            TradeJournal tradeJournal, Strategy strategy, MarketRegistry marketRegistry,
+                            ScheduledExecutorService decisionExecutor, OrderBook orderBook,
+                            int queueShedDepth, String orderThreadName, Host host) {
+        this.logPrefix = logPrefix;
+        this.upbitService = upbitService;
+        this.tradingSettings = tradingSettings;
+        this.tradeJournal = tradeJournal;
+        this.strategy = strategy;
+        this.tickStrategy = strategy.usesTicks();
+        this.tickTasks = new Runnable[tickStrategy ? MarketRegistry.MAX_MARKETS : 0];
+        for (int i = 0; i < tickTasks.length; i++) {
+            int id = i;
+            tickTasks[i] = () -> evaluatePendingTick(id);
+        }
+        this.marketRegistry = marketRegistry;
+        this.decisionExecutor = decisionExecutor;
+        this.orderBook = orderBook;
+        this.host = host;
+        Arrays.fill(lastIndicator, Double.NaN);
+        configureExits(tradingSettings.current());
+        this.decisionQueue = new DecisionQueue(MarketRegistry.MAX_MARKETS, queueShedDepth);
+        this.orderDispatcher = new Thread(this::dispatchOrders, orderThreadName);
+        orderDispatcher.setDaemon(true);
+        orderDispatcher.start();
+    }
+
+    /**
+     * 주문/알림 큐 소비 스레드 종료 (종료 시)
+     */
+    public void close() {
+        orderDispatcher.interrupt();
+    }
+
+    // ===== 봉 경계 판단 =====
+
+    /**
+     * 봉 경계 타이머를 돌리기 시작한다 (처음 한 번만 등록, 판단 스레드에서 호출)
+     */
+    public synchronized void startTimer() {
+        if (!wheelScheduled) {
+            wheelScheduled = true;
+            decisionExecutor.scheduleAtFixedRate(this::advance, WHEEL_TICK_MS, WHEEL_TICK_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 지정한 마켓을 바로 한 번 판단하도록 예약한다 (판단 스레드, 이후에는 봉 경계마다 다시 예약된다).
+     * 현재 봉의 시작을 경계로 두므로 직전 확정봉이 판단 대상이 된다.
+     */
+    public void scheduleNow(Collection<String> targets) {
+        long now = System.currentTimeMillis();
+        int candleMinutes = tradingSettings.current().candleMinutes();
+        long unitMs = candleMinutes * 60_000L;
+        for (String market : targets) {
+            int id = marketRegistry.idOf(market);
+            if (id < 0) continue;
+            decisionBoundary[id] = CandleBoundaryWheel.nextBoundary(now, candleMinutes) - unitMs;
+            decisionRetries[id] = 0;
+            decisionWheel.schedule(id, now);
+        }
+    }
+
+    /**
+     * 예약된 판단을 모두 취소한다 (자동매매 중지, 판단 스레드)
+     */
+    public void cancelAll() {
+        decisionWheel.clear();
+    }
+
+    private void scheduleNextBoundary(int id, long now, int candleMinutes) {
+        long boundary = CandleBoundaryWheel.nextBoundary(now, candleMinutes);
+        decisionBoundary[id] = boundary;
+        decisionRetries[id] = 0;
+        decisionWheel.schedule(id, boundary + CANDLE_SETTLE_DELAY_MS);
+    }
+
+    /**
+     * 판단 스레드에서 주기적으로 휠을 돌려 경계에 도달한 마켓만 판단한다
+     */
+    private void advance() {
+        try {
+            int count = decisionWheel.advance(System.currentTimeMillis(), expiredMarkets);
+            // 같은 경계에 만료된 마켓 중 보유 마켓(매도 가능)을 먼저 판단해 매도 작업이 먼저 나가게 한다
+            int held = 0;
+            for (int i = 0; i < count; i++) {
+                int id = expiredMarkets[i];
+                if (lastBuyPrice[id] > 0) {
+                    expiredMarkets[i] = expiredMarkets[held];
+                    expiredMarkets[held++] = id;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                onDecisionTimer(expiredMarkets[i]);
+            }
+        } catch (Exception e) {
+            System.err.println("❌ " + logPrefix + "판단 타이머 처리 오류: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 마켓 판단 타이머 만료.
+     * 경계 직후 REST 분봉에 아직 마감봉이 없으면 잠시 뒤 같은 경계로 다시 시도하고, 끝나면 다음 경계를 예약한다.
+     * 쿨다운은 봉 경계 시각 기준으로 비교하므로 타이머 지연과 관계없이 일정하다.
+     */
+    private void onDecisionTimer(int id) {
+        if (!host.isActive(id)) {
+            return;
+        }
+        String market = marketRegistry.codeOf(id);
+        long now = System.currentTimeMillis();
+        TradingSettingsDto settings = tradingSettings.current();
+        long boundary = decisionBoundary[id];
+
+        if (decisionRetries[id] == 0) {
+            long lastCheck = lastCheckTime[id];
+            if (lastCheck != 0 && boundary - lastCheck < settings.rsiCheckCooldownMs()) {
+                scheduleNextBoundary(id, now, settings.candleMinutes()); // 쿨다운 중이면 다음 경계로
+                return;
+            }
+            lastCheckTime[id] = boundary;
+        }
+
+        long latestConfirmed = evaluate(id, market, settings, now);
+        long expected = boundary - settings.candleMinutes() * 60_000L; // 이번 경계에서 마감된 봉의 시작 시각
+        if (latestConfirmed > 0 && latestConfirmed < expected && decisionRetries[id] < MAX_DECISION_RETRIES) {
+            decisionRetries[id]++;
+            decisionWheel.schedule(id, now + DECISION_RETRY_DELAY_MS);
+            return;
+        }
+        scheduleNextBoundary(id, now, settings.candleMinutes());
+    }
+
+    /**
+     * 확정봉 기준 전략 판단.
+     * 캔들/잔고 조회(I/O)로 입력을 준비한 뒤 전략에는 순수 계산만 맡기고, 결과는 주문/알림 큐로 넘긴다.
+     *
+     * @return 판단에 사용한 최신 확정봉 시작 시각 (확정봉이 없거나 오류면 0)
+     */
+    private long evaluate(int id, String market, TradingSettingsDto settings, long now) {
+        DecisionEvent decisionEvent = new DecisionEvent();
+        decisionEvent.begin();
+
+        try {
+            // 확정봉은 전략 입력 컬럼(재사용 버퍼)으로 바로 복사한다 (진행 중인 봉은 제외)
+            CandleSeries confirmedCandles = host.confirmedCandles(market, settings, now, decisionCandles);
+            if (confirmedCandles.size() == 0) {
+                host.notify("⚠️ " + market + ": 확정봉 데이터가 없습니다.", "WARNING", market);
+                return 0L;
+            }
+            long latestConfirmedCandleTime = confirmedCandles.startTime(0);
+
+            int requiredBars = strategy.requiredBars(settings);
+            if (confirmedCandles.size() < requiredBars) {
+                host.notify("⚠️ " + market + ": " + strategy.name() + " 계산을 위한 확정봉 데이터가 부족합니다. (필요: " +
+                        requiredBars + ", 현재: " + confirmedCandles.size() + ")", "WARNING", market);
+                return latestConfirmedCandleTime;
+            }
+
+            // 같은 확정봉을 이미 판단했다면 스킵 (경계 직후 마감봉이 아직 반영되지 않아 재시도하는 경우 등에
+            // 이전 확정봉으로 중복 신호/알림이 나는 것을 방지)
+            if (latestConfirmedCandleTime == lastProcessedCandleTime[id]) {
+                return latestConfirmedCandleTime;
+            }
+            lastProcessedCandleTime[id] = latestConfirmedCandleTime;
+
+            double balance = upbitService.getBalance(marketRegistry.baseCurrency(id));
+            double krwBalance = upbitService.getBalance(QUOTE_KRW);
+            accountState.set(balance, krwBalance, lastBuyPrice[id], host.marketCount());
+
+            // 전략 판단 (I/O 없음)
+            decision.reset();
+            strategy.onBar(confirmedCandles, accountState, settings, decision);
+            lastIndicator[id] = decision.indicator();
+            decisionEvent.complete(market, decision, confirmedCandles.size());
+            journalDecision(market);
+
+            executeDecision(id, market, balance, krwBalance);
+            return latestConfirmedCandleTime;
+
+        } catch (Exception e) {
+            String errorMessage = "❌ " + strategy.name() + " 체크 오류 (" + market + "): " + e.getMessage();
+            host.notify(errorMessage, "ERROR", market);
+            System.err.println(logPrefix + errorMessage);
+            e.printStackTrace();
+            return 0L;
+        }
+    }
+
+    // ===== 틱 =====
+
+    /**
+     * 틱 1건 (WebSocket 리스너 스레드). 보호 청산은 확정봉/쿨다운을 기다리지 않고 틱마다 판정하고,
+     * 틱 단위 전략 판단은 확정봉 판단과 같은 판단 스레드에서 수행하되, 대기 중인 마켓은 최신 틱으로만 갱신한다.
+     */
+    public void onTick(int id, double tradePrice, long tradeTimestamp) {
+        int exit = protectiveExits.onTick(id, tradePrice);
+        if (exit != ProtectiveExits.NONE) {
+            String market = marketRegistry.codeOf(id);
+            decisionQueue.offerProtectiveExit(id,
+                    () -> executeProtectiveExit(id, market, exit, tradePrice), System.currentTimeMillis());
+        }
+        if (tickStrategy) {
+            boolean submit;
+            synchronized (tickLock) {
+                pendingTickPrice[id] = tradePrice;
+                pendingTickTime[id] = tradeTimestamp;
+                submit = !tickPending[id];
+                tickPending[id] = true;
+            }
+            if (submit) {
+                decisionExecutor.execute(tickTasks[id]);
+            }
+        }
+    }
+
+    private void evaluatePendingTick(int id) {
+        double tradePrice;
+        long tradeTimestamp;
+        synchronized (tickLock) {
+            tradePrice = pendingTickPrice[id];
+            tradeTimestamp = pendingTickTime[id];
+            tickPending[id] = false;
+        }
+        evaluateTick(id, tradePrice, tradeTimestamp);
+    }
+
+    /**
+     * 틱 단위 전략 판단 (판단 스레드). 매수/매도 의도가 나온 경우에만 저널과 주문 큐로 넘긴다.
+     * 잔고는 메모리 뷰(private WebSocket 또는 세션의 잔고 캐시)에서만 읽고, 뷰가 없으면 REST 대신 이번 틱을 건너뛴다.
+     */
+    private void evaluateTick(int id, double tradePrice, long tradeTimestamp) {
+        if (!host.isActive(id) || !upbitService.hasLiveBalances()) {
+            return;
+        }
+        String market = marketRegistry.codeOf(id);
+        try {
+            double balance = upbitService.getBalance(marketRegistry.baseCurrency(id));
+            double krwBalance = upbitService.getBalance(QUOTE_KRW);
+            accountState.set(balance, krwBalance, lastBuyPrice[id], host.marketCount());
+
+            decision.reset();
+            strategy.onTick(tradePrice, tradeTimestamp, accountState, tradingSettings.current(), decision);
+            if (decision.action() == Decision.Action.NONE) {
+                return;
+            }
+            journalDecision(market);
+            executeDecision(id, market, balance, krwBalance);
+        } catch (Exception e) {
+            String errorMessage = "❌ " + strategy.name() + " 틱 판단 오류 (" + market + "): " + e.getMessage();
+            host.notify(errorMessage, "ERROR", market);
+            System.err.println(logPrefix + errorMessage);
+        }
+    }
+
+    // ===== 보호 청산 =====
+
+    /**
+     * 청산 비율 설정 (%, 0이면 사용 안 함). 보유 중인 마켓은 새 비율로 다시 계산한다.
+     */
+    public void configureExits(TradingSettingsDto settings) {
+        protectiveExits.configure(settings.stopLossPct(), settings.takeProfitPct(), settings.trailingStopPct());
+    }
+
+    /**
+     * 보호 청산 주문 (전량 시장가 매도, 주문 스레드). 손절은 체결 속도가 우선이므로 슬리피지 제한을 적용하지 않는다.
+     * 발동 시 청산 경계는 해제되며, 매도가 일부만 체결되면 포지션 갱신으로 남은 수량에 다시 설정된다.
+     * 주문이 접수되지 않으면(잔고 0으로 보임, 최소 주문금액 미만, 주문 실패/오류) 경계를 다시 설정해 다음 틱에 재시도한다.
+     */
+    void executeProtectiveExit(int id, String market, int exit, double triggerPrice) {
+        if (!host.isActive(id)) {
+            return;
+        }
+        double entry = lastBuyPrice[id];
+        String reasonName = ProtectiveExits.reasonName(exit);
+        Decision.Reason reason = switch (exit) {
+            case ProtectiveExits.STOP_LOSS -> Decision.Reason.STOP_LOSS;
+            case ProtectiveExits.TAKE_PROFIT -> Decision.Reason.TAKE_PROFIT;
+            default -> Decision.Reason.TRAILING_STOP;
+        };
+        boolean accepted = false;
+        try {
+            double balance = upbitService.getBalance(marketRegistry.baseCurrency(id));
+            if (balance <= 0) {
+                return;
+            }
+            MarketRules rules = upbitService.marketRules(market);
+            if (!rules.sellable(balance, triggerPrice)) {
+                host.notify("ℹ️ " + reasonName + " 발동: " + market + " - 잔량이 최소 주문금액(" +
+                        String.format("%.0f", rules.askMinTotal()) + "원) 미만이라 매도하지 않습니다. (수량: " + balance + ")", "INFO", market);
+                return;
+            }
+            tradeJournal.append(new JournalEntry.DecisionEntry(System.currentTimeMillis(), market, Decision.Action.SELL,
+                    reason, triggerPrice, entry, balance));
+            OrderResultDto result = upbitService.sellMarketOrder(market, balance);
+            journalOrder(market, false, balance, result);
+
+            double changePct = entry > 0 ? (triggerPrice - entry) / entry * 100 : 0.0;
+            if (result != null && result.success()) {
+                accepted = true;
+                host.notify("🛑 " + reasonName + " 발동: " + market + " - 현재가 " + triggerPrice + " (매수가 대비 " +
+                        String.format("%+.2f", changePct) + "%), 매도수량: " + balance +
+                        expectedFillText(orderBook.expectedSellPrice(id, balance)), "SELL", market);
+            } else {
+                host.notify("❌ " + reasonName + " 매도 실패 (" + market + "): " +
+                        (result == null ? "응답 없음" : result.error()), "ERROR", market);
+            }
+        } catch (Exception e) {
+            String errorMessage = "❌ " + reasonName + " 처리 오류 (" + market + "): " + e.getMessage();
+            host.notify(errorMessage, "ERROR", market);
+            System.err.println(logPrefix + errorMessage);
+        } finally {
+            if (!accepted && entry > 0) {
+                // 발동으로 해제된 경계 복구 (그사이 포지션이 바뀌었으면 그 값을 따른다)
+                decisionExecutor.execute(() -> {
+                    if (lastBuyPrice[id] == entry && host.isActive(id)) {
+                        setLastBuyPrice(id, entry);
+                    }
+                });
+            }
+        }
+    }
+
+    // ===== 주문/알림 큐 =====
+
+    /**
+     * 주문/알림 큐에 넘기는 판단 결과 (decision 객체는 판단 스레드에서 재사용하므로 값을 복사해 둔다)
+     */
+    private record DecisionTask(int id, String market, Decision.Reason reason, double indicator, double threshold,
+                                double amount, boolean signal, double balance, double krwBalance, long decidedAt) {
+    }
+
+    /**
+     * 전략 판단 결과를 주문/알림 큐에 등록한다.
+     * 매도 신호는 보호 청산과 같은 최우선 등급(대기 중인 보호 청산은 대체하지 않음), 매수 신호는 그다음,
+     * 지표/상태 알림은 가장 낮은 등급이며 큐가 밀리면 알림부터 버려진다.
+     */
+    private void executeDecision(int id, String market, double balance, double krwBalance) {
+        if (Double.isNaN(decision.indicator())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        DecisionTask task = new DecisionTask(id, market, decision.reason(), decision.indicator(), decision.threshold(),
+                decision.amount(), decision.isSignal(), balance, krwBalance, now);
+        decisionQueue.offer(id, DecisionQueue.INFO, () -> notifyDecision(task), now);
+        switch (task.reason()) {
+            case BUY_SIGNAL -> decisionQueue.offer(id, DecisionQueue.BUY, () -> submitBuy(task), now);
+            case SELL_SIGNAL -> decisionQueue.offer(id, DecisionQueue.EXIT, () -> submitSell(task), now);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 판단 결과 알림 (지표값, 신호 시 상태, 주문하지 않은 사유)
+     */
+    private void notifyDecision(DecisionTask task) {
+        int id = task.id();
+        String market = task.market();
+        String name = strategy.name();
+        host.notify("📊 " + market + " " + name + ": " + String.format("%.2f", task.indicator()) +
+                host.indicatorDetails(id), "INFO", market);
+
+        if (task.signal()) {
+            host.notify("🔍 " + market + " 상태 - " + name + ": " + String.format("%.2f", task.indicator()) +
+                    ", 보유량: " + task.balance() + ", KRW잔액: " + String.format("%.0f", task.krwBalance()) +
+                    host.signalDetails(id), "INFO", market);
+        }
+
+        int minOrderKrw = tradingSettings.current().minOrderKrw();
+        switch (task.reason()) {
+            case BELOW_MIN_ORDER -> host.notify("⚠️ " + market + ": 매수금액이 최소주문금액(" + minOrderKrw +
+                    "원) 미만입니다. (계산된 금액: " + String.format("%.0f", task.amount()) + "원)", "WARNING", market);
+            case INSUFFICIENT_KRW -> host.notify("⚠️ " + market + ": KRW 잔액이 부족합니다. (현재: " +
+                    String.format("%.0f", task.krwBalance()) + "원, 필요: " + minOrderKrw + "원 이상)", "WARNING", market);
+            case ALREADY_HOLDING -> host.notify("ℹ️ " + market + ": 이미 보유 중입니다. (보유량: " + task.balance() + ")",
+                    "INFO", market);
+            case NO_POSITION -> host.notify("ℹ️ " + market + ": 보유하지 않아 매도할 수 없습니다.", "INFO", market);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 매수 신호 주문. 큐에서 오래 기다린 매수는 가격이 이미 움직였을 수 있으므로 보내지 않는다.
+     */
+    private void submitBuy(DecisionTask task) {
+        int id = task.id();
+        String market = task.market();
+        if (!host.isActive(id)) {
+            return;
+        }
+        long waited = System.currentTimeMillis() - task.decidedAt();
+        if (waited > STALE_BUY_MS) {
+            host.notify("⏭ " + market + ": 매수 신호가 " + waited + "ms 대기해 주문을 보내지 않습니다.", "WARNING", market);
+            return;
+        }
+        double buyAmount = capBuyAmount(id, market, task.amount(), tradingSettings.current());
+        if (buyAmount <= 0) {
+            return;
+        }
+        OrderResultDto result = upbitService.buyMarketOrder(market, buyAmount);
+        journalOrder(market, true, buyAmount, result);
+        if (result == null || !result.success()) {
+            host.notify("❌ 매수 주문 실패 (" + market + "): " + (result == null ? "응답 없음" : result.error()), "ERROR", market);
+            return;
+        }
+        host.notify("🟢 매수 신호 (" + strategy.name() + " " + String.format("%.2f", task.indicator()) + " ≤ " +
+                task.threshold() + "): " + market + " - 매수금액: " + String.format("%.0f", buyAmount) + " KRW" +
+                expectedFillText(orderBook.expectedBuyPrice(id, buyAmount)), "BUY", market);
+    }
+
+    /**
+     * 매도 신호 주문 (보호 청산과 같은 최우선 등급)
+     */
+    private void submitSell(DecisionTask task) {
+        int id = task.id();
+        String market = task.market();
+        if (!host.isActive(id)) {
+            return;
+        }
+        double sellVolume = capSellVolume(id, market, task.amount(), tradingSettings.current());
+        if (sellVolume <= 0) {
+            return;
+        }
+        OrderResultDto result = upbitService.sellMarketOrder(market, sellVolume);
+        journalOrder(market, false, sellVolume, result);
+        if (result == null || !result.success()) {
+            host.notify("❌ 매도 주문 실패 (" + market + "): " + (result == null ? "응답 없음" : result.error()), "ERROR", market);
+            return;
+        }
+        host.notify("🔴 매도 신호 (" + strategy.name() + " " + String.format("%.2f", task.indicator()) + " ≥ " +
+                task.threshold() + "): " + market +
+                (sellVolume < task.amount() ? " - 매도수량: " + sellVolume + " / " + task.amount() : "") +
+                expectedFillText(orderBook.expectedSellPrice(id, sellVolume)), "SELL", market);
+    }
+
+    /**
+     * 호가 깊이 기준 매수금액 제한. 최우선 매도호가 대비 maxSlippagePct% 안의 호가로 채울 수 있는 금액까지만 매수한다.
+     *
+     * @return 주문할 금액, 0이면 주문하지 않음
+     */
+    private double capBuyAmount(int id, String market, double amount, TradingSettingsDto settings) {
+        if (settings.maxSlippagePct() <= 0 || !orderBook.hasBook(id)) {
+            return amount;
+        }
+        double cap = orderBook.maxBuyKrw(id, settings.maxSlippagePct());
+        if (amount <= cap) {
+            return amount;
+        }
+        if (cap < Math.max(settings.minOrderKrw(), upbitService.marketRules(market).bidMinTotal())) {
+            host.notify("⚠️ " + market + ": 호가 깊이 부족으로 매수를 보류합니다. (슬리피지 " +
+                    settings.maxSlippagePct() + "% 이내 매수 가능 금액: " + String.format("%.0f", cap) + "원)", "WARNING", market);
+            return 0;
+        }
+        host.notify("ℹ️ " + market + ": 호가 깊이 기준 매수금액 조정 (" +
+                String.format("%.0f", amount) + " → " + String.format("%.0f", cap) + " KRW)", "INFO", market);
+        return cap;
+    }
+
+    /**
+     * 호가 깊이 기준 매도수량 제한. 남은 수량은 다음 신호에서 다시 매도한다.
+     *
+     * @return 주문할 수량, 0이면 주문하지 않음
+     */
+    private double capSellVolume(int id, String market, double volume, TradingSettingsDto settings) {
+        if (settings.maxSlippagePct() <= 0 || !orderBook.hasBook(id)) {
+            return volume;
+        }
+        double cap = orderBook.maxSellVolume(id, settings.maxSlippagePct());
+        if (volume <= cap) {
+            return volume;
+        }
+        double expectedPrice = orderBook.expectedSellPrice(id, cap);
+        if (Double.isNaN(expectedPrice) || !upbitService.marketRules(market).sellable(cap, expectedPrice)) {
+            host.notify("⚠️ " + market + ": 호가 깊이 부족으로 매도를 보류합니다. (슬리피지 " +
+                    settings.maxSlippagePct() + "% 이내 매도 가능 수량: " + cap + ")", "WARNING", market);
+            return 0;
+        }
+        return cap;
+    }
+
+    static String expectedFillText(double expectedPrice) {
+        return Double.isNaN(expectedPrice) ? "" : " (예상 체결가: " + String.format("%.2f", expectedPrice) + ")";
+    }
+
+    /**
+     * 주문/알림 큐 소비 스레드
+     */
+    private void dispatchOrders() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Runnable task;
+            try {
+                task = decisionQueue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Exception e) {
+                System.err.println("❌ " + logPrefix + "주문/알림 작업 오류: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 아직 보내지 않은 주문/알림을 버린다 (자동매매 중지)
+     */
+    public void clearOrders() {
+        decisionQueue.clear();
+    }
+
+    /**
+     * 주문/알림 큐 상태 (등급별 대기 수, 버린/대체된 작업 수, 청산·매도 대기 시간)
+     */
+    public DecisionQueueStatsDto queueStats() {
+        return new DecisionQueueStatsDto(
+                decisionQueue.depth(DecisionQueue.EXIT), decisionQueue.depth(DecisionQueue.BUY), decisionQueue.depth(DecisionQueue.INFO),
+                decisionQueue.executed(DecisionQueue.EXIT), decisionQueue.executed(DecisionQueue.BUY), decisionQueue.executed(DecisionQueue.INFO),
+                decisionQueue.superseded(), decisionQueue.shed(), decisionQueue.lastExitWaitMs(), decisionQueue.maxExitWaitMs());
+    }
+
+    // ===== 저널 =====
+
+    private void journalDecision(String market) {
+        tradeJournal.append(new JournalEntry.DecisionEntry(System.currentTimeMillis(), market, decision.action(),
+                decision.reason(), decision.indicator(), decision.threshold(), decision.amount()));
+    }
+
+    /**
+     * 주문 접수 결과를 저널에 남기고 Host에 알린다
+     */
+    private void journalOrder(String market, boolean buy, double amount, OrderResultDto result) {
+        String uuid = result != null && result.uuid() != null ? result.uuid() : "";
+        String error = result == null ? "응답 없음" : result.error() != null ? result.error() : "";
+        tradeJournal.append(new JournalEntry.OrderEntry(System.currentTimeMillis(), market, buy, amount, uuid, error));
+        host.onOrderSubmitted(market);
+    }
+
+    // ===== 포지션 =====
+
+    /**
+     * 매수 단가 갱신과 함께 보호 청산 경계를 다시 계산한다 (판단 스레드, 0: 미보유, 청산 해제)
+     */
+    public void setLastBuyPrice(int id, double price) {
+        lastBuyPrice[id] = price;
+        protectiveExits.arm(id, price);
+    }
+
+    public double lastBuyPrice(int id) {
+        return lastBuyPrice[id];
+    }
+
+    /**
+     * 거래 저널에서 포지션을 복구해 매수 단가를 채운다 (판단 스레드, REST 호출 없음).
+     * 저널 체결 기준으로 보유 중이면 저널 평균가를, 아니면 fallbackBuyPrices(이전 실행이 저장한 상태 스냅샷 등)의 값을 쓴다.
+     * 둘 중 하나라도 보유로 보면 보유로 복구한다 (잘못 보유로 보면 청산 시 잔고 0이라 주문하지 않지만,
+     * 잘못 미보유로 보면 손절이 빠지므로).
+     * 저널에도 fallback에도 없는 마켓(처음 매매하는 마켓, 또는 저널을 읽지 못한 경우 전체)만 계정 조회 API 1회로 초기화한다.
+     * 봇을 처음 켜기 전부터 보유했던 코인은 저널만으로는 알 수 없기 때문이다.
+     */
+    public void restorePositions(Collection<String> targets, Map<String, Double> fallbackBuyPrices) {
+        Arrays.fill(lastBuyPrice, 0.0);
+        protectiveExits.reset();
+        Map<String, JournalState.Position> positions;
+        try {
+            positions = tradeJournal.recover();
+        } catch (IOException e) {
+            System.err.println("⚠️ " + logPrefix + "거래 저널 복구 실패, 계좌 조회로 초기화합니다: " + e.getMessage());
+            syncPositions(targets);
+            return;
+        }
+
+        List<String> missing = new ArrayList<>();
+        Map<String, Double> restored = new TreeMap<>();
+        for (String market : targets) {
+            JournalState.Position position = positions.get(market);
+            Double fallback = fallbackBuyPrices.get(market);
+            double avgPrice;
+            if (position != null && position.volume() > 0) {
+                avgPrice = position.avgPrice();
+            } else if (fallback != null) {
+                avgPrice = fallback;
+            } else if (position != null) {
+                avgPrice = 0.0; // 저널상 매도 완료 (또는 판단만 있고 체결 없음)
+            } else {
+                missing.add(market);
+                continue;
+            }
+            if (avgPrice > 0) {
+                setLastBuyPrice(marketRegistry.idOf(market), avgPrice);
+                restored.put(market, avgPrice);
+            }
+        }
+        if (!restored.isEmpty()) {
+            System.out.println("📒 " + logPrefix + "저널/스냅샷에서 보유 코인 복구: " + restored);
+        }
+        if (!missing.isEmpty()) {
+            syncPositions(missing);
+        }
+    }
+
+    /**
+     * 계좌 조회 기준으로 지정한 마켓의 매수 단가와 보호 청산 경계를 갱신한다 (판단 스레드, 미보유 마켓은 해제)
+     */
+    public void syncPositions(Collection<String> targets) {
+        try {
+            applyPositions(targets, upbitService.getAccounts());
+        } catch (Exception e) {
+            System.err.println("❌ " + logPrefix + "보유 코인 동기화 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 이미 조회한 계좌 목록으로 지정한 마켓의 매수 단가와 보호 청산 경계를 갱신한다 (판단 스레드, 미보유 마켓은 해제)
+     */
+    public void applyPositions(Collection<String> targets, List<AccountDto> accounts) {
+        Map<String, Double> synced = new TreeMap<>();
+        for (AccountDto account : accounts) {
+            int id = marketRegistry.idOf(QUOTE_KRW, account.getCurrency()); // 예: BTC → KRW-BTC
+            if (id < 0 || !targets.contains(marketRegistry.codeOf(id))) {
+                continue;
+            }
+            try {
+                if (account.getBalanceAsDouble() > 0) {
+                    synced.put(marketRegistry.codeOf(id), Double.parseDouble(account.getAvgBuyPrice()));
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("⚠️ " + logPrefix + "AccountDto 숫자 변환 실패: " + account);
+            }
+        }
+        for (String market : targets) {
+            int id = marketRegistry.idOf(market);
+            if (id < 0 || !host.isActive(id)) continue;
+            setLastBuyPrice(id, synced.getOrDefault(market, 0.0));
+        }
+        System.out.println("🔄 " + logPrefix + "보유 코인 동기화 완료: " + synced);
+    }
+
+    // ===== 판단 상태 =====
+
+    /**
+     * 마지막 판단 지표값 (판단 전이면 NaN)
+     */
+    public double lastIndicator(int id) {
+        return lastIndicator[id];
+    }
+
+    public long lastProcessedCandleTime(int id) {
+        return lastProcessedCandleTime[id];
+    }
+
+    public long lastCheckTime(int id) {
+        return lastCheckTime[id];
+    }
+
+    /**
+     * 이전 실행의 판단 상태를 복원한다 (상태 스냅샷, 판단 스레드)
+     *
+     * @param indicator 설정이 달라 지표를 버려야 하면 NaN
+     */
+    public void restoreState(int id, long processedCandleTime, long checkTime, double indicator) {
+        lastProcessedCandleTime[id] = processedCandleTime;
+        lastCheckTime[id] = checkTime;
+        lastIndicator[id] = indicator;
+    }
+
+    /**
+     * 모든 마켓의 판단 상태(쿨다운, 지표, 마지막 판단 봉)를 비운다 (판단 스레드)
+     */
+    public void resetState() {
+        Arrays.fill(lastCheckTime, 0);
+        Arrays.fill(lastIndicator, Double.NaN);
+        Arrays.fill(lastProcessedCandleTime, 0);
+    }
+
+    /**
+     * 지표만 비운다 (판단 스레드, 지표 기간이 바뀐 경우 다음 판단부터 새 기간으로 계산)
+     */
+    public void resetIndicators() {
+        Arrays.fill(lastIndicator, Double.NaN);
+    }
+
+    /**
+     * 매매 대상에서 빠진 마켓의 예약/포지션/판단 상태를 정리한다 (판단 스레드)
+     */
+    public void forget(int id) {
+        decisionWheel.cancel(id);
+        setLastBuyPrice(id, 0.0);
+        lastCheckTime[id] = 0;
+        lastIndicator[id] = Double.NaN;
+        lastProcessedCandleTime[id] = 0;
+    }
+}
@@ -33,23 +33,39 @@ public class RsiCalculator {
      * @return RSI 값 (0-100)
      */
     public static double calculateRsi(List<Double> prices, int period) {
-        if (prices == null || prices.size() < period + 1) {
+        int size = prices == null ? 0 : prices.size();
+        double[] closes = new double[size];
+        for (int i = 0; i < size; i++) {
+            closes[i] = prices.get(i);
+        }
+        return calculateRsi(closes, size, period);
+    }
+
+    /**
+     * 종가 배열로 RSI 계산 (객체 할당 없음)
+     *
+     * @param prices 종가 배열 (최신순, 앞에서부터 size개 사용)
+     * @param size 사용할 가격 개수
+     * @param period RSI 계산 기간
+     * @return RSI 값 (0-100)
+     */
+    public static double calculateRsi(double[] prices, int size, int period) {
+        if (size < period + 1) {
             throw new IllegalArgumentException(
-                "RSI 계산을 위해서는 최소 " + (period + 1) + "개의 가격 데이터가 필요합니다. 현재: " + 
-                (prices == null ? 0 : prices.size())
+                "RSI 계산을 위해서는 최소 " + (period + 1) + "개의 가격 데이터가 필요합니다. 현재: " + size
             );
         }
         
         // prices는 최신순(index 0이 가장 최근)이므로, 시간 순방향(과거→현재)으로
-        // 변화량을 처리하려면 리스트 뒤쪽(과거)부터 앞쪽(최신)으로 순회해야 한다.
-        int n = prices.size();
+        // 변화량을 처리하려면 배열 뒤쪽(과거)부터 앞쪽(최신)으로 순회해야 한다.
+        int n = size;
 
         // 초기 평균 상승폭/하락폭 계산 (가장 오래된 period 개의 변화량 사용)
         double avgGain = 0.0;
         double avgLoss = 0.0;
 
         for (int i = n - 2; i >= n - 1 - period; i--) {
-            double change = prices.get(i) - prices.get(i + 1); // 이후 시점 - 이전 시점
+            double change = prices[i] - prices[i + 1]; // 이후 시점 - 이전 시점
             if (change > 0) {
                 avgGain += change;
             } else {
@@ -62,7 +78,7 @@ public class RsiCalculator {
 
         // 나머지 데이터를 과거→현재 순서로 적용하며 지수 이동 평균 계산
         for (int i = n - 2 - period; i >= 0; i--) {
-            double change = prices.get(i) - prices.get(i + 1);
+            double change = prices[i] - prices[i + 1];
             double gain = change > 0 ? change : 0.0;
             double loss = change < 0 ? Math.abs(change) : 0.0;
 
@@ -82,4 +98,3 @@ public class RsiCalculator {
         return rsi;
     }
 }
-
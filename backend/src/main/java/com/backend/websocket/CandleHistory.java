@@ -0,0 +1,106 @@
+package com.backend.websocket;
+
+import com.backend.market.CandleSeries;
+import com.backend.service.UpbitService;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 마켓별 확정봉 히스토리 캐시.
+ * 판단할 때마다 candleCount개를 전부 다시 조회하지 않고, 마지막으로 보관한 확정봉 이후의 봉만 조회해 병합한다.
+ * WebSocket 재연결 후에는 끊겨 있던 구간만큼만 백필된다.
+ * 증분 조회 계산(fetchCount)은 마켓 스캐너에서도 같이 사용하고, 트레이딩 세션은 SharedCandleFeed로 봉 단위별 인스턴스를 공유한다.
+ * 확정봉은 CandleSeries 컬럼으로 보관하고 병합도 제자리에서 하므로 봉마다 객체를 만들지 않는다.
+ */
+public class CandleHistory {
+
+    private final UpbitService upbitService;
+
+    // 마켓별 확정봉 (최신순, index 0이 가장 최근 확정봉). 모든 접근은 synchronized
+    private final Map<String, CandleSeries> confirmed = new HashMap<>();
+
+    public CandleHistory(UpbitService upbitService) {
+        this.upbitService = upbitService;
+    }
+
+    /**
+     * 최신 확정봉까지 히스토리를 갱신하고 확정봉(최신순)을 out에 복사한다.
+     * 새 확정봉이 생길 시간이 아직 지나지 않았다면 REST 조회 없이 캐시를 그대로 복사한다.
+     *
+     * @return out (확정봉이 없으면 비어 있음)
+     */
+    public synchronized CandleSeries refresh(String market, int candleMinutes, int candleCount, long now, CandleSeries out) {
+        CandleSeries cached = confirmed.get(market);
+        int fetchCount = fetchCount(cached, candleMinutes, candleCount, now);
+        if (fetchCount > 0) {
+            // 진행 중인 봉은 조회 결과에서 이미 제외됨
+            CandleSeries fresh = upbitService.getConfirmedMinuteCandles(market, candleMinutes, fetchCount);
+            if (fresh.size() > 0) {
+                if (fetchCount >= candleCount || cached == null) {
+                    cached = fresh;
+                    confirmed.put(market, fresh);
+                } else {
+                    cached.mergeNewer(fresh, candleCount - 1);
+                }
+            }
+        }
+        if (cached == null) {
+            out.clear();
+        } else {
+            out.copyFrom(cached);
+        }
+        return out;
+    }
+
+    public synchronized void remove(String market) {
+        confirmed.remove(market);
+    }
+
+    /**
+     * 워밍 상태 스냅샷용 마켓별 확정봉 복사본 (최신순)
+     */
+    public synchronized CandleSeries get(String market) {
+        CandleSeries cached = confirmed.get(market);
+        CandleSeries copy = new CandleSeries(cached != null ? cached.size() : 0);
+        if (cached != null) {
+            copy.copyFrom(cached);
+        }
+        return copy;
+    }
+
+    /**
+     * 스냅샷에서 복원한 확정봉을 캐시에 넣는다 (다음 refresh는 그 이후 봉만 조회)
+     */
+    synchronized void restore(String market, CandleSeries candles) {
+        if (candles.size() > 0) {
+            confirmed.put(market, candles);
+        }
+    }
+
+    /**
+     * 조회해야 할 캔들 개수 (진행 중인 봉 포함). 0이면 새 확정봉이 없으므로 조회할 필요가 없다.
+     */
+    public static int fetchCount(CandleSeries cached, int candleMinutes, int candleCount, long now) {
+        if (cached == null || cached.size() == 0) {
+            return candleCount;
+        }
+        long unitMs = candleMinutes * 60_000L;
+        long lastConfirmedStart = cached.startTime(0);
+        long currentStart = now - Math.floorMod(now, unitMs);
+
+        // 마지막 확정봉 이후 시작된 봉 수 (진행 중인 봉 포함)
+        long newer = (currentStart - lastConfirmedStart) / unitMs;
+        if (newer <= 1) {
+            return 0;
+        }
+        // 기존 최신 확정봉과 1개 겹치게 조회해 누락 없이 병합한다
+        return (int) Math.min(candleCount, newer + 1);
+    }
+
+    public static long toEpochMillis(String candleDateTimeUtc) {
+        return LocalDateTime.parse(candleDateTimeUtc).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
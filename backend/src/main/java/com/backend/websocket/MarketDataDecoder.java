@@ -0,0 +1,163 @@
+package com.backend.websocket;
+
+import com.backend.market.MarketRegistry;
+import com.backend.market.OrderBook;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 업비트 WebSocket 바이너리 프레임 디코더.
+ * JsonNode 트리나 String을 만들지 않고 스트리밍 파서로 필요한 필드만 읽는다.
+ * 마켓 코드는 파서 버퍼의 문자 배열 그대로 MarketRegistry에서 id로 변환한다.
+ * 한 프레임에 개행으로 구분된 여러 메시지가 들어와도 순서대로 처리한다.
+ */
+class MarketDataDecoder {
+
+    interface Handler {
+        void onTicker(int marketId, double tradePrice, long tradeTimestamp);
+
+        /**
+         * 호가 스냅샷 (배열은 디코더가 재사용하므로 호출 중에만 유효)
+         */
+        default void onOrderbook(int marketId, long timestamp, double[] asks, double[] askSizes,
+                                 double[] bids, double[] bidSizes, int levels) {
+        }
+
+        /**
+         * 체결 1건 (buyerInitiated: ask_bid = BID)
+         */
+        default void onTrade(int marketId, long tradeTimestamp, double tradePrice, double tradeVolume,
+                             boolean buyerInitiated) {
+        }
+    }
+
+    private static final int TYPE_UNKNOWN = 0;
+    private static final int TYPE_TICKER = 1;
+    private static final int TYPE_ORDERBOOK = 2;
+    private static final int TYPE_TRADE = 3;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final MarketRegistry marketRegistry;
+
+    // 호가 단계 디코딩용 재사용 버퍼
+    private final double[] askPrices = new double[OrderBook.MAX_LEVELS];
+    private final double[] askSizes = new double[OrderBook.MAX_LEVELS];
+    private final double[] bidPrices = new double[OrderBook.MAX_LEVELS];
+    private final double[] bidSizes = new double[OrderBook.MAX_LEVELS];
+
+    MarketDataDecoder(MarketRegistry marketRegistry) {
+        this.marketRegistry = marketRegistry;
+    }
+
+    /**
+     * @return 디코딩한 메시지 수
+     */
+    int decode(byte[] buf, int length, Handler handler) throws IOException {
+        int count = 0;
+        try (JsonParser parser = jsonFactory.createParser(buf, 0, length)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    decodeMessage(parser, handler);
+                    count++;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return count;
+    }
+
+    private void decodeMessage(JsonParser parser, Handler handler) throws IOException {
+        int type = TYPE_UNKNOWN;
+        int marketId = -1;
+        double tradePrice = Double.NaN;
+        long tradeTimestamp = 0L;
+        long timestamp = 0L;
+        int levels = 0;
+        double tradeVolume = Double.NaN;
+        boolean buyerInitiated = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName(); // 필드명은 파서가 캐싱한 String을 재사용
+            parser.nextToken();
+            switch (field) {
+                case "type" -> type = textEquals(parser, "ticker") ? TYPE_TICKER
+                        : textEquals(parser, "orderbook") ? TYPE_ORDERBOOK
+                        : textEquals(parser, "trade") ? TYPE_TRADE : TYPE_UNKNOWN;
+                case "code" -> marketId = marketRegistry.idOf(
+                        parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                case "trade_price" -> tradePrice = parser.getDoubleValue();
+                case "trade_timestamp" -> tradeTimestamp = parser.getLongValue();
+                case "trade_volume" -> tradeVolume = parser.getDoubleValue();
+                case "ask_bid" -> buyerInitiated = textEquals(parser, "BID");
+                case "timestamp" -> timestamp = parser.getLongValue();
+                case "orderbook_units" -> levels = decodeOrderbookUnits(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (marketId < 0) {
+            return;
+        }
+        if (type == TYPE_TICKER && !Double.isNaN(tradePrice)) {
+            handler.onTicker(marketId, tradePrice,
+                    tradeTimestamp > 0 ? tradeTimestamp : System.currentTimeMillis());
+        } else if (type == TYPE_ORDERBOOK && levels > 0) {
+            handler.onOrderbook(marketId, timestamp > 0 ? timestamp : System.currentTimeMillis(),
+                    askPrices, askSizes, bidPrices, bidSizes, levels);
+        } else if (type == TYPE_TRADE && !Double.isNaN(tradePrice) && !Double.isNaN(tradeVolume)) {
+            handler.onTrade(marketId, tradeTimestamp > 0 ? tradeTimestamp : System.currentTimeMillis(),
+                    tradePrice, tradeVolume, buyerInitiated);
+        }
+    }
+
+    /**
+     * orderbook_units 배열을 재사용 버퍼에 디코딩한다.
+     *
+     * @return 디코딩한 호가 단계 수
+     */
+    private int decodeOrderbookUnits(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return 0;
+        }
+        int level = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (level >= OrderBook.MAX_LEVELS) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "ask_price" -> askPrices[level] = parser.getDoubleValue();
+                    case "ask_size" -> askSizes[level] = parser.getDoubleValue();
+                    case "bid_price" -> bidPrices[level] = parser.getDoubleValue();
+                    case "bid_size" -> bidSizes[level] = parser.getDoubleValue();
+                    default -> parser.skipChildren();
+                }
+            }
+            level++;
+        }
+        return level;
+    }
+
+    private static boolean textEquals(JsonParser parser, String expected) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING || parser.getTextLength() != expected.length()) {
+            return false;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        for (int i = 0; i < expected.length(); i++) {
+            if (chars[offset + i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
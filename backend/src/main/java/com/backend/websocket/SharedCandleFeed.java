@@ -0,0 +1,75 @@
+package com.backend.websocket;
+
+import com.backend.market.CandleSeries;
+import com.backend.service.UpbitService;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 기본 세션과 추가 트레이딩 세션이 공유하는 확정봉 캐시 (봉 단위별 CandleHistory 하나).
+ * 같은 마켓/봉 단위를 쓰는 세션이 여럿이어도 새 봉은 한 번만 조회하고, 나머지 세션은 캐시를 읽는다.
+ * 봉 단위가 바뀌면 다른 CandleHistory를 쓰고, 더 긴 히스토리가 필요해지면 해당 마켓만 다시 전체 조회하므로 세션이 캐시를 비울 필요는 없다.
+ * 캔들 조회는 인증이 필요 없으므로 기본 UpbitService로 조회한다.
+ */
+@Component
+public class SharedCandleFeed {
+
+    private final UpbitService upbitService;
+    private final Map<Integer, CandleHistory> histories = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> candleCounts = new ConcurrentHashMap<>(); // 봉 단위별 지금까지 요청된 최대 개수
+    private final Map<String, Integer> marketCounts = new ConcurrentHashMap<>();  // 마켓 캐시를 채울 때 사용한 개수
+
+    public SharedCandleFeed(UpbitService upbitService) {
+        this.upbitService = upbitService;
+    }
+
+    /**
+     * 확정봉 (최신순, 최대 candleCount - 1개)을 out에 채운다. 캐시에 새로 마감된 봉이 없을 때만 REST로 증분 조회한다.
+     *
+     * @return out
+     */
+    public CandleSeries confirmed(String market, int candleMinutes, int candleCount, long now, CandleSeries out) {
+        CandleHistory history = history(candleMinutes);
+        int sharedCount = candleCounts.merge(candleMinutes, candleCount, Math::max);
+
+        // 개수 기록 → 캐시 비우기 → 조회를 한 번에 처리해, 다른 세션 스레드가 그사이 짧은 개수로 다시 채우지 못하게 한다
+        synchronized (history) {
+            Integer previousCount = marketCounts.put(candleMinutes + ":" + market, sharedCount);
+            if (previousCount != null && previousCount < sharedCount) {
+                history.remove(market); // 더 긴 히스토리를 요구하는 세션이 생긴 경우 한 번 전체 조회
+            }
+            history.refresh(market, candleMinutes, sharedCount, now, out);
+        }
+        out.truncate(candleCount - 1);
+        return out;
+    }
+
+    /**
+     * 워밍 상태 스냅샷용 마켓별 확정봉 복사본 (최신순)
+     */
+    public CandleSeries get(String market, int candleMinutes) {
+        return history(candleMinutes).get(market);
+    }
+
+    /**
+     * 스냅샷에서 복원한 확정봉(candleCount - 1개 이하)을 캐시에 넣는다.
+     * 그사이 다른 세션이 이미 조회해 채운 마켓은 그대로 둔다 (조회한 값이 더 최신이므로).
+     */
+    public void restore(String market, int candleMinutes, int candleCount, CandleSeries candles) {
+        CandleHistory history = history(candleMinutes);
+        int sharedCount = candleCounts.merge(candleMinutes, candleCount, Math::max);
+        synchronized (history) {
+            if (history.get(market).size() > 0 || candleCount < sharedCount) {
+                return; // 더 긴 히스토리를 쓰는 세션이 있으면 짧은 스냅샷은 넣지 않는다
+            }
+            marketCounts.put(candleMinutes + ":" + market, sharedCount);
+            history.restore(market, candles);
+        }
+    }
+
+    private CandleHistory history(int candleMinutes) {
+        return histories.computeIfAbsent(candleMinutes, m -> new CandleHistory(upbitService));
+    }
+}
@@ -0,0 +1,275 @@
+package com.backend.websocket;
+
+import com.backend.config.UpbitProperties;
+import com.backend.dto.OpenOrderDto;
+import com.backend.journal.JournalEntry;
+import com.backend.journal.TradeJournal;
+import com.backend.service.AccountView;
+import com.backend.service.NotificationService;
+import com.backend.service.UpbitService;
+import com.backend.util.UpbitJwtProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 업비트 private WebSocket (myOrder, myAsset) 클라이언트.
+ * 연결 시 JWT로 인증하고, 거래소가 보내주는 잔고/주문 변경을 AccountView에 반영한다.
+ * 자동매매 시작/중지에 맞춰 열고 닫으며, 끊기면 시세 WebSocket과 같은 백오프로 재연결한다.
+ */
+@Component
+public class UpbitPrivateWebSocketClient {
+
+    private static final long PING_INTERVAL_SECONDS = 60; // 업비트는 120초 동안 메시지가 없으면 연결을 끊는다
+
+    private final UpbitJwtProvider jwtProvider;
+    private final URI privateWebSocketUri;
+    private final UpbitService upbitService;
+    private final AccountView accountView;
+    private final NotificationService notificationService;
+    private final TradeJournal tradeJournal;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicInteger reconnectAttempts = new AtomicInteger();
+    private volatile WebSocket webSocket;
+    private volatile boolean running = false;
+    private ScheduledFuture<?> pingTask;
+    private final List<BiConsumer<String, Double>> positionListeners = new CopyOnWriteArrayList<>();
+
+    public UpbitPrivateWebSocketClient(UpbitProperties props, UpbitService upbitService,
+                                       AccountView accountView, NotificationService notificationService,
+                                       TradeJournal tradeJournal) {
+        this.jwtProvider = new UpbitJwtProvider(props.getAccessKey(), props.getSecretKey());
+        this.privateWebSocketUri = URI.create(props.getWebsocketUrl() + "/private");
+        this.upbitService = upbitService;
+        this.accountView = accountView;
+        this.notificationService = notificationService;
+        this.tradeJournal = tradeJournal;
+    }
+
+    /**
+     * 체결로 포지션이 바뀌었을 때 (마켓, 매수평균가) 알림. 전량 매도되면 매수평균가는 0.
+     */
+    public void addPositionListener(BiConsumer<String, Double> listener) {
+        positionListeners.add(listener);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        reconnectAttempts.set(0);
+        open();
+        pingTask = executor.scheduleAtFixedRate(this::ping, PING_INTERVAL_SECONDS, PING_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (pingTask != null) {
+            pingTask.cancel(false);
+        }
+        accountView.setLive(false);
+        WebSocket ws = webSocket;
+        webSocket = null;
+        if (ws != null) {
+            ws.abort();
+        }
+        System.out.println("🔒 private WebSocket 종료");
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        stop();
+        executor.shutdownNow();
+    }
+
+    private void open() {
+        httpClient.newWebSocketBuilder()
+                .header("Authorization", "Bearer " + jwtProvider.createJwt())
+                .buildAsync(privateWebSocketUri, new Listener())
+                .whenComplete((ws, error) -> {
+                    if (error != null) {
+                        System.err.println("❌ private WebSocket 연결 실패: " + error.getMessage());
+                        onConnectionLost();
+                        return;
+                    }
+                    onConnected(ws);
+                });
+    }
+
+    private void onConnected(WebSocket ws) {
+        if (!running) {
+            ws.abort();
+            return;
+        }
+        webSocket = ws;
+        String msg = "[{\"ticket\":\"" + UUID.randomUUID() + "\"},{\"type\":\"myOrder\"},{\"type\":\"myAsset\"}]";
+        ws.sendText(msg, true);
+        reconnectAttempts.set(0);
+
+        // 구독 이후의 변경은 스트림으로 받으므로, 구독 직후 스냅샷 1회로 기준 상태를 맞춘다
+        executor.execute(this::reloadSnapshot);
+        System.out.println("🔐 private WebSocket 연결됨 (myOrder, myAsset)");
+    }
+
+    private void onConnectionLost() {
+        accountView.setLive(false);
+        webSocket = null;
+        if (!running) {
+            return;
+        }
+        long delay = UpbitWebSocketClient.backoffDelayMs(reconnectAttempts.getAndIncrement());
+        System.out.println("🔁 " + delay + "ms 후 private WebSocket 재연결 시도");
+        executor.schedule(() -> {
+            if (running && webSocket == null) {
+                open();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void reloadSnapshot() {
+        try {
+            long mark = accountView.snapshotMark(); // 조회 중 도착한 myAsset 갱신은 스냅샷으로 덮지 않는다
+            accountView.reset(upbitService.getAccounts(), mark);
+            accountView.setLive(running && webSocket != null);
+        } catch (Exception e) {
+            System.err.println("❌ 계좌 스냅샷 조회 실패: " + e.getMessage());
+        }
+    }
+
+    private void ping() {
+        WebSocket ws = webSocket;
+        if (ws != null) {
+            ws.sendPing(ByteBuffer.allocate(0));
+        }
+    }
+
+    void handleMessage(String json) throws Exception {
+        JsonNode node = objectMapper.readTree(json);
+        String type = node.path("type").asText();
+        if ("myAsset".equals(type)) {
+            for (JsonNode asset : node.path("assets")) {
+                accountView.applyAsset(asset.path("currency").asText(),
+                        asset.path("balance").asDouble(), asset.path("locked").asDouble());
+            }
+        } else if ("myOrder".equals(type)) {
+            OpenOrderDto order = new OpenOrderDto(
+                    node.path("uuid").asText(),
+                    node.path("code").asText(),
+                    node.path("ask_bid").asText(),
+                    node.path("order_type").asText(),
+                    node.path("state").asText(),
+                    node.path("price").asDouble(),
+                    node.path("volume").asDouble(),
+                    node.path("remaining_volume").asDouble(),
+                    node.path("executed_volume").asDouble(),
+                    node.path("order_timestamp").asLong(node.path("timestamp").asLong()));
+            accountView.applyOrder(order);
+            // 시장가 매수는 잔량이 남으면 cancel로 끝나므로 체결 수량이 있으면 체결 완료로 본다
+            if ("done".equals(order.state()) || ("cancel".equals(order.state()) && order.executedVolume() > 0)) {
+                onOrderDone(order, node.path("avg_price").asDouble());
+            }
+        }
+    }
+
+    private void onOrderDone(OpenOrderDto order, double avgPrice) {
+        boolean buy = "BID".equals(order.side());
+        tradeJournal.append(new JournalEntry.FillEntry(System.currentTimeMillis(), order.market(), buy,
+                order.executedVolume(), avgPrice));
+        String message = (buy ? "✅ 매수 체결 완료: " : "✅ 매도 체결 완료: ") + order.market() +
+                " - 체결수량: " + order.executedVolume() +
+                (avgPrice > 0 ? ", 평균단가: " + String.format("%.2f", avgPrice) : "");
+        notificationService.add(message, "INFO", order.market());
+        // myAsset에는 매수평균가가 없고 myOrder와 도착 순서도 보장되지 않으므로 스냅샷으로 갱신한 뒤 알린다
+        executor.execute(() -> {
+            reloadSnapshot();
+            publishPosition(order.market());
+        });
+    }
+
+    private void publishPosition(String market) {
+        String currency = market.substring(market.indexOf('-') + 1);
+        AccountView.Holding holding = accountView.holdings().get(currency);
+        double avgBuyPrice = holding != null && holding.balance() + holding.locked() > 0 ? holding.avgBuyPrice() : 0.0;
+        for (BiConsumer<String, Double> listener : positionListeners) {
+            listener.accept(market, avgBuyPrice);
+        }
+    }
+
+    private class Listener implements WebSocket.Listener {
+
+        private final ByteArrayOutputStream binaryBuffer = new ByteArrayOutputStream();
+        private final StringBuilder textBuffer = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+            byte[] chunk = new byte[data.remaining()];
+            data.get(chunk);
+            binaryBuffer.write(chunk, 0, chunk.length);
+            if (last) {
+                dispatch(binaryBuffer.toString(StandardCharsets.UTF_8));
+                binaryBuffer.reset();
+            }
+            return WebSocket.Listener.super.onBinary(webSocket, data, last);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            textBuffer.append(data);
+            if (last) {
+                dispatch(textBuffer.toString());
+                textBuffer.setLength(0);
+            }
+            return WebSocket.Listener.super.onText(webSocket, data, last);
+        }
+
+        private void dispatch(String json) {
+            try {
+                handleMessage(json);
+            } catch (Exception e) {
+                System.err.println("⚠️ private 메시지 파싱 실패: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            System.out.println("🔌 private WebSocket 종료 (" + statusCode + "): " + reason);
+            if (webSocket == UpbitPrivateWebSocketClient.this.webSocket) {
+                onConnectionLost();
+            }
+            return WebSocket.Listener.super.onClose(webSocket, statusCode, reason);
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            System.err.println("❌ private WebSocket 오류: " + error.getMessage());
+            if (webSocket == UpbitPrivateWebSocketClient.this.webSocket) {
+                onConnectionLost();
+            }
+        }
+    }
+}
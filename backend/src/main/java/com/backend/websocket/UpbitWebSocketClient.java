@@ -1,110 +1,706 @@
 package com.backend.websocket;
 
 import com.backend.config.TradingSettings;
-import com.backend.dto.CandleDto;
+import com.backend.config.UpbitProperties;
+import com.backend.diagnostics.ReconnectEvent;
+import com.backend.diagnostics.TickEvent;
+import com.backend.diagnostics.WebSocketFrameEvent;
+import com.backend.dto.DecisionQueueStatsDto;
+import com.backend.dto.OrderBookDto;
+import com.backend.dto.TradeFlowDto;
 import com.backend.dto.TradingSettingsDto;
+import com.backend.journal.TradeJournal;
+import com.backend.market.CandleSeries;
+import com.backend.market.MarketRegistry;
+import com.backend.market.MultiTimeframeBars;
+import com.backend.market.OrderBook;
+import com.backend.market.TickRing;
+import com.backend.market.TradeFlow;
+import com.backend.market.VersionedPrices;
+import com.backend.trading.DecisionPipeline;
+import com.backend.service.EventStreamHub;
 import com.backend.service.NotificationService;
-import com.backend.service.SseEmitterRegistry;
 import com.backend.service.UpbitService;
-import com.backend.util.RsiCalculator;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.backend.strategy.Strategy;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.WebSocket;
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 @Component
 public class UpbitWebSocketClient {
 
     private final UpbitService upbitService;
     private final TradingSettings tradingSettings;
-    private final SseEmitterRegistry sseEmitterRegistry;
+    private final EventStreamHub eventStreamHub;
     private final NotificationService notificationService;
-    private WebSocket webSocket;
+    private final UpbitPrivateWebSocketClient privateWebSocketClient;
+    private final TradeJournal tradeJournal;
+    private final SharedCandleFeed candleFeed;
+    private volatile WebSocket webSocket;
+    private final URI webSocketUri;
 
-    // 마지막 매수 단가 저장 (market → price)
-    private final Map<String, Double> lastBuyPrices = new ConcurrentHashMap<>();
-    private final Set<String> markets = new HashSet<>();
+    // 재연결마다 새로 만들지 않고 하나의 HttpClient를 재사용한다
+    private final HttpClient httpClient = HttpClient.newHttpClient();
 
-    // 현재가 저장 (market → current price)
-    private final Map<String, Double> currentPrices = new ConcurrentHashMap<>();
+    private static final String QUOTE_KRW = "KRW";
 
-    // 매매 쿨다운 및 제한
-    private final Map<String, Long> lastRsiCheckTime = new ConcurrentHashMap<>(); // 마켓별 마지막 RSI 체크 시간
-    private final Map<String, Double> lastRsiValue = new ConcurrentHashMap<>(); // 마켓별 마지막 RSI 값
-    private final Map<String, String> lastProcessedCandleTime = new ConcurrentHashMap<>(); // 마켓별 마지막으로 판단한 확정봉 시각
+    private final Set<String> markets = ConcurrentHashMap.newKeySet();
+
+    // 마켓별 상태 (MarketRegistry id로 인덱싱, 틱 경로에서 해싱/할당 없이 접근)
+    private final boolean[] subscribed = new boolean[MarketRegistry.MAX_MARKETS]; // 현재 매매 대상 여부
+    private final double[] currentPrice = new double[MarketRegistry.MAX_MARKETS]; // 현재가 (0: 수신 전)
+    private final VersionedPrices versionedPrices = new VersionedPrices(); // 현재가 조회 API용 버전/직렬화 캐시
+
+    // 틱으로 집계하는 시간프레임(1/5/15/60분)별 봉과 RSI
+    private final MarketRegistry marketRegistry;
+    private final MultiTimeframeBars timeframeBars;
+
+    // orderbook 스트림으로 유지하는 마켓별 호가 (주문 전 슬리피지 확인용, 공유 피드 구독 세션도 같이 사용)
+    private final OrderBook orderBook = new OrderBook(MarketRegistry.MAX_MARKETS);
+
+    // trade 스트림 롤링 집계 (upbit.trade-stream-enabled 일 때만 구독)
+    private final boolean tradeStreamEnabled;
+    private final TradeFlow tradeFlow = new TradeFlow(MarketRegistry.MAX_MARKETS);
+    private final double[] flowBuffer = new double[TradeFlow.FIELD_COUNT]; // 주문/알림 스레드 전용 (파이프라인 notifyDecision → tradeFlowSummary)
 
     private volatile long lastMessageTime = 0;
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     private volatile boolean heartbeatScheduled = false;
-    private volatile boolean reconnecting = false;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 재연결 상태 머신 (리스너 스레드를 막지 않도록 전용 executor에서 재연결/백필 수행)
+    private static final long RECONNECT_BASE_DELAY_MS = 1_000L;
+    private static final long RECONNECT_MAX_DELAY_MS = 60_000L;
+    private final AtomicReference<ConnectionState> state = new AtomicReference<>(ConnectionState.STOPPED);
+    private final AtomicInteger reconnectAttempts = new AtomicInteger();
+    private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor();
+    private volatile long connectionLostAt = 0; // 데이터 수신이 끊긴 시각 (백필 구간 시작)
+    private final CandleSeries backfillCandles = new CandleSeries(256); // 재연결 스레드 전용
+
+    enum ConnectionState { STOPPED, CONNECTING, CONNECTED, RECONNECTING }
+
+    private final MarketDataDecoder decoder;
+
+    // 봉 경계 판단/틱 단위 판단/보호 청산 (추가 세션과 같은 파이프라인, 판단 결과는 주문/알림 큐로 보낸다)
+    private final ScheduledExecutorService decisionExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final DecisionPipeline pipeline;
+
+    // 판단 상태 스냅샷 (종료 시와 주기적으로 저장, 프로세스 시작 후 첫 연결 때 1회 복원)
+    private static final long WARM_STATE_INTERVAL_MINUTES = 5;
+    private final Path warmStateFile;
+    private volatile boolean warmStateLoaded = false;
+
+    private final Strategy strategy;
+
+    /**
+     * 공유 시세 피드 구독자 (추가 트레이딩 세션). 리스너 스레드에서 틱마다 호출되므로 I/O 없이 처리해야 한다.
+     */
+    public interface TickListener {
+        void onTick(int marketId, double tradePrice, long tradeTimestamp);
+    }
+
+    private record FeedSubscription(Set<String> markets, TickListener listener) {
+    }
+
+    // 기본 세션 외 구독자별 마켓. WebSocket 하나로 전체 합집합을 구독하고 틱을 나눠준다
+    private final Map<String, FeedSubscription> feedSubscriptions = new ConcurrentHashMap<>();
+    private volatile TickListener[] tickListeners = new TickListener[0];
+    private volatile boolean[] feedSubscribed = new boolean[MarketRegistry.MAX_MARKETS];
+    private volatile boolean trading = false; // 기본 세션 자동매매 여부 (연결은 구독자가 있으면 유지)
+
+    // 같은 호스트의 다른 봇 프로세스와 시세를 나누는 메모리 맵 링 (upbit.feed-bus-mode)
+    // publish: WebSocket으로 받은 틱을 링에 기록, subscribe: WebSocket 대신 링에서 틱을 읽는다
+    private static final String FEED_BUS_OWNER = "feed-bus";
+    private static final int FEED_BUS_POLL_BATCH = 256;
+    private static final int FEED_BUS_IDLE_SPINS = 1_000;      // 틱이 없을 때 park 전 바쁜 대기 횟수
+    private static final long FEED_BUS_PARK_NANOS = 50_000L;
+    private static final long FEED_BUS_STALE_MS = 30_000L;     // 발행 프로세스 heartbeat가 이보다 오래되면 연결 실패로 본다
+    private static final long FEED_BUS_HEARTBEAT_SECONDS = 5;
+    private final String feedBusMode;
+    private final Path feedBusFile;
+    private final int feedBusCapacity;
+    private final List<String> feedBusMarkets;
+    private volatile TickRing.Writer busWriter;
+    private volatile TickRing.Reader busReader;
+    private Thread busPoller;
+
+    private final boolean autoStart;
+    private boolean firstTickLogged = false; // 틱 처리 스레드 전용 (시작 시간 측정용 1회 로그)
 
     public UpbitWebSocketClient(UpbitService upbitService, TradingSettings tradingSettings,
-                                 SseEmitterRegistry sseEmitterRegistry, NotificationService notificationService) {
+                                 EventStreamHub eventStreamHub, NotificationService notificationService,
+                                 MarketRegistry marketRegistry, Strategy strategy, UpbitProperties upbitProperties,
+                                 UpbitPrivateWebSocketClient privateWebSocketClient, TradeJournal tradeJournal,
+                                 SharedCandleFeed candleFeed) {
         this.upbitService = upbitService;
         this.tradingSettings = tradingSettings;
-        this.sseEmitterRegistry = sseEmitterRegistry;
+        this.eventStreamHub = eventStreamHub;
         this.notificationService = notificationService;
+        this.marketRegistry = marketRegistry;
+        this.strategy = strategy;
+        this.privateWebSocketClient = privateWebSocketClient;
+        this.tradeJournal = tradeJournal;
+        this.tradeStreamEnabled = upbitProperties.isTradeStreamEnabled();
+        this.warmStateFile = Path.of(upbitProperties.getWarmStateFile());
+        this.webSocketUri = URI.create(upbitProperties.getWebsocketUrl());
+        this.autoStart = upbitProperties.isAutoStart();
+        this.feedBusMode = upbitProperties.getFeedBusMode();
+        if (!List.of("off", "publish", "subscribe").contains(feedBusMode)) {
+            throw new IllegalArgumentException("upbit.feed-bus-mode는 off, publish, subscribe 중 하나여야 합니다: " + feedBusMode);
+        }
+        this.feedBusFile = Path.of(upbitProperties.getFeedBusFile());
+        this.feedBusCapacity = upbitProperties.getFeedBusCapacity();
+        this.feedBusMarkets = List.copyOf(upbitProperties.getFeedBusMarkets());
+        this.candleFeed = candleFeed;
+        this.decoder = new MarketDataDecoder(marketRegistry);
+        this.timeframeBars = new MultiTimeframeBars(MarketRegistry.MAX_MARKETS, tradingSettings.current().rsiPeriod());
+        this.pipeline = new DecisionPipeline("", upbitService, tradingSettings, tradeJournal, strategy, marketRegistry,
+                decisionExecutor, orderBook, upbitProperties.getDecisionQueueShedDepth(), "decision-orders", new PipelineHost());
+        tradingSettings.addChangeListener(this::onSettingsChanged);
+        privateWebSocketClient.addPositionListener(this::onPositionChanged);
     }
 
     /**
-     * 자동매매 시작 (WebSocket 연결 + lastBuyPrices 초기화)
+     * 자동매매 시작 (WebSocket 연결, lastBuyPrice 초기화와 판단 예약은 판단 스레드에서)
      */
     public void connect(Collection<String> marketList) {
+        trading = true;
+        ConnectionState previous = state.getAndSet(ConnectionState.CONNECTING);
+        if (previous != ConnectionState.STOPPED) {
+            abortWebSocket();
+        }
         markets.clear();
         markets.addAll(marketList);
-
+        Arrays.fill(subscribed, false);
+        Arrays.fill(currentPrice, 0.0);
+        for (String market : markets) {
+            subscribed[marketRegistry.register(market)] = true;
+        }
+        versionedPrices.markChanged();
+        reconnectAttempts.set(0);
+        connectionLostAt = 0;
         System.out.println("🚀 자동매매 대상: " + markets);
 
-        // 1) 보유 코인 기준으로 lastBuyPrices 초기화
-        syncLastBuyPrices();
-
-        // 2) WebSocket 연결
-        HttpClient client = HttpClient.newHttpClient();
-        client.newWebSocketBuilder()
-                .buildAsync(URI.create("wss://api.upbit.com/websocket/v1"), new Listener())
-                .thenAccept(ws -> {
-                    this.webSocket = ws;
-
-                    // 구독 메시지 전송
-                    String ticket = UUID.randomUUID().toString();
-                    String codes = String.join("\",\"", markets);
-                    String msg = "[{\"ticket\":\"" + ticket + "\"},{\"type\":\"ticker\",\"codes\":[\"" + codes + "\"]}]";
-                    ws.sendText(msg, true);
-
-                    lastMessageTime = System.currentTimeMillis();
-                    System.out.println("✅ WebSocket 연결됨 (자동매매 시작)");
-                    sseEmitterRegistry.broadcastStatus(status());
-                });
+        // 1) 판단 상태 초기화 → 스냅샷 복원 → 거래 저널/상태 스냅샷 기준 lastBuyPrice 복구 (둘 다 모르는 마켓만 계좌 조회)
+        //    → 봉 경계 판단 타이머 (시작 직후 최근 확정봉으로 1회 판단한 뒤 경계마다).
+        //    판단 상태는 판단 스레드만 바꾸므로 한 작업으로 넘겨, 직전 중지/설정 변경 작업 뒤에 순서대로 실행되게 한다
+        List<String> targets = List.copyOf(markets);
+        decisionExecutor.execute(() -> {
+            pipeline.resetState();
+            WarmStateSnapshot warmState = readWarmState();
+            if (!warmStateLoaded) {
+                warmStateLoaded = true;
+                restoreWarmState(warmState);
+            }
+            restoreLastBuyPrices(targets, warmState);
+            pipeline.scheduleNow(targets);
+            pipeline.startTimer();
+        });
 
-        // 3) heartbeat 모니터링 (최초 1회만 등록)
+        // 2) WebSocket 연결 (잔고/주문 변경은 private WebSocket으로 수신)
+        openWebSocket();
+        privateWebSocketClient.start();
+
+        // 주문 규칙(수수료/최소 주문금액)과 시간프레임별 RSI는 REST로 백그라운드에서 초기화
+        List<String> seedTargets = List.copyOf(markets);
+        reconnectExecutor.execute(() -> {
+            upbitService.preloadMarketRules(seedTargets);
+            seedTimeframes(seedTargets);
+        });
+
+        // 3) heartbeat 모니터링
+        ensureMonitoring();
+    }
+
+    /**
+     * heartbeat 모니터링과 상태 스냅샷 주기 저장 (최초 1회만 등록)
+     */
+    private synchronized void ensureMonitoring() {
         if (!heartbeatScheduled) {
             heartbeatScheduled = true;
             scheduler.scheduleAtFixedRate(this::checkHeartbeat, 15, 15, TimeUnit.SECONDS);
+            scheduler.scheduleAtFixedRate(this::saveWarmState,
+                    WARM_STATE_INTERVAL_MINUTES, WARM_STATE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 공유 시세 피드 구독 (같은 owner로 다시 호출하면 마켓 목록을 교체한다).
+     * 기본 세션이 중지되어 있어도 구독자가 있으면 WebSocket을 열어 둔다.
+     */
+    public synchronized void attachFeed(String owner, Collection<String> feedMarkets, TickListener listener) {
+        for (String market : feedMarkets) {
+            marketRegistry.register(market);
+        }
+        feedSubscriptions.put(owner, new FeedSubscription(Set.copyOf(feedMarkets), listener));
+        refreshFeedSubscriptions();
+    }
+
+    public synchronized void detachFeed(String owner) {
+        if (feedSubscriptions.remove(owner) != null) {
+            refreshFeedSubscriptions();
+        }
+    }
+
+    private void refreshFeedSubscriptions() {
+        boolean[] next = new boolean[MarketRegistry.MAX_MARKETS];
+        List<TickListener> listeners = new ArrayList<>();
+        for (FeedSubscription subscription : feedSubscriptions.values()) {
+            for (String market : subscription.markets()) {
+                next[marketRegistry.idOf(market)] = true;
+            }
+            listeners.add(subscription.listener());
+        }
+        boolean[] previous = feedSubscribed;
+        feedSubscribed = next;
+        tickListeners = listeners.toArray(new TickListener[0]);
+        for (int id = 0; id < MarketRegistry.MAX_MARKETS; id++) {
+            if (previous[id] && !next[id] && !subscribed[id]) {
+                orderBook.clear(id); // 더 이상 받지 않는 호가로 슬리피지를 계산하지 않도록
+            }
+        }
+
+        if (feedSubscriptions.isEmpty()) {
+            if (!trading && state.getAndSet(ConnectionState.STOPPED) != ConnectionState.STOPPED) {
+                abortWebSocket();
+                System.out.println("🛑 공유 시세 피드 종료 (구독자 없음)");
+            }
+        } else if (state.compareAndSet(ConnectionState.STOPPED, ConnectionState.CONNECTING)) {
+            reconnectAttempts.set(0);
+            openWebSocket();
+            ensureMonitoring();
+        } else {
+            WebSocket ws = webSocket;
+            if (ws != null) {
+                sendSubscription(ws);
+            }
+        }
+    }
+
+    /**
+     * WebSocket 비동기 연결. 완료/실패는 상태 머신으로 전달되며 호출 스레드를 막지 않는다.
+     */
+    private void openWebSocket() {
+        if ("subscribe".equals(feedBusMode)) {
+            openFeedBus();
+            return;
+        }
+        httpClient.newWebSocketBuilder()
+                .buildAsync(webSocketUri, new Listener())
+                .whenComplete((ws, error) -> {
+                    if (error != null) {
+                        System.err.println("❌ WebSocket 연결 실패: " + error.getMessage());
+                        onConnectionLost();
+                        return;
+                    }
+                    onConnected(ws);
+                });
+    }
+
+    private void onConnected(WebSocket ws) {
+        ConnectionState current = state.get();
+        if ((current != ConnectionState.CONNECTING && current != ConnectionState.RECONNECTING)
+                || !state.compareAndSet(current, ConnectionState.CONNECTED)) {
+            // 연결 도중 중지된 경우
+            ws.abort();
+            return;
+        }
+        this.webSocket = ws;
+        sendSubscription(ws);
+        onFeedConnected(current, "WebSocket");
+    }
+
+    private void onFeedConnected(ConnectionState previous, String source) {
+        lastMessageTime = System.currentTimeMillis();
+        int attempts = reconnectAttempts.getAndSet(0);
+
+        if (previous == ConnectionState.RECONNECTING) {
+            System.out.println("✅ " + source + " 재연결됨");
+            long gapStart = connectionLostAt;
+            new ReconnectEvent().complete(source, attempts, gapStart > 0 ? lastMessageTime - gapStart : 0L);
+            connectionLostAt = 0;
+            reconnectExecutor.execute(() -> backfillGap(gapStart));
+        } else {
+            System.out.println(trading ? "✅ " + source + " 연결됨 (자동매매 시작)" : "✅ " + source + " 연결됨 (공유 시세 피드)");
+        }
+        eventStreamHub.broadcastStatus(status());
+    }
+
+    /**
+     * upbit.auto-start: 애플리케이션 준비 직후 현재 설정의 마켓으로 자동매매 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void autoStartTrading() {
+        if (autoStart) {
+            System.out.println("🚀 자동매매 자동 시작 (upbit.auto-start)");
+            try {
+                connect(tradingSettings.current().markets());
+            } catch (Exception e) {
+                System.err.println("❌ 자동매매 자동 시작 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 발행 모드: 시작 시 WebSocket을 열어 두고 받은 틱을 링에 기록한다 (자동매매 여부와 무관).
+     * 발행 마켓을 지정하지 않으면 전체 KRW 마켓.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startFeedBus() {
+        if (!"publish".equals(feedBusMode)) {
+            return;
+        }
+        try {
+            List<String> busMarkets = feedBusMarkets.isEmpty() ? upbitService.getKrwMarkets() : feedBusMarkets;
+            busWriter = TickRing.Writer.create(feedBusFile, feedBusCapacity);
+            scheduler.scheduleAtFixedRate(() -> busWriter.heartbeat(),
+                    FEED_BUS_HEARTBEAT_SECONDS, FEED_BUS_HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+            attachFeed(FEED_BUS_OWNER, busMarkets, (id, price, ts) -> { }); // 구독 유지용 (기록은 onTicker에서)
+            System.out.println("📤 시세 버스 발행 시작: " + feedBusFile + " (" + busMarkets.size() + "개 마켓)");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ 시세 버스 발행 시작 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 구독 모드의 "연결": 링 파일을 새로 매핑한다. 실패하면 WebSocket 연결 실패와 같이 백오프 후 재시도.
+     */
+    private void openFeedBus() {
+        try {
+            TickRing.Reader reader = TickRing.Reader.open(feedBusFile, marketRegistry);
+            if (System.currentTimeMillis() - reader.heartbeat() > FEED_BUS_STALE_MS) {
+                throw new IOException("발행 프로세스 응답 없음");
+            }
+            busReader = reader;
+        } catch (IOException e) {
+            System.err.println("❌ 시세 버스 연결 실패 (" + feedBusFile + "): " + e.getMessage());
+            onConnectionLost();
+            return;
+        }
+        ConnectionState current = state.get();
+        if ((current != ConnectionState.CONNECTING && current != ConnectionState.RECONNECTING)
+                || !state.compareAndSet(current, ConnectionState.CONNECTED)) {
+            return;
+        }
+        synchronized (this) {
+            if (busPoller == null) {
+                busPoller = new Thread(this::pollFeedBus, "feed-bus-reader");
+                busPoller.setDaemon(true);
+                busPoller.start();
+            }
+        }
+        onFeedConnected(current, "시세 버스");
+    }
+
+    /**
+     * 링 폴링 (전용 스레드). 틱이 있으면 바로 처리하고, 없으면 잠깐 바쁜 대기 후 짧게 park한다.
+     * 구독 모드에서는 이 스레드가 WebSocket 리스너 스레드 대신 onTicker를 호출한다.
+     */
+    private void pollFeedBus() {
+        int idle = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            TickRing.Reader reader = busReader;
+            if (reader == null || state.get() != ConnectionState.CONNECTED) {
+                LockSupport.parkNanos(1_000_000L);
+                continue;
+            }
+            int count;
+            try {
+                count = reader.poll(this::onTicker, FEED_BUS_POLL_BATCH);
+            } catch (Exception e) {
+                System.err.println("⚠️ 시세 버스 틱 처리 오류: " + e.getMessage());
+                continue;
+            }
+            if (count < 0) {
+                System.out.println("🔌 시세 발행 프로세스 종료");
+                busReader = null;
+                onConnectionLost();
+            } else if (count > 0) {
+                lastMessageTime = System.currentTimeMillis();
+                idle = 0;
+            } else {
+                lastMessageTime = Math.max(lastMessageTime, reader.heartbeat());
+                if (++idle < FEED_BUS_IDLE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(FEED_BUS_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+    /**
+     * 구독 메시지 전송. 같은 연결에서 다시 보내면 구독 대상이 새 목록으로 교체된다.
+     */
+    private synchronized void sendSubscription(WebSocket ws) {
+        // 기본 세션 마켓과 공유 피드 구독자 마켓의 합집합
+        Set<String> targets = new LinkedHashSet<>();
+        if (trading) {
+            targets.addAll(markets);
+        }
+        for (FeedSubscription subscription : feedSubscriptions.values()) {
+            targets.addAll(subscription.markets());
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+        String ticket = UUID.randomUUID().toString();
+        String codes = String.join("\",\"", targets);
+        String msg = "[{\"ticket\":\"" + ticket + "\"}," +
+                "{\"type\":\"ticker\",\"codes\":[\"" + codes + "\"]}," +
+                "{\"type\":\"orderbook\",\"codes\":[\"" + codes + "\"]}" +
+                (tradeStreamEnabled ? ",{\"type\":\"trade\",\"codes\":[\"" + codes + "\"]}" : "") + "]";
+        try {
+            ws.sendText(msg, true).join();
+        } catch (Exception e) {
+            System.err.println("❌ 구독 메시지 전송 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 설정 변경 통지 (HTTP 스레드, TradingSettings.update 락 안). 판단 상태는 판단 스레드만 만지므로
+     * 변경 내용은 판단 스레드로 넘겨 순서대로 반영한다.
+     */
+    private void onSettingsChanged(TradingSettingsDto previous, TradingSettingsDto next) {
+        decisionExecutor.execute(() -> applySettingsChange(previous, next));
+    }
+
+    /**
+     * 실행 중 설정 변경 반영 (중지/재시작 없이, 판단 스레드).
+     * 마켓 목록은 추가/제거된 코드만 반영하고, 지표 상태는 변경된 파라미터에 영향받는 부분만 다시 쌓는다.
+     * 임계값/쿨다운/최소주문금액은 매 판단마다 현재 스냅샷을 읽으므로 별도 처리가 필요 없다.
+     */
+    private void applySettingsChange(TradingSettingsDto previous, TradingSettingsDto next) {
+        if (previous.stopLossPct() != next.stopLossPct() || previous.takeProfitPct() != next.takeProfitPct() ||
+                previous.trailingStopPct() != next.trailingStopPct()) {
+            pipeline.configureExits(next);
+        }
+        if (!isRunning()) {
+            return; // 다음 시작 시 현재 설정으로 연결된다
+        }
+
+        if (previous.candleMinutes() != next.candleMinutes() || next.candleCount() > previous.candleCount()) {
+            // 봉 단위가 바뀌었거나 더 긴 히스토리가 필요하면 판단 상태를 새로 쌓는다 (확정봉은 공유 캐시가 맞춰 조회)
+            pipeline.resetState();
+            pipeline.scheduleNow(markets);
+        } else if (previous.rsiPeriod() != next.rsiPeriod()) {
+            pipeline.resetIndicators(); // 캔들은 그대로 두고 RSI만 다음 봉부터 새 기간으로 계산
+        }
+        if (previous.rsiPeriod() != next.rsiPeriod()) {
+            // 시간프레임별 봉 집계는 유지하고 RSI 상태만 새 기간으로 다시 시드
+            timeframeBars.setRsiPeriod(next.rsiPeriod());
+            List<String> seedTargets = List.copyOf(markets);
+            reconnectExecutor.execute(() -> seedTimeframes(seedTargets));
+        }
+
+        Set<String> added = new LinkedHashSet<>(next.markets());
+        added.removeAll(markets);
+        Set<String> removed = new LinkedHashSet<>(markets);
+        removed.removeAll(next.markets());
+
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            for (String market : added) {
+                subscribed[marketRegistry.register(market)] = true;
+            }
+            markets.addAll(added);
+            for (String market : removed) {
+                markets.remove(market);
+                forgetMarket(market);
+            }
+            WebSocket ws = webSocket;
+            if (ws != null) {
+                sendSubscription(ws);
+            }
+            if (!added.isEmpty()) {
+                pipeline.syncPositions(added); // 판단 상태라 이 스레드에서 (계좌 조회 1회)
+                pipeline.scheduleNow(added);
+                reconnectExecutor.execute(() -> {
+                    upbitService.preloadMarketRules(added);
+                    seedTimeframes(added);
+                });
+            }
+            System.out.println("🔧 매매 대상 변경 - 추가: " + added + ", 제거: " + removed);
+        }
+        eventStreamHub.broadcastStatus(status());
+    }
+
+    /**
+     * 매매 대상에서 제외된 마켓의 상태 정리
+     */
+    private void forgetMarket(String market) {
+        int id = marketRegistry.idOf(market);
+        if (id >= 0) {
+            subscribed[id] = false;
+            pipeline.forget(id);
+            currentPrice[id] = 0.0;
+            versionedPrices.markChanged();
+            if (!feedSubscribed[id]) {
+                orderBook.clear(id);
+            }
+            tradeFlow.reset(id);
+            timeframeBars.reset(id);
+        }
+    }
+
+    /**
+     * 시간프레임별 RSI 상태를 REST 확정봉으로 초기화한다.
+     * 틱 집계만으로는 60분봉 RSI가 쌓이는 데 기간 × 1시간이 걸리므로 시작/마켓 추가/재연결 시 시드한다.
+     */
+    private void seedTimeframes(Collection<String> targets) {
+        int candleCount = tradingSettings.current().candleCount();
+        for (String market : targets) {
+            int id = marketRegistry.idOf(market);
+            if (id < 0 || !markets.contains(market)) continue;
+            for (int tf = 0; tf < MultiTimeframeBars.TIMEFRAME_COUNT; tf++) {
+                CandleSeries confirmed = upbitService.getConfirmedMinuteCandles(
+                        market, MultiTimeframeBars.TIMEFRAME_MINUTES[tf], candleCount);
+                if (confirmed.size() == 0) continue;
+                timeframeBars.seed(id, tf, confirmed);
+            }
+        }
+    }
+
+    /**
+     * 연결 끊김 처리. 연결 중/연결됨 상태에서 한 번만 RECONNECTING으로 전이하고 재연결을 예약한다.
+     * 이미 재연결 중이면 다음 시도를 백오프 지연 후 다시 예약한다.
+     */
+    private void onConnectionLost() {
+        while (true) {
+            ConnectionState current = state.get();
+            if (current == ConnectionState.STOPPED) {
+                return;
+            }
+            if (current == ConnectionState.RECONNECTING) {
+                // 재연결 시도 자체가 실패한 경우에만 여기로 온다
+                scheduleReconnectAttempt();
+                return;
+            }
+            if (state.compareAndSet(current, ConnectionState.RECONNECTING)) {
+                connectionLostAt = lastMessageTime > 0 ? lastMessageTime : System.currentTimeMillis();
+                abortWebSocket();
+                eventStreamHub.broadcastStatus(status());
+                scheduleReconnectAttempt();
+                return;
+            }
+        }
+    }
+
+    private void scheduleReconnectAttempt() {
+        long delay = backoffDelayMs(reconnectAttempts.getAndIncrement());
+        System.out.println("🔁 " + delay + "ms 후 재연결 시도 (" + reconnectAttempts.get() + "회차)");
+        reconnectExecutor.schedule(() -> {
+            if (state.get() == ConnectionState.RECONNECTING) {
+                openWebSocket();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 지수 백오프 + 지터: min(최대, 기본 * 2^attempt)의 50~100% 구간에서 무작위 지연.
+     */
+    static long backoffDelayMs(int attempt) {
+        long exp = RECONNECT_BASE_DELAY_MS << Math.min(attempt, 16);
+        long capped = Math.min(RECONNECT_MAX_DELAY_MS, exp);
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    /**
+     * 끊겨 있던 구간의 확정봉을 마켓별로 보충 조회한다 (마지막 보관 봉 이후만 조회).
+     */
+    private void backfillGap(long gapStart) {
+        if (!trading) {
+            return; // 공유 피드만 열려 있는 경우 (세션은 각자 다음 판단 때 증분 조회)
+        }
+        TradingSettingsDto settings = tradingSettings.current();
+        long now = System.currentTimeMillis();
+        for (String market : List.copyOf(markets)) {
+            if (state.get() != ConnectionState.CONNECTED) return;
+            try {
+                candleFeed.confirmed(market, settings.candleMinutes(), settings.candleCount(), now, backfillCandles);
+            } catch (Exception e) {
+                System.err.println("⚠️ 캔들 백필 실패 (" + market + "): " + e.getMessage());
+            }
+        }
+        // 끊긴 동안 틱으로 집계하지 못한 시간프레임 봉도 다시 시드
+        seedTimeframes(List.copyOf(markets));
+        if (gapStart > 0) {
+            System.out.println("📥 캔들 백필 완료 (끊김 구간: " + (now - gapStart) / 1000 + "초)");
+        }
+    }
+
+    private void abortWebSocket() {
+        WebSocket ws = this.webSocket;
+        this.webSocket = null;
+        if (ws != null) {
+            ws.abort();
         }
     }
 
     /**
      * 자동매매 중지
      */
-    public void disconnect() {
-        if (webSocket != null) {
-            webSocket.abort();
-            webSocket = null;
-            System.out.println("🛑 자동매매 중지 (WebSocket 종료)");
-            sseEmitterRegistry.broadcastStatus(status());
+    public synchronized void disconnect() {
+        boolean wasTrading = trading;
+        trading = false;
+        privateWebSocketClient.stop();
+        decisionExecutor.execute(pipeline::cancelAll);
+        pipeline.clearOrders(); // 아직 보내지 않은 주문/알림은 버린다
+        if (feedSubscriptions.isEmpty()) {
+            state.set(ConnectionState.STOPPED);
+            abortWebSocket();
+        } else {
+            // 다른 세션이 공유 피드를 쓰고 있으면 연결은 유지하고 구독 대상만 줄인다
+            WebSocket ws = webSocket;
+            if (ws != null) {
+                sendSubscription(ws);
+            }
+        }
+        if (wasTrading) {
+            System.out.println(feedSubscriptions.isEmpty() ? "🛑 자동매매 중지 (WebSocket 종료)" : "🛑 자동매매 중지 (공유 시세 피드 유지)");
+            eventStreamHub.broadcastStatus(status());
+        }
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        saveWarmState();
+        disconnect();
+        state.set(ConnectionState.STOPPED);
+        abortWebSocket();
+        scheduler.shutdownNow();
+        reconnectExecutor.shutdownNow();
+        pipeline.close();
+        decisionExecutor.shutdownNow();
+        if (busPoller != null) {
+            busPoller.interrupt();
+        }
+        TickRing.Writer writer = busWriter;
+        if (writer != null) {
+            busWriter = null;
+            try {
+                writer.close(); // 구독 프로세스에 종료를 알린다
+            } catch (IOException e) {
+                System.err.println("⚠️ 시세 버스 닫기 실패: " + e.getMessage());
+            }
         }
     }
 
@@ -112,23 +708,158 @@ public class UpbitWebSocketClient {
      * 현재 상태 확인
      */
     public String status() {
-        return isRunning()
-                ? "✅ 자동매매 실행 중 (대상: " + markets + ")"
-                : "⏸ 자동매매 중지됨";
+        if (!trading) {
+            return "⏸ 자동매매 중지됨";
+        }
+        return switch (state.get()) {
+            case CONNECTED -> "✅ 자동매매 실행 중 (대상: " + markets + ")";
+            case CONNECTING -> "⏳ 자동매매 연결 중 (대상: " + markets + ")";
+            case RECONNECTING -> "🔁 자동매매 재연결 중 (대상: " + markets + ")";
+            case STOPPED -> "⏸ 자동매매 중지됨";
+        };
     }
 
     /**
      * 자동매매 실행 여부
      */
     public boolean isRunning() {
-        return webSocket != null;
+        return trading;
     }
 
     /**
      * 현재 가격 정보 반환 (Frontend용)
      */
     public Map<String, Double> getCurrentPrices() {
-        return new HashMap<>(currentPrices);
+        Map<String, Double> prices = new HashMap<>();
+        int n = marketRegistry.size();
+        for (int id = 0; id < n; id++) {
+            if (subscribed[id] && currentPrice[id] > 0) {
+                prices.put(marketRegistry.codeOf(id), currentPrice[id]);
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * 버전이 붙은 현재가 스냅샷 (버전이 바뀐 경우에만 새로 만들고 직렬화)
+     */
+    public VersionedPrices.Snapshot getPriceSnapshot() {
+        return versionedPrices.current(this::getCurrentPrices);
+    }
+
+    /**
+     * since 이후 가격이 바뀌면 완료되는 future (롱폴링용)
+     */
+    public CompletableFuture<Void> awaitPriceChange(String since) {
+        return versionedPrices.awaitChange(since);
+    }
+
+    /**
+     * 호가 스냅샷 조회
+     *
+     * @return 매매 대상이 아니거나 호가 수신 전이면 null
+     */
+    public OrderBookDto getOrderBook(String market) {
+        int id = marketRegistry.idOf(market);
+        if (id < 0 || !subscribed[id] || !orderBook.hasBook(id)) {
+            return null;
+        }
+        double[] asks = new double[OrderBook.MAX_LEVELS];
+        double[] askSizes = new double[OrderBook.MAX_LEVELS];
+        double[] bids = new double[OrderBook.MAX_LEVELS];
+        double[] bidSizes = new double[OrderBook.MAX_LEVELS];
+        long[] ts = new long[1];
+        int levels = orderBook.copy(id, asks, askSizes, bids, bidSizes, ts);
+
+        List<OrderBookDto.Unit> units = new ArrayList<>(levels);
+        for (int i = 0; i < levels; i++) {
+            units.add(new OrderBookDto.Unit(asks[i], askSizes[i], bids[i], bidSizes[i]));
+        }
+        return new OrderBookDto(market, ts[0], units);
+    }
+
+    /**
+     * 체결 흐름 스냅샷 (10초/1분/5분 윈도우)
+     *
+     * @return 매매 대상이 아니거나 trade 스트림이 꺼져 있으면 null
+     */
+    public TradeFlowDto getTradeFlow(String market) {
+        int id = marketRegistry.idOf(market);
+        if (!tradeStreamEnabled || id < 0 || !subscribed[id]) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        double[] values = new double[TradeFlow.FIELD_COUNT];
+        List<TradeFlowDto.Window> windows = new ArrayList<>(TradeFlow.WINDOW_COUNT);
+        for (int w = 0; w < TradeFlow.WINDOW_COUNT; w++) {
+            tradeFlow.aggregate(id, w, now, values);
+            windows.add(new TradeFlowDto.Window(TradeFlow.WINDOW_SECONDS[w],
+                    Double.isNaN(values[TradeFlow.VWAP]) ? null : values[TradeFlow.VWAP],
+                    values[TradeFlow.VOLUME], values[TradeFlow.BUY_VOLUME], values[TradeFlow.SELL_VOLUME],
+                    (int) values[TradeFlow.TRADE_COUNT]));
+        }
+        return new TradeFlowDto(market, windows);
+    }
+
+    /**
+     * 알림용 1분 체결 흐름 요약 (예: " [1m VWAP 95,000,000 / 매수 62%]")
+     */
+    private String tradeFlowSummary(int id) {
+        if (!tradeStreamEnabled) {
+            return "";
+        }
+        tradeFlow.aggregate(id, TradeFlow.windowIndex(60), System.currentTimeMillis(), flowBuffer);
+        double volume = flowBuffer[TradeFlow.VOLUME];
+        if (volume <= 0) {
+            return "";
+        }
+        return " [1m VWAP " + String.format("%,.2f", flowBuffer[TradeFlow.VWAP]) +
+                " / 매수 " + String.format("%.0f", flowBuffer[TradeFlow.BUY_VOLUME] / volume * 100) + "%]";
+    }
+
+    /**
+     * krwAmount만큼 시장가 매수 시 예상 평균 체결가
+     *
+     * @return 호가가 없거나 깊이가 부족하면 NaN
+     */
+    public double estimateBuyPrice(String market, double krwAmount) {
+        int id = marketRegistry.idOf(market);
+        return id >= 0 && subscribed[id] ? orderBook.expectedBuyPrice(id, krwAmount) : Double.NaN;
+    }
+
+    /**
+     * 마켓별 시간프레임(분) → RSI (아직 계산되지 않은 값은 제외)
+     */
+    public Map<String, Map<Integer, Double>> getTimeframeRsi() {
+        Map<String, Map<Integer, Double>> result = new TreeMap<>();
+        for (String market : markets) {
+            int id = marketRegistry.idOf(market);
+            if (id < 0) continue;
+            Map<Integer, Double> byTimeframe = new LinkedHashMap<>();
+            for (int tf = 0; tf < MultiTimeframeBars.TIMEFRAME_COUNT; tf++) {
+                double rsi = timeframeBars.rsi(id, tf);
+                if (!Double.isNaN(rsi)) {
+                    byTimeframe.put(MultiTimeframeBars.TIMEFRAME_MINUTES[tf], rsi);
+                }
+            }
+            result.put(market, byTimeframe);
+        }
+        return result;
+    }
+
+    /**
+     * 알림용 시간프레임별 RSI 요약 (예: " [1m 31.20 / 5m 35.02]")
+     */
+    private String timeframeRsiSummary(int id) {
+        StringBuilder sb = new StringBuilder();
+        for (int tf = 0; tf < MultiTimeframeBars.TIMEFRAME_COUNT; tf++) {
+            double rsi = timeframeBars.rsi(id, tf);
+            if (Double.isNaN(rsi)) continue;
+            sb.append(sb.length() == 0 ? " [" : " / ")
+                    .append(MultiTimeframeBars.TIMEFRAME_MINUTES[tf]).append("m ")
+                    .append(String.format("%.2f", rsi));
+        }
+        return sb.length() == 0 ? "" : sb.append("]").toString();
     }
 
     /**
@@ -139,33 +870,90 @@ public class UpbitWebSocketClient {
     }
 
     /**
-     * 업비트 계정 조회 API로 보유 코인 정보 초기화
+     * 거래 저널과 상태 스냅샷에서 포지션을 복구해 매수 단가를 채운다 (저널/스냅샷 모두 모르는 마켓만 계좌 조회).
+     * 이후 변경은 private WebSocket 체결 통지(onPositionChanged)로 반영된다.
      */
-    private void syncLastBuyPrices() {
-        try {
-            var accounts = upbitService.getAccounts();
-            lastBuyPrices.clear();
-
-            accounts.forEach(acc -> {
-                String currency = acc.getCurrency(); // 예: BTC, ETH
-                String market = "KRW-" + currency;
+    private void restoreLastBuyPrices(Collection<String> targets, WarmStateSnapshot warmState) {
+        Map<String, Double> warmBuyPrices = new HashMap<>();
+        if (warmState != null) {
+            for (WarmStateSnapshot.MarketState state : warmState.markets()) {
+                warmBuyPrices.put(state.market(), state.lastBuyPrice());
+            }
+        }
+        pipeline.restorePositions(targets, warmBuyPrices);
+    }
 
-                try {
-                    double balance = Double.parseDouble(acc.getBalance());
-                    double avgBuyPrice = Double.parseDouble(acc.getAvgBuyPrice());
+    /**
+     * 이전 실행의 판단 상태 스냅샷을 복원한다.
+     * 전략이나 봉 단위가 다르면 전부 버리고, 더 긴 히스토리가 필요하면 확정봉만, RSI 기간이 다르면 RSI 값만 버린다.
+     * 복원한 확정봉 이후의 봉은 첫 판단 때 SharedCandleFeed가 증분 조회한다. (판단 스레드)
+     */
+    private void restoreWarmState(WarmStateSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        TradingSettingsDto settings = tradingSettings.current();
+        if (!strategy.name().equals(snapshot.strategy()) || snapshot.candleMinutes() != settings.candleMinutes()) {
+            System.out.println("ℹ️ 전략/봉 단위가 달라 판단 상태 스냅샷을 사용하지 않습니다.");
+            return;
+        }
+        boolean candlesUsable = settings.candleCount() <= snapshot.candleCount();
+        boolean rsiUsable = settings.rsiPeriod() == snapshot.rsiPeriod();
+        int limit = settings.candleCount() - 1;
 
-                    if (markets.contains(market) && balance > 0) {
-                        lastBuyPrices.put(market, avgBuyPrice);
-                    }
-                } catch (NumberFormatException e) {
-                    System.err.println("⚠️ AccountDto 숫자 변환 실패: " + acc);
-                }
-            });
+        int restored = 0;
+        for (WarmStateSnapshot.MarketState state : snapshot.markets()) {
+            int id = marketRegistry.idOf(state.market());
+            if (id < 0 || !subscribed[id]) continue;
+            currentPrice[id] = state.currentPrice();
+            pipeline.restoreState(id, state.lastProcessedCandleTime(), state.lastRsiCheckTime(),
+                    rsiUsable ? state.lastRsiValue() : Double.NaN);
+            if (candlesUsable) {
+                CandleSeries candles = state.candles();
+                candles.truncate(limit);
+                candleFeed.restore(state.market(), settings.candleMinutes(), settings.candleCount(), candles);
+            }
+            restored++;
+        }
+        versionedPrices.markChanged();
+        System.out.println("♨️ 판단 상태 복원: " + restored + "개 마켓 (" +
+                (System.currentTimeMillis() - snapshot.savedAt()) / 1000 + "초 전 스냅샷" +
+                (candlesUsable ? "" : ", 확정봉 제외") + (rsiUsable ? "" : ", RSI 제외") + ")");
+    }
 
-            System.out.println("🔄 보유 코인 동기화 완료: " + lastBuyPrices);
+    /**
+     * @return 스냅샷이 없거나 읽지 못하면 null
+     */
+    private WarmStateSnapshot readWarmState() {
+        try {
+            return WarmStateSnapshot.read(warmStateFile);
+        } catch (IOException e) {
+            System.err.println("⚠️ 판단 상태 스냅샷 읽기 실패: " + e.getMessage());
+            return null;
+        }
+    }
 
-        } catch (Exception e) {
-            System.err.println("❌ 보유 코인 동기화 실패: " + e.getMessage());
+    /**
+     * 현재 매매 대상의 판단 상태를 스냅샷으로 저장한다 (실행 중일 때만)
+     */
+    private void saveWarmState() {
+        if (!isRunning()) {
+            return;
+        }
+        TradingSettingsDto settings = tradingSettings.current();
+        List<WarmStateSnapshot.MarketState> states = new ArrayList<>(markets.size());
+        for (String market : markets) {
+            int id = marketRegistry.idOf(market);
+            if (id < 0) continue;
+            states.add(new WarmStateSnapshot.MarketState(market, currentPrice[id], pipeline.lastBuyPrice(id),
+                    pipeline.lastIndicator(id), pipeline.lastProcessedCandleTime(id), pipeline.lastCheckTime(id),
+                    candleFeed.get(market, settings.candleMinutes())));
+        }
+        try {
+            new WarmStateSnapshot(System.currentTimeMillis(), settings.candleMinutes(), settings.candleCount(),
+                    settings.rsiPeriod(), strategy.name(), states).write(warmStateFile);
+        } catch (IOException e) {
+            System.err.println("⚠️ 판단 상태 스냅샷 저장 실패: " + e.getMessage());
         }
     }
 
@@ -174,145 +962,143 @@ public class UpbitWebSocketClient {
      */
     private void checkHeartbeat() {
         long now = System.currentTimeMillis();
-        if (lastMessageTime > 0 && now - lastMessageTime > 15000) {
+        if (state.get() == ConnectionState.CONNECTED && lastMessageTime > 0 && now - lastMessageTime > 15000) {
             System.out.println("⚠️ 데이터 수신 끊김 → 재연결 시도");
-            reconnect();
+            onConnectionLost();
         }
     }
 
     /**
-     * 재연결 로직 (동시 재연결 방지)
+     * 주문/알림 큐 상태 (등급별 대기 수, 버린/대체된 작업 수, 청산·매도 대기 시간)
      */
-    private synchronized void reconnect() {
-        if (reconnecting) return;
-        reconnecting = true;
-        try {
-            disconnect();
-            connect(markets);
-        } finally {
-            reconnecting = false;
-        }
+    public DecisionQueueStatsDto getDecisionQueueStats() {
+        return pipeline.queueStats();
     }
 
     /**
-     * RSI 기반 매매 신호 체크
-     * - RSI 30 이하: 과매도 → 매수 신호
-     * - RSI 70 이상: 과매수 → 매도 신호
+     * 공유 피드 구독 세션의 주문 전 슬리피지 확인용 호가 (기본 세션 마켓과 공유 피드 마켓의 호가를 유지)
      */
-    private void checkRsiAndTrade(String market) {
-        long now = System.currentTimeMillis();
-        TradingSettingsDto settings = tradingSettings.current();
+    public OrderBook orderBook() {
+        return orderBook;
+    }
 
-        // 쿨다운 체크
-        Long lastCheck = lastRsiCheckTime.get(market);
-        if (lastCheck != null && now - lastCheck < settings.rsiCheckCooldownMs()) {
-            return; // 쿨다운 중이면 스킵
+    /**
+     * private WebSocket 체결로 포지션이 바뀌면 매수 단가와 청산 경계를 갱신한다 (private WebSocket 스레드 → 판단 스레드)
+     */
+    private void onPositionChanged(String market, double avgBuyPrice) {
+        int id = marketRegistry.idOf(market);
+        if (id < 0) {
+            return;
         }
-        lastRsiCheckTime.put(market, now);
+        decisionExecutor.execute(() -> {
+            if (subscribed[id]) {
+                pipeline.setLastBuyPrice(id, avgBuyPrice);
+            }
+        });
+    }
 
+    /**
+     * 티커 1건 처리 (디코더가 마켓 id로 변환한 뒤 호출). 처리 시간이 JFR 프로필 임계값을 넘으면 TickEvent로 남는다.
+     */
+    private void onTicker(int id, double tradePrice, long tradeTimestamp) {
+        TickEvent event = new TickEvent();
+        event.begin();
         try {
-            // 캔들 데이터 조회 (index 0은 아직 마감되지 않은 진행 중인 봉이므로 신호 계산에서 제외)
-            List<CandleDto> candles = upbitService.getMinuteCandles(market, settings.candleMinutes(), settings.candleCount());
-            if (candles.size() < 2) {
-                String message = "⚠️ " + market + ": 확정봉 데이터가 없습니다. (조회된 캔들: " + candles.size() + ")";
-                addNotification(message, "WARNING", market);
-                return;
-            }
-            List<CandleDto> confirmedCandles = candles.subList(1, candles.size());
+            handleTicker(id, tradePrice, tradeTimestamp);
+        } finally {
+            event.complete(marketRegistry.codeOf(id), tradePrice, tradeTimestamp);
+        }
+    }
 
-            if (confirmedCandles.size() < settings.rsiPeriod() + 1) {
-                String message = "⚠️ " + market + ": RSI 계산을 위한 확정봉 데이터가 부족합니다. (필요: " +
-                    (settings.rsiPeriod() + 1) + ", 현재: " + confirmedCandles.size() + ")";
-                addNotification(message, "WARNING", market);
-                return;
+    private void handleTicker(int id, double tradePrice, long tradeTimestamp) {
+        TickRing.Writer writer = busWriter;
+        if (writer != null) {
+            writer.publish(marketRegistry.codeOf(id), tradePrice, tradeTimestamp);
+        }
+        // 공유 피드 구독자에게 먼저 전달 (각 세션이 자기 마켓만 처리)
+        TickListener[] listeners = tickListeners;
+        if (listeners.length > 0 && feedSubscribed[id]) {
+            for (TickListener listener : listeners) {
+                listener.onTick(id, tradePrice, tradeTimestamp);
             }
+        }
+        if (!trading || !subscribed[id]) return; // 구독 해제된 마켓의 잔여 메시지
+        String market = marketRegistry.codeOf(id);
+        if (!firstTickLogged) {
+            firstTickLogged = true;
+            long sinceJvmStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            System.out.println("⏱ 첫 틱 처리 (" + market + ", first-tick-ms=" + sinceJvmStart + ")");
+        }
 
-            // 같은 확정봉을 이미 판단했다면 스킵 (진행 중인 봉이 쿨다운 주기마다 반복 조회되며
-            // 아직 값이 바뀌지 않은 확정봉으로 중복 신호/알림이 나는 것을 방지)
-            String latestConfirmedCandleTime = confirmedCandles.get(0).getCandleDateTimeUtc();
-            if (latestConfirmedCandleTime.equals(lastProcessedCandleTime.get(market))) {
-                return;
-            }
-            lastProcessedCandleTime.put(market, latestConfirmedCandleTime);
-
-            // 종가 리스트 추출 (최신순이므로 그대로 사용)
-            List<Double> prices = confirmedCandles.stream()
-                    .map(CandleDto::getTradePrice)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-
-            // RSI 계산
-            double rsi = RsiCalculator.calculateRsi(prices, settings.rsiPeriod());
-            lastRsiValue.put(market, rsi);
-
-            String rsiMessage = "📊 " + market + " RSI: " + String.format("%.2f", rsi);
-            addNotification(rsiMessage, "INFO", market);
-
-            // 매매 로직
-            String currency = market.split("-")[1];
-            double balance = upbitService.getBalance(currency);
-            double krwBalance = upbitService.getBalance("KRW");
-
-            // 디버깅 정보 출력
-            if (rsi <= settings.rsiOversold() || rsi >= settings.rsiOverbought()) {
-                String debugMessage = "🔍 " + market + " 상태 - RSI: " + String.format("%.2f", rsi) +
-                    ", 보유량: " + balance + ", KRW잔액: " + String.format("%.0f", krwBalance);
-                addNotification(debugMessage, "INFO", market);
-            }
-
-            // RSI 과매도: 매수 신호
-            if (rsi <= settings.rsiOversold()) {
-                if (balance == 0) {
-                    if (krwBalance > settings.minOrderKrw()) {
-                        // 보유하지 않은 경우 매수
-                        double buyAmount = krwBalance / markets.size(); // 잔액을 종목 수로 나눔
-                        if (buyAmount >= settings.minOrderKrw()) {
-                            upbitService.buyMarketOrder(market, buyAmount);
-                            String buyMessage = "🟢 매수 신호 (RSI " + String.format("%.2f", rsi) + " ≤ " + settings.rsiOversold() + "): " + market +
-                                " - 매수금액: " + String.format("%.0f", buyAmount) + " KRW";
-                            addNotification(buyMessage, "BUY", market);
-                        } else {
-                            String warningMessage = "⚠️ " + market + ": 매수금액이 최소주문금액(" + settings.minOrderKrw() + "원) 미만입니다. (계산된 금액: " +
-                                String.format("%.0f", buyAmount) + "원)";
-                            addNotification(warningMessage, "WARNING", market);
-                        }
-                    } else {
-                        String warningMessage = "⚠️ " + market + ": KRW 잔액이 부족합니다. (현재: " +
-                            String.format("%.0f", krwBalance) + "원, 필요: " + settings.minOrderKrw() + "원 이상)";
-                        addNotification(warningMessage, "WARNING", market);
-                    }
-                } else {
-                    String infoMessage = "ℹ️ " + market + ": 이미 보유 중입니다. (보유량: " + balance + ")";
-                    addNotification(infoMessage, "INFO", market);
-                }
-            }
-            // RSI 과매수: 매도 신호
-            else if (rsi >= settings.rsiOverbought()) {
-                if (balance > 0) {
-                    // 보유 중인 경우 매도
-                    upbitService.sellMarketOrder(market, balance);
-                    String sellMessage = "🔴 매도 신호 (RSI " + String.format("%.2f", rsi) + " ≥ " + settings.rsiOverbought() + "): " + market;
-                    addNotification(sellMessage, "SELL", market);
-                } else {
-                    String infoMessage = "ℹ️ " + market + ": 보유하지 않아 매도할 수 없습니다.";
-                    addNotification(infoMessage, "INFO", market);
-                }
+        // 이전 가격과 비교하여 1% 이상 변동이 있을 때만 로그 출력
+        double previousPrice = currentPrice[id];
+        if (previousPrice > 0) {
+            double changePercent = Math.abs((tradePrice - previousPrice) / previousPrice) * 100;
+            if (changePercent >= 1.0) {
+                System.out.println("📡 현재가 (" + market + "): " + tradePrice +
+                    " (변동: " + String.format("%.2f", changePercent) + "%)");
             }
+        }
 
-        } catch (Exception e) {
-            String errorMessage = "❌ RSI 체크 오류 (" + market + "): " + e.getMessage();
-            addNotification(errorMessage, "ERROR", market);
-            System.err.println(errorMessage);
-            e.printStackTrace();
+        // 현재가 갱신 (같은 가격이면 스냅샷 버전을 올리지 않는다)
+        currentPrice[id] = tradePrice;
+        if (tradePrice != previousPrice) {
+            versionedPrices.markChanged();
         }
+        eventStreamHub.broadcastPrice(market, tradePrice);
+
+        // 시간프레임별 봉 집계 (1분봉부터 상위 봉으로 전파)
+        timeframeBars.onTick(id, tradeTimestamp, tradePrice);
+
+        // 보호 청산은 틱마다 판정해 주문 큐로, 확정봉 판단은 봉 경계 타이머에서, 틱 단위 판단은 같은 판단 스레드에서 수행한다
+        pipeline.onTick(id, tradePrice, tradeTimestamp);
     }
+
+    /**
+     * 기본 세션의 파이프라인 입출력: 확정봉은 SharedCandleFeed, 알림에는 시간프레임 RSI와 체결 흐름을 붙인다
+     */
+    private class PipelineHost implements DecisionPipeline.Host {
+
+        @Override
+        public boolean isActive(int marketId) {
+            return trading && subscribed[marketId];
+        }
+
+        @Override
+        public int marketCount() {
+            return markets.size();
+        }
+
+        @Override
+        public CandleSeries confirmedCandles(String market, TradingSettingsDto settings, long now, CandleSeries out) {
+            // 캐시 이후 새로 마감된 봉만 조회
+            return candleFeed.confirmed(market, settings.candleMinutes(), settings.candleCount(), now, out);
+        }
+
+        @Override
+        public void notify(String message, String type, String market) {
+            addNotification(message, type, market);
+        }
+
+        @Override
+        public String indicatorDetails(int marketId) {
+            return timeframeRsiSummary(marketId);
+        }
+
+        @Override
+        public String signalDetails(int marketId) {
+            return tradeFlowSummary(marketId);
+        }
+    }
+
     /**
      * WebSocket Listener
      */
-    private class Listener implements WebSocket.Listener {
-        
-        // 불완전한 JSON 메시지를 위한 버퍼
-        private StringBuilder messageBuffer = new StringBuilder();
+    private class Listener implements WebSocket.Listener, MarketDataDecoder.Handler {
+
+        // 여러 조각으로 나뉘어 오는 프레임을 모으는 재사용 버퍼 (프레임마다 새로 할당하지 않음)
+        private byte[] frameBuffer = new byte[8 * 1024];
+        private int frameLength = 0;
 
         @Override
         public void onOpen(WebSocket webSocket) {
@@ -322,90 +1108,79 @@ public class UpbitWebSocketClient {
         @Override
         public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
             try {
-                byte[] bytes = new byte[data.remaining()];
-                data.get(bytes);
-                String chunk = new String(bytes, java.nio.charset.StandardCharsets.UTF_8);
-                
-                // 버퍼에 추가
-                messageBuffer.append(chunk);
-                
+                int remaining = data.remaining();
+                if (frameLength + remaining > frameBuffer.length) {
+                    frameBuffer = Arrays.copyOf(frameBuffer, Math.max(frameBuffer.length * 2, frameLength + remaining));
+                }
+                data.get(frameBuffer, frameLength, remaining);
+                frameLength += remaining;
+
                 // 마지막 청크가 아니면 계속 누적
                 if (!last) {
                     return WebSocket.Listener.super.onBinary(webSocket, data, last);
                 }
-                
-                // 마지막 청크면 버퍼 전체를 처리
-                String fullMessage = messageBuffer.toString();
-                messageBuffer.setLength(0); // 버퍼 초기화
-                
+
                 lastMessageTime = System.currentTimeMillis();
-                
-                // 개행 문자로 여러 메시지 분리 (업비트는 여러 티커를 개행으로 구분)
-                String[] messages = fullMessage.split("\n");
-                
-                for (String json : messages) {
-                    if (json.trim().isEmpty()) continue;
-                    
-                    try {
-                        processTickerMessage(json.trim());
-                    } catch (Exception e) {
-                        // 개별 메시지 파싱 실패는 로그만 출력하고 계속 진행
-                        System.err.println("⚠️ 티커 메시지 파싱 실패: " + e.getMessage());
-                        // 디버깅용: 문제가 되는 메시지 첫 100자만 출력
-                        if (json.length() > 100) {
-                            System.err.println("  메시지 샘플: " + json.substring(0, 100) + "...");
-                        } else {
-                            System.err.println("  메시지: " + json);
-                        }
-                    }
+
+                // 개행으로 구분된 여러 티커도 스트리밍 파서가 순서대로 처리
+                WebSocketFrameEvent frameEvent = new WebSocketFrameEvent();
+                frameEvent.begin();
+                try {
+                    decoder.decode(frameBuffer, frameLength, this);
+                } catch (Exception e) {
+                    // 프레임 파싱 실패는 로그만 출력하고 계속 진행
+                    System.err.println("⚠️ 티커 메시지 파싱 실패: " + e.getMessage());
+                    // 디버깅용: 문제가 되는 메시지 첫 100자만 출력
+                    String sample = new String(frameBuffer, 0, Math.min(frameLength, 100), java.nio.charset.StandardCharsets.UTF_8);
+                    System.err.println("  메시지 샘플: " + sample + (frameLength > 100 ? "..." : ""));
+                } finally {
+                    frameEvent.complete(frameLength);
+                    frameLength = 0; // 버퍼 초기화
                 }
 
             } catch (Exception e) {
+                frameLength = 0;
                 System.err.println("❌ onBinary 처리 오류: " + e.getMessage());
             }
             return WebSocket.Listener.super.onBinary(webSocket, data, last);
         }
-        
-        /**
-         * 티커 메시지 처리
-         */
-        private void processTickerMessage(String json) throws Exception {
-            JsonNode obj = objectMapper.readTree(json);
-            String type = obj.path("type").asText();
-            if ("ticker".equals(type)) {
-                    String market = obj.path("code").asText();
-                    double tradePrice = obj.path("trade_price").asDouble();
-
-                    // 이전 가격과 비교하여 1% 이상 변동이 있을 때만 로그 출력
-                    Double previousPrice = currentPrices.get(market);
-                    if (previousPrice != null) {
-                        double changePercent = Math.abs((tradePrice - previousPrice) / previousPrice) * 100;
-                        if (changePercent >= 1.0) {
-                            System.out.println("📡 현재가 (" + market + "): " + tradePrice + 
-                                " (변동: " + String.format("%.2f", changePercent) + "%)");
-                        }
-                    }
 
-                    // 현재가 갱신
-                    currentPrices.put(market, tradePrice);
-                    sseEmitterRegistry.broadcastPrice(market, tradePrice);
+        @Override
+        public void onTicker(int marketId, double tradePrice, long tradeTimestamp) {
+            UpbitWebSocketClient.this.onTicker(marketId, tradePrice, tradeTimestamp);
+        }
+
+        @Override
+        public void onOrderbook(int marketId, long timestamp, double[] asks, double[] askSizes,
+                                double[] bids, double[] bidSizes, int levels) {
+            if (subscribed[marketId] || feedSubscribed[marketId]) {
+                orderBook.update(marketId, timestamp, asks, askSizes, bids, bidSizes, levels);
+            }
+        }
 
-                    // RSI 기반 매매 신호 체크
-                    checkRsiAndTrade(market);
-                }
+        @Override
+        public void onTrade(int marketId, long tradeTimestamp, double tradePrice, double tradeVolume,
+                            boolean buyerInitiated) {
+            if (subscribed[marketId]) {
+                tradeFlow.onTrade(marketId, tradeTimestamp, tradePrice, tradeVolume, buyerInitiated);
+            }
         }
 
         @Override
         public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
             System.out.println("🔌 WebSocket 종료 (" + statusCode + "): " + reason);
-            reconnect();
+            if (webSocket == UpbitWebSocketClient.this.webSocket) {
+                onConnectionLost();
+            }
             return WebSocket.Listener.super.onClose(webSocket, statusCode, reason);
         }
 
         @Override
         public void onError(WebSocket webSocket, Throwable error) {
             System.err.println("❌ WebSocket 오류: " + error.getMessage());
-            reconnect();
+            if (webSocket == UpbitWebSocketClient.this.webSocket) {
+                onConnectionLost();
+            }
         }
     }
 
@@ -0,0 +1,146 @@
+package com.backend.websocket;
+
+import com.backend.market.CandleSeries;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 재시작 시 워밍업을 건너뛰기 위한 마켓별 판단 상태 스냅샷 (확정봉 히스토리, 마지막 RSI/판단 봉, 현재가, 매수 단가).
+ * 만들 때의 설정(봉 단위, 봉 개수, RSI 기간, 전략)을 같이 저장해 복원 시 설정이 달라진 부분은 버린다.
+ *
+ * 형식: [int magic][short version][long savedAt][int candleMinutes][int candleCount][int rsiPeriod][UTF strategy]
+ *       [int 마켓 수][마켓별 상태 ...][int CRC32(앞의 전체)]
+ */
+record WarmStateSnapshot(long savedAt, int candleMinutes, int candleCount, int rsiPeriod, String strategy,
+                         List<MarketState> markets) {
+
+    private static final int MAGIC = 0x5741524d; // "WARM"
+    private static final short VERSION = 3; // 2: 확정봉을 (시작 시각, 종가) 컬럼으로 저장, 3: 매수 단가 추가
+
+    /**
+     * @param lastBuyPrice 매수 단가 (미보유 0)
+     * @param candles      확정봉 (최신순)
+     */
+    record MarketState(String market, double currentPrice, double lastBuyPrice, double lastRsiValue,
+                       long lastProcessedCandleTime, long lastRsiCheckTime, CandleSeries candles) {
+    }
+
+    byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(savedAt);
+        out.writeInt(candleMinutes);
+        out.writeInt(candleCount);
+        out.writeInt(rsiPeriod);
+        out.writeUTF(strategy);
+        out.writeInt(markets.size());
+        for (MarketState m : markets) {
+            out.writeUTF(m.market());
+            out.writeDouble(m.currentPrice());
+            out.writeDouble(m.lastBuyPrice());
+            out.writeDouble(m.lastRsiValue());
+            out.writeLong(m.lastProcessedCandleTime());
+            out.writeLong(m.lastRsiCheckTime());
+            CandleSeries candles = m.candles();
+            out.writeInt(candles.size());
+            for (int c = 0; c < candles.size(); c++) {
+                out.writeLong(candles.startTime(c));
+                out.writeDouble(candles.close(c));
+            }
+        }
+        out.flush();
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return 손상되었거나 형식 버전이 다르면 null
+     */
+    static WarmStateSnapshot decode(byte[] data) {
+        if (data.length < 4) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - 4))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                return null;
+            }
+            long savedAt = in.readLong();
+            int candleMinutes = in.readInt();
+            int candleCount = in.readInt();
+            int rsiPeriod = in.readInt();
+            String strategy = in.readUTF();
+            int marketCount = in.readInt();
+            List<MarketState> markets = new ArrayList<>(marketCount);
+            for (int i = 0; i < marketCount; i++) {
+                String market = in.readUTF();
+                double currentPrice = in.readDouble();
+                double lastBuyPrice = in.readDouble();
+                double lastRsiValue = in.readDouble();
+                long lastProcessedCandleTime = in.readLong();
+                long lastRsiCheckTime = in.readLong();
+                int candleTotal = in.readInt();
+                CandleSeries candles = new CandleSeries(candleTotal);
+                for (int c = 0; c < candleTotal; c++) {
+                    candles.append(in.readLong(), in.readDouble());
+                }
+                markets.add(new MarketState(market, currentPrice, lastBuyPrice, lastRsiValue, lastProcessedCandleTime,
+                        lastRsiCheckTime, candles));
+            }
+            return new WarmStateSnapshot(savedAt, candleMinutes, candleCount, rsiPeriod, strategy, markets);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 임시 파일에 쓰고 fsync한 뒤 원자적으로 교체한다
+     */
+    void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(encode());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return 파일이 없거나 읽을 수 없으면 null
+     */
+    static WarmStateSnapshot read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return decode(Files.readAllBytes(file));
+    }
+}
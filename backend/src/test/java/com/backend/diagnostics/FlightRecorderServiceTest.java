@@ -0,0 +1,59 @@
+package com.backend.diagnostics;
+
+import com.backend.dto.OrderResultDto;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightRecorderServiceTest {
+
+    @Test
+    void 번들_프로필은_JDK_기본_설정_위에_앱_이벤트와_세이프포인트를_켠다() throws Exception {
+        Map<String, String> settings = FlightRecorderService.settings();
+
+        assertEquals("true", settings.get("jdk.GarbageCollection#enabled")); // default 설정 유지
+        assertEquals("true", settings.get("jdk.SafepointBegin#enabled"));
+        assertEquals("1 ms", settings.get("com.backend.Tick#threshold"));
+        assertEquals("0 ms", settings.get("com.backend.Order#threshold"));
+    }
+
+    @Test
+    void 임계값_미만의_틱은_남기지_않고_주문은_모두_남긴다(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("test.jfr");
+        try (Recording recording = new Recording(FlightRecorderService.settings())) {
+            recording.start();
+
+            TickEvent tick = new TickEvent();
+            tick.begin();
+            tick.complete("KRW-BTC", 95_000_000.0, 1_700_000_000_000L);
+
+            OrderEvent order = new OrderEvent();
+            order.begin();
+            order.complete("bid", "10000", new OrderResultDto("KRW-BTC", "uuid-1", "wait", null, 12L));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertFalse(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.backend.Tick")));
+        RecordedEvent order = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.backend.Order"))
+                .findFirst().orElseThrow();
+        assertEquals("KRW-BTC", order.getString("market"));
+        assertEquals("bid", order.getString("side"));
+        assertEquals("10000", order.getString("amount"));
+        assertTrue(order.getBoolean("success"));
+        assertEquals("uuid-1", order.getString("uuid"));
+    }
+}
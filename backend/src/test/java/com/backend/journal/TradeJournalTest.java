@@ -0,0 +1,95 @@
+package com.backend.journal;
+
+import com.backend.config.UpbitProperties;
+import com.backend.strategy.Decision;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TradeJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 매수_체결은_가중평균으로_매도_체결은_수량만_줄인다() {
+        JournalState state = new JournalState();
+        state.apply(new JournalEntry.FillEntry(1L, "KRW-BTC", true, 1.0, 100.0));
+        state.apply(new JournalEntry.FillEntry(2L, "KRW-BTC", true, 1.0, 200.0));
+        state.apply(new JournalEntry.FillEntry(3L, "KRW-BTC", false, 0.5, 300.0));
+
+        JournalState.Position position = state.positions().get("KRW-BTC");
+        assertEquals(1.5, position.volume(), 1e-12);
+        assertEquals(150.0, position.avgPrice(), 1e-9);
+
+        state.apply(new JournalEntry.FillEntry(4L, "KRW-BTC", false, 1.5, 300.0));
+        assertEquals(0.0, state.positions().get("KRW-BTC").volume());
+        assertEquals(0.0, state.positions().get("KRW-BTC").avgPrice());
+    }
+
+    @Test
+    void 닫고_다시_열면_기록한_포지션과_판단을_복구한다() throws Exception {
+        TradeJournal journal = new TradeJournal(properties());
+        assertTrue(journal.recover().isEmpty());
+        assertTrue(journal.append(new JournalEntry.DecisionEntry(10L, "KRW-ETH", Decision.Action.BUY,
+                Decision.Reason.BUY_SIGNAL, 25.5, 30.0, 10000.0)));
+        journal.append(new JournalEntry.OrderEntry(11L, "KRW-ETH", true, 10000.0, "uuid-1", ""));
+        journal.append(new JournalEntry.FillEntry(12L, "KRW-ETH", true, 0.004, 2_500_000.0));
+        journal.close();
+
+        Map<String, JournalState.Position> recovered = new TradeJournal(properties()).recover();
+        JournalState.Position position = recovered.get("KRW-ETH");
+        assertEquals(0.004, position.volume(), 1e-12);
+        assertEquals(2_500_000.0, position.avgPrice(), 1e-6);
+        assertEquals(25.5, position.lastIndicator(), 1e-12);
+        assertEquals(10L, position.lastDecisionTime());
+    }
+
+    @Test
+    void 스냅샷_없이도_세그먼트를_재생하고_손상된_꼬리는_버린다() throws Exception {
+        TradeJournal journal = new TradeJournal(properties());
+        journal.recover();
+        journal.append(new JournalEntry.FillEntry(1L, "KRW-XRP", true, 10.0, 700.0));
+        journal.close();
+        Files.delete(dir.resolve("snapshot.bin"));
+
+        // 기록 도중 죽은 것처럼 마지막 세그먼트 끝에 잘린 레코드를 붙인다
+        Path segment = segments().get(segments().size() - 1);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        Map<String, JournalState.Position> recovered = new TradeJournal(properties()).recover();
+        assertEquals(10.0, recovered.get("KRW-XRP").volume(), 1e-12);
+        assertEquals(700.0, recovered.get("KRW-XRP").avgPrice(), 1e-9);
+        assertNull(recovered.get("KRW-BTC"));
+    }
+
+    @Test
+    void 복구_전에는_기록하지_않는다() {
+        assertFalse(new TradeJournal(properties()).append(
+                new JournalEntry.FillEntry(1L, "KRW-BTC", true, 1.0, 1.0)));
+    }
+
+    private UpbitProperties properties() {
+        UpbitProperties props = new UpbitProperties();
+        props.setJournalDir(dir.toString());
+        return props;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("journal-")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.backend.market;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CandleBoundaryWheelTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void deadline이_지난_마켓만_한_번씩_꺼낸다() {
+        CandleBoundaryWheel wheel = new CandleBoundaryWheel(8, 100, 16);
+        int[] out = new int[8];
+        wheel.advance(T0, out);
+        wheel.schedule(1, T0 + 250);
+        wheel.schedule(2, T0 + 1_000);
+
+        assertEquals(0, wheel.advance(T0 + 200, out));
+        assertEquals(1, wheel.advance(T0 + 300, out));
+        assertEquals(1, out[0]);
+        assertFalse(wheel.isScheduled(1));
+        assertEquals(0, wheel.advance(T0 + 900, out));
+        assertEquals(1, wheel.advance(T0 + 1_000, out));
+        assertEquals(2, out[0]);
+    }
+
+    @Test
+    void 휠_한_바퀴보다_먼_예약은_다음_바퀴까지_남는다() {
+        CandleBoundaryWheel wheel = new CandleBoundaryWheel(8, 100, 16); // 한 바퀴 1.6초
+        int[] out = new int[8];
+        wheel.advance(T0, out);
+        wheel.schedule(3, T0 + 5_000);
+
+        for (long t = T0 + 100; t < T0 + 5_000; t += 100) {
+            assertEquals(0, wheel.advance(t, out));
+        }
+        assertTrue(wheel.isScheduled(3));
+        assertEquals(1, wheel.advance(T0 + 5_000, out));
+        assertEquals(3, out[0]);
+    }
+
+    @Test
+    void 다시_예약하거나_취소하면_이전_예약은_사라진다() {
+        CandleBoundaryWheel wheel = new CandleBoundaryWheel(8, 100, 16);
+        int[] out = new int[8];
+        wheel.advance(T0, out);
+        wheel.schedule(4, T0 + 100);
+        wheel.schedule(4, T0 + 500);
+        wheel.schedule(5, T0 + 100);
+        wheel.cancel(5);
+
+        assertEquals(0, wheel.advance(T0 + 400, out));
+        assertEquals(1, wheel.advance(T0 + 10_000, out)); // 오래 멈춰 있어도 놓치지 않는다
+        assertEquals(4, out[0]);
+    }
+
+    @Test
+    void 다음_봉_경계는_UTC_분봉_시작_시각이다() {
+        long minute = 60_000L;
+        long aligned = T0 - Math.floorMod(T0, 5 * minute);
+        assertEquals(aligned + 5 * minute, CandleBoundaryWheel.nextBoundary(aligned, 5));
+        assertEquals(aligned + 5 * minute, CandleBoundaryWheel.nextBoundary(aligned + 1, 5));
+        assertEquals(0L, CandleBoundaryWheel.nextBoundary(-1L, 240));
+    }
+}
@@ -0,0 +1,51 @@
+package com.backend.market;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CandleSeriesReaderTest {
+
+    private static long epoch(String utc) {
+        return LocalDateTime.parse(utc).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    @Test
+    void 진행_중인_첫_봉을_빼고_시각과_종가만_읽는다() throws Exception {
+        String json = "[" +
+                "{\"market\":\"KRW-BTC\",\"candle_date_time_utc\":\"2024-03-01T00:10:00\",\"trade_price\":103.0}," +
+                "{\"market\":\"KRW-BTC\",\"candle_date_time_utc\":\"2024-03-01T00:05:00\",\"opening_price\":100.5," +
+                "\"trade_price\":102.0,\"timestamp\":1709251799999,\"unit\":5}," +
+                "{\"candle_date_time_utc\":\"2024-03-01T00:00:00\",\"trade_price\":null}," +
+                "{\"candle_date_time_utc\":\"2024-02-29T23:55:00\",\"trade_price\":101}" +
+                "]";
+
+        CandleSeries out = new CandleSeries(1);
+        CandleSeriesReader.readConfirmed(json.getBytes(StandardCharsets.UTF_8), out);
+
+        assertEquals(2, out.size());
+        assertEquals(epoch("2024-03-01T00:05:00"), out.startTime(0));
+        assertEquals(102.0, out.close(0));
+        assertEquals(epoch("2024-02-29T23:55:00"), out.startTime(1)); // 종가 없는 봉은 제외
+        assertEquals(101.0, out.close(1));
+    }
+
+    @Test
+    void 시각_변환은_LocalDateTime과_같다() {
+        for (String utc : new String[]{"1970-01-01T00:00:00", "2000-02-29T12:34:56", "2024-12-31T23:59:59", "2100-03-01T00:00:00"}) {
+            char[] chars = ("x" + utc).toCharArray();
+            assertEquals(epoch(utc), CandleSeriesReader.parseUtc(chars, 1, utc.length()), utc);
+        }
+    }
+
+    @Test
+    void 배열이_아니면_실패한다() {
+        byte[] error = "{\"error\":{\"name\":\"too_many_requests\"}}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(java.io.IOException.class, () -> CandleSeriesReader.readConfirmed(error, new CandleSeries(1)));
+    }
+}
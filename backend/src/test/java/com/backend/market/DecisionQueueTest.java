@@ -0,0 +1,117 @@
+package com.backend.market;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecisionQueueTest {
+
+    private final List<String> log = new ArrayList<>();
+
+    private Runnable task(String name) {
+        return () -> log.add(name);
+    }
+
+    private void drain(DecisionQueue queue) {
+        Runnable task;
+        while ((task = queue.poll(0L)) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    void 청산_매수_알림_순으로_꺼낸다() {
+        DecisionQueue queue = new DecisionQueue(8, 64);
+        queue.offer(0, DecisionQueue.INFO, task("info0"), 0L);
+        queue.offer(1, DecisionQueue.BUY, task("buy1"), 0L);
+        queue.offer(2, DecisionQueue.EXIT, task("exit2"), 0L);
+        queue.offer(3, DecisionQueue.BUY, task("buy3"), 0L);
+
+        drain(queue);
+
+        assertEquals(List.of("exit2", "buy1", "buy3", "info0"), log);
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void 같은_마켓의_새_주문_작업이_대기_중인_작업을_대체한다() {
+        DecisionQueue queue = new DecisionQueue(8, 64);
+        queue.offer(0, DecisionQueue.BUY, task("buy-old"), 0L);
+        queue.offer(1, DecisionQueue.BUY, task("buy1"), 0L);
+        queue.offer(0, DecisionQueue.BUY, task("buy-new"), 0L); // 대기 순서 유지
+        queue.offer(1, DecisionQueue.EXIT, task("exit1"), 0L);  // 매수 대기 → 매도로 승격
+        assertFalse(queue.offer(1, DecisionQueue.BUY, task("buy1-late"), 0L)); // 매도 대기 중이면 버림
+
+        drain(queue);
+
+        assertEquals(List.of("exit1", "buy-new"), log);
+        assertEquals(3, queue.superseded());
+    }
+
+    @Test
+    void 대기_중인_보호_청산은_매도_신호로_대체되지_않는다() {
+        DecisionQueue queue = new DecisionQueue(8, 64);
+        queue.offer(0, DecisionQueue.EXIT, task("sell0"), 0L);
+        queue.offerProtectiveExit(0, task("stop0"), 0L);                  // 매도 신호 → 보호 청산
+        assertFalse(queue.offer(0, DecisionQueue.EXIT, task("sell0-late"), 0L));
+        assertTrue(queue.offerProtectiveExit(0, task("stop0-new"), 0L));  // 보호 청산끼리는 최신 것으로
+
+        drain(queue);
+        queue.offer(0, DecisionQueue.EXIT, task("sell0-next"), 0L);       // 처리된 뒤에는 다시 받는다
+        drain(queue);
+
+        assertEquals(List.of("stop0-new", "sell0-next"), log);
+    }
+
+    @Test
+    void 알림은_마켓별_최신_것만_남는다() {
+        DecisionQueue queue = new DecisionQueue(8, 64);
+        queue.offer(0, DecisionQueue.INFO, task("info-old"), 0L);
+        queue.offer(0, DecisionQueue.INFO, task("info-new"), 0L);
+
+        drain(queue);
+
+        assertEquals(List.of("info-new"), log);
+    }
+
+    @Test
+    void 대기_수가_임계값에_도달하면_알림을_버린다() {
+        DecisionQueue queue = new DecisionQueue(8, 3);
+        queue.offer(0, DecisionQueue.INFO, task("info0"), 0L);
+        queue.offer(1, DecisionQueue.INFO, task("info1"), 0L);
+        queue.offer(2, DecisionQueue.BUY, task("buy2"), 0L); // 대기 3 → 대기 중인 알림 정리
+        assertEquals(1, queue.depth());
+        assertEquals(2, queue.shed());
+
+        queue.offer(3, DecisionQueue.EXIT, task("exit3"), 0L);
+        queue.offer(4, DecisionQueue.BUY, task("buy4"), 0L);
+        assertFalse(queue.offer(5, DecisionQueue.INFO, task("info5"), 0L)); // 대기 3 이상이면 받지 않음
+        assertTrue(queue.offer(6, DecisionQueue.EXIT, task("exit6"), 0L));  // 주문 작업은 항상 받는다
+
+        drain(queue);
+
+        assertEquals(List.of("exit3", "exit6", "buy2", "buy4"), log);
+        assertEquals(3, queue.shed());
+    }
+
+    @Test
+    void 청산_대기_시간과_등급별_처리_수를_기록한다() {
+        DecisionQueue queue = new DecisionQueue(8, 64);
+        queue.offer(0, DecisionQueue.EXIT, task("exit0"), 1_000L);
+        queue.offer(1, DecisionQueue.EXIT, task("exit1"), 1_200L);
+
+        queue.poll(1_050L);
+        assertEquals(50L, queue.lastExitWaitMs());
+        queue.poll(1_500L);
+        assertEquals(300L, queue.lastExitWaitMs());
+        assertEquals(300L, queue.maxExitWaitMs());
+        assertEquals(2L, queue.executed(DecisionQueue.EXIT));
+        assertNull(queue.poll(2_000L));
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.market;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarketRulesTest {
+
+    private final MarketRules rules = new MarketRules("KRW-BTC", 0.0005, 0.0005, 5000, 5000, 1_000_000_000, "active", 1L);
+
+    @Test
+    void 매수금액은_수수료를_포함해_예산을_넘지_않는다() {
+        long total = rules.buyTotal(100_000);
+
+        assertEquals(99_950L, total);
+        assertTrue(total * (1 + rules.bidFee()) <= 100_000);
+        assertEquals(0L, rules.buyTotal(5_001)); // 수수료를 빼면 최소 주문금액 미만
+    }
+
+    @Test
+    void 매도수량은_8자리에서_내림하고_지수_표기_없이_만든다() {
+        assertEquals("0.00012345", rules.sellVolume(0.000123456789).toPlainString());
+        assertEquals("0.0001", rules.sellVolume(1.0E-4).toPlainString());
+        assertEquals(0, rules.sellVolume(0.000000001).signum());
+        assertFalse(rules.sellable(0.0001, 40_000_000)); // 4,000원
+        assertTrue(rules.sellable(0.0002, 40_000_000));
+    }
+
+    @Test
+    void 가격_구간별_호가_단위로_내림한다() {
+        assertEquals(1_000, rules.tickSize(95_000_000));
+        assertEquals(50, rules.tickSize(75_000));
+        assertEquals("95123000", rules.roundPriceDown(95_123_456).toPlainString());
+        assertEquals("1234", rules.roundPriceDown(1_234.9).toPlainString());
+        assertEquals("0.123", rules.roundPriceDown(0.12345).toPlainString());
+    }
+}
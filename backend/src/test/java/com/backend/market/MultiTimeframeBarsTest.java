@@ -0,0 +1,58 @@
+package com.backend.market;
+
+import com.backend.util.RsiCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiTimeframeBarsTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void 시드한_RSI는_RsiCalculator와_같다() {
+        List<Double> pricesNewestFirst = List.of(20.0, 14.0, 15.0, 11.0, 12.0, 10.0);
+        MultiTimeframeBars bars = new MultiTimeframeBars(4, 2);
+
+        CandleSeries confirmed = new CandleSeries(pricesNewestFirst.size());
+        for (double price : pricesNewestFirst) {
+            confirmed.append(0L, price);
+        }
+
+        bars.seed(1, 0, confirmed);
+
+        assertEquals(RsiCalculator.calculateRsi(pricesNewestFirst, 2), bars.rsi(1, 0), 1e-9);
+    }
+
+    @Test
+    void 하위_봉_마감이_상위_봉으로_전파된다() {
+        MultiTimeframeBars bars = new MultiTimeframeBars(1, 2);
+
+        assertEquals(0, bars.onTick(0, 0, 100.0));
+        assertEquals(0, bars.onTick(0, 30_000L, 101.0));
+        // 1분 경계: 1분봉만 마감
+        assertEquals(0b0001, bars.onTick(0, MINUTE, 102.0));
+        // 5분 경계: 1분봉과 5분봉 마감
+        assertEquals(0b0011, bars.onTick(0, 5 * MINUTE, 103.0));
+        // 60분 경계: 모든 봉 마감
+        assertEquals(0b1111, bars.onTick(0, 60 * MINUTE, 104.0));
+        assertEquals(104.0, bars.close(0, 3), 1e-9);
+    }
+
+    @Test
+    void 마감된_1분봉_종가로_RSI가_증분_계산된다() {
+        MultiTimeframeBars bars = new MultiTimeframeBars(1, 2);
+        double[] closes = {10.0, 12.0, 11.0, 15.0, 14.0, 20.0};
+        for (int i = 0; i < closes.length; i++) {
+            bars.onTick(0, i * MINUTE, closes[i]);
+        }
+        // 마지막 봉(20.0)이 마감되도록 다음 봉 틱 전달
+        bars.onTick(0, closes.length * MINUTE, 21.0);
+
+        assertTrue(Double.isNaN(bars.rsi(0, 1)));
+        assertEquals(92.06349206349206, bars.rsi(0, 0), 1e-9);
+    }
+}
@@ -0,0 +1,84 @@
+package com.backend.market;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderBookTest {
+
+    private final OrderBook orderBook = new OrderBook(2);
+
+    OrderBookTest() {
+        // 매도: 100 × 1, 101 × 2, 105 × 10 / 매수: 99 × 1, 98 × 3
+        orderBook.update(1, 1L,
+                new double[]{100, 101, 105}, new double[]{1, 2, 10},
+                new double[]{99, 98, 90}, new double[]{1, 3, 10}, 3);
+    }
+
+    @Test
+    void 매수금액만큼_매도호가를_소진한_평균가를_계산한다() {
+        // 100원 1개 + 101원 1개 = 201원으로 2개
+        assertEquals(100.5, orderBook.expectedBuyPrice(1, 201), 1e-9);
+    }
+
+    @Test
+    void 매도수량만큼_매수호가를_소진한_평균가를_계산한다() {
+        // 99 × 1 + 98 × 1
+        assertEquals(98.5, orderBook.expectedSellPrice(1, 2), 1e-9);
+    }
+
+    @Test
+    void 호가_깊이가_부족하면_NaN() {
+        assertTrue(Double.isNaN(orderBook.expectedBuyPrice(1, 10_000)));
+        assertTrue(Double.isNaN(orderBook.expectedBuyPrice(0, 100)));
+    }
+
+    @Test
+    void 슬리피지_한도_안의_호가만_합산한다() {
+        // 1% 한도 → 101원까지: 100 + 202
+        assertEquals(302.0, orderBook.maxBuyKrw(1, 1.0), 1e-9);
+        // 1% 한도 → 98.01원까지: 99원 1개만 / 2% 한도 → 97.02원까지: 1 + 3
+        assertEquals(1.0, orderBook.maxSellVolume(1, 1.0), 1e-9);
+        assertEquals(4.0, orderBook.maxSellVolume(1, 2.0), 1e-9);
+    }
+
+    @Test
+    @Timeout(30)
+    void 다른_스레드의_clear와_update가_겹쳐도_읽기가_멈추지_않는다() throws InterruptedException {
+        double[] asks = {100, 101, 105};
+        double[] askSizes = {1, 2, 10};
+        double[] bids = {99, 98, 90};
+        double[] bidSizes = {1, 3, 10};
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        Thread updater = new Thread(() -> {
+            long ts = 0;
+            while (running.get()) {
+                orderBook.update(1, ++ts, asks, askSizes, bids, bidSizes, 3);
+            }
+        });
+        Thread clearer = new Thread(() -> {
+            while (running.get()) {
+                orderBook.clear(1);
+            }
+        });
+        updater.start();
+        clearer.start();
+
+        // 읽기는 비었거나(NaN) 온전한 스냅샷(100.5)만 본다
+        for (int i = 0; i < 200_000; i++) {
+            double price = orderBook.expectedBuyPrice(1, 201);
+            assertTrue(Double.isNaN(price) || price == 100.5, "찢어진 호가: " + price);
+        }
+        running.set(false);
+        updater.join();
+        clearer.join();
+
+        orderBook.clear(1);
+        assertTrue(Double.isNaN(orderBook.expectedBuyPrice(1, 201))); // 버전이 홀수로 남았다면 여기서 멈춘다
+    }
+}
@@ -0,0 +1,150 @@
+package com.backend.market;
+
+import com.backend.config.TradingSettings;
+import com.backend.config.UpbitProperties;
+import com.backend.dto.OrderResultDto;
+import com.backend.dto.TradingSettingsDto;
+import com.backend.journal.TradeJournal;
+import com.backend.service.AccountView;
+import com.backend.service.NotificationService;
+import com.backend.service.OrderRateLimiter;
+import com.backend.service.UpbitService;
+import com.backend.strategy.RsiStrategy;
+import com.backend.trading.DecisionPipeline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProtectiveExitsTest {
+
+    @Test
+    void 미보유_마켓은_어떤_가격에도_발동하지_않는다() {
+        ProtectiveExits exits = new ProtectiveExits(4);
+        exits.configure(3.0, 5.0, 2.0);
+
+        assertEquals(ProtectiveExits.NONE, exits.onTick(0, 1.0));
+        assertEquals(ProtectiveExits.NONE, exits.onTick(0, 1_000_000.0));
+    }
+
+    @Test
+    void 손절과_익절은_매수가_기준_경계에서_한_번만_발동한다() {
+        ProtectiveExits exits = new ProtectiveExits(4);
+        exits.configure(3.0, 5.0, 0.0);
+        exits.arm(1, 100.0);
+
+        assertEquals(ProtectiveExits.NONE, exits.onTick(1, 97.5));
+        assertEquals(ProtectiveExits.STOP_LOSS, exits.onTick(1, 97.0));
+        assertEquals(ProtectiveExits.NONE, exits.onTick(1, 90.0)); // 발동 후 해제
+
+        exits.arm(1, 100.0);
+        assertEquals(ProtectiveExits.NONE, exits.onTick(1, 104.9));
+        assertEquals(ProtectiveExits.TAKE_PROFIT, exits.onTick(1, 105.0));
+    }
+
+    @Test
+    void 트레일링_스탑은_고점을_따라_올라간다() {
+        ProtectiveExits exits = new ProtectiveExits(4);
+        exits.configure(5.0, 0.0, 2.0);
+        exits.arm(2, 100.0);
+
+        assertEquals(ProtectiveExits.NONE, exits.onTick(2, 110.0));
+        assertEquals(ProtectiveExits.NONE, exits.onTick(2, 108.0)); // 고점 110 대비 -1.8%
+        assertEquals(ProtectiveExits.TRAILING_STOP, exits.onTick(2, 107.8));
+    }
+
+    @Test
+    void 고점이_매수가를_넘지_못하고_하한에_닿으면_손절로_본다() {
+        ProtectiveExits exits = new ProtectiveExits(4);
+        exits.configure(5.0, 0.0, 2.0);
+        exits.arm(2, 100.0);
+
+        // 트레일링 하한 98이 손절가 95보다 높지만 고점은 매수가 그대로
+        assertEquals(ProtectiveExits.STOP_LOSS, exits.onTick(2, 98.0));
+    }
+
+    @Test
+    void 설정을_바꾸면_보유_마켓의_경계를_다시_계산한다() {
+        ProtectiveExits exits = new ProtectiveExits(4);
+        exits.configure(0.0, 0.0, 0.0);
+        exits.arm(3, 100.0);
+        assertEquals(ProtectiveExits.NONE, exits.onTick(3, 50.0));
+
+        exits.configure(10.0, 0.0, 0.0);
+        assertEquals(ProtectiveExits.STOP_LOSS, exits.onTick(3, 90.0));
+    }
+
+    @Test
+    void 청산_매도가_실패하면_경계를_복구해_다음_틱에_다시_발동한다(@TempDir Path dir) throws InterruptedException {
+        UpbitProperties props = new UpbitProperties();
+        props.setBaseUrl("http://localhost:1");
+        props.setAccessKey("test-access");
+        props.setSecretKey("test-secret");
+        TradingSettings settings = new TradingSettings();
+        AtomicInteger sells = new AtomicInteger();
+        UpbitService failingService = new UpbitService(props, new NotificationService(null), settings, new AccountView(),
+                new OrderRateLimiter()) {
+            @Override
+            public double getBalance(String currency) {
+                return 100.0;
+            }
+
+            @Override
+            public OrderResultDto sellMarketOrder(String market, double volume) {
+                sells.incrementAndGet();
+                return new OrderResultDto(market, null, null, "거래소 오류", 0L);
+            }
+        };
+        MarketRegistry registry = new MarketRegistry();
+        int id = registry.register("KRW-BTC");
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        TradeJournal journal = new TradeJournal(dir);
+        DecisionPipeline pipeline = new DecisionPipeline("", failingService, settings, journal, new RsiStrategy(),
+                registry, executor, new OrderBook(4), 64, "test-orders", new DecisionPipeline.Host() {
+                @Override
+                public boolean isActive(int marketId) {
+                    return true;
+                }
+
+                @Override
+                public int marketCount() {
+                    return 1;
+                }
+
+                @Override
+                public CandleSeries confirmedCandles(String market, TradingSettingsDto s, long now, CandleSeries out) {
+                    return out;
+                }
+
+                @Override
+                public void notify(String message, String type, String market) {
+                }
+            });
+        try {
+            TradingSettingsDto current = settings.current();
+            pipeline.configureExits(new TradingSettingsDto(current.markets(), current.rsiOversold(), current.rsiOverbought(),
+                    current.rsiPeriod(), current.candleMinutes(), current.candleCount(), current.rsiCheckCooldownMs(),
+                    current.minOrderKrw(), current.maxSlippagePct(), current.autoSelectMarkets(), 3.0, 0.0, 0.0));
+            pipeline.setLastBuyPrice(id, 100.0);
+
+            pipeline.onTick(id, 96.0, 0L); // 손절 발동 → 주문 스레드에서 매도 실패
+            long deadline = System.currentTimeMillis() + 5_000L;
+            while (sells.get() < 2 && System.currentTimeMillis() < deadline) {
+                pipeline.onTick(id, 95.5, 1L); // 경계가 복구되기 전 틱은 발동하지 않는다
+                Thread.sleep(10);
+            }
+
+            assertEquals(2, sells.get());
+        } finally {
+            pipeline.close();
+            executor.shutdownNow();
+            journal.close();
+            failingService.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend.market;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeqLockTest {
+
+    @Test
+    void 쓰기_스레드가_둘이어도_읽기는_찢어진_값을_보지_않고_끝난다() throws InterruptedException {
+        SeqLock lock = new SeqLock(1);
+        long[] pair = new long[2];
+        int iterations = 200_000;
+        CountDownLatch done = new CountDownLatch(2);
+
+        Runnable writer = () -> {
+            for (int i = 0; i < iterations; i++) {
+                lock.beginWrite(0);
+                try {
+                    pair[0]++;
+                    pair[1]++;
+                } finally {
+                    lock.endWrite(0);
+                }
+            }
+            done.countDown();
+        };
+        new Thread(writer).start();
+        new Thread(writer).start();
+
+        while (done.getCount() > 0) {
+            long v = lock.beginRead(0);
+            long a = pair[0];
+            long b = pair[1];
+            if (lock.validate(0, v)) {
+                assertEquals(a, b);
+            }
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        long v = lock.beginRead(0); // 버전이 홀수로 남았다면 여기서 멈춘다
+        assertEquals(0, v & 1);
+        assertEquals(2L * iterations, pair[0]);
+        assertTrue(lock.validate(0, v));
+    }
+}
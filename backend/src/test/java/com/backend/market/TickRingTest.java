@@ -0,0 +1,100 @@
+package com.backend.market;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TickRingTest {
+
+    @TempDir
+    Path dir;
+
+    private record Tick(String market, double price, long timestamp) {
+    }
+
+    @Test
+    void 발행한_틱을_마켓_코드로_변환해_순서대로_읽는다() throws IOException {
+        Path file = dir.resolve("feed.ring");
+        MarketRegistry registry = new MarketRegistry();
+        registry.register("KRW-ETH");
+        List<Tick> ticks = new ArrayList<>();
+
+        try (TickRing.Writer writer = TickRing.Writer.create(file, 8)) {
+            TickRing.Reader reader = TickRing.Reader.open(file, registry);
+            writer.publish("KRW-BTC", 100.0, 1L);
+            writer.publish("KRW-ETH", 200.0, 2L);
+
+            int count = reader.poll((id, price, ts) -> ticks.add(new Tick(registry.codeOf(id), price, ts)), 100);
+
+            assertEquals(2, count);
+            assertEquals(List.of(new Tick("KRW-BTC", 100.0, 1L), new Tick("KRW-ETH", 200.0, 2L)), ticks);
+            assertEquals(0, reader.poll((id, price, ts) -> ticks.add(null), 100));
+        }
+    }
+
+    @Test
+    void 열기_전에_발행된_틱은_읽지_않는다() throws IOException {
+        Path file = dir.resolve("feed.ring");
+        MarketRegistry registry = new MarketRegistry();
+        List<Double> prices = new ArrayList<>();
+
+        try (TickRing.Writer writer = TickRing.Writer.create(file, 8)) {
+            writer.publish("KRW-BTC", 1.0, 1L);
+            TickRing.Reader reader = TickRing.Reader.open(file, registry);
+            writer.publish("KRW-BTC", 2.0, 2L);
+
+            reader.poll((id, price, ts) -> prices.add(price), 100);
+        }
+
+        assertEquals(List.of(2.0), prices);
+    }
+
+    @Test
+    void 한_바퀴_이상_뒤처지면_남은_틱부터_읽고_유실을_센다() throws IOException {
+        Path file = dir.resolve("feed.ring");
+        MarketRegistry registry = new MarketRegistry();
+        List<Double> prices = new ArrayList<>();
+
+        try (TickRing.Writer writer = TickRing.Writer.create(file, 4)) {
+            TickRing.Reader reader = TickRing.Reader.open(file, registry);
+            for (int i = 1; i <= 10; i++) {
+                writer.publish("KRW-BTC", i, i);
+            }
+
+            reader.poll((id, price, ts) -> prices.add(price), 100);
+
+            assertEquals(List.of(7.0, 8.0, 9.0, 10.0), prices);
+            assertEquals(6, reader.lost());
+        }
+    }
+
+    @Test
+    void writer가_닫히면_reader는_종료를_알린다() throws IOException {
+        Path file = dir.resolve("feed.ring");
+        TickRing.Writer writer = TickRing.Writer.create(file, 4);
+        TickRing.Reader reader = TickRing.Reader.open(file, new MarketRegistry());
+
+        writer.close();
+
+        assertEquals(-1, reader.poll((id, price, ts) -> { }, 100));
+    }
+
+    @Test
+    void writer는_파일당_하나만_열_수_있다() throws IOException {
+        Path file = dir.resolve("feed.ring");
+        TickRing.Writer first = TickRing.Writer.create(file, 4);
+        try {
+            assertThrows(IllegalStateException.class, () -> TickRing.Writer.create(file, 4));
+        } finally {
+            first.close();
+        }
+        TickRing.Writer.create(file, 4).close(); // 닫은 뒤에는 다시 열 수 있다
+    }
+}
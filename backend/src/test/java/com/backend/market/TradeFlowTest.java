@@ -0,0 +1,57 @@
+package com.backend.market;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TradeFlowTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private final TradeFlow tradeFlow = new TradeFlow(2);
+    private final double[] out = new double[TradeFlow.FIELD_COUNT];
+
+    @Test
+    void 윈도우별로_VWAP와_매수매도_체결량을_집계한다() {
+        tradeFlow.onTrade(1, T0, 100, 1, true);
+        tradeFlow.onTrade(1, T0 + 30_000, 110, 3, false);
+        tradeFlow.onTrade(1, T0 + 55_000, 120, 1, true);
+
+        // 10초: 마지막 체결만
+        tradeFlow.aggregate(1, TradeFlow.windowIndex(10), T0 + 55_000, out);
+        assertEquals(120.0, out[TradeFlow.VWAP], 1e-9);
+        assertEquals(1, (int) out[TradeFlow.TRADE_COUNT]);
+
+        // 1분: (100 + 330 + 120) / 5
+        tradeFlow.aggregate(1, TradeFlow.windowIndex(60), T0 + 55_000, out);
+        assertEquals(110.0, out[TradeFlow.VWAP], 1e-9);
+        assertEquals(2.0, out[TradeFlow.BUY_VOLUME], 1e-9);
+        assertEquals(3.0, out[TradeFlow.SELL_VOLUME], 1e-9);
+        assertEquals(3, (int) out[TradeFlow.TRADE_COUNT]);
+    }
+
+    @Test
+    void 윈도우를_벗어난_체결은_제외되고_버킷은_재사용된다() {
+        tradeFlow.onTrade(1, T0, 100, 1, true);
+        // 정확히 5분 뒤 같은 버킷 슬롯에 새 체결
+        tradeFlow.onTrade(1, T0 + 300_000, 200, 2, false);
+
+        tradeFlow.aggregate(1, TradeFlow.windowIndex(300), T0 + 300_000, out);
+        assertEquals(200.0, out[TradeFlow.VWAP], 1e-9);
+        assertEquals(2.0, out[TradeFlow.VOLUME], 1e-9);
+
+        tradeFlow.aggregate(1, TradeFlow.windowIndex(10), T0 + 400_000, out);
+        assertTrue(Double.isNaN(out[TradeFlow.VWAP]));
+        assertEquals(0, (int) out[TradeFlow.TRADE_COUNT]);
+    }
+
+    @Test
+    void 초기화하면_집계가_비워진다() {
+        tradeFlow.onTrade(1, T0, 100, 1, true);
+        tradeFlow.reset(1);
+
+        tradeFlow.aggregate(1, TradeFlow.windowIndex(60), T0, out);
+        assertEquals(0.0, out[TradeFlow.VOLUME], 1e-9);
+    }
+}
@@ -0,0 +1,68 @@
+package com.backend.market;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionedPricesTest {
+
+    @Test
+    void 버전이_같으면_스냅샷을_다시_만들지_않는다() {
+        VersionedPrices prices = new VersionedPrices(1_000L);
+        AtomicInteger builds = new AtomicInteger();
+        prices.markChanged();
+
+        VersionedPrices.Snapshot first = prices.current(() -> {
+            builds.incrementAndGet();
+            return Map.of("KRW-BTC", 95_000_000.0);
+        });
+        VersionedPrices.Snapshot second = prices.current(() -> {
+            builds.incrementAndGet();
+            return Map.of();
+        });
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+        assertEquals("\"1000-1\"", first.etag());
+        assertEquals("{\"KRW-BTC\":9.5E7}", new String(first.json()));
+
+        prices.markChanged();
+        assertNotSame(first, prices.current(() -> Map.of("KRW-BTC", 96_000_000.0)));
+    }
+
+    @Test
+    void 롱폴링은_다음_변경_때_완료된다() {
+        VersionedPrices prices = new VersionedPrices(1_000L);
+        prices.markChanged();
+
+        assertTrue(prices.awaitChange("1000-0").isDone());
+
+        CompletableFuture<Void> waiting = prices.awaitChange(prices.versionTag());
+        assertFalse(waiting.isDone());
+
+        prices.markChanged();
+        assertTrue(waiting.isDone());
+    }
+
+    @Test
+    void 재시작_전에_받은_버전이면_번호가_같아도_바로_깨어난다() {
+        VersionedPrices beforeRestart = new VersionedPrices(1_000L);
+        beforeRestart.markChanged();
+        String oldTag = beforeRestart.versionTag();
+
+        VersionedPrices afterRestart = new VersionedPrices(2_000L);
+        afterRestart.markChanged();
+
+        assertEquals(beforeRestart.version(), afterRestart.version());
+        assertTrue(afterRestart.awaitChange(oldTag).isDone());
+        assertFalse(afterRestart.awaitChange(afterRestart.versionTag()).isDone());
+    }
+}
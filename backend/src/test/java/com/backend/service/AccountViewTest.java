@@ -0,0 +1,71 @@
+package com.backend.service;
+
+import com.backend.dto.AccountDto;
+import com.backend.dto.OpenOrderDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountViewTest {
+
+    @Test
+    void myAsset_이벤트는_잔고만_갱신하고_매수평균가는_유지한다() {
+        AccountView view = new AccountView();
+        view.reset(List.of(account("KRW", "100000", "0"), account("BTC", "0.01", "90000000")));
+
+        view.applyAsset("BTC", 0.02, 0.0);
+        view.applyAsset("KRW", 0.0, 0.0);
+
+        assertEquals(0.02, view.balance("btc"), 1e-12);
+        assertEquals(90000000.0, view.holdings().get("BTC").avgBuyPrice(), 1e-9);
+        assertEquals(0.0, view.balance("KRW"), 1e-12);
+        assertFalse(view.holdings().containsKey("KRW"));
+    }
+
+    @Test
+    void 스냅샷_요청_이후의_myAsset_갱신은_스냅샷으로_덮지_않는다() {
+        AccountView view = new AccountView();
+        view.reset(List.of(account("KRW", "100000", "0"), account("BTC", "0.01", "90000000")));
+
+        long mark = view.snapshotMark();
+        view.applyAsset("BTC", 0.03, 0.0); // 스냅샷 응답보다 먼저 도착한 체결 반영
+        view.applyAsset("ETH", 1.0, 0.0);
+        view.reset(List.of(account("KRW", "50000", "0"), account("BTC", "0.01", "95000000")), mark);
+
+        assertEquals(0.03, view.balance("BTC"), 1e-12);
+        assertEquals(95000000.0, view.holdings().get("BTC").avgBuyPrice(), 1e-9);
+        assertEquals(1.0, view.balance("ETH"), 1e-12);
+        assertEquals(50000.0, view.balance("KRW"), 1e-9);
+    }
+
+    @Test
+    void 체결_완료되거나_취소된_주문은_미체결_목록에서_빠진다() {
+        AccountView view = new AccountView();
+        view.applyOrder(order("a", "wait", 1L));
+        view.applyOrder(order("b", "trade", 2L));
+        view.applyOrder(order("a", "done", 3L));
+
+        assertEquals(1, view.openOrders().size());
+        assertEquals("b", view.openOrders().get(0).uuid());
+
+        view.applyOrder(order("b", "cancel", 4L));
+        assertTrue(view.openOrders().isEmpty());
+    }
+
+    private static AccountDto account(String currency, String balance, String avgBuyPrice) {
+        AccountDto dto = new AccountDto();
+        dto.setCurrency(currency);
+        dto.setBalance(balance);
+        dto.setLocked("0");
+        dto.setAvgBuyPrice(avgBuyPrice);
+        return dto;
+    }
+
+    private static OpenOrderDto order(String uuid, String state, long timestamp) {
+        return new OpenOrderDto(uuid, "KRW-BTC", "BID", "limit", state, 90000000, 0.01, 0.01, 0, timestamp);
+    }
+}
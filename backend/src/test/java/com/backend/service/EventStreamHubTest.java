@@ -0,0 +1,43 @@
+package com.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventStreamHubTest {
+
+    @Test
+    void 이벤트는_한_번만_직렬화되어_모든_구독자가_공유한다() throws Exception {
+        EventStreamHub hub = new EventStreamHub(new ObjectMapper());
+        CountDownLatch received = new CountDownLatch(4);
+        List<ServerSentEvent<String>> first = new CopyOnWriteArrayList<>();
+        List<ServerSentEvent<String>> second = new CopyOnWriteArrayList<>();
+        Disposable a = hub.subscribe().subscribe(e -> { first.add(e); received.countDown(); });
+        Disposable b = hub.subscribe().subscribe(e -> { second.add(e); received.countDown(); });
+
+        hub.broadcastStatus("✅ 자동매매 실행 중");
+        hub.broadcastPrice("KRW-BTC", 95_000_000.0);
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        a.dispose();
+        b.dispose();
+
+        assertEquals(2, first.size());
+        for (int i = 0; i < 2; i++) {
+            ServerSentEvent<String> event = first.get(i);
+            assertSame(event, second.stream().filter(e -> e.event().equals(event.event())).findFirst().orElseThrow());
+        }
+        ServerSentEvent<String> price = first.stream().filter(e -> "price".equals(e.event())).findFirst().orElseThrow();
+        assertEquals("{\"market\":\"KRW-BTC\",\"price\":9.5E7}", price.data());
+    }
+}
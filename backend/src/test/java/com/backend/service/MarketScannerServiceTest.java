@@ -0,0 +1,53 @@
+package com.backend.service;
+
+import com.backend.dto.MarketScanDto;
+import com.backend.dto.TickerDto;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarketScannerServiceTest {
+
+    @Test
+    void 거래대금과_변동성_순위의_합으로_정렬한다() {
+        List<TickerDto> tickers = List.of(
+                // 거래대금 1위, 변동성 3위
+                new TickerDto("KRW-BTC", 100, 101, 99, 100, 0.01, 900_000_000_000.0),
+                // 거래대금 2위, 변동성 1위
+                new TickerDto("KRW-ETH", 100, 120, 90, 100, 0.05, 500_000_000_000.0),
+                // 거래대금 3위, 변동성 2위
+                new TickerDto("KRW-XRP", 100, 110, 95, 100, -0.02, 100_000_000_000.0));
+
+        List<MarketScanDto> ranked = MarketScannerService.rank(tickers, Map.of("KRW-ETH", 28.5));
+
+        assertEquals(List.of("KRW-ETH", "KRW-BTC", "KRW-XRP"), ranked.stream().map(MarketScanDto::market).toList());
+        assertEquals(1, ranked.get(0).rank());
+        assertEquals(30.0, ranked.get(0).volatilityPct(), 1e-9);
+        assertEquals(28.5, ranked.get(0).rsi(), 1e-9);
+        assertNull(ranked.get(1).rsi());
+    }
+
+    @Test
+    void 캔들_조회는_시작_시각_기준_간격으로_보내_대기가_누적되지_않는다() {
+        AtomicInteger sent = new AtomicInteger();
+        long startedAt = System.nanoTime();
+
+        // 요청 40개, 간격 10ms, 요청당 50ms → 약 0.4 + 0.05초 (구독 시점부터 지연을 세면 몇 초)
+        MarketScannerService.paced(40, 10L, 10,
+                        i -> Mono.delay(Duration.ofMillis(50)).doOnNext(t -> sent.incrementAndGet()).then())
+                .blockLast();
+
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+        assertEquals(40, sent.get());
+        assertTrue(elapsedMs >= 390, "간격보다 빨리 보냄: " + elapsedMs + "ms");
+        assertTrue(elapsedMs < 1_500, "대기가 누적됨: " + elapsedMs + "ms");
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void 초당_제한까지는_바로_보내고_넘치면_1초_뒤로_미룬다() {
+        OrderRateLimiter limiter = new OrderRateLimiter();
+        long now = 5 * SECOND;
+        for (int i = 0; i < OrderRateLimiter.REQUESTS_PER_SECOND; i++) {
+            assertEquals(0, limiter.reserve(now));
+        }
+        // 9번째는 첫 요청 1초 뒤, 10번째는 두 번째 요청 1초 뒤
+        assertEquals(SECOND, limiter.reserve(now));
+        assertEquals(SECOND, limiter.reserve(now));
+    }
+
+    @Test
+    void 창이_지난_뒤에는_다시_바로_보낸다() {
+        OrderRateLimiter limiter = new OrderRateLimiter();
+        for (int i = 0; i < OrderRateLimiter.REQUESTS_PER_SECOND; i++) {
+            limiter.reserve(i * 10_000_000L);
+        }
+        long now = SECOND + 5_000_000L;
+        assertEquals(0, limiter.reserve(now)); // 첫 요청(0ms)은 창을 벗어남
+        assertEquals(5_000_000L, limiter.reserve(now)); // 두 번째 요청(10ms) + 1초까지 대기
+    }
+}
@@ -0,0 +1,24 @@
+package com.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UpbitApiClientTest {
+
+    @Test
+    void 숨김_통화는_원본_바이트를_유지한_채_제외된다() throws Exception {
+        String json = "[{\"currency\":\"KRW\",\"balance\":\"1000.0\",\"unit_currency\":\"KRW\"},"
+                + "{\"balance\":\"12.5\",\"currency\":\"vtho\",\"extra\":{\"a\":[1,2]}},"
+                + "{\"currency\":\"BTC\",\"balance\":\"0.01\",\"avg_buy_price\":\"90000000\"},"
+                + "{\"currency\":\"CHR\",\"balance\":\"3\"}]";
+
+        byte[] filtered = UpbitApiClient.filterHiddenCurrencies(json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("[{\"currency\":\"KRW\",\"balance\":\"1000.0\",\"unit_currency\":\"KRW\"},"
+                        + "{\"currency\":\"BTC\",\"balance\":\"0.01\",\"avg_buy_price\":\"90000000\"}]",
+                new String(filtered, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package com.backend.strategy;
+
+import com.backend.dto.TradingSettingsDto;
+import com.backend.market.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RsiStrategyTest {
+
+    private static final TradingSettingsDto SETTINGS =
+            new TradingSettingsDto(List.of("KRW-BTC", "KRW-ETH"), 30.0, 70.0, 3, 5, 10, 0L, 5000, 0.0, 0, 0.0, 0.0, 0.0);
+
+    private final RsiStrategy strategy = new RsiStrategy();
+    private final AccountState account = new AccountState();
+    private final Decision decision = new Decision();
+
+    private static CandleSeries series(double... closesNewestFirst) {
+        CandleSeries series = new CandleSeries(closesNewestFirst.length);
+        for (int i = 0; i < closesNewestFirst.length; i++) {
+            series.append(-i * 60_000L, closesNewestFirst[i]);
+        }
+        return series;
+    }
+
+    @Test
+    void 과매도이고_미보유면_잔액을_종목수로_나눠_매수한다() {
+        account.set(0.0, 100_000.0, 0.0, 2);
+
+        strategy.onBar(series(10, 11, 12, 13, 14, 15), account, SETTINGS, decision);
+
+        assertEquals(Decision.Action.BUY, decision.action());
+        assertEquals(50_000.0, decision.amount(), 1e-9);
+        assertEquals(0.0, decision.indicator(), 1e-9);
+    }
+
+    @Test
+    void 과매수이고_보유중이면_전량_매도한다() {
+        account.set(0.5, 100_000.0, 12.0, 2);
+
+        strategy.onBar(series(15, 14, 13, 12, 11, 10), account, SETTINGS, decision);
+
+        assertEquals(Decision.Action.SELL, decision.action());
+        assertEquals(0.5, decision.amount(), 1e-9);
+    }
+
+    @Test
+    void 분배금액이_최소주문금액_미만이면_주문하지_않는다() {
+        account.set(0.0, 8_000.0, 0.0, 2);
+
+        strategy.onBar(series(10, 11, 12, 13, 14, 15), account, SETTINGS, decision);
+
+        assertEquals(Decision.Action.NONE, decision.action());
+        assertEquals(Decision.Reason.BELOW_MIN_ORDER, decision.reason());
+    }
+
+    @Test
+    void 확정봉이_부족하면_판단하지_않는다() {
+        account.set(0.0, 100_000.0, 0.0, 2);
+
+        strategy.onBar(series(10, 11, 12), account, SETTINGS, decision);
+
+        assertEquals(Decision.Reason.INSUFFICIENT_DATA, decision.reason());
+    }
+}
@@ -0,0 +1,119 @@
+package com.backend.trading;
+
+import com.backend.config.TradingSettings;
+import com.backend.config.UpbitProperties;
+import com.backend.dto.TradingSettingsDto;
+import com.backend.journal.TradeJournal;
+import com.backend.market.CandleSeries;
+import com.backend.market.MarketRegistry;
+import com.backend.market.OrderBook;
+import com.backend.service.AccountView;
+import com.backend.service.NotificationService;
+import com.backend.service.OrderRateLimiter;
+import com.backend.service.UpbitService;
+import com.backend.strategy.AccountState;
+import com.backend.strategy.Decision;
+import com.backend.strategy.Strategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DecisionPipelineTest {
+
+    @Test
+    void 판단_스레드가_밀리면_마켓별_최신_틱만_판단한다(@TempDir Path dir) throws Exception {
+        List<Double> evaluated = new CopyOnWriteArrayList<>();
+        Strategy tickStrategy = new Strategy() {
+            @Override
+            public String name() {
+                return "TICK";
+            }
+
+            @Override
+            public int requiredBars(TradingSettingsDto settings) {
+                return 1;
+            }
+
+            @Override
+            public void onBar(CandleSeries candles, AccountState account, TradingSettingsDto settings, Decision out) {
+            }
+
+            @Override
+            public boolean usesTicks() {
+                return true;
+            }
+
+            @Override
+            public void onTick(double price, long timestamp, AccountState account, TradingSettingsDto settings, Decision out) {
+                evaluated.add(price);
+            }
+        };
+        UpbitProperties props = new UpbitProperties();
+        props.setBaseUrl("http://localhost:1");
+        props.setAccessKey("test-access");
+        props.setSecretKey("test-secret");
+        TradingSettings settings = new TradingSettings();
+        AccountView accountView = new AccountView();
+        accountView.setLive(true); // 잔고는 메모리 뷰에서 (REST 없음)
+        UpbitService upbitService = new UpbitService(props, new NotificationService(null), settings, accountView,
+                new OrderRateLimiter());
+        MarketRegistry registry = new MarketRegistry();
+        int btc = registry.register("KRW-BTC");
+        int eth = registry.register("KRW-ETH");
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        TradeJournal journal = new TradeJournal(dir);
+        DecisionPipeline pipeline = new DecisionPipeline("", upbitService, settings, journal, tickStrategy, registry,
+                executor, new OrderBook(4), 64, "test-orders", new DecisionPipeline.Host() {
+                @Override
+                public boolean isActive(int marketId) {
+                    return true;
+                }
+
+                @Override
+                public int marketCount() {
+                    return 2;
+                }
+
+                @Override
+                public CandleSeries confirmedCandles(String market, TradingSettingsDto s, long now, CandleSeries out) {
+                    return out;
+                }
+
+                @Override
+                public void notify(String message, String type, String market) {
+                }
+            });
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            for (int i = 1; i <= 100; i++) {
+                pipeline.onTick(btc, i, i);
+            }
+            pipeline.onTick(eth, 7.0, 1L);
+            release.countDown();
+            executor.submit(() -> { }).get(5, TimeUnit.SECONDS); // 앞서 넘긴 판단이 끝날 때까지
+
+            assertEquals(List.of(100.0, 7.0), evaluated);
+        } finally {
+            pipeline.close();
+            executor.shutdownNow();
+            journal.close();
+            upbitService.close();
+        }
+    }
+}
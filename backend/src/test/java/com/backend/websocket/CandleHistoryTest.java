@@ -0,0 +1,58 @@
+package com.backend.websocket;
+
+import com.backend.market.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CandleHistoryTest {
+
+    private static CandleSeries candles(String... utcNewestFirst) {
+        CandleSeries series = new CandleSeries(utcNewestFirst.length);
+        for (String utc : utcNewestFirst) {
+            series.append(CandleHistory.toEpochMillis(utc), 100.0);
+        }
+        return series;
+    }
+
+    @Test
+    void 캐시가_없으면_전체를_조회한다() {
+        assertEquals(30, CandleHistory.fetchCount(null, 5, 30, 0L));
+    }
+
+    @Test
+    void 새_확정봉이_없으면_조회하지_않는다() {
+        // 최신 확정봉 00:00, 현재 진행 중인 봉 00:05
+        CandleSeries cached = candles("2024-01-01T00:00:00");
+        long now = CandleHistory.toEpochMillis("2024-01-01T00:07:30");
+
+        assertEquals(0, CandleHistory.fetchCount(cached, 5, 30, now));
+    }
+
+    @Test
+    void 끊긴_구간만큼만_조회한다() {
+        // 최신 확정봉 00:00, 현재 00:20 진행 중 → 00:05, 00:10, 00:15 확정 + 진행 중 1개 + 겹침 1개
+        CandleSeries cached = candles("2024-01-01T00:00:00");
+        long now = CandleHistory.toEpochMillis("2024-01-01T00:21:00");
+
+        assertEquals(5, CandleHistory.fetchCount(cached, 5, 30, now));
+    }
+
+    @Test
+    void 병합시_새로운_봉만_앞에_붙이고_개수를_제한한다() {
+        CandleSeries cached = candles(
+                "2024-01-01T00:05:00",
+                "2024-01-01T00:00:00");
+        CandleSeries fresh = candles(
+                "2024-01-01T00:15:00",
+                "2024-01-01T00:10:00",
+                "2024-01-01T00:05:00");
+
+        cached.mergeNewer(fresh, 3);
+
+        assertEquals(3, cached.size());
+        assertEquals(CandleHistory.toEpochMillis("2024-01-01T00:15:00"), cached.startTime(0));
+        assertEquals(CandleHistory.toEpochMillis("2024-01-01T00:10:00"), cached.startTime(1));
+        assertEquals(CandleHistory.toEpochMillis("2024-01-01T00:05:00"), cached.startTime(2));
+    }
+}
@@ -0,0 +1,81 @@
+package com.backend.websocket;
+
+import com.backend.market.MarketRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MarketDataDecoderTest {
+
+    @Test
+    void 개행으로_구분된_티커를_마켓_id로_디코딩한다() throws Exception {
+        MarketRegistry registry = new MarketRegistry();
+        int btc = registry.register("KRW-BTC");
+        int eth = registry.register("KRW-ETH");
+        MarketDataDecoder decoder = new MarketDataDecoder(registry);
+
+        String frame = "{\"type\":\"ticker\",\"code\":\"KRW-ETH\",\"trade_price\":3500000.0,\"trade_timestamp\":1700000000000}\n"
+                + "{\"type\":\"ticker\",\"code\":\"KRW-BTC\",\"opening_price\":1,\"trade_price\":95000000,\"trade_timestamp\":1700000000500}\n"
+                + "{\"type\":\"ticker\",\"code\":\"KRW-XRP\",\"trade_price\":900}";
+        byte[] bytes = frame.getBytes(StandardCharsets.UTF_8);
+
+        List<double[]> ticks = new ArrayList<>();
+        int count = decoder.decode(bytes, bytes.length,
+                (marketId, price, timestamp) -> ticks.add(new double[]{marketId, price, timestamp}));
+
+        assertEquals(3, count);
+        assertEquals(2, ticks.size()); // 등록되지 않은 KRW-XRP는 무시
+        assertEquals(eth, (int) ticks.get(0)[0]);
+        assertEquals(3500000.0, ticks.get(0)[1], 1e-9);
+        assertEquals(btc, (int) ticks.get(1)[0]);
+        assertEquals(1700000000500L, (long) ticks.get(1)[2]);
+    }
+
+    @Test
+    void 체결_메시지는_체결량과_매수매도_구분을_함께_디코딩한다() throws Exception {
+        MarketRegistry registry = new MarketRegistry();
+        int btc = registry.register("KRW-BTC");
+        MarketDataDecoder decoder = new MarketDataDecoder(registry);
+
+        String frame = "{\"type\":\"trade\",\"code\":\"KRW-BTC\",\"trade_price\":95000000,\"trade_volume\":0.01,"
+                + "\"ask_bid\":\"BID\",\"trade_timestamp\":1700000000000}\n"
+                + "{\"type\":\"trade\",\"code\":\"KRW-BTC\",\"trade_price\":94990000,\"trade_volume\":0.02,"
+                + "\"ask_bid\":\"ASK\",\"trade_timestamp\":1700000000100}";
+        byte[] bytes = frame.getBytes(StandardCharsets.UTF_8);
+
+        List<Object[]> trades = new ArrayList<>();
+        decoder.decode(bytes, bytes.length, new MarketDataDecoder.Handler() {
+            @Override
+            public void onTicker(int marketId, double tradePrice, long tradeTimestamp) {
+                throw new AssertionError("trade 메시지가 ticker로 전달됨");
+            }
+
+            @Override
+            public void onTrade(int marketId, long tradeTimestamp, double tradePrice, double tradeVolume,
+                                boolean buyerInitiated) {
+                trades.add(new Object[]{marketId, tradeVolume, buyerInitiated});
+            }
+        });
+
+        assertEquals(2, trades.size());
+        assertEquals(btc, trades.get(0)[0]);
+        assertEquals(0.01, (double) trades.get(0)[1], 1e-12);
+        assertEquals(true, trades.get(0)[2]);
+        assertEquals(false, trades.get(1)[2]);
+    }
+
+    @Test
+    void 마켓_코드는_등록시_통화로_분리된다() {
+        MarketRegistry registry = new MarketRegistry();
+        int id = registry.register("KRW-BTC");
+
+        assertEquals("KRW", registry.quoteCurrency(id));
+        assertEquals("BTC", registry.baseCurrency(id));
+        assertEquals(id, registry.idOf("KRW", "btc"));
+        assertEquals(id, registry.register("KRW-BTC"));
+    }
+}
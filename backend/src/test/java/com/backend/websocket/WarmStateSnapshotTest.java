@@ -0,0 +1,59 @@
+package com.backend.websocket;
+
+import com.backend.market.CandleSeries;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmStateSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 저장한_상태와_설정을_그대로_읽는다() throws Exception {
+        WarmStateSnapshot.MarketState btc = new WarmStateSnapshot.MarketState("KRW-BTC", 95_000_000.0, 90_000_000.0, 42.5,
+                1_700_000_000_000L, 1_700_000_060_000L,
+                candles(1_704_067_500_000L, 101.0, 1_704_067_200_000L, 100.0));
+        WarmStateSnapshot.MarketState eth = new WarmStateSnapshot.MarketState("KRW-ETH", 0.0, 0.0, Double.NaN, 0L, 0L,
+                new CandleSeries(0));
+        Path file = dir.resolve("warm-state.bin");
+        new WarmStateSnapshot(123L, 5, 30, 14, "RSI", List.of(btc, eth)).write(file);
+
+        WarmStateSnapshot read = WarmStateSnapshot.read(file);
+        assertEquals(5, read.candleMinutes());
+        assertEquals(30, read.candleCount());
+        assertEquals(14, read.rsiPeriod());
+        assertEquals("RSI", read.strategy());
+        WarmStateSnapshot.MarketState restored = read.markets().get(0);
+        assertEquals(90_000_000.0, restored.lastBuyPrice());
+        assertEquals(42.5, restored.lastRsiValue());
+        assertEquals(1_700_000_060_000L, restored.lastRsiCheckTime());
+        assertEquals(2, restored.candles().size());
+        assertEquals(1_704_067_500_000L, restored.candles().startTime(0));
+        assertEquals(100.0, restored.candles().close(1));
+        assertEquals(0, read.markets().get(1).candles().size());
+        assertTrue(Double.isNaN(read.markets().get(1).lastRsiValue()));
+    }
+
+    @Test
+    void 손상된_스냅샷은_무시한다() throws Exception {
+        byte[] data = new WarmStateSnapshot(1L, 1, 15, 14, "RSI", List.of()).encode();
+        data[10] ^= 0x01;
+        assertNull(WarmStateSnapshot.decode(data));
+        assertNull(WarmStateSnapshot.read(dir.resolve("missing.bin")));
+    }
+
+    private static CandleSeries candles(long start0, double close0, long start1, double close1) {
+        CandleSeries candles = new CandleSeries(2);
+        candles.append(start0, close0);
+        candles.append(start1, close1);
+        return candles;
+    }
+}
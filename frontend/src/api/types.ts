@@ -24,6 +24,11 @@ export interface TradingSettings {
     candleCount: number;
     rsiCheckCooldownMs: number;
     minOrderKrw: number;
+    maxSlippagePct: number;
+    autoSelectMarkets: number;
+    stopLossPct: number;
+    takeProfitPct: number;
+    trailingStopPct: number;
 }
 
 export type ConnectionState = "connecting" | "open" | "error";
@@ -19,6 +19,11 @@ interface FormState {
     candleCount: string;
     rsiCheckCooldownMs: string;
     minOrderKrw: string;
+    maxSlippagePct: string;
+    autoSelectMarkets: string;
+    stopLossPct: string;
+    takeProfitPct: string;
+    trailingStopPct: string;
 }
 
 function toFormState(settings: TradingSettings): FormState {
@@ -31,6 +36,11 @@ function toFormState(settings: TradingSettings): FormState {
         candleCount: String(settings.candleCount),
         rsiCheckCooldownMs: String(settings.rsiCheckCooldownMs),
         minOrderKrw: String(settings.minOrderKrw),
+        maxSlippagePct: String(settings.maxSlippagePct),
+        autoSelectMarkets: String(settings.autoSelectMarkets),
+        stopLossPct: String(settings.stopLossPct),
+        takeProfitPct: String(settings.takeProfitPct),
+        trailingStopPct: String(settings.trailingStopPct),
     };
 }
 
@@ -43,7 +53,7 @@ export default function SettingsPanel({ settings, loading, error, running, onSav
         if (settings) setForm(toFormState(settings));
     }, [settings]);
 
-    const disabled = running || loading || saving || !form;
+    const disabled = loading || saving || !form;
 
     const handleChange = (field: keyof FormState) => (e: React.ChangeEvent<HTMLInputElement>) => {
         setForm((prev) => (prev ? { ...prev, [field]: e.target.value } : prev));
@@ -67,6 +77,11 @@ export default function SettingsPanel({ settings, loading, error, running, onSav
             candleCount: Number(form.candleCount),
             rsiCheckCooldownMs: Number(form.rsiCheckCooldownMs),
             minOrderKrw: Number(form.minOrderKrw),
+            maxSlippagePct: Number(form.maxSlippagePct),
+            autoSelectMarkets: Number(form.autoSelectMarkets),
+            stopLossPct: Number(form.stopLossPct),
+            takeProfitPct: Number(form.takeProfitPct),
+            trailingStopPct: Number(form.trailingStopPct),
         };
 
         setSaving(true);
@@ -81,8 +96,8 @@ export default function SettingsPanel({ settings, loading, error, running, onSav
             <h2>자동매매 설정</h2>
             <div style={styles.card}>
                 {running && (
-                    <p style={{ margin: "0 0 12px", color: "#dc3545" }}>
-                        ⚠️ 자동매매 실행 중에는 설정을 변경할 수 없습니다. 먼저 중지하세요.
+                    <p style={{ margin: "0 0 12px", color: "#0d6efd" }}>
+                        ℹ️ 자동매매 실행 중입니다. 저장한 설정은 중지 없이 즉시 반영됩니다.
                     </p>
                 )}
                 {!form ? (
@@ -171,6 +186,56 @@ export default function SettingsPanel({ settings, loading, error, running, onSav
                                     onChange={handleChange("minOrderKrw")}
                                 />
                             </div>
+                            <div style={styles.formRow}>
+                                <label style={styles.formLabel}>최대 허용 슬리피지 (%, 0: 제한 없음)</label>
+                                <input
+                                    style={styles.formInput}
+                                    type="number"
+                                    value={form.maxSlippagePct}
+                                    disabled={disabled}
+                                    onChange={handleChange("maxSlippagePct")}
+                                />
+                            </div>
+                            <div style={styles.formRow}>
+                                <label style={styles.formLabel}>스캐너 자동 선정 마켓 수 (0: 사용 안 함)</label>
+                                <input
+                                    style={styles.formInput}
+                                    type="number"
+                                    value={form.autoSelectMarkets}
+                                    disabled={disabled}
+                                    onChange={handleChange("autoSelectMarkets")}
+                                />
+                            </div>
+                            <div style={styles.formRow}>
+                                <label style={styles.formLabel}>손절 (%, 0: 사용 안 함)</label>
+                                <input
+                                    style={styles.formInput}
+                                    type="number"
+                                    value={form.stopLossPct}
+                                    disabled={disabled}
+                                    onChange={handleChange("stopLossPct")}
+                                />
+                            </div>
+                            <div style={styles.formRow}>
+                                <label style={styles.formLabel}>익절 (%, 0: 사용 안 함)</label>
+                                <input
+                                    style={styles.formInput}
+                                    type="number"
+                                    value={form.takeProfitPct}
+                                    disabled={disabled}
+                                    onChange={handleChange("takeProfitPct")}
+                                />
+                            </div>
+                            <div style={styles.formRow}>
+                                <label style={styles.formLabel}>트레일링 스탑 (고점 대비 %, 0: 사용 안 함)</label>
+                                <input
+                                    style={styles.formInput}
+                                    type="number"
+                                    value={form.trailingStopPct}
+                                    disabled={disabled}
+                                    onChange={handleChange("trailingStopPct")}
+                                />
+                            </div>
                         </div>
 
                         <button